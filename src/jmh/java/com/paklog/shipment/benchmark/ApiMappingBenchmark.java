@@ -0,0 +1,51 @@
+package com.paklog.shipment.benchmark;
+
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.infrastructure.api.mapper.LoadMapper;
+import com.paklog.shipment.infrastructure.api.mapper.ShipmentMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain to REST DTO conversion, paid on every shipment and load response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiMappingBenchmark {
+
+    private final ShipmentMapper shipmentMapper = new ShipmentMapper();
+    private final LoadMapper loadMapper = new LoadMapper();
+    private Shipment shipment;
+    private Load load;
+
+    @Setup
+    public void setUp() {
+        shipment = BenchmarkData.inTransitShipment();
+        load = BenchmarkData.bookedLoad();
+    }
+
+    @Benchmark
+    public com.paklog.shipment.infrastructure.api.gen.dto.Shipment shipmentToDto() {
+        return shipmentMapper.toDto(shipment);
+    }
+
+    @Benchmark
+    public com.paklog.shipment.infrastructure.api.gen.dto.Load loadToDto() {
+        return loadMapper.toDto(load);
+    }
+}
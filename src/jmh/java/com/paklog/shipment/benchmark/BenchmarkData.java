@@ -0,0 +1,137 @@
+package com.paklog.shipment.benchmark;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.CarrierRoutingRule;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.domain.Location;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.Pickup;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.ShipmentStatus;
+import com.paklog.shipment.domain.Tender;
+import com.paklog.shipment.domain.TenderStatus;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Aggregates shaped like production data: shipments carrying a 4 KB label, and a booked load of
+ * twenty shipments with a pickup and an accepted tender.
+ */
+final class BenchmarkData {
+
+    static final OffsetDateTime CREATED_AT = OffsetDateTime.parse("2024-05-01T08:00:00Z");
+
+    private BenchmarkData() {
+    }
+
+    static Shipment inTransitShipment() {
+        List<TrackingEvent> events = List.of(new TrackingEvent("IN_TRANSIT", "Departed origin facility",
+                "Portland, OR", OffsetDateTime.parse("2024-05-01T11:00:00-07:00"), "DP", null));
+        return Shipment.restore(
+                ShipmentId.generate(),
+                OrderId.of("ORD-2024-000123"),
+                CarrierName.FEDEX,
+                TrackingNumber.of("794658812345"),
+                new byte[4096],
+                ShipmentStatus.IN_TRANSIT,
+                CREATED_AT,
+                CREATED_AT.plusHours(2),
+                null,
+                events,
+                LoadId.generate(),
+                CREATED_AT.plusHours(3),
+                null,
+                7L,
+                12);
+    }
+
+    static Shipment dispatchedShipment() {
+        return Shipment.restore(
+                ShipmentId.generate(),
+                OrderId.of("ORD-2024-000123"),
+                CarrierName.FEDEX,
+                TrackingNumber.of("794658812345"),
+                new byte[4096],
+                ShipmentStatus.DISPATCHED,
+                CREATED_AT,
+                CREATED_AT.plusHours(2),
+                null,
+                List.of(),
+                null,
+                CREATED_AT.plusHours(2),
+                null,
+                1L);
+    }
+
+    static Load bookedLoad() {
+        Set<ShipmentId> shipmentIds = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            shipmentIds.add(ShipmentId.generate());
+        }
+        Location origin = new Location("Warehouse 1", "100 Industrial Way", "Dock 3", "Portland", "OR", "97201", "US");
+        Location destination = new Location("Store 42", "1 Market St", null, "Denver", "CO", "80202", "US");
+        return Load.restore(
+                LoadId.generate(),
+                "REF-2024-0042",
+                LoadStatus.BOOKED,
+                CarrierName.UPS,
+                shipmentIds,
+                origin,
+                destination,
+                LocalDate.parse("2024-05-10"),
+                LocalDate.parse("2024-05-12"),
+                new Pickup("PU-778812", CREATED_AT.plusDays(9), origin, "Dock lead", "555-0100", "Door 4"),
+                new Tender(TenderStatus.ACCEPTED, CREATED_AT.plusDays(1), CREATED_AT.plusHours(5),
+                        "dispatch@carrier.example", Tender.Decision.ACCEPTED, null),
+                "Handle with care",
+                CREATED_AT,
+                CREATED_AT.plusHours(5),
+                4L);
+    }
+
+    /**
+     * Carrier scans as a webhook or poll decodes them: the same few statuses and hubs, each time in a
+     * freshly allocated String.
+     */
+    static List<TrackingEvent> decodedScans(int count) {
+        String[] statuses = {"IN_TRANSIT", "IN_TRANSIT", "OUT_FOR_DELIVERY"};
+        String[] hubs = {"Portland, OR", "Salt Lake City, UT", "Denver, CO"};
+        List<TrackingEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(new TrackingEvent(
+                    new String(statuses[i % statuses.length].toCharArray()),
+                    "Arrived at " + hubs[i % hubs.length],
+                    new String(hubs[i % hubs.length].toCharArray()),
+                    CREATED_AT.plusMinutes(10L * (i + 1)),
+                    new String("AR".toCharArray()),
+                    null));
+        }
+        return events;
+    }
+
+    /**
+     * A routing table the size of a regional network: typed envelope and tube lanes, weight bands
+     * per carrier, and an oversize catch-all.
+     */
+    static List<CarrierRoutingRule> routingRules() {
+        return List.of(
+                new CarrierRoutingRule("envelopes", 10, CarrierName.DHL, 0, 1, 40, Set.of("ENVELOPE")),
+                new CarrierRoutingRule("tubes", 20, CarrierName.USPS, 0, 10, 120, Set.of("TUBE")),
+                new CarrierRoutingRule("light", 100, CarrierName.FEDEX, 0, 5, 120, Set.of()),
+                new CarrierRoutingRule("light-spill", 110, CarrierName.USPS, 0, 5, 100, Set.of()),
+                new CarrierRoutingRule("medium", 100, CarrierName.UPS, 5, 30, 150, Set.of()),
+                new CarrierRoutingRule("medium-spill", 110, CarrierName.FEDEX, 5, 30, 150, Set.of()),
+                new CarrierRoutingRule("heavy", 100, CarrierName.UPS, 30, 70, 150, Set.of()),
+                new CarrierRoutingRule("oversize", 200, CarrierName.UPS, 0, 70, 300, Set.of()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.paklog.shipment.benchmark;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.CarrierRoutingRule;
+import com.paklog.shipment.domain.Package;
+import com.paklog.shipment.domain.services.DefaultCarrierSelectionStrategy;
+import com.paklog.shipment.domain.services.RuleTableCarrierSelectionStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carrier selection against the compiled routing table: the preferred-carrier match taken for every
+ * shipment, and the ranking walked when the preferred carrier is out of daily capacity. Run with
+ * {@code -prof gc} to confirm both stay allocation-free.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarrierRoutingBenchmark {
+
+    private final RuleTableCarrierSelectionStrategy strategy =
+            new RuleTableCarrierSelectionStrategy(new DefaultCarrierSelectionStrategy());
+    private Package parcel;
+
+    @Setup
+    public void setUp() {
+        strategy.reload(BenchmarkData.routingRules());
+        parcel = new Package("PKG-2024-000123", 3.2, 40, 30, 20, "BOX");
+    }
+
+    @Benchmark
+    public CarrierName match() {
+        return strategy.selectCarrier(parcel);
+    }
+
+    @Benchmark
+    public List<CarrierName> rank() {
+        return strategy.rankCarriers(parcel);
+    }
+}
@@ -0,0 +1,87 @@
+package com.paklog.shipment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.shipment.config.OutboxProperties;
+import com.paklog.shipment.config.ShipmentEventProperties;
+import com.paklog.shipment.domain.DomainEvent;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.infrastructure.OutboxEvent;
+import com.paklog.shipment.infrastructure.OutboxService;
+import com.paklog.shipment.infrastructure.events.CloudEventSerializer;
+import com.paklog.shipment.infrastructure.events.ShipmentEventPublisherImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two serialisation steps every shipment event goes through: the payload written to the outbox,
+ * and the CloudEvent envelope built when the outbox is relayed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private CloudEventSerializer cloudEventSerializer;
+    private ShipmentEventPublisherImpl publisher;
+    private CapturingOutboxService outbox;
+    private Shipment shipment;
+    private String eventId;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ShipmentEventProperties properties = new ShipmentEventProperties();
+        properties.getDispatched().setType("com.paklog.shipment.dispatched.v1");
+        properties.getDispatched().setTopic("shipment.dispatched.v1");
+        outbox = new CapturingOutboxService();
+        publisher = new ShipmentEventPublisherImpl(outbox, objectMapper, properties);
+        cloudEventSerializer = new CloudEventSerializer(objectMapper);
+        shipment = BenchmarkData.dispatchedShipment();
+        eventId = UUID.randomUUID().toString();
+        publisher.shipmentDispatched(shipment);
+        payload = outbox.last.getPayload();
+    }
+
+    @Benchmark
+    public DomainEvent dispatchedPayload() {
+        publisher.shipmentDispatched(shipment);
+        return outbox.last;
+    }
+
+    @Benchmark
+    public String cloudEventEnvelope() {
+        return cloudEventSerializer.serialize(eventId, shipment.getId().toString(), "Shipment",
+                "com.paklog.shipment.dispatched.v1", payload, null);
+    }
+
+    /** Keeps the serialised event instead of writing it to Mongo. */
+    private static final class CapturingOutboxService extends OutboxService {
+
+        private DomainEvent last;
+
+        private CapturingOutboxService() {
+            super(null, new OutboxProperties());
+        }
+
+        @Override
+        public OutboxEvent save(DomainEvent event) {
+            last = event;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.paklog.shipment.benchmark;
+
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.infrastructure.persistence.ShipmentConverters;
+import com.paklog.shipment.infrastructure.persistence.ShipmentDocument;
+import com.paklog.shipment.infrastructure.persistence.document.LoadConverters;
+import com.paklog.shipment.infrastructure.persistence.document.LoadDocument;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregate to storage and back, through the document classes and through the hand-written BSON
+ * converters. The document benchmarks stop at the POJO; Spring's reflective mapping of that POJO to
+ * BSON comes on top of them in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceMappingBenchmark {
+
+    private Shipment shipment;
+    private ShipmentDocument shipmentDocument;
+    private Document shipmentBson;
+    private Load load;
+    private LoadDocument loadDocument;
+    private Document loadBson;
+
+    @Setup
+    public void setUp() {
+        shipment = BenchmarkData.inTransitShipment();
+        shipmentDocument = ShipmentDocument.fromDomain(shipment);
+        shipmentBson = ShipmentConverters.ShipmentWriteConverter.INSTANCE.convert(shipment);
+        load = BenchmarkData.bookedLoad();
+        loadDocument = LoadDocument.fromDomain(load);
+        loadBson = LoadConverters.LoadWriteConverter.INSTANCE.convert(load);
+    }
+
+    @Benchmark
+    public ShipmentDocument shipmentDocumentFromDomain() {
+        return ShipmentDocument.fromDomain(shipment);
+    }
+
+    @Benchmark
+    public Shipment shipmentDocumentToDomain() {
+        return shipmentDocument.toDomain();
+    }
+
+    @Benchmark
+    public Document shipmentConverterWrite() {
+        return ShipmentConverters.ShipmentWriteConverter.INSTANCE.convert(shipment);
+    }
+
+    @Benchmark
+    public Shipment shipmentConverterRead() {
+        return ShipmentConverters.ShipmentReadConverter.INSTANCE.convert(shipmentBson);
+    }
+
+    @Benchmark
+    public LoadDocument loadDocumentFromDomain() {
+        return LoadDocument.fromDomain(load);
+    }
+
+    @Benchmark
+    public Load loadDocumentToDomain() {
+        return loadDocument.toDomain();
+    }
+
+    @Benchmark
+    public Document loadConverterWrite() {
+        return LoadConverters.LoadWriteConverter.INSTANCE.convert(load);
+    }
+
+    @Benchmark
+    public Load loadConverterRead() {
+        return LoadConverters.LoadReadConverter.INSTANCE.convert(loadBson);
+    }
+}
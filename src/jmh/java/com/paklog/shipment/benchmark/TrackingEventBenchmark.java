@@ -0,0 +1,83 @@
+package com.paklog.shipment.benchmark;
+
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.TrackingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appending to a shipment's tracking history, and what a history of decoded carrier scans retains
+ * on the heap once TrackingEvent has pooled its vocabulary.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackingEventBenchmark {
+
+    private static final int HISTORY = 100;
+
+    @State(Scope.Thread)
+    public static class Scans {
+        private List<TrackingEvent> events;
+
+        @Setup
+        public void setUp() {
+            events = BenchmarkData.decodedScans(HISTORY);
+        }
+    }
+
+    /**
+     * Retained heap of one history. It does not change between iterations, so it is measured once
+     * per fork, outside the timed code, and printed with the fork's output.
+     */
+    @State(Scope.Benchmark)
+    public static class Footprint {
+        private long retainedBytesPerEvent;
+
+        @Setup(Level.Trial)
+        public void measure() {
+            retainedBytesPerEvent = GraphLayout.parseInstance(BenchmarkData.decodedScans(HISTORY)).totalSize() / HISTORY;
+        }
+
+        @TearDown(Level.Trial)
+        public void report() {
+            System.out.printf("%nRetained bytes per decoded tracking event: %d%n", retainedBytesPerEvent);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(HISTORY)
+    public Shipment addTrackingEvent(Scans scans) {
+        Shipment shipment = BenchmarkData.dispatchedShipment();
+        for (TrackingEvent event : scans.events) {
+            shipment.addTrackingEvent(event);
+        }
+        return shipment;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public List<TrackingEvent> decodeHistory(Footprint footprint) {
+        return BenchmarkData.decodedScans(HISTORY);
+    }
+}
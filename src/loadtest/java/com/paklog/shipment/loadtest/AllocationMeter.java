@@ -0,0 +1,62 @@
+package com.paklog.shipment.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bytes allocated by the service's threads, from the per-thread counters HotSpot keeps. Threads that
+ * existed before the service started (the embedded broker, the container client) and the harness's own
+ * driver threads are left out, so the figure is what the service allocates to do the work. Threads that
+ * exit while a scenario runs take their counts with them, which makes this a lower bound.
+ */
+final class AllocationMeter {
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Set<Long> infrastructureThreads;
+
+    private AllocationMeter(Set<Long> infrastructureThreads) {
+        this.infrastructureThreads = infrastructureThreads;
+    }
+
+    /** Treats every thread alive now as infrastructure; call before the service is started. */
+    static AllocationMeter excludingCurrentThreads() {
+        long[] ids = ManagementFactory.getThreadMXBean().getAllThreadIds();
+        Set<Long> excluded = new HashSet<>();
+        for (long id : ids) {
+            excluded.add(id);
+        }
+        return new AllocationMeter(Set.copyOf(excluded));
+    }
+
+    static boolean isDriverThread(String threadName) {
+        return threadName.contains("loadtest") || threadName.startsWith("HttpClient-");
+    }
+
+    Map<Long, Long> snapshot() {
+        long[] ids = threads.getAllThreadIds();
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        ThreadInfo[] infos = threads.getThreadInfo(ids, 0);
+        Map<Long, Long> snapshot = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] == null || allocated[i] < 0 || infrastructureThreads.contains(ids[i])
+                    || isDriverThread(infos[i].getThreadName())) {
+                continue;
+            }
+            snapshot.put(ids[i], allocated[i]);
+        }
+        return snapshot;
+    }
+
+    long allocatedSince(Map<Long, Long> before) {
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : snapshot().entrySet()) {
+            total += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+package com.paklog.shipment.loadtest;
+
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.domain.CarrierInfo;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.ShippingCost;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingUpdate;
+import com.paklog.shipment.domain.exception.CarrierException;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stands in for a carrier API: every call blocks for a log-normally distributed delay with the configured
+ * median and p99, and fails with the configured probability. Tracking polls always report one new in-transit
+ * scan so that each sweep writes to every shipment it visits.
+ */
+class LatencyInjectingCarrierAdapter implements ICarrierAdapter {
+
+    private static final double Z_99 = 2.326;
+    private static final byte[] LABEL = new byte[4096];
+
+    private final CarrierName carrierName;
+    private final long medianMs;
+    private final double sigma;
+    private final long maxDelayMs;
+    private final double errorRate;
+    private final AtomicLong trackingNumbers = new AtomicLong();
+
+    LatencyInjectingCarrierAdapter(CarrierName carrierName, long medianMs, long p99Ms, double errorRate) {
+        if (medianMs < 0 || p99Ms < medianMs) {
+            throw new IllegalArgumentException("Carrier latency needs 0 <= median <= p99");
+        }
+        this.carrierName = carrierName;
+        this.medianMs = medianMs;
+        this.sigma = medianMs == 0 ? 0 : Math.log((double) p99Ms / medianMs) / Z_99;
+        this.maxDelayMs = p99Ms * 10;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public CarrierInfo createShipment(com.paklog.shipment.domain.Package packageInfo,
+                                      OrderId orderId,
+                                      String packageId) throws CarrierException {
+        call("createShipment");
+        String trackingNumber = carrierName.name() + "-LT" + trackingNumbers.incrementAndGet();
+        return new CarrierInfo(trackingNumber, LABEL, carrierName);
+    }
+
+    @Override
+    public Optional<TrackingUpdate> getTrackingStatus(TrackingNumber trackingNumber) throws CarrierException {
+        call("getTrackingStatus");
+        TrackingEvent scan = new TrackingEvent("IN_TRANSIT", "Arrived at sort facility", "Memphis, TN",
+                OffsetDateTime.now(ZoneOffset.UTC), "AR", null);
+        return Optional.of(new TrackingUpdate(scan, false, List.of(scan)));
+    }
+
+    @Override
+    public ShippingCost rateLoad(Load load) throws CarrierException {
+        call("rateLoad");
+        return new ShippingCost(BigDecimal.TEN.multiply(BigDecimal.valueOf(load.getShipmentIds().size())), "USD", 3);
+    }
+
+    @Override
+    public boolean tenderLoad(Load load) throws CarrierException {
+        call("tenderLoad");
+        return true;
+    }
+
+    @Override
+    public String schedulePickup(Load load) throws CarrierException {
+        call("schedulePickup");
+        return carrierName.name() + "-PU-" + load.getId();
+    }
+
+    @Override
+    public CarrierName getCarrierName() {
+        return carrierName;
+    }
+
+    private void call(String operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayMs = medianMs == 0 ? 0
+                : Math.min(maxDelayMs, Math.round(medianMs * Math.exp(sigma * random.nextGaussian())));
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CarrierException("Interrupted during " + operation, carrierName.name());
+        }
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            throw new CarrierException("Injected failure in " + operation, carrierName.name());
+        }
+    }
+}
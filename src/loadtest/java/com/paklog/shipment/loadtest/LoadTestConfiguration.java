@@ -0,0 +1,64 @@
+package com.paklog.shipment.loadtest;
+
+import com.paklog.shipment.adapter.ExternalPackageService;
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces the service's outbound dependencies for a load test. The FedEx adapter and the package lookup are
+ * overridden by bean name, and the remaining carriers are added so every routing rule has somewhere to go.
+ * The carrier decorators still wrap the fakes, so rate limiting, retries and hedging are part of what is
+ * measured.
+ */
+@Configuration(proxyBeanMethods = false)
+class LoadTestConfiguration {
+
+    static final String TRACKING_SHIPMENT_OBSERVATION = "job.tracking.update.shipment";
+
+    @Bean
+    ICarrierAdapter fedExAdapter(CarrierLatency latency) {
+        return latency.adapterFor(CarrierName.FEDEX);
+    }
+
+    @Bean
+    ICarrierAdapter upsAdapter(CarrierLatency latency) {
+        return latency.adapterFor(CarrierName.UPS);
+    }
+
+    @Bean
+    ICarrierAdapter dhlAdapter(CarrierLatency latency) {
+        return latency.adapterFor(CarrierName.DHL);
+    }
+
+    @Bean
+    ICarrierAdapter uspsAdapter(CarrierLatency latency) {
+        return latency.adapterFor(CarrierName.USPS);
+    }
+
+    @Bean
+    ExternalPackageService externalPackageServiceImpl() {
+        return new SyntheticPackageService();
+    }
+
+    @Bean
+    CarrierLatency carrierLatency(@Value("${loadtest.carrier.medianMs:80}") long medianMs,
+                                  @Value("${loadtest.carrier.p99Ms:400}") long p99Ms,
+                                  @Value("${loadtest.carrier.errorRate:0.0}") double errorRate) {
+        return new CarrierLatency(medianMs, p99Ms, errorRate);
+    }
+
+    @Bean
+    ObservationLatencyTap trackingShipmentTap() {
+        return new ObservationLatencyTap(TRACKING_SHIPMENT_OBSERVATION);
+    }
+
+    record CarrierLatency(long medianMs, long p99Ms, double errorRate) {
+
+        ICarrierAdapter adapterFor(CarrierName carrierName) {
+            return new LatencyInjectingCarrierAdapter(carrierName, medianMs, p99Ms, errorRate);
+        }
+    }
+}
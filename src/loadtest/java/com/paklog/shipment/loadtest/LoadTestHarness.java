@@ -0,0 +1,122 @@
+package com.paklog.shipment.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.paklog.shipment.ShipmentTransportationApplication;
+import com.paklog.shipment.domain.repository.ILoadRepository;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import com.paklog.shipment.infrastructure.job.TrackingJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the service in-process against embedded Kafka, MongoDB and fake carriers, runs the configured
+ * scenarios one after another and reports throughput, latency percentiles and allocation for each.
+ *
+ * <p>Kafka is an in-process KRaft broker. MongoDB is a single-node replica set in a throwaway container
+ * (shipment creation is transactional, so a standalone server will not do) unless {@code loadtest.mongo.uri}
+ * points at an existing one. Run with {@code loadtest.profiles=in-memory} to keep shipments and loads on the
+ * heap and measure the application layer without their persistence cost. See {@link LoadTestSettings} for
+ * the knobs.
+ */
+public final class LoadTestHarness {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestHarness.class);
+    private static final String MONGO_IMAGE = "mongo:7.0";
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Driver threads are named so the allocation figures can leave them out.
+        Thread.currentThread().setName("loadtest-main");
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        int exitCode = 0;
+
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1,
+                PackagePackedScenario.PACKED_TOPIC, PackagePackedScenario.DISPATCHED_TOPIC);
+        MongoDBContainer mongo = settings.useExternalMongo() ? null : new MongoDBContainer(DockerImageName.parse(MONGO_IMAGE));
+        ConfigurableApplicationContext app = null;
+        try {
+            kafka.afterPropertiesSet();
+            String mongoUri;
+            if (mongo != null) {
+                mongo.start();
+                mongoUri = mongo.getReplicaSetUrl("shipment_loadtest");
+            } else {
+                mongoUri = settings.mongoUri();
+            }
+
+            AllocationMeter allocation = AllocationMeter.excludingCurrentThreads();
+            app = start(kafka.getBrokersAsString(), mongoUri, settings.profiles());
+            String baseUrl = "http://localhost:" + app.getEnvironment().getRequiredProperty("local.server.port");
+
+            SyntheticFleet fleet = new SyntheticFleet(app.getBean(ShipmentRepository.class),
+                    app.getBean(ILoadRepository.class), settings.trackingShipments());
+            ObjectMapper objectMapper = new ObjectMapper()
+                    .findAndRegisterModules()
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (String name : settings.scenarios()) {
+                LoadTestScenario scenario = switch (name) {
+                    case "packagePacked" -> new PackagePackedScenario(settings, kafka.getBrokersAsString(),
+                            allocation, objectMapper);
+                    case "trackingSweep" -> new TrackingSweepScenario(settings, fleet,
+                            app.getBean(TrackingJobService.class), app.getBean(ObservationLatencyTap.class),
+                            allocation);
+                    case "restReads" -> new RestReadScenario(settings, fleet, baseUrl, allocation);
+                    default -> throw new IllegalArgumentException("Unknown load-test scenario: " + name);
+                };
+                logger.info("Running load-test scenario {}", scenario.name());
+                ScenarioResult result = scenario.run();
+                logger.info("Finished {}: {}", scenario.name(), result);
+                results.add(result);
+            }
+
+            LoadTestReport report = new LoadTestReport(settings, results);
+            report.print(System.out);
+            report.write();
+            logger.info("Load-test report written to {}", settings.reportFile().toAbsolutePath());
+        } catch (Exception e) {
+            logger.error("Load test failed", e);
+            exitCode = 1;
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+            if (mongo != null) {
+                mongo.stop();
+            }
+            kafka.destroy();
+        }
+        // Client and broker threads are not all daemons; don't wait on them.
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext start(String kafkaBrokers, String mongoUri, List<String> profiles) {
+        return new SpringApplicationBuilder(ShipmentTransportationApplication.class, LoadTestConfiguration.class)
+                .profiles(profiles.toArray(String[]::new))
+                .properties(
+                        "spring.main.allow-bean-definition-overriding=true",
+                        "server.port=0",
+                        "spring.kafka.bootstrap-servers=" + kafkaBrokers,
+                        "spring.cloud.stream.kafka.binder.brokers=" + kafkaBrokers,
+                        "spring.data.mongodb.uri=" + mongoUri,
+                        // Relay the outbox promptly so dispatch latency is not dominated by the poll interval.
+                        "outbox.publisher.interval=100",
+                        // The harness drives the tracking job itself.
+                        "tracking.job.interval=86400000",
+                        "mongo.archival.enabled=false",
+                        "management.otlp.metrics.export.enabled=false")
+                .run();
+    }
+}
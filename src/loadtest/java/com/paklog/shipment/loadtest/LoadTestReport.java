@@ -0,0 +1,61 @@
+package com.paklog.shipment.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the results as a table and writes them, with the settings that produced them, as JSON.
+ */
+final class LoadTestReport {
+
+    private static final String ROW = "%-14s %10s %8s %12s %10s %10s %10s %10s %12s %12s%n";
+
+    private final LoadTestSettings settings;
+    private final List<ScenarioResult> results;
+
+    LoadTestReport(LoadTestSettings settings, List<ScenarioResult> results) {
+        this.settings = settings;
+        this.results = List.copyOf(results);
+    }
+
+    void print(PrintStream out) {
+        out.printf(ROW, "scenario", "ops", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms",
+                "alloc MB/s", "alloc KB/op");
+        for (ScenarioResult result : results) {
+            out.printf(ROW,
+                    result.scenario(),
+                    result.operations(),
+                    result.errors(),
+                    String.format("%.1f", result.throughputPerSecond()),
+                    String.format("%.2f", result.p50Ms()),
+                    String.format("%.2f", result.p99Ms()),
+                    String.format("%.2f", result.p999Ms()),
+                    String.format("%.2f", result.maxMs()),
+                    String.format("%.1f", result.allocatedMbPerSecond()),
+                    String.format("%.1f", result.allocatedKbPerOperation()));
+        }
+    }
+
+    void write() throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("settings", settings);
+        report.put("scenarios", results);
+        ObjectMapper mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        if (settings.reportFile().getParent() != null) {
+            Files.createDirectories(settings.reportFile().getParent());
+        }
+        mapper.writeValue(settings.reportFile().toFile(), report);
+    }
+}
@@ -0,0 +1,11 @@
+package com.paklog.shipment.loadtest;
+
+/**
+ * One kind of traffic driven against the running service.
+ */
+interface LoadTestScenario {
+
+    String name();
+
+    ScenarioResult run() throws Exception;
+}
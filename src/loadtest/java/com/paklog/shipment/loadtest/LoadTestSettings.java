@@ -0,0 +1,76 @@
+package com.paklog.shipment.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Knobs for one load-test run, read from {@code loadtest.*} system properties so they can be set on the
+ * Maven command line.
+ */
+record LoadTestSettings(
+        List<String> scenarios,
+        Duration duration,
+        int packagePackedRate,
+        int trackingShipments,
+        int trackingSweeps,
+        int restConcurrency,
+        Map<String, Integer> restMix,
+        long carrierMedianMs,
+        long carrierP99Ms,
+        double carrierErrorRate,
+        @JsonIgnore String mongoUri,
+        List<String> profiles,
+        Path reportFile
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                list(property("loadtest.scenarios", "packagePacked,trackingSweep,restReads")),
+                Duration.parse(property("loadtest.duration", "PT60S")),
+                Integer.parseInt(property("loadtest.packagePacked.rate", "50")),
+                Integer.parseInt(property("loadtest.tracking.shipments", "5000")),
+                Integer.parseInt(property("loadtest.tracking.sweeps", "3")),
+                Integer.parseInt(property("loadtest.rest.concurrency", "16")),
+                parseMix(property("loadtest.rest.mix", "shipment=45,trackingEvents=20,tracking=15,shipments=10,load=5,loads=5")),
+                Long.parseLong(property("loadtest.carrier.medianMs", "80")),
+                Long.parseLong(property("loadtest.carrier.p99Ms", "400")),
+                Double.parseDouble(property("loadtest.carrier.errorRate", "0.0")),
+                property("loadtest.mongo.uri", ""),
+                list(property("loadtest.profiles", "")),
+                Path.of(property("loadtest.reportFile", "target/loadtest-report.json")));
+    }
+
+    boolean useExternalMongo() {
+        return !mongoUri.isBlank();
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.rest.mix entry: " + entry);
+            }
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,57 @@
+package com.paklog.shipment.loadtest;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+/**
+ * Records the duration of one named observation into whichever scenario is currently listening, so work
+ * the service does on its own threads can be timed without changing it.
+ */
+class ObservationLatencyTap implements ObservationHandler<Observation.Context> {
+
+    private static final Object STARTED_AT = ObservationLatencyTap.class;
+
+    private final String observationName;
+    private volatile ScenarioMeter target;
+
+    ObservationLatencyTap(String observationName) {
+        this.observationName = observationName;
+    }
+
+    void recordInto(ScenarioMeter meter) {
+        this.target = meter;
+    }
+
+    void stopRecording() {
+        this.target = null;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        if (target != null) {
+            context.put(STARTED_AT, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onError(Observation.Context context) {
+        ScenarioMeter meter = target;
+        if (meter != null) {
+            meter.error();
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Long startedAt = context.get(STARTED_AT);
+        ScenarioMeter meter = target;
+        if (startedAt != null && meter != null) {
+            meter.recordNanos(System.nanoTime() - startedAt);
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return observationName.equals(context.getName());
+    }
+}
@@ -0,0 +1,183 @@
+package com.paklog.shipment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.shipment.domain.events.PackagePackedCloudEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes PackagePacked events at a fixed rate and times each one until its ShipmentDispatched event comes
+ * back out of the outbox. Latency is measured from when the event was due to be sent, not when it was, so a
+ * producer that falls behind shows up in the percentiles instead of hiding them.
+ */
+final class PackagePackedScenario implements LoadTestScenario {
+
+    static final String PACKED_TOPIC = "fulfillment.warehouse.v1.events";
+    static final String DISPATCHED_TOPIC = "fulfillment.shipment.v1.events";
+    private static final String DISPATCHED_TYPE = "com.paklog.shipment.dispatched.v1";
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+    private final LoadTestSettings settings;
+    private final String bootstrapServers;
+    private final AllocationMeter allocation;
+    private final ObjectMapper objectMapper;
+
+    PackagePackedScenario(LoadTestSettings settings, String bootstrapServers, AllocationMeter allocation,
+                          ObjectMapper objectMapper) {
+        this.settings = settings;
+        this.bootstrapServers = bootstrapServers;
+        this.allocation = allocation;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "packagePacked";
+    }
+
+    @Override
+    public ScenarioResult run() throws Exception {
+        Map<String, Long> inFlight = new ConcurrentHashMap<>();
+        AtomicLong lastCompletion = new AtomicLong();
+        ScenarioMeter meter = new ScenarioMeter(allocation);
+        CountDownLatch collectorReady = new CountDownLatch(1);
+        DispatchCollector collector = new DispatchCollector(inFlight, meter, lastCompletion, collectorReady);
+        Thread collectorThread = new Thread(collector, "loadtest-dispatch-collector");
+        collectorThread.start();
+        if (!collectorReady.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Dispatch collector did not attach to " + DISPATCHED_TOPIC);
+        }
+
+        String run = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+        long events = (long) settings.packagePackedRate() * settings.duration().toSeconds();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.packagePackedRate();
+        try (KafkaProducer<String, String> producer = producer()) {
+            meter.start();
+            long startedAt = System.nanoTime();
+            for (long i = 0; i < events; i++) {
+                long dueAt = startedAt + i * intervalNanos;
+                long wait;
+                while ((wait = dueAt - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                String orderId = "LT-" + run + "-" + i;
+                String payload = objectMapper.writeValueAsString(
+                        new PackagePackedCloudEvent("lt-pkg-" + run + "-" + i, orderId, Instant.now()));
+                inFlight.put(orderId, dueAt);
+                producer.send(new ProducerRecord<>(PACKED_TOPIC, orderId, payload), (metadata, exception) -> {
+                    if (exception != null && inFlight.remove(orderId) != null) {
+                        meter.error();
+                    }
+                });
+            }
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (!inFlight.isEmpty() && System.nanoTime() < drainDeadline) {
+            Thread.sleep(100);
+        }
+        collector.stop();
+        collectorThread.join();
+        // Whatever never came back counts against the run.
+        meter.errors(inFlight.size());
+        long endedAt = lastCompletion.get() != 0 ? lastCompletion.get() : System.nanoTime();
+        return meter.finish(name(), endedAt);
+    }
+
+    private KafkaProducer<String, String> producer() {
+        return new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.CLIENT_ID_CONFIG, "loadtest-producer",
+                ProducerConfig.LINGER_MS_CONFIG, 1,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class));
+    }
+
+    private final class DispatchCollector implements Runnable {
+
+        private final Map<String, Long> inFlight;
+        private final ScenarioMeter meter;
+        private final AtomicLong lastCompletion;
+        private final CountDownLatch ready;
+        private volatile boolean running = true;
+
+        private DispatchCollector(Map<String, Long> inFlight, ScenarioMeter meter, AtomicLong lastCompletion,
+                                  CountDownLatch ready) {
+            this.inFlight = inFlight;
+            this.meter = meter;
+            this.lastCompletion = lastCompletion;
+            this.ready = ready;
+        }
+
+        void stop() {
+            running = false;
+        }
+
+        @Override
+        public void run() {
+            try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(Map.of(
+                    ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                    ConsumerConfig.CLIENT_ID_CONFIG, "loadtest-collector",
+                    ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                    ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class))) {
+                List<TopicPartition> partitions = consumer.partitionsFor(DISPATCHED_TOPIC).stream()
+                        .map(info -> new TopicPartition(info.topic(), info.partition()))
+                        .toList();
+                consumer.assign(partitions);
+                consumer.seekToEnd(partitions);
+                partitions.forEach(consumer::position);
+                ready.countDown();
+
+                while (running) {
+                    for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(100))) {
+                        String orderId = dispatchedOrderId(record.value());
+                        Long dueAt = orderId != null ? inFlight.remove(orderId) : null;
+                        if (dueAt != null) {
+                            long now = System.nanoTime();
+                            meter.recordNanos(now - dueAt);
+                            lastCompletion.set(now);
+                        }
+                    }
+                }
+            }
+        }
+
+        private String dispatchedOrderId(String cloudEvent) {
+            try {
+                JsonNode envelope = objectMapper.readTree(cloudEvent);
+                if (!DISPATCHED_TYPE.equals(envelope.path("type").asText())) {
+                    return null;
+                }
+                JsonNode data = envelope.get("data");
+                if (data == null && envelope.hasNonNull("data_base64")) {
+                    data = objectMapper.readTree(Base64.getDecoder().decode(envelope.get("data_base64").asText()));
+                } else if (data != null && data.isTextual()) {
+                    data = objectMapper.readTree(data.asText());
+                }
+                return data != null && data.hasNonNull("orderId") ? data.get("orderId").asText() : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
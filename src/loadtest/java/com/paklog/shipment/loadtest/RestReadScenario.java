@@ -0,0 +1,142 @@
+package com.paklog.shipment.loadtest;
+
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.Shipment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A fixed number of clients issuing GETs back to back for the configured duration, each request drawn from
+ * the weighted mix. Anything other than a 2xx counts as an error.
+ */
+final class RestReadScenario implements LoadTestScenario {
+
+    private static final Map<String, Function<RestReadScenario, String>> ENDPOINTS = Map.of(
+            "shipment", scenario -> "/shipments/" + scenario.anyShipment().getId(),
+            "trackingEvents", scenario -> "/shipments/" + scenario.anyShipment().getId() + "/tracking-events",
+            "tracking", scenario -> "/tracking/" + scenario.anyShipment().getTrackingNumber().getValue(),
+            "shipments", scenario -> "/shipments?status=IN_TRANSIT&page=0&size=20",
+            "load", scenario -> "/loads/" + scenario.anyLoad().getId(),
+            "loads", scenario -> "/loads?page=0&size=20");
+
+    private final LoadTestSettings settings;
+    private final SyntheticFleet fleet;
+    private final String baseUrl;
+    private final AllocationMeter allocation;
+    private final List<String> endpoints = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    RestReadScenario(LoadTestSettings settings, SyntheticFleet fleet, String baseUrl, AllocationMeter allocation) {
+        this.settings = settings;
+        this.fleet = fleet;
+        this.baseUrl = baseUrl;
+        this.allocation = allocation;
+        settings.restMix().forEach((endpoint, weight) -> {
+            if (!ENDPOINTS.containsKey(endpoint)) {
+                throw new IllegalArgumentException("Unknown REST endpoint in loadtest.rest.mix: " + endpoint
+                        + " (known: " + ENDPOINTS.keySet() + ")");
+            }
+            if (weight > 0) {
+                totalWeight += weight;
+                endpoints.add(endpoint);
+                cumulativeWeights.add(totalWeight);
+            }
+        });
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("loadtest.rest.mix has no endpoint with a positive weight");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "restReads";
+    }
+
+    @Override
+    public ScenarioResult run() throws Exception {
+        fleet.ensureSeeded();
+        int clients = settings.restConcurrency();
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(clients,
+                task -> new Thread(task, "loadtest-rest-" + threadIds.incrementAndGet()));
+        AtomicInteger ioThreadIds = new AtomicInteger();
+        ExecutorService clientIo = Executors.newCachedThreadPool(
+                task -> new Thread(task, "loadtest-http-" + ioThreadIds.incrementAndGet()));
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(clientIo)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ScenarioMeter meter = new ScenarioMeter(allocation);
+        try {
+            meter.start();
+            long deadline = System.nanoTime() + settings.duration().toNanos();
+            List<Future<?>> running = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                running.add(workers.submit(() -> drive(httpClient, meter, deadline)));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+            return meter.finish(name());
+        } finally {
+            workers.shutdownNow();
+            clientIo.shutdownNow();
+        }
+    }
+
+    private Void drive(HttpClient httpClient, ScenarioMeter meter, long deadline) throws InterruptedException {
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + ENDPOINTS.get(nextEndpoint()).apply(this)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long startedAt = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                meter.recordNanos(System.nanoTime() - startedAt);
+                if (response.statusCode() / 100 != 2) {
+                    meter.error();
+                }
+            } catch (IOException e) {
+                meter.recordNanos(System.nanoTime() - startedAt);
+                meter.error();
+            }
+        }
+        return null;
+    }
+
+    private String nextEndpoint() {
+        int draw = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < endpoints.size(); i++) {
+            if (draw < cumulativeWeights.get(i)) {
+                return endpoints.get(i);
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private Shipment anyShipment() {
+        List<Shipment> shipments = fleet.shipments();
+        return shipments.get(ThreadLocalRandom.current().nextInt(shipments.size()));
+    }
+
+    private Load anyLoad() {
+        List<Load> loads = fleet.loads();
+        return loads.get(ThreadLocalRandom.current().nextInt(loads.size()));
+    }
+}
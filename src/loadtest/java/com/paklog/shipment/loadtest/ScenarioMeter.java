@@ -0,0 +1,52 @@
+package com.paklog.shipment.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies, errors and allocation for one scenario. Latencies are kept in microseconds at three significant
+ * digits and may be recorded from any thread.
+ */
+final class ScenarioMeter {
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final AtomicLong errors = new AtomicLong();
+    private final AllocationMeter allocation;
+    private Map<Long, Long> allocatedAtStart;
+    private long startedAt;
+
+    ScenarioMeter(AllocationMeter allocation) {
+        this.allocation = allocation;
+    }
+
+    void start() {
+        allocatedAtStart = allocation.snapshot();
+        startedAt = System.nanoTime();
+    }
+
+    void recordNanos(long nanos) {
+        latencies.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    void error() {
+        errors.incrementAndGet();
+    }
+
+    void errors(long count) {
+        errors.addAndGet(count);
+    }
+
+    ScenarioResult finish(String scenario) {
+        return finish(scenario, System.nanoTime());
+    }
+
+    /** Ends the measurement window at {@code endedAt}, e.g. the last completion rather than the final poll. */
+    ScenarioResult finish(String scenario, long endedAt) {
+        long allocatedBytes = allocation.allocatedSince(allocatedAtStart);
+        return ScenarioResult.of(scenario, latencies, errors.get(), endedAt - startedAt, allocatedBytes);
+    }
+}
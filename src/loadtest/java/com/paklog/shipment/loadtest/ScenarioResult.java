@@ -0,0 +1,43 @@
+package com.paklog.shipment.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * What one scenario achieved. Latencies are in milliseconds; allocation counts only the service's threads.
+ */
+record ScenarioResult(
+        String scenario,
+        long operations,
+        long errors,
+        long durationMs,
+        double throughputPerSecond,
+        double p50Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs,
+        double allocatedMbPerSecond,
+        double allocatedKbPerOperation
+) {
+
+    static ScenarioResult of(String scenario, Histogram latenciesMicros, long errors, long elapsedNanos,
+                             long allocatedBytes) {
+        long operations = latenciesMicros.getTotalCount();
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        return new ScenarioResult(
+                scenario,
+                operations,
+                errors,
+                Math.round(seconds * 1000),
+                operations / seconds,
+                percentile(latenciesMicros, 50.0),
+                percentile(latenciesMicros, 99.0),
+                percentile(latenciesMicros, 99.9),
+                latenciesMicros.getMaxValue() / 1000.0,
+                allocatedBytes / seconds / (1024 * 1024),
+                operations == 0 ? 0 : allocatedBytes / 1024.0 / operations);
+    }
+
+    private static double percentile(Histogram latenciesMicros, double percentile) {
+        return latenciesMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,77 @@
+package com.paklog.shipment.loadtest;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.Location;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.repository.ILoadRepository;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-transit shipments, grouped twenty to a load, written straight through the repositories. Seeded once
+ * and shared by the tracking sweep and the REST reads.
+ */
+final class SyntheticFleet {
+
+    private static final int SHIPMENTS_PER_LOAD = 20;
+    private static final CarrierName[] CARRIERS = {CarrierName.FEDEX, CarrierName.UPS};
+
+    private final ShipmentRepository shipmentRepository;
+    private final ILoadRepository loadRepository;
+    private final int size;
+    private final List<Shipment> shipments = new ArrayList<>();
+    private final List<Load> loads = new ArrayList<>();
+
+    SyntheticFleet(ShipmentRepository shipmentRepository, ILoadRepository loadRepository, int size) {
+        this.shipmentRepository = shipmentRepository;
+        this.loadRepository = loadRepository;
+        this.size = size;
+    }
+
+    synchronized void ensureSeeded() {
+        if (!shipments.isEmpty()) {
+            return;
+        }
+        Location origin = new Location("Warehouse 1", "100 Industrial Way", "Dock 3", "Portland", "OR", "97201", "US");
+        Location destination = new Location("Store 42", "1 Market St", null, "Denver", "CO", "80202", "US");
+        OffsetDateTime dispatchedAt = OffsetDateTime.now(ZoneOffset.UTC).minusDays(1);
+        String run = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+        Set<ShipmentId> loadShipments = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            Shipment shipment = Shipment.create(OrderId.of("LT-" + run + "-" + i), CARRIERS[i % CARRIERS.length],
+                    dispatchedAt.minusHours(1));
+            shipment.dispatch(TrackingNumber.of("LT" + run + i), new byte[4096], dispatchedAt);
+            shipment.addTrackingEvent(new TrackingEvent("IN_TRANSIT", "Departed origin facility", "Portland, OR",
+                    dispatchedAt.plusMinutes(30), "DP", null));
+            shipments.add(shipmentRepository.save(shipment));
+            loadShipments.add(shipment.getId());
+            if (loadShipments.size() == SHIPMENTS_PER_LOAD || i == size - 1) {
+                Load load = new Load("LT-" + run + "-L" + loads.size(), loadShipments, origin, destination,
+                        LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), null);
+                loadRepository.save(load);
+                loads.add(load);
+                loadShipments = new LinkedHashSet<>();
+            }
+        }
+    }
+
+    List<Shipment> shipments() {
+        return shipments;
+    }
+
+    List<Load> loads() {
+        return loads;
+    }
+}
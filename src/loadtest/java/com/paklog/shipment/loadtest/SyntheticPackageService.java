@@ -0,0 +1,17 @@
+package com.paklog.shipment.loadtest;
+
+import com.paklog.shipment.adapter.ExternalPackageService;
+import com.paklog.shipment.domain.Package;
+
+/**
+ * Answers for any package id. Weights are spread between 0.5 and 30 kg by id so the routing rules send
+ * the traffic to more than one carrier.
+ */
+class SyntheticPackageService implements ExternalPackageService {
+
+    @Override
+    public Package getPackageDetails(String packageId) {
+        double weight = 0.5 + Math.floorMod(packageId.hashCode(), 296) / 10.0;
+        return new Package(packageId, weight, 30, 20, 15, "BOX");
+    }
+}
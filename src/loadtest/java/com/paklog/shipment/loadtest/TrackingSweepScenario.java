@@ -0,0 +1,62 @@
+package com.paklog.shipment.loadtest;
+
+import com.paklog.shipment.infrastructure.job.TrackingJobService;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the tracking job back to back over the synthetic fleet. Each shipment's latency is the job's own
+ * per-shipment observation: waiting for its carrier poll and applying the update.
+ */
+final class TrackingSweepScenario implements LoadTestScenario {
+
+    private final LoadTestSettings settings;
+    private final SyntheticFleet fleet;
+    private final TrackingJobService trackingJobService;
+    private final ObservationLatencyTap shipmentTap;
+    private final AllocationMeter allocation;
+
+    TrackingSweepScenario(LoadTestSettings settings, SyntheticFleet fleet, TrackingJobService trackingJobService,
+                          ObservationLatencyTap shipmentTap, AllocationMeter allocation) {
+        this.settings = settings;
+        this.fleet = fleet;
+        this.trackingJobService = trackingJobService;
+        this.shipmentTap = shipmentTap;
+        this.allocation = allocation;
+    }
+
+    @Override
+    public String name() {
+        return "trackingSweep";
+    }
+
+    @Override
+    public ScenarioResult run() throws Exception {
+        fleet.ensureSeeded();
+        ScenarioMeter meter = new ScenarioMeter(allocation);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        // Not a harness thread: the sweep is the service's work and its allocation is counted.
+        Thread sweeper = new Thread(() -> {
+            try {
+                for (int i = 0; i < settings.trackingSweeps(); i++) {
+                    trackingJobService.updateTrackingStatus();
+                }
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        }, "tracking-sweep");
+
+        shipmentTap.recordInto(meter);
+        try {
+            meter.start();
+            sweeper.start();
+            sweeper.join();
+        } finally {
+            shipmentTap.stopRecording();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return meter.finish(name());
+    }
+}
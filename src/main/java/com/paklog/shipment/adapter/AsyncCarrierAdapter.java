@@ -0,0 +1,37 @@
+package com.paklog.shipment.adapter;
+
+import com.paklog.shipment.domain.CarrierInfo;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.ShippingCost;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingUpdate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link ICarrierAdapter}. Failures complete the future exceptionally with a
+ * {@link com.paklog.shipment.domain.exception.CarrierException} instead of throwing on the caller.
+ */
+public interface AsyncCarrierAdapter {
+
+    CompletableFuture<CarrierInfo> createShipment(com.paklog.shipment.domain.Package packageInfo,
+                                                  OrderId orderId,
+                                                  String packageId);
+
+    CompletableFuture<Optional<TrackingUpdate>> getTrackingStatus(TrackingNumber trackingNumber);
+
+    CompletableFuture<ShippingCost> rateLoad(Load load);
+
+    CompletableFuture<Boolean> tenderLoad(Load load);
+
+    CompletableFuture<String> schedulePickup(Load load);
+
+    CarrierName getCarrierName();
+
+    default String getRateCardVersion() {
+        return "default";
+    }
+}
@@ -0,0 +1,43 @@
+package com.paklog.shipment.adapter;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+@Component
+public class AsyncCarrierAdapterRegistry {
+
+    private final Map<CarrierName, AsyncCarrierAdapter> adapters = new EnumMap<>(CarrierName.class);
+
+    public AsyncCarrierAdapterRegistry(List<ICarrierAdapter> carrierAdapters, Executor carrierIoExecutor) {
+        register(carrierAdapters, List.of(), carrierIoExecutor);
+    }
+
+    @Autowired
+    public AsyncCarrierAdapterRegistry(List<ICarrierAdapter> carrierAdapters,
+                                       ObjectProvider<AsyncCarrierAdapter> nativeAdapters,
+                                       @Qualifier("carrierIoExecutor") Executor carrierIoExecutor) {
+        register(carrierAdapters, nativeAdapters.orderedStream().toList(), carrierIoExecutor);
+    }
+
+    private void register(List<ICarrierAdapter> carrierAdapters,
+                          List<AsyncCarrierAdapter> nativeAdapters,
+                          Executor carrierIoExecutor) {
+        carrierAdapters.forEach(adapter -> adapters.put(adapter.getCarrierName(),
+                new BlockingCarrierAdapterBridge(adapter, carrierIoExecutor)));
+        // Adapters written against the async SPI replace the bridged blocking ones.
+        nativeAdapters.forEach(adapter -> adapters.put(adapter.getCarrierName(), adapter));
+    }
+
+    public Optional<AsyncCarrierAdapter> find(CarrierName carrierName) {
+        return carrierName == null ? Optional.empty() : Optional.ofNullable(adapters.get(carrierName));
+    }
+}
@@ -0,0 +1,97 @@
+package com.paklog.shipment.adapter;
+
+import com.paklog.shipment.domain.CarrierInfo;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.ShippingCost;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingUpdate;
+import com.paklog.shipment.domain.exception.CarrierException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a synchronous adapter on the carrier I/O pool so callers can pipeline requests to it. A full
+ * pool fails the call's future with {@link #IO_SATURATED} rather than running it on the caller.
+ */
+public class BlockingCarrierAdapterBridge implements AsyncCarrierAdapter {
+
+    public static final String IO_SATURATED = "IO_SATURATED";
+
+    private static final ThreadLocal<Boolean> BRIDGED = new ThreadLocal<>();
+
+    private final ICarrierAdapter delegate;
+    private final Executor executor;
+
+    public BlockingCarrierAdapterBridge(ICarrierAdapter delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<CarrierInfo> createShipment(com.paklog.shipment.domain.Package packageInfo,
+                                                         OrderId orderId,
+                                                         String packageId) {
+        return submit("createShipment", () -> delegate.createShipment(packageInfo, orderId, packageId));
+    }
+
+    @Override
+    public CompletableFuture<Optional<TrackingUpdate>> getTrackingStatus(TrackingNumber trackingNumber) {
+        return submit("getTrackingStatus", () -> delegate.getTrackingStatus(trackingNumber));
+    }
+
+    @Override
+    public CompletableFuture<ShippingCost> rateLoad(Load load) {
+        return submit("rateLoad", () -> delegate.rateLoad(load));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> tenderLoad(Load load) {
+        return submit("tenderLoad", () -> delegate.tenderLoad(load));
+    }
+
+    @Override
+    public CompletableFuture<String> schedulePickup(Load load) {
+        return submit("schedulePickup", () -> delegate.schedulePickup(load));
+    }
+
+    /**
+     * Whether the current thread is running a bridged call. Decorators that would otherwise hand the
+     * call to a pool of their own can run it in place, since the caller is already off its thread.
+     */
+    public static boolean isBridgedCall() {
+        return BRIDGED.get() != null;
+    }
+
+    private <T> CompletableFuture<T> submit(String operation, Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                BRIDGED.set(Boolean.TRUE);
+                try {
+                    return call.get();
+                } finally {
+                    BRIDGED.remove();
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            String carrier = delegate.getCarrierName().name();
+            return CompletableFuture.failedFuture(new CarrierException(
+                    "No carrier I/O thread available for " + carrier + " " + operation, carrier, IO_SATURATED, ex));
+        }
+    }
+
+    @Override
+    public CarrierName getCarrierName() {
+        return delegate.getCarrierName();
+    }
+
+    @Override
+    public String getRateCardVersion() {
+        return delegate.getRateCardVersion();
+    }
+}
@@ -0,0 +1,26 @@
+package com.paklog.shipment.adapter;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+public class CarrierAdapterDecoratingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<CarrierAdapterDecorator> decorators;
+
+    public CarrierAdapterDecoratingPostProcessor(ObjectProvider<CarrierAdapterDecorator> decorators) {
+        this.decorators = decorators;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof ICarrierAdapter adapter)) {
+            return bean;
+        }
+        // Resolved per adapter rather than up front so decorators can depend on regular beans.
+        ICarrierAdapter decorated = adapter;
+        for (CarrierAdapterDecorator decorator : decorators.orderedStream().toList()) {
+            decorated = decorator.decorate(decorated);
+        }
+        return decorated;
+    }
+}
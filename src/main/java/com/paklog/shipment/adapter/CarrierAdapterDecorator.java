@@ -0,0 +1,9 @@
+package com.paklog.shipment.adapter;
+
+/**
+ * Wraps every {@link ICarrierAdapter} bean. Decorators are applied in {@code @Order} sequence, so the
+ * lowest order ends up closest to the carrier.
+ */
+public interface CarrierAdapterDecorator {
+    ICarrierAdapter decorate(ICarrierAdapter adapter);
+}
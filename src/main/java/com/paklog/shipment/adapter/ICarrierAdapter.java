@@ -25,4 +25,8 @@ public interface ICarrierAdapter {
     String schedulePickup(Load load) throws CarrierException;
 
     CarrierName getCarrierName();
+
+    default String getRateCardVersion() {
+        return "default";
+    }
 }
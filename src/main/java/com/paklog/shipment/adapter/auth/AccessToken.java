@@ -0,0 +1,10 @@
+package com.paklog.shipment.adapter.auth;
+
+import java.time.Instant;
+
+public record AccessToken(String value, Instant expiresAt) {
+
+    public boolean isValidAt(Instant instant) {
+        return instant.isBefore(expiresAt);
+    }
+}
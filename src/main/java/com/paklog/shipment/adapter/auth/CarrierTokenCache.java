@@ -0,0 +1,162 @@
+package com.paklog.shipment.adapter.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.shipment.adapter.http.CarrierHttpClients;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.CarrierAuthProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Access tokens per carrier account, shared by every adapter. Callers get the cached token while it
+ * is valid; tokens close to expiry are renewed in the background, and concurrent refreshes of one
+ * account collapse into a single token request.
+ */
+@Component
+public class CarrierTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarrierTokenCache.class);
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Duration refreshAhead;
+    private final Executor refreshExecutor;
+    private final MetricsService metricsService;
+    private final Clock clock;
+
+    @Autowired
+    public CarrierTokenCache(CarrierAuthProperties properties,
+                             CarrierHttpClients httpClients,
+                             ObjectMapper objectMapper,
+                             @Qualifier("carrierIoExecutor") Executor refreshExecutor,
+                             MetricsService metricsService) {
+        this(properties.getRefreshAhead(), refreshExecutor, metricsService, Clock.systemUTC());
+        properties.getAccounts().forEach((key, account) -> register(key, new OAuthClientCredentialsTokenSource(
+                httpClients.forCarrier(account.getCarrier()),
+                account.getTokenPath(),
+                account.getClientId(),
+                account.getClientSecret(),
+                objectMapper,
+                clock)));
+    }
+
+    CarrierTokenCache(Duration refreshAhead, Executor refreshExecutor, MetricsService metricsService, Clock clock) {
+        this.refreshAhead = refreshAhead;
+        this.refreshExecutor = refreshExecutor;
+        this.metricsService = metricsService;
+        this.clock = clock;
+    }
+
+    public void register(String accountKey, TokenSource source) {
+        accounts.putIfAbsent(accountKey, new Account(accountKey, source));
+    }
+
+    public boolean isRegistered(String accountKey) {
+        return accounts.containsKey(accountKey);
+    }
+
+    public String getToken(String accountKey) {
+        Account account = accounts.get(accountKey);
+        if (account == null) {
+            throw new IllegalStateException("No credentials registered for carrier account " + accountKey);
+        }
+        Instant now = clock.instant();
+        AccessToken token = account.current;
+        if (token != null && token.isValidAt(now)) {
+            if (!token.isValidAt(now.plus(refreshAhead))) {
+                account.refresh();
+            }
+            return token.value();
+        }
+        try {
+            return account.refresh().join().value();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    // Drops a token the carrier rejected so the next call fetches a fresh one.
+    public void invalidate(String accountKey, String rejectedToken) {
+        Account account = accounts.get(accountKey);
+        if (account != null && account.current != null && account.current.value().equals(rejectedToken)) {
+            account.current = null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${carrier.auth.refresh-check-interval-ms:15000}")
+    public void refreshExpiring() {
+        Instant horizon = clock.instant().plus(refreshAhead);
+        accounts.values().forEach(account -> {
+            AccessToken token = account.current;
+            if (token == null || !token.isValidAt(horizon)) {
+                account.refresh();
+            }
+        });
+    }
+
+    private final class Account {
+        private final String key;
+        private final TokenSource source;
+        private final AtomicReference<CompletableFuture<AccessToken>> inFlight = new AtomicReference<>();
+        private volatile AccessToken current;
+
+        private Account(String key, TokenSource source) {
+            this.key = key;
+            this.source = source;
+        }
+
+        CompletableFuture<AccessToken> refresh() {
+            while (true) {
+                CompletableFuture<AccessToken> existing = inFlight.get();
+                if (existing != null) {
+                    return existing;
+                }
+                CompletableFuture<AccessToken> refresh = new CompletableFuture<>();
+                if (inFlight.compareAndSet(null, refresh)) {
+                    try {
+                        refreshExecutor.execute(() -> fetchInto(refresh));
+                    } catch (RejectedExecutionException ex) {
+                        // Leave the slot free so the next caller or the scheduled check tries again.
+                        metricsService.recordTokenRefresh(key, false);
+                        logger.warn("No thread available to refresh access token for carrier account {}", key);
+                        inFlight.compareAndSet(refresh, null);
+                        refresh.completeExceptionally(ex);
+                    }
+                    return refresh;
+                }
+            }
+        }
+
+        private void fetchInto(CompletableFuture<AccessToken> refresh) {
+            try {
+                AccessToken token = source.fetchToken();
+                current = token;
+                metricsService.recordTokenRefresh(key, true);
+                refresh.complete(token);
+            } catch (RuntimeException ex) {
+                metricsService.recordTokenRefresh(key, false);
+                logger.warn("Failed to refresh access token for carrier account {}", key, ex);
+                refresh.completeExceptionally(ex);
+            } finally {
+                inFlight.compareAndSet(refresh, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.paklog.shipment.adapter.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.shipment.adapter.http.CarrierHttpClient;
+import com.paklog.shipment.adapter.http.CarrierHttpResponse;
+import com.paklog.shipment.domain.exception.CarrierException;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+
+public class OAuthClientCredentialsTokenSource implements TokenSource {
+
+    public static final String AUTH_FAILED = "AUTH_FAILED";
+
+    private final CarrierHttpClient httpClient;
+    private final String tokenPath;
+    private final String clientId;
+    private final String clientSecret;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public OAuthClientCredentialsTokenSource(CarrierHttpClient httpClient,
+                                             String tokenPath,
+                                             String clientId,
+                                             String clientSecret,
+                                             ObjectMapper objectMapper,
+                                             Clock clock) {
+        this.httpClient = httpClient;
+        this.tokenPath = tokenPath;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    @Override
+    public AccessToken fetchToken() {
+        String form = "grant_type=client_credentials"
+                + "&client_id=" + URLEncoder.encode(clientId, StandardCharsets.UTF_8)
+                + "&client_secret=" + URLEncoder.encode(clientSecret, StandardCharsets.UTF_8);
+        Instant requestedAt = clock.instant();
+        CarrierHttpResponse response = httpClient.send(httpClient.request(tokenPath)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)), "fetchToken");
+        String carrier = httpClient.getCarrier().name();
+        if (!response.isSuccessful()) {
+            throw new CarrierException("Token request rejected with status " + response.statusCode(), carrier, AUTH_FAILED, null);
+        }
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            String token = body.path("access_token").asText(null);
+            if (token == null) {
+                throw new CarrierException("Token response has no access_token", carrier, AUTH_FAILED, null);
+            }
+            // Expiry counts from when we asked, so a slow response never makes the token look fresher.
+            return new AccessToken(token, requestedAt.plusSeconds(body.path("expires_in").asLong(3600)));
+        } catch (IOException ex) {
+            throw new CarrierException("Unreadable token response", carrier, AUTH_FAILED, ex);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.paklog.shipment.adapter.auth;
+
+@FunctionalInterface
+public interface TokenSource {
+    AccessToken fetchToken();
+}
@@ -1,6 +1,8 @@
 package com.paklog.shipment.adapter.fedex;
 
 import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.adapter.fedex.exception.FedExApiException;
+import com.paklog.shipment.adapter.http.CarrierHttpClient;
 import com.paklog.shipment.application.MetricsService;
 import com.paklog.shipment.domain.CarrierInfo;
 import com.paklog.shipment.domain.CarrierName;
@@ -35,6 +37,9 @@ public class FedExAdapter implements ICarrierAdapter {
             FedExShipmentRequest request = new FedExShipmentRequest(packageId, orderId.getValue());
             FedExShipmentResponse response = fedExApiClient.createShipment(request);
             return new CarrierInfo(response.getTrackingNumber(), response.getLabelData(), CarrierName.FEDEX);
+        } catch (FedExApiException ex) {
+            status = "error";
+            throw new CarrierException(ex.getMessage(), CarrierName.FEDEX.name(), CarrierHttpClient.SERVER_ERROR, ex);
         } catch (RuntimeException ex) {
             status = "error";
             throw new CarrierException(ex.getMessage(), CarrierName.FEDEX.name(), null, ex);
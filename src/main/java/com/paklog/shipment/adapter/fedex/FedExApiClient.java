@@ -1,17 +1,34 @@
 package com.paklog.shipment.adapter.fedex;
 
+import com.paklog.shipment.adapter.auth.CarrierTokenCache;
 import com.paklog.shipment.adapter.fedex.exception.FedExApiException;
 import com.paklog.shipment.adapter.fedex.exception.FedExAuthenticationException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class FedExApiClient {
+    static final String ACCOUNT = "fedex";
+
+    private final CarrierTokenCache tokenCache;
+
+    public FedExApiClient() {
+        this(null);
+    }
+
+    @Autowired
+    public FedExApiClient(CarrierTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
     public FedExShipmentResponse createShipment(FedExShipmentRequest request) {
+        String token = bearerToken();
         // Simulate an actual API call with potential failures
         if (request.getPackageId().equals("fail-api")) {
             throw new FedExApiException("Simulated FedEx API error during shipment creation");
         }
         if (request.getPackageId().equals("fail-auth")) {
+            rejectToken(token);
             throw new FedExAuthenticationException("Simulated FedEx authentication failure");
         }
         byte[] labelBytes = ("LABEL-" + request.getPackageId()).getBytes(java.nio.charset.StandardCharsets.UTF_8);
@@ -19,13 +36,26 @@ public class FedExApiClient {
     }
 
     public FedExTrackingResponse getTrackingStatus(FedExTrackingRequest request) {
+        String token = bearerToken();
         // Simulate an actual API call with potential failures
         if (request.getTrackingNumber().equals("fail-api")) {
             throw new FedExApiException("Simulated FedEx API error during tracking status retrieval");
         }
         if (request.getTrackingNumber().equals("fail-auth")) {
+            rejectToken(token);
             throw new FedExAuthenticationException("Simulated FedEx authentication failure");
         }
         return new FedExTrackingResponse("IN_TRANSIT", "Shipment is on its way", "Some location", java.time.Instant.now());
     }
+
+    // Cached OAuth token for the FedEx account, or null when no credentials are configured.
+    private String bearerToken() {
+        return tokenCache != null && tokenCache.isRegistered(ACCOUNT) ? tokenCache.getToken(ACCOUNT) : null;
+    }
+
+    private void rejectToken(String token) {
+        if (token != null) {
+            tokenCache.invalidate(ACCOUNT, token);
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package com.paklog.shipment.adapter.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Every primary request earns {@code percent}% of a hedge, capped at {@code maxBurst} hedges, and
+ * each hedge spends one. Over any stretch of traffic hedges therefore stay within the configured
+ * share of requests, so a slow carrier cannot double its own load.
+ */
+class HedgeBudget {
+
+    private static final long UNIT = 10_000;
+
+    private final long creditPerRequest;
+    private final long maxCredit;
+    private final AtomicLong credit = new AtomicLong();
+
+    HedgeBudget(double percent, int maxBurst) {
+        this.creditPerRequest = Math.round(UNIT * percent / 100.0);
+        this.maxCredit = UNIT * maxBurst;
+    }
+
+    void onRequest() {
+        credit.updateAndGet(current -> Math.min(maxCredit, current + creditPerRequest));
+    }
+
+    boolean tryHedge() {
+        long current;
+        do {
+            current = credit.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!credit.compareAndSet(current, current - UNIT));
+        return true;
+    }
+
+    // Gives back a hedge that was granted but could not be sent.
+    void refund() {
+        credit.updateAndGet(current -> Math.min(maxCredit, current + UNIT));
+    }
+}
@@ -0,0 +1,205 @@
+package com.paklog.shipment.adapter.hedging;
+
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.domain.CarrierInfo;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.ShippingCost;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingUpdate;
+import com.paklog.shipment.domain.exception.CarrierException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedges label creation: when the first attempt has not answered within the observed tail latency,
+ * a second request with the same package id goes out and whichever succeeds first is returned.
+ * Carriers dedupe label requests on the package id, so both attempts resolve to the same label.
+ * Every other operation is passed straight through.
+ */
+public class HedgedCarrierAdapter implements ICarrierAdapter {
+
+    private final ICarrierAdapter delegate;
+    private final LatencyWindow latencyWindow;
+    private final HedgeBudget budget;
+    private final long minSamples;
+    private final long minDelayNanos;
+    private final Executor executor;
+    private final MetricsService metricsService;
+    private final Set<String> hedgedPackages = ConcurrentHashMap.newKeySet();
+
+    HedgedCarrierAdapter(ICarrierAdapter delegate,
+                         LatencyWindow latencyWindow,
+                         HedgeBudget budget,
+                         long minSamples,
+                         Duration minDelay,
+                         Executor executor,
+                         MetricsService metricsService) {
+        this.delegate = delegate;
+        this.latencyWindow = latencyWindow;
+        this.budget = budget;
+        this.minSamples = minSamples;
+        this.minDelayNanos = minDelay.toNanos();
+        this.executor = executor;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public CarrierInfo createShipment(com.paklog.shipment.domain.Package packageInfo,
+                                      OrderId orderId,
+                                      String packageId) throws CarrierException {
+        budget.onRequest();
+        long hedgeDelay = latencyWindow.percentileNanos();
+        if (latencyWindow.count() < minSamples || hedgeDelay < 0) {
+            long start = System.nanoTime();
+            CarrierInfo info = delegate.createShipment(packageInfo, orderId, packageId);
+            latencyWindow.record(System.nanoTime() - start);
+            return info;
+        }
+
+        CompletableFuture<CarrierInfo> primary;
+        try {
+            primary = attempt(packageInfo, orderId, packageId);
+        } catch (RejectedExecutionException ex) {
+            // No thread for the primary means none for a hedge either; make the call ourselves.
+            metricsService.recordHedge(getCarrierName().name(), "skipped");
+            long start = System.nanoTime();
+            CarrierInfo info = delegate.createShipment(packageInfo, orderId, packageId);
+            latencyWindow.record(System.nanoTime() - start);
+            return info;
+        }
+        try {
+            return primary.get(Math.max(hedgeDelay, minDelayNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            return hedge(primary, packageInfo, orderId, packageId);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CarrierException("Label request interrupted", getCarrierName().name(), null, ex);
+        }
+    }
+
+    @Override
+    public Optional<TrackingUpdate> getTrackingStatus(TrackingNumber trackingNumber) throws CarrierException {
+        return delegate.getTrackingStatus(trackingNumber);
+    }
+
+    @Override
+    public ShippingCost rateLoad(Load load) throws CarrierException {
+        return delegate.rateLoad(load);
+    }
+
+    @Override
+    public boolean tenderLoad(Load load) throws CarrierException {
+        return delegate.tenderLoad(load);
+    }
+
+    @Override
+    public String schedulePickup(Load load) throws CarrierException {
+        return delegate.schedulePickup(load);
+    }
+
+    @Override
+    public CarrierName getCarrierName() {
+        return delegate.getCarrierName();
+    }
+
+    @Override
+    public String getRateCardVersion() {
+        return delegate.getRateCardVersion();
+    }
+
+    private CarrierInfo hedge(CompletableFuture<CarrierInfo> primary,
+                              com.paklog.shipment.domain.Package packageInfo,
+                              OrderId orderId,
+                              String packageId) {
+        String carrier = getCarrierName().name();
+        // At most one hedge per package at a time, whatever the caller retries.
+        if (!hedgedPackages.add(packageId)) {
+            return await(primary);
+        }
+        try {
+            if (!budget.tryHedge()) {
+                metricsService.recordHedge(carrier, "budget_exhausted");
+                return await(primary);
+            }
+            CompletableFuture<CarrierInfo> secondary;
+            try {
+                secondary = attempt(packageInfo, orderId, packageId);
+            } catch (RejectedExecutionException ex) {
+                budget.refund();
+                metricsService.recordHedge(carrier, "skipped");
+                return await(primary);
+            }
+            metricsService.recordHedge(carrier, "sent");
+            CompletableFuture<CarrierInfo> firstSuccess = firstSuccessOf(primary, secondary);
+            CarrierInfo info = await(firstSuccess);
+            if (secondary.isDone() && !secondary.isCompletedExceptionally() && secondary.join() == info) {
+                metricsService.recordHedge(carrier, "won");
+            }
+            return info;
+        } finally {
+            hedgedPackages.remove(packageId);
+        }
+    }
+
+    private CompletableFuture<CarrierInfo> attempt(com.paklog.shipment.domain.Package packageInfo,
+                                                   OrderId orderId,
+                                                   String packageId) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            CarrierInfo info = delegate.createShipment(packageInfo, orderId, packageId);
+            latencyWindow.record(System.nanoTime() - start);
+            return info;
+        }, executor);
+    }
+
+    private static CompletableFuture<CarrierInfo> firstSuccessOf(CompletableFuture<CarrierInfo> first,
+                                                                 CompletableFuture<CarrierInfo> second) {
+        CompletableFuture<CarrierInfo> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<CarrierInfo> attempt : List.of(first, second)) {
+            attempt.whenComplete((info, error) -> {
+                if (error == null) {
+                    winner.complete(info);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private CarrierInfo await(CompletableFuture<CarrierInfo> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw unwrap(ex.getCause());
+        }
+    }
+
+    private RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new CarrierException(cause.getMessage(), getCarrierName().name(), null, cause);
+    }
+}
@@ -0,0 +1,61 @@
+package com.paklog.shipment.adapter.hedging;
+
+import com.paklog.shipment.adapter.CarrierAdapterDecorator;
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.CarrierHedgingProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Outside the resilience decorator, so each attempt gets its own timeout and counts against the breaker.
+@Component
+@Order(300)
+public class HedgingCarrierAdapterDecorator implements CarrierAdapterDecorator, DisposableBean {
+
+    private static final int RECOMPUTE_EVERY = 50;
+
+    private final CarrierHedgingProperties properties;
+    private final MetricsService metricsService;
+    private final ExecutorService executor;
+
+    public HedgingCarrierAdapterDecorator(CarrierHedgingProperties properties, MetricsService metricsService) {
+        this.properties = properties;
+        this.metricsService = metricsService;
+        AtomicInteger threadCount = new AtomicInteger();
+        // A saturated pool rejects the attempt rather than running it on the caller, which would block
+        // for a whole round trip; HedgedCarrierAdapter then skips the hedge and keeps waiting.
+        this.executor = new ThreadPoolExecutor(0, properties.getMaxThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "carrier-hedge-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public ICarrierAdapter decorate(ICarrierAdapter adapter) {
+        if (!properties.isEnabled() || !properties.getCarriers().contains(adapter.getCarrierName())) {
+            return adapter;
+        }
+        return new HedgedCarrierAdapter(
+                adapter,
+                new LatencyWindow(properties.getWindowSize(), properties.getPercentile(), RECOMPUTE_EVERY),
+                new HedgeBudget(properties.getBudgetPercent(), properties.getMaxBurst()),
+                properties.getMinSamples(),
+                properties.getMinDelay(),
+                executor,
+                metricsService);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
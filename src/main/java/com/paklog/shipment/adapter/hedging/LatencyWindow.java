@@ -0,0 +1,51 @@
+package com.paklog.shipment.adapter.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ring buffer of the most recent call latencies. The percentile is recomputed every
+ * {@code recomputeEvery} samples rather than on each read, so the hot path is one array store.
+ */
+class LatencyWindow {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final int recomputeEvery;
+    private volatile long cachedPercentileNanos = -1;
+
+    LatencyWindow(int size, double percentile, int recomputeEvery) {
+        this.samples = new AtomicLongArray(size);
+        this.percentile = percentile;
+        this.recomputeEvery = recomputeEvery;
+    }
+
+    void record(long latencyNanos) {
+        long count = recorded.getAndIncrement();
+        samples.set((int) (count % samples.length()), latencyNanos);
+        if ((count + 1) % recomputeEvery == 0) {
+            cachedPercentileNanos = compute(Math.min(count + 1, samples.length()));
+        }
+    }
+
+    long count() {
+        return recorded.get();
+    }
+
+    // -1 until the first recompute.
+    long percentileNanos() {
+        return cachedPercentileNanos;
+    }
+
+    private long compute(long filled) {
+        long[] snapshot = new long[(int) filled];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(percentile * snapshot.length) - 1;
+        return snapshot[Math.max(0, Math.min(index, snapshot.length - 1))];
+    }
+}
@@ -0,0 +1,124 @@
+package com.paklog.shipment.adapter.http;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.CarrierHttpProperties;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.exception.CarrierException;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * One long-lived JDK {@link HttpClient} per carrier. The client keeps connections alive and
+ * multiplexes over HTTP/2 where the carrier supports it; the semaphore bounds in-flight requests
+ * so a burst cannot open an unbounded number of connections to the host.
+ */
+public class CarrierHttpClient {
+
+    public static final String POOL_EXHAUSTED = "POOL_EXHAUSTED";
+    // For adapters to report a 5xx-type answer, as opposed to the carrier refusing the request.
+    public static final String SERVER_ERROR = "SERVER_ERROR";
+
+    private final CarrierName carrier;
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final CarrierHttpProperties.Client settings;
+    private final Semaphore permits;
+    private final MetricsService metricsService;
+
+    public CarrierHttpClient(CarrierName carrier, CarrierHttpProperties.Client settings, MetricsService metricsService) {
+        this.carrier = carrier;
+        this.settings = settings;
+        this.baseUri = settings.getBaseUrl() != null ? URI.create(settings.getBaseUrl()) : null;
+        this.permits = new Semaphore(settings.getMaxConcurrentRequests());
+        this.metricsService = metricsService;
+        this.httpClient = HttpClient.newBuilder()
+                .version(settings.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(settings.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        metricsService.registerCarrierGauge("carrier.http.inflight", "Carrier HTTP requests in flight",
+                carrier.name(), () -> settings.getMaxConcurrentRequests() - permits.availablePermits());
+        metricsService.registerCarrierGauge("carrier.http.waiting", "Carrier HTTP requests waiting for a connection slot",
+                carrier.name(), permits::getQueueLength);
+    }
+
+    public URI resolve(String path) {
+        if (baseUri == null) {
+            throw new IllegalStateException("No base URL configured for carrier " + carrier);
+        }
+        return baseUri.resolve(path);
+    }
+
+    public HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(resolve(path));
+    }
+
+    public CarrierHttpResponse send(HttpRequest.Builder request, String operation) {
+        HttpRequest httpRequest = request
+                .timeout(settings.getRequestTimeout())
+                .header("Accept-Encoding", "gzip")
+                .build();
+        acquire(operation);
+        Timer.Sample sample = metricsService.startCarrierApiTimer();
+        String outcome = "error";
+        HttpClient.Version version = null;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+            outcome = Integer.toString(response.statusCode());
+            version = response.version();
+            return new CarrierHttpResponse(response.statusCode(), response.headers(), decode(response), response.version());
+        } catch (IOException ex) {
+            throw new CarrierException(operation + " request failed: " + ex.getMessage(), carrier.name(), null, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CarrierException(operation + " request interrupted", carrier.name(), null, ex);
+        } finally {
+            permits.release();
+            metricsService.recordCarrierHttpRequest(sample, carrier.name(), operation, outcome, protocolTag(version));
+        }
+    }
+
+    public CarrierName getCarrier() {
+        return carrier;
+    }
+
+    private void acquire(String operation) {
+        try {
+            if (!permits.tryAcquire(settings.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new CarrierException("No connection slot for " + carrier + " " + operation, carrier.name(), POOL_EXHAUSTED, null);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CarrierException(operation + " interrupted waiting for a connection slot", carrier.name(), null, ex);
+        }
+    }
+
+    // A corrupt body surfaces as an IOException, mapped like any other failed exchange.
+    private static byte[] decode(HttpResponse<byte[]> response) throws IOException {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (!gzip || response.body().length == 0) {
+            return response.body();
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static String protocolTag(HttpClient.Version version) {
+        if (version == null) {
+            return "none";
+        }
+        return version == HttpClient.Version.HTTP_2 ? "h2" : "http1.1";
+    }
+}
@@ -0,0 +1,28 @@
+package com.paklog.shipment.adapter.http;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.CarrierHttpProperties;
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shared per-carrier HTTP clients; adapters look theirs up here instead of building their own.
+@Component
+public class CarrierHttpClients {
+
+    private final Map<CarrierName, CarrierHttpClient> clients = new ConcurrentHashMap<>();
+    private final CarrierHttpProperties properties;
+    private final MetricsService metricsService;
+
+    public CarrierHttpClients(CarrierHttpProperties properties, MetricsService metricsService) {
+        this.properties = properties;
+        this.metricsService = metricsService;
+    }
+
+    public CarrierHttpClient forCarrier(CarrierName carrier) {
+        return clients.computeIfAbsent(carrier,
+                name -> new CarrierHttpClient(name, properties.forCarrier(name), metricsService));
+    }
+}
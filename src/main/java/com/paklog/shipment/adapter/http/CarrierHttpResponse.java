@@ -0,0 +1,17 @@
+package com.paklog.shipment.adapter.http;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+
+// Body is already decompressed.
+public record CarrierHttpResponse(int statusCode, HttpHeaders headers, byte[] body, HttpClient.Version version) {
+
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
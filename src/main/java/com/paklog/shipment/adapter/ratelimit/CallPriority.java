@@ -0,0 +1,10 @@
+package com.paklog.shipment.adapter.ratelimit;
+
+public enum CallPriority {
+    // Label creation: may spend the whole burst.
+    HIGH,
+    // Rating, tendering, pickups.
+    NORMAL,
+    // Tracking sweeps: must leave the reserve untouched.
+    LOW
+}
@@ -0,0 +1,53 @@
+package com.paklog.shipment.adapter.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in its GCRA form: the whole bucket state is one "theoretical arrival time", updated
+ * with a single CAS, so acquiring never locks. Lower priority lanes see a smaller bucket; the
+ * difference is a reserve of tokens only {@link CallPriority#HIGH} calls can spend.
+ */
+public class CarrierRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long[] allowanceNanos = new long[CallPriority.values().length];
+    private final AtomicLong theoreticalArrival;
+
+    public CarrierRateLimiter(double permitsPerSecond, int burst, int reserve, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least one");
+        }
+        this.emissionIntervalNanos = Math.round(1_000_000_000L / permitsPerSecond);
+        int cappedReserve = Math.max(0, Math.min(reserve, burst - 1));
+        long fullAllowance = emissionIntervalNanos * (burst - 1);
+        allowanceNanos[CallPriority.HIGH.ordinal()] = fullAllowance;
+        allowanceNanos[CallPriority.NORMAL.ordinal()] = fullAllowance - emissionIntervalNanos * (cappedReserve / 2);
+        allowanceNanos[CallPriority.LOW.ordinal()] = fullAllowance - emissionIntervalNanos * cappedReserve;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a permit for the given lane, reserving one up to {@code maxWaitNanos} in the future if
+     * none is free right now.
+     *
+     * @return how long the caller must wait before using the permit, or -1 if none was taken
+     */
+    public long acquire(CallPriority priority, long nowNanos, long maxWaitNanos) {
+        long allowance = allowanceNanos[priority.ordinal()];
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long base = Math.max(arrival, nowNanos);
+            long delay = Math.max(0, base - nowNanos - allowance);
+            if (delay > maxWaitNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, base + emissionIntervalNanos)) {
+                return delay;
+            }
+        }
+    }
+
+    public boolean tryAcquire(CallPriority priority, long nowNanos) {
+        return acquire(priority, nowNanos, 0) == 0;
+    }
+}
@@ -0,0 +1,98 @@
+package com.paklog.shipment.adapter.ratelimit;
+
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.domain.CarrierInfo;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.ShippingCost;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingUpdate;
+import com.paklog.shipment.domain.exception.CarrierException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+public class RateLimitedCarrierAdapter implements ICarrierAdapter {
+
+    public static final String RATE_LIMITED = "RATE_LIMITED";
+
+    private final ICarrierAdapter delegate;
+    private final CarrierRateLimiter limiter;
+    private final long maxWaitNanos;
+    private final MetricsService metricsService;
+    private final LongSupplier nanoClock;
+
+    public RateLimitedCarrierAdapter(ICarrierAdapter delegate,
+                                     CarrierRateLimiter limiter,
+                                     Duration maxWait,
+                                     MetricsService metricsService,
+                                     LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.metricsService = metricsService;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public CarrierInfo createShipment(com.paklog.shipment.domain.Package packageInfo,
+                                      OrderId orderId,
+                                      String packageId) throws CarrierException {
+        acquire("createShipment", CallPriority.HIGH);
+        return delegate.createShipment(packageInfo, orderId, packageId);
+    }
+
+    @Override
+    public Optional<TrackingUpdate> getTrackingStatus(TrackingNumber trackingNumber) throws CarrierException {
+        acquire("getTrackingStatus", CallPriority.LOW);
+        return delegate.getTrackingStatus(trackingNumber);
+    }
+
+    @Override
+    public ShippingCost rateLoad(Load load) throws CarrierException {
+        acquire("rateLoad", CallPriority.NORMAL);
+        return delegate.rateLoad(load);
+    }
+
+    @Override
+    public boolean tenderLoad(Load load) throws CarrierException {
+        acquire("tenderLoad", CallPriority.NORMAL);
+        return delegate.tenderLoad(load);
+    }
+
+    @Override
+    public String schedulePickup(Load load) throws CarrierException {
+        acquire("schedulePickup", CallPriority.NORMAL);
+        return delegate.schedulePickup(load);
+    }
+
+    @Override
+    public CarrierName getCarrierName() {
+        return delegate.getCarrierName();
+    }
+
+    @Override
+    public String getRateCardVersion() {
+        return delegate.getRateCardVersion();
+    }
+
+    // Label creation may wait briefly for a permit; everything else fails fast and is retried by its caller.
+    private void acquire(String operation, CallPriority priority) {
+        long maxWait = priority == CallPriority.HIGH ? maxWaitNanos : 0;
+        long delay = limiter.acquire(priority, nanoClock.getAsLong(), maxWait);
+        if (delay == 0) {
+            return;
+        }
+        String carrier = delegate.getCarrierName().name();
+        if (delay < 0) {
+            metricsService.recordCarrierThrottle(carrier, operation, "rejected");
+            throw new CarrierException("Client-side rate limit reached for " + carrier + " " + operation, carrier, RATE_LIMITED, null);
+        }
+        metricsService.recordCarrierThrottle(carrier, operation, "delayed");
+        LockSupport.parkNanos(delay);
+    }
+}
@@ -0,0 +1,34 @@
+package com.paklog.shipment.adapter.ratelimit;
+
+import com.paklog.shipment.adapter.CarrierAdapterDecorator;
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.CarrierRateLimitProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Inside hedging, so hedges spend permits too, but outside resilience: a throttled call never takes a
+// call thread or a breaker slot, and a label waiting for its permit is not on the call timeout.
+@Component
+@Order(250)
+public class RateLimitingCarrierAdapterDecorator implements CarrierAdapterDecorator {
+
+    private final CarrierRateLimitProperties properties;
+    private final MetricsService metricsService;
+
+    public RateLimitingCarrierAdapterDecorator(CarrierRateLimitProperties properties, MetricsService metricsService) {
+        this.properties = properties;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public ICarrierAdapter decorate(ICarrierAdapter adapter) {
+        CarrierRateLimitProperties.Limit limit = properties.getCarriers().get(adapter.getCarrierName());
+        if (!properties.isEnabled() || limit == null) {
+            return adapter;
+        }
+        CarrierRateLimiter limiter = new CarrierRateLimiter(limit.getPermitsPerSecond(), limit.getBurst(),
+                limit.getLabelReserve(), System.nanoTime());
+        return new RateLimitedCarrierAdapter(adapter, limiter, properties.getMaxLabelWait(), metricsService, System::nanoTime);
+    }
+}
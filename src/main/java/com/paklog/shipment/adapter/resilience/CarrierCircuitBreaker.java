@@ -0,0 +1,159 @@
+package com.paklog.shipment.adapter.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Count-based circuit breaker. Opens when the failure rate over the last {@code windowSize} calls
+ * crosses the threshold, rejects calls for {@code openDuration}, then lets a few probes through
+ * and closes again only if they all succeed.
+ * <p>
+ * Each state change starts a new generation, and every permission carries the generation it was
+ * granted in. An outcome reported against an older generation is ignored, so a call admitted while
+ * closed that finishes after the breaker opened neither counts as a probe nor reopens it.
+ */
+public class CarrierCircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+    private final boolean[] window;
+
+    private volatile State state = State.CLOSED;
+    private long generation;
+    private int position;
+    private int recorded;
+    private int failures;
+    private Instant openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CarrierCircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls,
+                                 Duration openDuration, int halfOpenCalls, Clock clock) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+    }
+
+    public synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                return Permit.REJECTED;
+            }
+            transitionTo(State.HALF_OPEN);
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenCalls) {
+                return Permit.REJECTED;
+            }
+            probesInFlight++;
+        }
+        return new Permit(generation);
+    }
+
+    public synchronized void onSuccess(Permit permit) {
+        if (isStale(permit)) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (++probeSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (isStale(permit)) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    // Hands back a permission that was acquired but never used for a call.
+    public synchronized void release(Permit permit) {
+        if (!isStale(permit) && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private boolean isStale(Permit permit) {
+        return !permit.granted() || permit.generation != generation;
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        generation++;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void open() {
+        transitionTo(State.OPEN);
+        openedAt = clock.instant();
+    }
+
+    private void close() {
+        transitionTo(State.CLOSED);
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    /**
+     * Permission for one call, to be handed back with its outcome. {@link #REJECTED} stands for a call
+     * the breaker refused.
+     */
+    public static final class Permit {
+
+        static final Permit REJECTED = new Permit(-1);
+
+        private final long generation;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+
+        public boolean granted() {
+            return generation >= 0;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.paklog.shipment.adapter.resilience;
+
+import com.paklog.shipment.adapter.CarrierAdapterDecorator;
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.CarrierResilienceProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Order(200)
+public class ResilienceCarrierAdapterDecorator implements CarrierAdapterDecorator, DisposableBean {
+
+    private final CarrierResilienceProperties properties;
+    private final MetricsService metricsService;
+    private final ExecutorService callExecutor;
+
+    public ResilienceCarrierAdapterDecorator(CarrierResilienceProperties properties, MetricsService metricsService) {
+        this.properties = properties;
+        this.metricsService = metricsService;
+        // Calls run here so the caller can give up on them; a timed-out call keeps its thread until the
+        // carrier client returns, hence the hard cap.
+        AtomicInteger threadCount = new AtomicInteger();
+        this.callExecutor = new ThreadPoolExecutor(0, properties.getMaxCallThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "carrier-call-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public ICarrierAdapter decorate(ICarrierAdapter adapter) {
+        if (!properties.isEnabled()) {
+            return adapter;
+        }
+        CarrierCircuitBreaker circuitBreaker = new CarrierCircuitBreaker(
+                properties.getFailureRateThreshold(),
+                properties.getSlidingWindowSize(),
+                properties.getMinimumCalls(),
+                properties.getOpenDuration(),
+                properties.getHalfOpenCalls(),
+                Clock.systemUTC());
+        AimdConcurrencyLimiter concurrencyLimiter = new AimdConcurrencyLimiter(
+                properties.getInitialConcurrency(),
+                properties.getMinConcurrency(),
+                properties.getMaxConcurrency(),
+                properties.getBackoffRatio(),
+                properties.getLatencyThreshold().toNanos());
+
+        String carrier = adapter.getCarrierName().name();
+        metricsService.registerCarrierGauge("carrier.circuit.state", "Circuit breaker state (0 closed, 1 half-open, 2 open)",
+                carrier, () -> circuitBreaker.getState().ordinal());
+        metricsService.registerCarrierGauge("carrier.concurrency.limit", "Adaptive in-flight call limit",
+                carrier, concurrencyLimiter::getLimit);
+        metricsService.registerCarrierGauge("carrier.concurrency.inflight", "Carrier calls currently in flight",
+                carrier, concurrencyLimiter::getInFlight);
+
+        return new ResilientCarrierAdapter(adapter, circuitBreaker, concurrencyLimiter,
+                properties.getCallTimeout(), callExecutor, metricsService);
+    }
+
+    @Override
+    public void destroy() {
+        callExecutor.shutdownNow();
+    }
+}
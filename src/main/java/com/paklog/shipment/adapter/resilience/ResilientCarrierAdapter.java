@@ -0,0 +1,258 @@
+package com.paklog.shipment.adapter.resilience;
+
+import com.paklog.shipment.adapter.BlockingCarrierAdapterBridge;
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.adapter.http.CarrierHttpClient;
+import com.paklog.shipment.adapter.ratelimit.RateLimitedCarrierAdapter;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.domain.CarrierInfo;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.ShippingCost;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingUpdate;
+import com.paklog.shipment.domain.exception.CarrierException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+public class ResilientCarrierAdapter implements ICarrierAdapter {
+
+    public static final String CIRCUIT_OPEN = "CIRCUIT_OPEN";
+    public static final String LIMIT_EXCEEDED = "LIMIT_EXCEEDED";
+    public static final String TIMEOUT = "TIMEOUT";
+
+    private static final Set<String> FAULT_CODES = Set.of(TIMEOUT, CarrierHttpClient.SERVER_ERROR);
+    private static final Set<String> NOT_SENT_CODES = Set.of(CIRCUIT_OPEN, LIMIT_EXCEEDED,
+            RateLimitedCarrierAdapter.RATE_LIMITED, CarrierHttpClient.POOL_EXHAUSTED);
+
+    private final ICarrierAdapter delegate;
+    private final CarrierCircuitBreaker circuitBreaker;
+    private final AimdConcurrencyLimiter concurrencyLimiter;
+    private final Duration callTimeout;
+    private final ExecutorService callExecutor;
+    private final MetricsService metricsService;
+
+    public ResilientCarrierAdapter(ICarrierAdapter delegate,
+                                   CarrierCircuitBreaker circuitBreaker,
+                                   AimdConcurrencyLimiter concurrencyLimiter,
+                                   Duration callTimeout,
+                                   ExecutorService callExecutor,
+                                   MetricsService metricsService) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.callTimeout = callTimeout;
+        this.callExecutor = callExecutor;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public CarrierInfo createShipment(com.paklog.shipment.domain.Package packageInfo,
+                                      OrderId orderId,
+                                      String packageId) throws CarrierException {
+        return call("createShipment", () -> delegate.createShipment(packageInfo, orderId, packageId));
+    }
+
+    @Override
+    public Optional<TrackingUpdate> getTrackingStatus(TrackingNumber trackingNumber) throws CarrierException {
+        return call("getTrackingStatus", () -> delegate.getTrackingStatus(trackingNumber));
+    }
+
+    @Override
+    public ShippingCost rateLoad(Load load) throws CarrierException {
+        return call("rateLoad", () -> delegate.rateLoad(load));
+    }
+
+    @Override
+    public boolean tenderLoad(Load load) throws CarrierException {
+        return call("tenderLoad", () -> delegate.tenderLoad(load));
+    }
+
+    @Override
+    public String schedulePickup(Load load) throws CarrierException {
+        return call("schedulePickup", () -> delegate.schedulePickup(load));
+    }
+
+    @Override
+    public CarrierName getCarrierName() {
+        return delegate.getCarrierName();
+    }
+
+    @Override
+    public String getRateCardVersion() {
+        return delegate.getRateCardVersion();
+    }
+
+    private <T> T call(String operation, Supplier<T> action) {
+        String carrier = delegate.getCarrierName().name();
+        if (!concurrencyLimiter.tryAcquire()) {
+            throw reject(carrier, operation, LIMIT_EXCEEDED, "Concurrency limit reached");
+        }
+        CarrierCircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (!permit.granted()) {
+            concurrencyLimiter.onIgnored();
+            throw reject(carrier, operation, CIRCUIT_OPEN, "Circuit breaker is open");
+        }
+
+        if (BlockingCarrierAdapterBridge.isBridgedCall()) {
+            // The bridge already moved this call off its caller; another hop would only park this thread.
+            return callInPlace(carrier, operation, action, permit);
+        }
+
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = callExecutor.submit(action::get);
+        } catch (RejectedExecutionException ex) {
+            circuitBreaker.release(permit);
+            concurrencyLimiter.onIgnored();
+            throw reject(carrier, operation, LIMIT_EXCEEDED, "No carrier call thread available");
+        }
+
+        try {
+            T result = future.get(callTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            circuitBreaker.onSuccess(permit);
+            concurrencyLimiter.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw timedOut(carrier, operation, permit, ex);
+        } catch (ExecutionException ex) {
+            throw failed(carrier, ex.getCause(), permit, start);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            circuitBreaker.release(permit);
+            concurrencyLimiter.onIgnored();
+            throw new CarrierException(operation + " interrupted", carrier, null, ex);
+        }
+    }
+
+    /**
+     * Runs the call on the current thread and enforces the call timeout by interrupting it, the same
+     * way a pooled call is cancelled. An answer that arrives after the deadline is still a timeout.
+     */
+    private <T> T callInPlace(String carrier, String operation, Supplier<T> action, CarrierCircuitBreaker.Permit permit) {
+        long start = System.nanoTime();
+        Watchdog watchdog = new Watchdog(Thread.currentThread());
+        CompletableFuture.delayedExecutor(callTimeout.toNanos(), TimeUnit.NANOSECONDS, Runnable::run)
+                .execute(watchdog::expire);
+        T result;
+        try {
+            result = action.get();
+        } catch (Throwable ex) {
+            if (watchdog.disarm()) {
+                throw timedOut(carrier, operation, permit, ex);
+            }
+            throw failed(carrier, ex, permit, start);
+        }
+        if (watchdog.disarm()) {
+            throw timedOut(carrier, operation, permit, null);
+        }
+        circuitBreaker.onSuccess(permit);
+        concurrencyLimiter.onSuccess(System.nanoTime() - start);
+        return result;
+    }
+
+    private CarrierException timedOut(String carrier, String operation, CarrierCircuitBreaker.Permit permit, Throwable cause) {
+        circuitBreaker.onFailure(permit);
+        concurrencyLimiter.onDropped();
+        metricsService.recordCarrierCallRejected(carrier, operation, TIMEOUT);
+        return new CarrierException(operation + " timed out after " + callTimeout.toMillis() + "ms", carrier, TIMEOUT, cause);
+    }
+
+    private RuntimeException failed(String carrier, Throwable cause, CarrierCircuitBreaker.Permit permit, long start) {
+        switch (classify(cause)) {
+            case CARRIER_FAULT -> {
+                circuitBreaker.onFailure(permit);
+                concurrencyLimiter.onSuccess(System.nanoTime() - start);
+            }
+            case CARRIER_ANSWERED -> {
+                circuitBreaker.onSuccess(permit);
+                concurrencyLimiter.onSuccess(System.nanoTime() - start);
+            }
+            case NOT_SENT -> {
+                circuitBreaker.release(permit);
+                concurrencyLimiter.onIgnored();
+            }
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new CarrierException(cause.getMessage(), carrier, null, cause);
+    }
+
+    /**
+     * Sorts a failed call by what it says about the carrier. Only transport errors, timeouts and
+     * carrier-side server errors count against the breaker. A carrier that answers with a refusal
+     * (validation, unknown tracking number, authentication) is up, and a call held back on our side
+     * before it went out says nothing about the carrier at all.
+     */
+    static FailureKind classify(Throwable failure) {
+        if (failure instanceof CarrierException carrierException && carrierException.getErrorCode() != null) {
+            String code = carrierException.getErrorCode();
+            if (NOT_SENT_CODES.contains(code)) {
+                return FailureKind.NOT_SENT;
+            }
+            if (FAULT_CODES.contains(code)) {
+                return FailureKind.CARRIER_FAULT;
+            }
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof UncheckedIOException
+                    || cause instanceof TimeoutException) {
+                return FailureKind.CARRIER_FAULT;
+            }
+        }
+        return FailureKind.CARRIER_ANSWERED;
+    }
+
+    enum FailureKind {
+        CARRIER_FAULT, CARRIER_ANSWERED, NOT_SENT
+    }
+
+    private CarrierException reject(String carrier, String operation, String reason, String message) {
+        metricsService.recordCarrierCallRejected(carrier, operation, reason);
+        return new CarrierException(message + " for " + carrier + " " + operation, carrier, reason, null);
+    }
+
+    private static final class Watchdog {
+        private final Thread caller;
+        private boolean done;
+        private boolean expired;
+
+        private Watchdog(Thread caller) {
+            this.caller = caller;
+        }
+
+        synchronized void expire() {
+            if (!done) {
+                expired = true;
+                caller.interrupt();
+            }
+        }
+
+        // Reports whether the deadline passed, and takes back the interrupt so it cannot leak into the
+        // next task on the caller's pool thread.
+        synchronized boolean disarm() {
+            done = true;
+            if (expired) {
+                Thread.interrupted();
+            }
+            return expired;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.paklog.shipment.adapter.ICarrierAdapter;
 import com.paklog.shipment.application.command.CreateLoadCommand;
 import com.paklog.shipment.application.command.UpdateLoadCommand;
 import com.paklog.shipment.application.exception.LoadNotFoundException;
+import com.paklog.shipment.application.exception.PreconditionFailedException;
 import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.Load;
 import com.paklog.shipment.domain.LoadId;
@@ -17,19 +18,22 @@ import com.paklog.shipment.domain.ShippingCost;
 import com.paklog.shipment.domain.Tender;
 import com.paklog.shipment.domain.repository.ILoadRepository;
 import com.paklog.shipment.domain.repository.ShipmentRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -40,8 +44,9 @@ public class LoadApplicationService {
     private final ShipmentRepository shipmentRepository;
     private final Map<CarrierName, ICarrierAdapter> carrierAdapters;
     private final MetricsService metricsService;
+    private final RateQuoteCache rateQuoteCache;
 
-    public LoadApplicationService(ILoadRepository loadRepository, ShipmentRepository shipmentRepository, List<ICarrierAdapter> carrierAdapterList, MetricsService metricsService) {
+    public LoadApplicationService(ILoadRepository loadRepository, ShipmentRepository shipmentRepository, List<ICarrierAdapter> carrierAdapterList, MetricsService metricsService, RateQuoteCache rateQuoteCache) {
         this.loadRepository = loadRepository;
         this.shipmentRepository = shipmentRepository;
         this.carrierAdapters = carrierAdapterList.stream()
@@ -50,9 +55,9 @@ public class LoadApplicationService {
                         Function.identity()
                 ));
         this.metricsService = metricsService;
+        this.rateQuoteCache = rateQuoteCache;
     }
 
-    @Transactional
     public Load createLoad(CreateLoadCommand command) {
         Set<ShipmentId> shipmentIds = command.shipments().stream()
                 .map(ShipmentId::of)
@@ -68,26 +73,29 @@ public class LoadApplicationService {
                 command.notes()
         );
 
-        loadRepository.save(newLoad);
+        List<ShipmentId> claimed = claimShipments(newLoad.getId(), shipmentIds);
+        try {
+            loadRepository.save(newLoad);
+        } catch (RuntimeException ex) {
+            releaseClaims(newLoad.getId(), claimed, ex);
+            throw ex;
+        }
         metricsService.loadsCreated.increment();
         return newLoad;
     }
 
-    @Transactional(readOnly = true)
     public Load getLoad(LoadId loadId) {
         return loadRepository.findById(loadId)
                 .orElseThrow(() -> new LoadNotFoundException("Load not found: " + loadId.getValue()));
     }
 
-    @Transactional(readOnly = true)
     public Page<Load> getLoads(LoadStatus status, CarrierName carrierName, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         return loadRepository.findAll(pageable, status, carrierName);
     }
 
-    @Transactional
-    public Load updateLoad(LoadId loadId, UpdateLoadCommand command) {
-        Load existingLoad = getLoad(loadId);
+    public Load updateLoad(LoadId loadId, UpdateLoadCommand command, Long expectedVersion) {
+        Load existingLoad = getLoadForUpdate(loadId, expectedVersion);
 
         existingLoad.applyUpdate(
                 command.reference(),
@@ -101,57 +109,50 @@ public class LoadApplicationService {
         return existingLoad;
     }
 
-    @Transactional
-    public void deleteLoad(LoadId loadId) {
-        Load existingLoad = getLoad(loadId);
+    public void deleteLoad(LoadId loadId, Long expectedVersion) {
+        Load existingLoad = getLoadForUpdate(loadId, expectedVersion);
         // In a real application, we would check load status and other business rules before deleting.
         // For now, we simply delete.
         loadRepository.delete(existingLoad);
+        unassignShipments(loadId, existingLoad.getShipmentIds());
     }
 
-    @Transactional(readOnly = true)
     public Page<Shipment> getShipmentsForLoad(LoadId loadId, int page, int size) {
         Load load = getLoad(loadId);
-        List<Shipment> shipments = shipmentRepository.findAllById(load.getShipmentIds().stream().collect(Collectors.toList()));
-        Pageable pageable = PageRequest.of(page, size);
-        int start = Math.min((int) pageable.getOffset(), shipments.size());
-        int end = Math.min(start + pageable.getPageSize(), shipments.size());
-        List<Shipment> pageContent = shipments.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, shipments.size());
+        return shipmentRepository.findPageByIds(load.getShipmentIds(), PageRequest.of(page, size, Sort.by("id")));
     }
 
-    @Transactional
     public Load assignShipmentsToLoad(LoadId loadId, Set<UUID> shipmentIds) {
-        Load existingLoad = getLoad(loadId);
         Set<ShipmentId> domainShipmentIds = shipmentIds.stream().map(ShipmentId::of).collect(Collectors.toSet());
-        existingLoad.addShipments(domainShipmentIds);
-        loadRepository.save(existingLoad);
-        return existingLoad;
+        List<ShipmentId> claimed = claimShipments(loadId, domainShipmentIds);
+        try {
+            return loadRepository.addShipments(loadId, null, domainShipmentIds)
+                    .orElseGet(() -> explainRejectedTransition(loadId, null, load -> load.addShipments(domainShipmentIds)));
+        } catch (RuntimeException ex) {
+            releaseClaims(loadId, claimed, ex);
+            throw ex;
+        }
     }
 
-    @Transactional
     public void removeShipmentFromLoad(LoadId loadId, ShipmentId shipmentId) {
         Load existingLoad = getLoad(loadId);
         existingLoad.removeShipment(shipmentId);
         loadRepository.save(existingLoad);
+        unassignShipments(loadId, Set.of(shipmentId));
     }
 
-    @Transactional
-    public Load assignCarrier(LoadId loadId, CarrierName carrierName, String scac, String contactName, String contactPhone) {
-        Load existingLoad = getLoad(loadId);
-        existingLoad.assignCarrier(carrierName); // Assuming assignCarrier in domain.Load can take more details if needed
-        loadRepository.save(existingLoad);
-        return existingLoad;
+    public Load assignCarrier(LoadId loadId, CarrierName carrierName, String scac, String contactName, String contactPhone, Long expectedVersion) {
+        Objects.requireNonNull(carrierName, "Carrier name cannot be null");
+        return loadRepository.assignCarrier(loadId, expectedVersion, carrierName)
+                .orElseGet(() -> explainRejectedTransition(loadId, expectedVersion, load -> load.assignCarrier(carrierName)));
     }
 
-    @Transactional
-    public void unassignCarrier(LoadId loadId) {
-        Load existingLoad = getLoad(loadId);
+    public void unassignCarrier(LoadId loadId, Long expectedVersion) {
+        Load existingLoad = getLoadForUpdate(loadId, expectedVersion);
         existingLoad.unassignCarrier();
         loadRepository.save(existingLoad);
     }
 
-    @Transactional(readOnly = true)
     public ShippingCost rateLoad(LoadId loadId) {
         Load load = getLoad(loadId);
         if (load.getCarrierName() == null) {
@@ -161,64 +162,137 @@ public class LoadApplicationService {
         if (carrierAdapter == null) {
             throw new IllegalStateException("No adapter found for carrier: " + load.getCarrierName());
         }
-        return carrierAdapter.rateLoad(load);
+        RateQuoteKey quoteKey = RateQuoteKey.of(load, carrierAdapter.getRateCardVersion());
+        return rateQuoteCache.getOrQuote(quoteKey, () -> carrierAdapter.rateLoad(load));
     }
 
-    @Transactional(readOnly = true)
     public Tender getTender(LoadId loadId) {
         Load load = getLoad(loadId);
         return load.getTender();
     }
 
-    @Transactional
-    public Load tenderLoad(LoadId loadId, OffsetDateTime expiresAt, String notes) {
-        Load existingLoad = getLoad(loadId);
-        existingLoad.tenderLoad(expiresAt, notes);
-        loadRepository.save(existingLoad);
-        return existingLoad;
+    public LoadChange tenderLoad(LoadId loadId, OffsetDateTime expiresAt, String notes, Long expectedVersion) {
+        Tender tender = Tender.pending(expiresAt, notes);
+        // Most loads are tendered once, so try that first; re-tendering costs a second round-trip.
+        Optional<Load> tendered = loadRepository.tender(loadId, expectedVersion, tender, true);
+        if (tendered.isPresent()) {
+            return new LoadChange(tendered.get(), true);
+        }
+        Load retendered = loadRepository.tender(loadId, expectedVersion, tender, false)
+                .orElseGet(() -> explainRejectedTransition(loadId, expectedVersion, load -> load.tenderLoad(expiresAt, notes)));
+        return new LoadChange(retendered, false);
     }
 
-    @Transactional
-    public void cancelTender(LoadId loadId) {
-        Load existingLoad = getLoad(loadId);
+    public void cancelTender(LoadId loadId, Long expectedVersion) {
+        Load existingLoad = getLoadForUpdate(loadId, expectedVersion);
         existingLoad.cancelTender();
         loadRepository.save(existingLoad);
     }
 
-    @Transactional
-    public Load recordTenderDecision(LoadId loadId, Tender.Decision decision, String respondedBy, String reason) {
-        Load existingLoad = getLoad(loadId);
-        existingLoad.recordTenderDecision(decision, respondedBy, reason); // Assuming this method exists in domain.Load
-        loadRepository.save(existingLoad);
-        return existingLoad;
+    public Load recordTenderDecision(LoadId loadId, Tender.Decision decision, String respondedBy, String reason, Long expectedVersion) {
+        return loadRepository.recordTenderDecision(loadId, expectedVersion, decision, respondedBy, reason)
+                .orElseGet(() -> explainRejectedTransition(loadId, expectedVersion,
+                        load -> load.recordTenderDecision(decision, respondedBy, reason)));
     }
 
-    @Transactional(readOnly = true)
     public Pickup getPickup(LoadId loadId) {
         Load load = getLoad(loadId);
         return load.getPickup();
     }
 
-    @Transactional
-    public Load schedulePickup(LoadId loadId, OffsetDateTime scheduledFor, Location location, String contactName, String contactPhone, String instructions) {
-        Load existingLoad = getLoad(loadId);
+    public LoadChange schedulePickup(LoadId loadId, OffsetDateTime scheduledFor, Location location, String contactName, String contactPhone, String instructions, Long expectedVersion) {
         String confirmationNumber = UUID.randomUUID().toString(); // Generate confirmation number
-        existingLoad.schedulePickup(confirmationNumber, scheduledFor, location, contactName, contactPhone, instructions);
-        loadRepository.save(existingLoad);
-        return existingLoad;
+        Pickup pickup = new Pickup(confirmationNumber, scheduledFor, location, contactName, contactPhone, instructions);
+        Optional<Load> scheduled = loadRepository.schedulePickup(loadId, expectedVersion, pickup, true);
+        if (scheduled.isPresent()) {
+            return new LoadChange(scheduled.get(), true);
+        }
+        Load rescheduled = loadRepository.schedulePickup(loadId, expectedVersion, pickup, false)
+                .orElseGet(() -> explainRejectedTransition(loadId, expectedVersion,
+                        load -> load.schedulePickup(confirmationNumber, scheduledFor, location, contactName, contactPhone, instructions)));
+        return new LoadChange(rescheduled, false);
     }
 
-    @Transactional
-    public void cancelPickup(LoadId loadId) {
-        Load existingLoad = getLoad(loadId);
+    public void cancelPickup(LoadId loadId, Long expectedVersion) {
+        Load existingLoad = getLoadForUpdate(loadId, expectedVersion);
         existingLoad.cancelPickup();
         loadRepository.save(existingLoad);
     }
 
-    @Transactional(readOnly = true)
     public String getBillOfLading(LoadId loadId) {
         Load load = getLoad(loadId);
         // This is a placeholder. Real implementation would generate a BOL document.
         return "Bill of Lading for Load: " + load.getReference() + " (ID: " + load.getId().getValue() + ")";
     }
+
+    /**
+     * Records the load on each shipment about to join it, before the load itself is written. Each
+     * save is conditional on the version read while the shipment was unassigned, so of two loads
+     * racing for a shipment only one claims it; the other fails here and gives back what it already
+     * claimed. Shipments not stored yet are left out; the load still lists them.
+     */
+    private List<ShipmentId> claimShipments(LoadId loadId, Set<ShipmentId> shipmentIds) {
+        List<ShipmentId> claimed = new ArrayList<>();
+        try {
+            for (Shipment shipment : shipmentRepository.findAllById(List.copyOf(shipmentIds))) {
+                LoadId assigned = shipment.getAssignedLoadId();
+                if (assigned == null) {
+                    shipment.assignToLoad(loadId);
+                    shipmentRepository.save(shipment);
+                    claimed.add(shipment.getId());
+                } else if (!assigned.equals(loadId)) {
+                    throw new IllegalStateException("Shipment " + shipment.getId().getValue()
+                            + " is already assigned to load " + assigned.getValue());
+                }
+            }
+        } catch (RuntimeException ex) {
+            releaseClaims(loadId, claimed, ex);
+            throw ex;
+        }
+        return claimed;
+    }
+
+    private void releaseClaims(LoadId loadId, List<ShipmentId> claimed, RuntimeException cause) {
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            unassignShipments(loadId, Set.copyOf(claimed));
+        } catch (RuntimeException ex) {
+            cause.addSuppressed(ex);
+        }
+    }
+
+    private void unassignShipments(LoadId loadId, Set<ShipmentId> shipmentIds) {
+        for (Shipment shipment : shipmentRepository.findAllById(List.copyOf(shipmentIds))) {
+            if (loadId.equals(shipment.getAssignedLoadId())) {
+                shipment.unassignFromLoad();
+                shipmentRepository.save(shipment);
+            }
+        }
+    }
+
+    /**
+     * Loads the aggregate for a write guarded by If-Match. A null expected version skips the check;
+     * the save is still conditional on the version read here.
+     */
+    private Load getLoadForUpdate(LoadId loadId, Long expectedVersion) {
+        Load load = getLoad(loadId);
+        if (expectedVersion != null && !expectedVersion.equals(load.getVersion())) {
+            throw new PreconditionFailedException("Load " + loadId.getValue() + " is at version " + load.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        return load;
+    }
+
+    /**
+     * Works out why a conditional transition matched nothing and throws accordingly: the load is
+     * gone, the caller's version is stale, or the domain rejects the transition. If the domain would
+     * now allow it, another write raced in between.
+     */
+    private Load explainRejectedTransition(LoadId loadId, Long expectedVersion, Consumer<Load> transition) {
+        Load current = getLoadForUpdate(loadId, expectedVersion);
+        transition.accept(current);
+        throw new OptimisticLockingFailureException("Load " + loadId.getValue() + " was modified concurrently");
+    }
 }
@@ -0,0 +1,9 @@
+package com.paklog.shipment.application;
+
+import com.paklog.shipment.domain.Load;
+
+/**
+ * A load after a mutation that may create a sub-resource, with whether it did.
+ */
+public record LoadChange(Load load, boolean created) {
+}
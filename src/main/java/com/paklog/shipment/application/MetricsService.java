@@ -1,10 +1,13 @@
 package com.paklog.shipment.application;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -24,6 +27,19 @@ public class MetricsService {
     public final Counter trackingJobsFailed;
     private final Map<CarrierMetricKey, Counter> carrierApiCallCounters = new ConcurrentHashMap<>();
     private final Map<CarrierMetricKey, Timer> carrierApiLatencyTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> carrierCapacityRejections = new ConcurrentHashMap<>();
+    private final Map<CarrierMetricKey, Counter> carrierCallRejections = new ConcurrentHashMap<>();
+    private final Map<CarrierMetricKey, Counter> carrierThrottles = new ConcurrentHashMap<>();
+    private final Map<CarrierOutcomeKey, Counter> hedgeRequests = new ConcurrentHashMap<>();
+    private final Map<CarrierOutcomeKey, Counter> trackingWebhooks = new ConcurrentHashMap<>();
+    private final Counter rateQuoteCacheHits;
+    private final Counter rateQuoteCacheMisses;
+    private final Counter loadCacheHits;
+    private final Counter loadCacheMisses;
+    private final Counter trackingViewCacheHits;
+    private final Counter trackingViewCacheMisses;
+    private final Counter shipmentsArchived;
+    private final AtomicLong activeShipments = new AtomicLong();
 
     public MetricsService(MeterRegistry registry) {
         this.registry = registry;
@@ -56,6 +72,48 @@ public class MetricsService {
         this.trackingJobsFailed = Counter.builder("tracking.jobs.failed")
                 .description("Count of failed tracking job executions")
                 .register(registry);
+
+        this.rateQuoteCacheHits = Counter.builder("rating.quote.cache.requests")
+                .description("Rate quote lookups served by the quote cache")
+                .tag("result", "hit")
+                .register(registry);
+
+        this.rateQuoteCacheMisses = Counter.builder("rating.quote.cache.requests")
+                .description("Rate quote lookups served by the quote cache")
+                .tag("result", "miss")
+                .register(registry);
+
+        this.loadCacheHits = Counter.builder("loads.cache.requests")
+                .description("Load lookups by whether the load near-cache answered them")
+                .tag("result", "hit")
+                .register(registry);
+
+        this.loadCacheMisses = Counter.builder("loads.cache.requests")
+                .description("Load lookups by whether the load near-cache answered them")
+                .tag("result", "miss")
+                .register(registry);
+
+        this.trackingViewCacheHits = Counter.builder("tracking.view.cache.requests")
+                .description("Tracking page lookups by whether the tracking view cache answered them")
+                .tag("result", "hit")
+                .register(registry);
+
+        this.trackingViewCacheMisses = Counter.builder("tracking.view.cache.requests")
+                .description("Tracking page lookups by whether the tracking view cache answered them")
+                .tag("result", "miss")
+                .register(registry);
+
+        this.shipmentsArchived = Counter.builder("shipments.archived")
+                .description("Terminal shipments moved to the archive collection")
+                .register(registry);
+
+        Gauge.builder("rating.quote.cache.hit.ratio", this, MetricsService::rateQuoteCacheHitRatio)
+                .description("Share of rate quote lookups answered from the quote cache")
+                .register(registry);
+
+        Gauge.builder("shipments.active.documents", activeShipments, AtomicLong::get)
+                .description("Estimated shipments in the hot collection, refreshed every minute")
+                .register(registry);
     }
 
     public void incrementCarrierApiCalls(String carrier, String operation, String status) {
@@ -78,6 +136,119 @@ public class MetricsService {
         }
     }
 
+    public void recordCarrierHttpRequest(Timer.Sample sample, String carrier, String operation, String status, String protocol) {
+        Timer timer = Timer.builder("carrier.http.requests")
+                .description("HTTP requests to carrier APIs")
+                .tag("carrier", carrier)
+                .tag("operation", operation)
+                .tag("status", status)
+                .tag("protocol", protocol)
+                .register(registry);
+        sample.stop(timer);
+    }
+
+    public void recordRateQuoteLookup(boolean hit) {
+        if (hit) {
+            rateQuoteCacheHits.increment();
+        } else {
+            rateQuoteCacheMisses.increment();
+        }
+    }
+
+    public void recordLoadCacheLookup(boolean hit) {
+        if (hit) {
+            loadCacheHits.increment();
+        } else {
+            loadCacheMisses.increment();
+        }
+    }
+
+    public void recordTrackingViewLookup(boolean hit) {
+        if (hit) {
+            trackingViewCacheHits.increment();
+        } else {
+            trackingViewCacheMisses.increment();
+        }
+    }
+
+    public void recordShipmentsArchived(int count) {
+        shipmentsArchived.increment(count);
+    }
+
+    public void recordActiveShipmentCount(long count) {
+        activeShipments.set(count);
+    }
+
+    public void recordCarrierCapacityRejection(String carrier) {
+        carrierCapacityRejections.computeIfAbsent(carrier, name -> Counter.builder("carrier.capacity.rejections")
+                        .description("Carrier selections refused because the daily commitment was reached")
+                        .tag("carrier", name)
+                        .register(registry))
+                .increment();
+    }
+
+    public void recordCarrierCallRejected(String carrier, String operation, String reason) {
+        carrierCallRejections
+                .computeIfAbsent(new CarrierMetricKey(carrier, operation, reason), key -> Counter.builder("carrier.resilience.rejections")
+                        .description("Carrier calls failed fast or abandoned by the resilience layer")
+                        .tag("carrier", key.carrier)
+                        .tag("operation", key.operation)
+                        .tag("reason", key.status)
+                        .register(registry))
+                .increment();
+    }
+
+    public void recordTrackingWebhook(String carrier, String outcome) {
+        trackingWebhooks.computeIfAbsent(new CarrierOutcomeKey(carrier, outcome), key -> Counter.builder("tracking.webhook.notifications")
+                        .description("Carrier tracking pushes by outcome (accepted, applied, invalid_signature, buffer_full, unknown_shipment, failed)")
+                        .tag("carrier", key.carrier)
+                        .tag("outcome", key.outcome)
+                        .register(registry))
+                .increment();
+    }
+
+    public void recordCarrierThrottle(String carrier, String operation, String outcome) {
+        carrierThrottles
+                .computeIfAbsent(new CarrierMetricKey(carrier, operation, outcome), key -> Counter.builder("carrier.ratelimit.throttled")
+                        .description("Carrier calls held back by the client-side rate limiter (delayed or rejected)")
+                        .tag("carrier", key.carrier)
+                        .tag("operation", key.operation)
+                        .tag("outcome", key.status)
+                        .register(registry))
+                .increment();
+    }
+
+    public void recordHedge(String carrier, String outcome) {
+        hedgeRequests.computeIfAbsent(new CarrierOutcomeKey(carrier, outcome), key -> Counter.builder("carrier.hedge.requests")
+                        .description("Hedged label requests by outcome (sent, won, skipped, budget_exhausted)")
+                        .tag("carrier", key.carrier)
+                        .tag("outcome", key.outcome)
+                        .register(registry))
+                .increment();
+    }
+
+    public void recordTokenRefresh(String account, boolean success) {
+        Counter.builder("carrier.auth.token.refreshes")
+                .description("Carrier access token fetches")
+                .tag("account", account)
+                .tag("result", success ? "success" : "failure")
+                .register(registry)
+                .increment();
+    }
+
+    public void registerCarrierGauge(String name, String description, String carrier, Supplier<Number> value) {
+        Gauge.builder(name, value)
+                .description(description)
+                .tag("carrier", carrier)
+                .register(registry);
+    }
+
+    public double rateQuoteCacheHitRatio() {
+        double hits = rateQuoteCacheHits.count();
+        double total = hits + rateQuoteCacheMisses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
     public void markTrackingJobResult(boolean success) {
         if (success) {
             trackingJobsSucceeded.increment();
@@ -107,4 +278,7 @@ public class MetricsService {
 
     private record CarrierMetricKey(String carrier, String operation, String status) {
     }
+
+    private record CarrierOutcomeKey(String carrier, String outcome) {
+    }
 }
@@ -0,0 +1,80 @@
+package com.paklog.shipment.application;
+
+import com.paklog.shipment.config.RateQuoteCacheProperties;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.ShippingCost;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+public class RateQuoteCache {
+
+    private final Map<RateQuoteKey, CachedQuote> quotes = new ConcurrentHashMap<>();
+    private final RateQuoteCacheProperties properties;
+    private final MetricsService metricsService;
+    private final Clock clock;
+
+    public RateQuoteCache(RateQuoteCacheProperties properties, MetricsService metricsService) {
+        this(properties, metricsService, Clock.systemUTC());
+    }
+
+    RateQuoteCache(RateQuoteCacheProperties properties, MetricsService metricsService, Clock clock) {
+        this.properties = properties;
+        this.metricsService = metricsService;
+        this.clock = clock;
+    }
+
+    public ShippingCost getOrQuote(RateQuoteKey key, Supplier<ShippingCost> quoter) {
+        if (!properties.isEnabled()) {
+            return quoter.get();
+        }
+
+        Instant now = clock.instant();
+        CachedQuote cached = quotes.get(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            metricsService.recordRateQuoteLookup(true);
+            return cached.cost();
+        }
+
+        metricsService.recordRateQuoteLookup(false);
+        ShippingCost cost = quoter.get();
+        if (cost != null) {
+            ensureCapacity(now);
+            quotes.put(key, new CachedQuote(cost, now.plus(properties.getTtl())));
+        }
+        return cost;
+    }
+
+    public void invalidateCarrier(CarrierName carrier) {
+        quotes.keySet().removeIf(key -> key.carrier() == carrier);
+    }
+
+    public void invalidateAll() {
+        quotes.clear();
+    }
+
+    int size() {
+        return quotes.size();
+    }
+
+    private void ensureCapacity(Instant now) {
+        if (quotes.size() < properties.getMaxEntries()) {
+            return;
+        }
+        quotes.values().removeIf(quote -> !quote.expiresAt().isAfter(now));
+        Iterator<RateQuoteKey> keys = quotes.keySet().iterator();
+        while (quotes.size() >= properties.getMaxEntries() && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CachedQuote(ShippingCost cost, Instant expiresAt) {
+    }
+}
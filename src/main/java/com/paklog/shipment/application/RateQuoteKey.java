@@ -0,0 +1,42 @@
+package com.paklog.shipment.application;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.Location;
+
+import java.util.Locale;
+
+/**
+ * Normalized lane and package profile used to share carrier rate quotes between loads.
+ * Loads do not carry weight or dimensions yet, so the package profile is the piece count the
+ * carrier prices on; the rate card version keeps quotes from different tariffs apart.
+ */
+public record RateQuoteKey(
+        CarrierName carrier,
+        String originZone,
+        String destinationZone,
+        int pieceCount,
+        String rateCardVersion
+) {
+
+    private static final int ZONE_PREFIX_LENGTH = 3;
+
+    public static RateQuoteKey of(Load load, String rateCardVersion) {
+        return new RateQuoteKey(
+                load.getCarrierName(),
+                zoneOf(load.getOrigin()),
+                zoneOf(load.getDestination()),
+                load.getShipmentIds().size(),
+                rateCardVersion
+        );
+    }
+
+    static String zoneOf(Location location) {
+        if (location == null) {
+            return "UNKNOWN";
+        }
+        String postalCode = location.postalCode().replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+        String prefix = postalCode.length() > ZONE_PREFIX_LENGTH ? postalCode.substring(0, ZONE_PREFIX_LENGTH) : postalCode;
+        return location.country().toUpperCase(Locale.ROOT) + "-" + prefix;
+    }
+}
@@ -0,0 +1,129 @@
+package com.paklog.shipment.application;
+
+import com.paklog.shipment.application.exception.LoadNotFoundException;
+import com.paklog.shipment.application.exception.ShipmentNotFoundException;
+import com.paklog.shipment.config.ResourceVersionCacheProperties;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.repository.ILoadRepository;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Answers "what version is this resource at" for conditional requests without hydrating the
+ * aggregate. Versions are read through a single-field projection and held for a short TTL, so a
+ * burst of revalidations costs one indexed read. Preconditions guarding a write must use the
+ * {@code fresh*} variants, which always go to the database.
+ * <p>
+ * Only writes through this replica's controllers evict. A resource changed by another replica or
+ * by a job keeps its cached version until the TTL runs out, so a conditional GET can answer 304 for
+ * up to that long after the change; the TTL is kept short for that reason.
+ */
+@Service
+public class ResourceVersionService {
+
+    private final Map<Object, CachedVersion> versions = new ConcurrentHashMap<>();
+    private final ShipmentRepository shipmentRepository;
+    private final ILoadRepository loadRepository;
+    private final ResourceVersionCacheProperties properties;
+    private final Clock clock;
+
+    public ResourceVersionService(ShipmentRepository shipmentRepository,
+                                  ILoadRepository loadRepository,
+                                  ResourceVersionCacheProperties properties) {
+        this(shipmentRepository, loadRepository, properties, Clock.systemUTC());
+    }
+
+    ResourceVersionService(ShipmentRepository shipmentRepository,
+                           ILoadRepository loadRepository,
+                           ResourceVersionCacheProperties properties,
+                           Clock clock) {
+        this.shipmentRepository = shipmentRepository;
+        this.loadRepository = loadRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public long shipmentVersion(ShipmentId shipmentId) {
+        return cached(shipmentId, () -> readShipmentVersion(shipmentId));
+    }
+
+    public long loadVersion(LoadId loadId) {
+        return cached(loadId, () -> readLoadVersion(loadId));
+    }
+
+    public long freshLoadVersion(LoadId loadId) {
+        long version = readLoadVersion(loadId);
+        remember(loadId, version);
+        return version;
+    }
+
+    public void evict(ShipmentId shipmentId) {
+        versions.remove(shipmentId);
+    }
+
+    public void evict(LoadId loadId) {
+        versions.remove(loadId);
+    }
+
+    int size() {
+        return versions.size();
+    }
+
+    private long cached(Object key, Supplier<Long> reader) {
+        if (!properties.isEnabled()) {
+            return reader.get();
+        }
+        CachedVersion cached = versions.get(key);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            return cached.version();
+        }
+        long version = reader.get();
+        remember(key, version);
+        return version;
+    }
+
+    private void remember(Object key, long version) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant now = clock.instant();
+        ensureCapacity(now);
+        versions.put(key, new CachedVersion(version, now.plus(properties.getTtl())));
+    }
+
+    private long readShipmentVersion(ShipmentId shipmentId) {
+        return shipmentRepository.findVersion(shipmentId)
+                .orElseThrow(() -> new ShipmentNotFoundException("Shipment not found: " + shipmentId.getValue()));
+    }
+
+    private long readLoadVersion(LoadId loadId) {
+        return loadRepository.findVersion(loadId)
+                .orElseThrow(() -> new LoadNotFoundException("Load not found: " + loadId.getValue()));
+    }
+
+    // Frees a tenth of the capacity at a time, so a full cache is swept once per that many inserts
+    // rather than on every one.
+    private void ensureCapacity(Instant now) {
+        if (versions.size() < properties.getMaxEntries()) {
+            return;
+        }
+        versions.values().removeIf(version -> !version.expiresAt().isAfter(now));
+        int target = properties.getMaxEntries() - Math.max(1, properties.getMaxEntries() / 10);
+        Iterator<Object> keys = versions.keySet().iterator();
+        while (versions.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CachedVersion(long version, Instant expiresAt) {
+    }
+}
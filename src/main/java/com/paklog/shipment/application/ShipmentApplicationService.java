@@ -5,6 +5,7 @@ import com.paklog.shipment.application.command.CreateShipmentCommand;
 import com.paklog.shipment.application.exception.ShipmentCreationException;
 import com.paklog.shipment.application.exception.ShipmentNotFoundException;
 import com.paklog.shipment.application.port.ShipmentEventPublisher;
+import com.paklog.shipment.domain.CarrierAllocation;
 import com.paklog.shipment.domain.CarrierInfo;
 import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.LoadId;
@@ -25,6 +26,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.OffsetDateTime;
 import java.util.Comparator;
@@ -44,6 +47,7 @@ public class ShipmentApplicationService {
     private final CarrierSelectionService carrierSelectionService;
     private final Map<CarrierName, ICarrierAdapter> carrierAdapters;
     private final ShipmentEventPublisher eventPublisher;
+    private final TrackingViewService trackingViews;
 
     private static final LoadId UNASSIGNED_LOAD_ID = LoadId.of("00000000-0000-0000-0000-000000000000");
 
@@ -53,7 +57,8 @@ public class ShipmentApplicationService {
                                       PackageRetrievalService packageRetrievalService,
                                       CarrierSelectionService carrierSelectionService,
                                       List<ICarrierAdapter> carrierAdapterList,
-                                      ShipmentEventPublisher eventPublisher) {
+                                      ShipmentEventPublisher eventPublisher,
+                                      TrackingViewService trackingViews) {
         this.shipmentRepository = shipmentRepository;
         this.loadApplicationService = loadApplicationService;
         this.metricsService = metricsService;
@@ -62,8 +67,10 @@ public class ShipmentApplicationService {
         this.carrierAdapters = carrierAdapterList.stream()
                 .collect(Collectors.toMap(ICarrierAdapter::getCarrierName, Function.identity()));
         this.eventPublisher = eventPublisher;
+        this.trackingViews = trackingViews;
     }
 
+    // The only transactional writes left: each persists a shipment together with its outbox event.
     @Transactional
     public Shipment createShipment(CreateShipmentCommand command) {
         Optional<Shipment> existingShipment = shipmentRepository.findByOrderId(command.getOrderId());
@@ -72,10 +79,12 @@ public class ShipmentApplicationService {
         }
 
         Package packageDetails = packageRetrievalService.getPackageDetails(command.getPackageId());
-        CarrierName carrier = carrierSelectionService.selectBestCarrier(packageDetails);
-        ICarrierAdapter carrierAdapter = resolveCarrierAdapter(carrier);
+        CarrierAllocation allocation = carrierSelectionService.allocateCarrier(packageDetails);
+        CarrierName carrier = allocation.carrier();
 
+        boolean created = false;
         try {
+            ICarrierAdapter carrierAdapter = resolveCarrierAdapter(carrier);
             CarrierInfo carrierInfo = carrierAdapter.createShipment(packageDetails, command.getOrderId(), command.getPackageId());
             TrackingNumber trackingNumber = TrackingNumber.of(carrierInfo.getTrackingNumber());
             OffsetDateTime now = OffsetDateTime.now();
@@ -87,13 +96,37 @@ public class ShipmentApplicationService {
             metricsService.shipmentsCreated.increment();
 //            loadApplicationService.addShipmentToLoad(UNASSIGNED_LOAD_ID, persisted.getId());
             eventPublisher.shipmentDispatched(persisted);
+            trackingViews.refresh(persisted);
+            created = true;
             return persisted;
         } catch (CarrierException ex) {
             throw new ShipmentCreationException("Carrier " + carrier + " failed to create shipment", ex);
+        } finally {
+            releaseUnlessCommitted(allocation, created);
         }
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Gives the carrier capacity back when the shipment does not make it: on any failure, or, inside a
+     * transaction, when the commit itself fails.
+     */
+    private void releaseUnlessCommitted(CarrierAllocation allocation, boolean created) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!created) {
+                carrierSelectionService.releaseAllocation(allocation);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    carrierSelectionService.releaseAllocation(allocation);
+                }
+            }
+        });
+    }
+
     public Shipment getShipmentTracking(ShipmentId shipmentId) {
         return shipmentRepository.findById(shipmentId)
                 .orElseThrow(() -> new ShipmentNotFoundException("Shipment not found: " + shipmentId));
@@ -104,21 +137,46 @@ public class ShipmentApplicationService {
         Shipment shipment = shipmentRepository.findById(shipmentId)
                 .orElseThrow(() -> new IllegalStateException("Shipment not found: " + shipmentId));
 
-        trackingUpdate.getNewEvents().forEach(shipment::addTrackingEvent);
+        applyTracking(shipment, trackingUpdate);
+    }
+
+    /**
+     * Applies a carrier-pushed update to a shipment the caller already resolved, and records when
+     * the carrier last pushed.
+     */
+    @Transactional
+    public void applyPushedTracking(Shipment shipment, TrackingUpdate trackingUpdate, OffsetDateTime pushedAt) {
+        shipment.recordTrackingPush(pushedAt);
+        applyTracking(shipment, trackingUpdate);
+    }
 
-        if (trackingUpdate.isDelivered() && !shipment.isDelivered()) {
-            TrackingEvent latestEvent = trackingUpdate.getLatestEvent();
-            boolean alreadyAdded = trackingUpdate.getNewEvents().stream()
-                    .anyMatch(event -> event.equals(latestEvent));
-            TrackingEvent deliveryEvent = alreadyAdded ? null : latestEvent;
-            shipment.markAsDelivered(deliveryEvent, latestEvent.getTimestamp());
-            eventPublisher.shipmentDelivered(shipment);
+    /**
+     * Shared by polling and push. Carriers resend history, so events at or before the last recorded
+     * one are skipped rather than rejected, and a shipment that already reached a final status only
+     * has its push timestamp saved.
+     */
+    private void applyTracking(Shipment shipment, TrackingUpdate trackingUpdate) {
+        if (shipment.getStatus() != ShipmentStatus.DELIVERED && shipment.getStatus() != ShipmentStatus.FAILED_DELIVERY) {
+            TrackingEvent recordedUntil = shipment.getLatestTrackingEvent();
+            for (TrackingEvent event : trackingUpdate.getNewEvents()) {
+                if (recordedUntil == null || event.isAfter(recordedUntil)) {
+                    shipment.addTrackingEvent(event);
+                    recordedUntil = event;
+                }
+            }
+
+            if (trackingUpdate.isDelivered()) {
+                TrackingEvent latestEvent = trackingUpdate.getLatestEvent();
+                boolean recorded = recordedUntil != null && !latestEvent.isAfter(recordedUntil);
+                shipment.markAsDelivered(recorded ? null : latestEvent, latestEvent.getTimestamp());
+                eventPublisher.shipmentDelivered(shipment);
+            }
         }
 
         shipmentRepository.save(shipment);
+        trackingViews.refresh(shipment);
     }
 
-    @Transactional(readOnly = true)
     public Page<Shipment> getShipments(com.paklog.shipment.domain.ShipmentStatus status, CarrierName carrierName, int page, int size) {
         List<Shipment> shipments = shipmentRepository.findAll();
 
@@ -136,12 +194,21 @@ public class ShipmentApplicationService {
         return new PageImpl<>(pageContent, pageable, filtered.size());
     }
 
-    @Transactional(readOnly = true)
     public Shipment getShipment(ShipmentId shipmentId) {
         return shipmentRepository.findById(shipmentId)
                 .orElseThrow(() -> new ShipmentNotFoundException("Shipment not found: " + shipmentId.getValue()));
     }
 
+    /**
+     * Pages through a shipment's full tracking history, oldest event first.
+     */
+    public Page<TrackingEvent> getTrackingEvents(ShipmentId shipmentId, int page, int size) {
+        if (!shipmentRepository.existsById(shipmentId)) {
+            throw new ShipmentNotFoundException("Shipment not found: " + shipmentId.getValue());
+        }
+        return shipmentRepository.findTrackingEvents(shipmentId, PageRequest.of(page, size));
+    }
+
     private ICarrierAdapter resolveCarrierAdapter(CarrierName carrier) {
         ICarrierAdapter adapter = carrierAdapters.get(carrier);
         if (adapter == null) {
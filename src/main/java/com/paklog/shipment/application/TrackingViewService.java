@@ -0,0 +1,248 @@
+package com.paklog.shipment.application;
+
+import com.paklog.shipment.application.exception.ShipmentNotFoundException;
+import com.paklog.shipment.config.TrackingViewCacheProperties;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingView;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves the public tracking read path. Views are held in a bounded cache keyed by tracking number,
+ * so the popular shipments of the day stay resident, and are replaced whenever this instance applies
+ * a tracking update. The TTL bounds how long an update applied by another instance stays unseen.
+ * <p>
+ * Reads never lock. When the cache is full, the least recently used of a small sample of entries is
+ * dropped, which approximates LRU; the sample is drawn by a cursor that walks the map from a random
+ * offset, so successive evictions look at different entries. Expired entries are swept on a schedule
+ * rather than on insert, so a full cache costs each insert one sample, not a scan. Unknown tracking
+ * numbers are cached for the shorter negative TTL, so repeated lookups of a mistyped number do not
+ * each reach the database.
+ */
+@Service
+public class TrackingViewService {
+
+    // Entries compared per eviction; caches this small are scanned in full, so eviction is exact LRU there.
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final Map<TrackingNumber, CachedView> views = new ConcurrentHashMap<>();
+    private final AtomicLong accessTicks = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private Iterator<Map.Entry<TrackingNumber, CachedView>> evictionCursor = Collections.emptyIterator();
+    private final ShipmentRepository shipmentRepository;
+    private final TrackingViewCacheProperties properties;
+    private final MetricsService metricsService;
+    private final Clock clock;
+
+    public TrackingViewService(ShipmentRepository shipmentRepository,
+                               TrackingViewCacheProperties properties,
+                               MetricsService metricsService) {
+        this(shipmentRepository, properties, metricsService, Clock.systemUTC());
+    }
+
+    TrackingViewService(ShipmentRepository shipmentRepository,
+                        TrackingViewCacheProperties properties,
+                        MetricsService metricsService,
+                        Clock clock) {
+        this.shipmentRepository = shipmentRepository;
+        this.properties = properties;
+        this.metricsService = metricsService;
+        this.clock = clock;
+    }
+
+    public TrackingView getTrackingView(TrackingNumber trackingNumber) {
+        if (properties.isEnabled()) {
+            CachedView cached = views.get(trackingNumber);
+            if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+                metricsService.recordTrackingViewLookup(true);
+                cached.touch(accessTicks.incrementAndGet());
+                if (cached.view() == null) {
+                    throw notFound(trackingNumber);
+                }
+                return cached.view();
+            }
+            metricsService.recordTrackingViewLookup(false);
+        }
+        Optional<TrackingView> found = shipmentRepository.findTrackingView(trackingNumber, properties.getEventLimit());
+        if (found.isEmpty()) {
+            rememberMissing(trackingNumber);
+            throw notFound(trackingNumber);
+        }
+        remember(found.get());
+        return found.get();
+    }
+
+    /**
+     * Replaces the cached view with the shipment's current state once the surrounding transaction,
+     * if any, commits. A shipment loaded with only its latest event cannot fill the view, so then
+     * the entry is dropped instead and the next read loads it from the event store.
+     */
+    public void refresh(Shipment shipment) {
+        if (!properties.isEnabled() || shipment.getTrackingNumber() == null) {
+            return;
+        }
+        int limit = properties.getEventLimit();
+        boolean complete = shipment.getTrackingEvents().size() >= Math.min(limit, shipment.getTrackingEventCount());
+        TrackingView view = complete ? TrackingView.of(shipment, limit) : null;
+        Runnable apply = () -> {
+            if (view != null) {
+                remember(view);
+            } else {
+                views.remove(shipment.getTrackingNumber());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tracking.view-cache.sweep-interval-ms:10000}")
+    public void sweepExpired() {
+        Instant now = clock.instant();
+        views.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+    }
+
+    int size() {
+        return views.size();
+    }
+
+    private void remember(TrackingView view) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant now = clock.instant();
+        CachedView cached = new CachedView(view, now.plus(properties.getTtl()), accessTicks.incrementAndGet());
+        ensureCapacity(view.trackingNumber(), now);
+        // A read that raced with a refresh must not put the older version back.
+        views.compute(view.trackingNumber(), (key, existing) ->
+                existing == null || existing.view() == null || existing.view().version() <= view.version()
+                        ? cached : existing);
+    }
+
+    private void rememberMissing(TrackingNumber trackingNumber) {
+        if (!properties.isEnabled() || properties.getNegativeTtl().isZero()) {
+            return;
+        }
+        Instant now = clock.instant();
+        CachedView missing = new CachedView(null, now.plus(properties.getNegativeTtl()), accessTicks.incrementAndGet());
+        ensureCapacity(trackingNumber, now);
+        // A shipment dispatched meanwhile wins over the miss.
+        views.compute(trackingNumber, (key, existing) ->
+                existing == null || !existing.expiresAt().isAfter(now) ? missing : existing);
+    }
+
+    private void ensureCapacity(TrackingNumber incoming, Instant now) {
+        if (views.size() < properties.getMaxEntries() || views.containsKey(incoming)) {
+            return;
+        }
+        synchronized (evictionLock) {
+            while (views.size() >= properties.getMaxEntries()) {
+                Map.Entry<TrackingNumber, CachedView> coldest = coldestSampled(now);
+                if (coldest == null) {
+                    return;
+                }
+                views.remove(coldest.getKey(), coldest.getValue());
+            }
+        }
+    }
+
+    // An expired entry is taken as soon as it is sampled.
+    private Map.Entry<TrackingNumber, CachedView> coldestSampled(Instant now) {
+        Iterator<Map.Entry<TrackingNumber, CachedView>> whole = views.size() <= EVICTION_SAMPLE
+                ? views.entrySet().iterator()
+                : null;
+        Map.Entry<TrackingNumber, CachedView> coldest = null;
+        for (int sampled = 0; sampled < EVICTION_SAMPLE; sampled++) {
+            Map.Entry<TrackingNumber, CachedView> entry;
+            if (whole != null) {
+                entry = whole.hasNext() ? whole.next() : null;
+            } else {
+                entry = nextFromCursor();
+            }
+            if (entry == null) {
+                break;
+            }
+            if (!entry.getValue().expiresAt().isAfter(now)) {
+                return entry;
+            }
+            if (coldest == null || entry.getValue().lastAccess() < coldest.getValue().lastAccess()) {
+                coldest = entry;
+            }
+        }
+        return coldest;
+    }
+
+    /**
+     * Continues the eviction cursor, starting a new pass at a random offset once it runs out. The
+     * skip costs one walk per pass, spread over the evictions the pass serves.
+     */
+    private Map.Entry<TrackingNumber, CachedView> nextFromCursor() {
+        if (!evictionCursor.hasNext()) {
+            evictionCursor = views.entrySet().iterator();
+            int skip = ThreadLocalRandom.current().nextInt(Math.max(1, views.size()));
+            for (int skipped = 0; skipped < skip && evictionCursor.hasNext(); skipped++) {
+                evictionCursor.next();
+            }
+            if (!evictionCursor.hasNext()) {
+                evictionCursor = views.entrySet().iterator();
+            }
+        }
+        return evictionCursor.hasNext() ? evictionCursor.next() : null;
+    }
+
+    private static ShipmentNotFoundException notFound(TrackingNumber trackingNumber) {
+        return new ShipmentNotFoundException("No shipment with tracking number " + trackingNumber.getValue());
+    }
+
+    /**
+     * A cached view, or a cached miss when {@code view} is null.
+     */
+    private static final class CachedView {
+        private final TrackingView view;
+        private final Instant expiresAt;
+        private volatile long lastAccess;
+
+        private CachedView(TrackingView view, Instant expiresAt, long lastAccess) {
+            this.view = view;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+
+        TrackingView view() {
+            return view;
+        }
+
+        Instant expiresAt() {
+            return expiresAt;
+        }
+
+        long lastAccess() {
+            return lastAccess;
+        }
+
+        void touch(long tick) {
+            lastAccess = tick;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.paklog.shipment.config;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "carrier.auth")
+public class CarrierAuthProperties {
+
+    // Tokens are renewed in the background once they are this close to expiry.
+    private Duration refreshAhead = Duration.ofMinutes(5);
+    private long refreshCheckIntervalMs = 15000;
+    private Map<String, Account> accounts = new HashMap<>();
+
+    public Duration getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    public void setRefreshAhead(Duration refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    public long getRefreshCheckIntervalMs() {
+        return refreshCheckIntervalMs;
+    }
+
+    public void setRefreshCheckIntervalMs(long refreshCheckIntervalMs) {
+        this.refreshCheckIntervalMs = refreshCheckIntervalMs;
+    }
+
+    public Map<String, Account> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(Map<String, Account> accounts) {
+        this.accounts = accounts;
+    }
+
+    public static class Account {
+        private CarrierName carrier;
+        private String tokenPath = "/oauth/token";
+        private String clientId;
+        private String clientSecret;
+
+        public CarrierName getCarrier() {
+            return carrier;
+        }
+
+        public void setCarrier(CarrierName carrier) {
+            this.carrier = carrier;
+        }
+
+        public String getTokenPath() {
+            return tokenPath;
+        }
+
+        public void setTokenPath(String tokenPath) {
+            this.tokenPath = tokenPath;
+        }
+
+        public String getClientId() {
+            return clientId;
+        }
+
+        public void setClientId(String clientId) {
+            this.clientId = clientId;
+        }
+
+        public String getClientSecret() {
+            return clientSecret;
+        }
+
+        public void setClientSecret(String clientSecret) {
+            this.clientSecret = clientSecret;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.paklog.shipment.config;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "carrier.capacity")
+public class CarrierCapacityProperties {
+
+    private boolean enabled = true;
+    private String facilityId = "default";
+    // Allocation days roll over at local midnight of the facility.
+    private ZoneId zone = ZoneId.of("UTC");
+    private long reconcileIntervalMs = 5000;
+    private Map<CarrierName, Long> dailyLimits = new EnumMap<>(CarrierName.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getFacilityId() {
+        return facilityId;
+    }
+
+    public void setFacilityId(String facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public void setZone(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public long getReconcileIntervalMs() {
+        return reconcileIntervalMs;
+    }
+
+    public void setReconcileIntervalMs(long reconcileIntervalMs) {
+        this.reconcileIntervalMs = reconcileIntervalMs;
+    }
+
+    public Map<CarrierName, Long> getDailyLimits() {
+        return dailyLimits;
+    }
+
+    public void setDailyLimits(Map<CarrierName, Long> dailyLimits) {
+        this.dailyLimits = dailyLimits;
+    }
+}
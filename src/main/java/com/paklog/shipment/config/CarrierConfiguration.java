@@ -1,21 +1,40 @@
 package com.paklog.shipment.config;
 
+import com.paklog.shipment.adapter.CarrierAdapterDecorator;
+import com.paklog.shipment.adapter.CarrierAdapterDecoratingPostProcessor;
+import com.paklog.shipment.domain.CarrierCapacityGate;
 import com.paklog.shipment.domain.services.CarrierSelectionService;
 import com.paklog.shipment.domain.CarrierSelectionStrategy;
 import com.paklog.shipment.domain.services.DefaultCarrierSelectionStrategy;
+import com.paklog.shipment.domain.services.RuleTableCarrierSelectionStrategy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties({RateQuoteCacheProperties.class, CarrierRoutingProperties.class, CarrierCapacityProperties.class,
+        CarrierResilienceProperties.class, CarrierHedgingProperties.class,
+        CarrierHttpProperties.class, CarrierAuthProperties.class,
+        CarrierRateLimitProperties.class})
 public class CarrierConfiguration {
 
     @Bean
-    public CarrierSelectionStrategy carrierSelectionStrategy() {
-        return new DefaultCarrierSelectionStrategy();
+    public static CarrierAdapterDecoratingPostProcessor carrierAdapterDecoratingPostProcessor(
+            ObjectProvider<CarrierAdapterDecorator> decorators) {
+        return new CarrierAdapterDecoratingPostProcessor(decorators);
     }
 
     @Bean
-    public CarrierSelectionService carrierSelectionService(CarrierSelectionStrategy strategy) {
-        return new CarrierSelectionService(strategy);
+    public RuleTableCarrierSelectionStrategy carrierSelectionStrategy(CarrierRoutingProperties routingProperties) {
+        // Packages no rule covers fall through to the weight-based default.
+        RuleTableCarrierSelectionStrategy strategy = new RuleTableCarrierSelectionStrategy(new DefaultCarrierSelectionStrategy());
+        strategy.reload(routingProperties.toRoutingRules());
+        return strategy;
+    }
+
+    @Bean
+    public CarrierSelectionService carrierSelectionService(CarrierSelectionStrategy strategy, CarrierCapacityGate capacityGate) {
+        return new CarrierSelectionService(strategy, capacityGate);
     }
 }
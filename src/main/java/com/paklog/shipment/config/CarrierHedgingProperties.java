@@ -0,0 +1,95 @@
+package com.paklog.shipment.config;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "carrier.hedging")
+public class CarrierHedgingProperties {
+
+    private boolean enabled = false;
+    // Carriers that opted in; label APIs must be idempotent on the package id.
+    private Set<CarrierName> carriers = EnumSet.noneOf(CarrierName.class);
+    private double percentile = 0.95;
+    private double budgetPercent = 5.0;
+    private int maxBurst = 10;
+    private int windowSize = 1000;
+    private int minSamples = 100;
+    private Duration minDelay = Duration.ofMillis(50);
+    private int maxThreads = 128;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Set<CarrierName> getCarriers() {
+        return carriers;
+    }
+
+    public void setCarriers(Set<CarrierName> carriers) {
+        this.carriers = carriers;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public double getBudgetPercent() {
+        return budgetPercent;
+    }
+
+    public void setBudgetPercent(double budgetPercent) {
+        this.budgetPercent = budgetPercent;
+    }
+
+    public int getMaxBurst() {
+        return maxBurst;
+    }
+
+    public void setMaxBurst(int maxBurst) {
+        this.maxBurst = maxBurst;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+}
@@ -0,0 +1,164 @@
+package com.paklog.shipment.config;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "carrier.http")
+public class CarrierHttpProperties {
+
+    private Client defaults = new Client();
+    // A carrier entry only overrides the settings it names; the rest come from the defaults.
+    private Map<CarrierName, ClientOverride> carriers = new EnumMap<>(CarrierName.class);
+
+    public Client forCarrier(CarrierName carrier) {
+        ClientOverride override = carriers.get(carrier);
+        return override != null ? override.applyTo(defaults) : defaults;
+    }
+
+    public Client getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Client defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<CarrierName, ClientOverride> getCarriers() {
+        return carriers;
+    }
+
+    public void setCarriers(Map<CarrierName, ClientOverride> carriers) {
+        this.carriers = carriers;
+    }
+
+    public static class Client {
+        private String baseUrl;
+        private boolean http2 = true;
+        // Upper bound on concurrent requests, i.e. HTTP/1.1 connections or HTTP/2 streams to the host.
+        private int maxConcurrentRequests = 64;
+        private Duration acquireTimeout = Duration.ofSeconds(1);
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+    }
+
+    public static class ClientOverride {
+        private String baseUrl;
+        private Boolean http2;
+        private Integer maxConcurrentRequests;
+        private Duration acquireTimeout;
+        private Duration connectTimeout;
+        private Duration requestTimeout;
+
+        Client applyTo(Client defaults) {
+            Client merged = new Client();
+            merged.setBaseUrl(baseUrl != null ? baseUrl : defaults.getBaseUrl());
+            merged.setHttp2(http2 != null ? http2 : defaults.isHttp2());
+            merged.setMaxConcurrentRequests(maxConcurrentRequests != null
+                    ? maxConcurrentRequests : defaults.getMaxConcurrentRequests());
+            merged.setAcquireTimeout(acquireTimeout != null ? acquireTimeout : defaults.getAcquireTimeout());
+            merged.setConnectTimeout(connectTimeout != null ? connectTimeout : defaults.getConnectTimeout());
+            merged.setRequestTimeout(requestTimeout != null ? requestTimeout : defaults.getRequestTimeout());
+            return merged;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public Boolean getHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(Boolean http2) {
+            this.http2 = http2;
+        }
+
+        public Integer getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.paklog.shipment.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableConfigurationProperties(CarrierIoProperties.class)
+public class CarrierIoConfiguration {
+
+    @Bean
+    public ThreadPoolTaskExecutor carrierIoExecutor(CarrierIoProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("carrier-io-");
+        executor.setCorePoolSize(properties.getPoolSize());
+        executor.setMaxPoolSize(properties.getPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        // A full queue rejects the call; BlockingCarrierAdapterBridge fails its future instead of letting
+        // a pipelined carrier call run, unannounced, on the tracking job or token refresh thread.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,72 @@
+package com.paklog.shipment.config;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "carrier.rate-limit")
+public class CarrierRateLimitProperties {
+
+    private boolean enabled = true;
+    private Duration maxLabelWait = Duration.ofMillis(250);
+    // Carriers without an entry are not limited client-side.
+    private Map<CarrierName, Limit> carriers = new EnumMap<>(CarrierName.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getMaxLabelWait() {
+        return maxLabelWait;
+    }
+
+    public void setMaxLabelWait(Duration maxLabelWait) {
+        this.maxLabelWait = maxLabelWait;
+    }
+
+    public Map<CarrierName, Limit> getCarriers() {
+        return carriers;
+    }
+
+    public void setCarriers(Map<CarrierName, Limit> carriers) {
+        this.carriers = carriers;
+    }
+
+    public static class Limit {
+        private double permitsPerSecond = 10;
+        private int burst = 20;
+        // Permits only label creation may use.
+        private int labelReserve = 5;
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getLabelReserve() {
+            return labelReserve;
+        }
+
+        public void setLabelReserve(int labelReserve) {
+            this.labelReserve = labelReserve;
+        }
+    }
+}
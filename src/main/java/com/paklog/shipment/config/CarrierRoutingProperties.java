@@ -0,0 +1,108 @@
+package com.paklog.shipment.config;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.CarrierRoutingRule;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "carrier.routing")
+public class CarrierRoutingProperties {
+
+    private long refreshIntervalMs = 60000;
+    // Seed table used until the Mongo rule collection has entries.
+    private List<Rule> rules = new ArrayList<>();
+
+    public long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    public void setRefreshIntervalMs(long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public List<CarrierRoutingRule> toRoutingRules() {
+        return rules.stream().map(Rule::toDomain).toList();
+    }
+
+    public static class Rule {
+        private String name;
+        private int priority = 100;
+        private CarrierName carrier;
+        private double minWeight = 0;
+        private double maxWeight = Double.MAX_VALUE;
+        private double maxLongestSide = Double.MAX_VALUE;
+        private Set<String> packageTypes = new HashSet<>();
+
+        public CarrierRoutingRule toDomain() {
+            return new CarrierRoutingRule(name, priority, carrier, minWeight, maxWeight, maxLongestSide, packageTypes);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public void setPriority(int priority) {
+            this.priority = priority;
+        }
+
+        public CarrierName getCarrier() {
+            return carrier;
+        }
+
+        public void setCarrier(CarrierName carrier) {
+            this.carrier = carrier;
+        }
+
+        public double getMinWeight() {
+            return minWeight;
+        }
+
+        public void setMinWeight(double minWeight) {
+            this.minWeight = minWeight;
+        }
+
+        public double getMaxWeight() {
+            return maxWeight;
+        }
+
+        public void setMaxWeight(double maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        public double getMaxLongestSide() {
+            return maxLongestSide;
+        }
+
+        public void setMaxLongestSide(double maxLongestSide) {
+            this.maxLongestSide = maxLongestSide;
+        }
+
+        public Set<String> getPackageTypes() {
+            return packageTypes;
+        }
+
+        public void setPackageTypes(Set<String> packageTypes) {
+            this.packageTypes = packageTypes;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableConfigurationProperties({ShipmentEventProperties.class, OutboxProperties.class, TrackingJobProperties.class})
+@EnableConfigurationProperties({ShipmentEventProperties.class, OutboxProperties.class, TrackingJobProperties.class,
+        TrackingViewCacheProperties.class})
 public class EventingConfiguration {
 }
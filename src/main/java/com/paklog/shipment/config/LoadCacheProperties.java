@@ -0,0 +1,46 @@
+package com.paklog.shipment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "mongo.load-cache")
+public class LoadCacheProperties {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(30);
+    private int maxEntries = 10_000;
+    private String invalidationTopic = "shipment.load-cache.v1.invalidations";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public String getInvalidationTopic() {
+        return invalidationTopic;
+    }
+
+    public void setInvalidationTopic(String invalidationTopic) {
+        this.invalidationTopic = invalidationTopic;
+    }
+}
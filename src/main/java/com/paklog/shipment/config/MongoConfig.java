@@ -1,16 +1,24 @@
 package com.paklog.shipment.config;
 
+import com.paklog.shipment.infrastructure.persistence.ShipmentConverters;
+import com.paklog.shipment.infrastructure.persistence.TemporalConverters;
+import com.paklog.shipment.infrastructure.persistence.document.LoadConverters;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @EnableMongoRepositories(basePackages = "com.paklog.shipment.infrastructure")
+@EnableConfigurationProperties({MongoIndexVerificationProperties.class, ResourceVersionCacheProperties.class,
+        LoadCacheProperties.class, ShipmentArchivalProperties.class})
 public class MongoConfig {
 
     @Bean
@@ -20,8 +28,11 @@ public class MongoConfig {
 
     @Bean
     public MongoCustomConversions mongoCustomConversions() {
-        return new MongoCustomConversions(Arrays.asList(
-            // Add custom converters if needed
-        ));
+        List<Converter<?, ?>> converters = new ArrayList<>();
+        converters.addAll(TemporalConverters.getConvertersToRegister());
+        // Hand-written aggregate mappings; the converters also make Shipment and Load simple types.
+        converters.addAll(ShipmentConverters.getConvertersToRegister());
+        converters.addAll(LoadConverters.getConvertersToRegister());
+        return new MongoCustomConversions(converters);
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.paklog.shipment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mongo.index-verification")
+public class MongoIndexVerificationProperties {
+
+    public enum Mode {
+        OFF,
+        WARN,
+        FAIL
+    }
+
+    private Mode mode = Mode.WARN;
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+}
@@ -2,11 +2,15 @@ package com.paklog.shipment.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "tracking.job")
 public class TrackingJobProperties {
 
     private int batchSize = 100;
     private long pollingIntervalMs = 3600000;
+    // Shipments pushed to within this window are left to the webhook; polling resumes once pushes stop.
+    private Duration pushFreshness = Duration.ofHours(6);
 
     public int getBatchSize() {
         return batchSize;
@@ -23,4 +27,12 @@ public class TrackingJobProperties {
     public void setPollingIntervalMs(long pollingIntervalMs) {
         this.pollingIntervalMs = pollingIntervalMs;
     }
+
+    public Duration getPushFreshness() {
+        return pushFreshness;
+    }
+
+    public void setPushFreshness(Duration pushFreshness) {
+        this.pushFreshness = pushFreshness;
+    }
 }
@@ -0,0 +1,57 @@
+package com.paklog.shipment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tracking.view-cache")
+public class TrackingViewCacheProperties {
+
+    private boolean enabled = true;
+    // Updates applied on another replica show up here once the entry expires.
+    private Duration ttl = Duration.ofMinutes(1);
+    // How long an unknown tracking number is answered from the cache; zero turns negative caching off.
+    private Duration negativeTtl = Duration.ofSeconds(10);
+    private int maxEntries = 50_000;
+    private int eventLimit = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getEventLimit() {
+        return eventLimit;
+    }
+
+    public void setEventLimit(int eventLimit) {
+        this.eventLimit = eventLimit;
+    }
+}
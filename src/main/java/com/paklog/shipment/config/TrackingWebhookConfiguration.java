@@ -0,0 +1,27 @@
+package com.paklog.shipment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.infrastructure.webhook.TrackingWebhookSignatureFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the webhook signature filter on the carrier webhook paths only. It is declared here
+ * rather than as a component so MVC test slices, which do not load this configuration, leave it out.
+ */
+@Configuration
+@EnableConfigurationProperties(TrackingWebhookProperties.class)
+public class TrackingWebhookConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<TrackingWebhookSignatureFilter> trackingWebhookSignatureFilter(
+            TrackingWebhookProperties properties, ObjectMapper objectMapper, MetricsService metricsService) {
+        FilterRegistrationBean<TrackingWebhookSignatureFilter> registration = new FilterRegistrationBean<>(
+                new TrackingWebhookSignatureFilter(properties, objectMapper, metricsService));
+        registration.addUrlPatterns(TrackingWebhookSignatureFilter.PATH_PREFIX + "*");
+        return registration;
+    }
+}
@@ -0,0 +1,87 @@
+package com.paklog.shipment.config;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "tracking.webhook")
+public class TrackingWebhookProperties {
+
+    private String signatureHeader = "X-Carrier-Signature";
+    private String timestampHeader = "X-Carrier-Timestamp";
+    // Signed timestamps older or newer than this are rejected as replays.
+    private Duration maxClockSkew = Duration.ofMinutes(5);
+    private int maxBodyBytes = 256 * 1024;
+    private int queueCapacity = 10000;
+    private int batchSize = 500;
+    private long flushIntervalMs = 1000;
+    // Carriers without a secret cannot push; their requests are rejected.
+    private Map<CarrierName, String> secrets = new EnumMap<>(CarrierName.class);
+
+    public String getSignatureHeader() {
+        return signatureHeader;
+    }
+
+    public void setSignatureHeader(String signatureHeader) {
+        this.signatureHeader = signatureHeader;
+    }
+
+    public String getTimestampHeader() {
+        return timestampHeader;
+    }
+
+    public void setTimestampHeader(String timestampHeader) {
+        this.timestampHeader = timestampHeader;
+    }
+
+    public Duration getMaxClockSkew() {
+        return maxClockSkew;
+    }
+
+    public void setMaxClockSkew(Duration maxClockSkew) {
+        this.maxClockSkew = maxClockSkew;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public Map<CarrierName, String> getSecrets() {
+        return secrets;
+    }
+
+    public void setSecrets(Map<CarrierName, String> secrets) {
+        this.secrets = secrets;
+    }
+}
@@ -0,0 +1,19 @@
+package com.paklog.shipment.domain;
+
+import java.time.LocalDate;
+
+/**
+ * A unit of daily carrier capacity taken for one shipment. Releasing it gives the capacity back to
+ * the day it was counted against, which need not be today. {@code day} is null when the carrier had
+ * no daily limit and nothing was counted.
+ */
+public record CarrierAllocation(CarrierName carrier, LocalDate day) {
+
+    public static CarrierAllocation untracked(CarrierName carrier) {
+        return new CarrierAllocation(carrier, null);
+    }
+
+    public boolean isTracked() {
+        return day != null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.paklog.shipment.domain;
+
+import java.util.Optional;
+
+public interface CarrierCapacityGate {
+
+    CarrierCapacityGate UNLIMITED = new CarrierCapacityGate() {
+        @Override
+        public Optional<CarrierAllocation> tryAllocate(CarrierName carrier) {
+            return Optional.of(CarrierAllocation.untracked(carrier));
+        }
+
+        @Override
+        public CarrierAllocation forceAllocate(CarrierName carrier) {
+            return CarrierAllocation.untracked(carrier);
+        }
+
+        @Override
+        public void release(CarrierAllocation allocation) {
+        }
+    };
+
+    // Empty when the carrier is at its daily commitment.
+    Optional<CarrierAllocation> tryAllocate(CarrierName carrier);
+
+    // Counts an allocation even past the commitment so usage stays accurate when nothing has room.
+    CarrierAllocation forceAllocate(CarrierName carrier);
+
+    void release(CarrierAllocation allocation);
+}
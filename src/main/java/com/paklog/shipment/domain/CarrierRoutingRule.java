@@ -0,0 +1,30 @@
+package com.paklog.shipment.domain;
+
+import java.util.Objects;
+import java.util.Set;
+
+public record CarrierRoutingRule(
+    String name,
+    int priority,
+    CarrierName carrier,
+    double minWeight,
+    double maxWeight,
+    double maxLongestSide,
+    Set<String> packageTypes
+) {
+    public CarrierRoutingRule {
+        Objects.requireNonNull(name, "Rule name cannot be null");
+        Objects.requireNonNull(carrier, "Rule carrier cannot be null");
+        if (minWeight < 0 || maxWeight <= minWeight) {
+            throw new IllegalArgumentException("Rule " + name + " has an empty weight range");
+        }
+        if (maxLongestSide <= 0) {
+            throw new IllegalArgumentException("Rule " + name + " must allow a positive longest side");
+        }
+        packageTypes = packageTypes == null ? Set.of() : Set.copyOf(packageTypes);
+    }
+
+    public boolean appliesToAnyPackageType() {
+        return packageTypes.isEmpty();
+    }
+}
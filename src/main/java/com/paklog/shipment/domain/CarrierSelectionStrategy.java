@@ -1,5 +1,12 @@
 package com.paklog.shipment.domain;
 
+import java.util.List;
+
 public interface CarrierSelectionStrategy {
     CarrierName selectCarrier(Package packageDetails);
+
+    // Acceptable carriers, best first; used to spill over when the preferred carrier is out of capacity.
+    default List<CarrierName> rankCarriers(Package packageDetails) {
+        return List.of(selectCarrier(packageDetails));
+    }
 }
@@ -23,6 +23,7 @@ public class Load {
     private String notes;
     private final OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
+    private Long version;
 
     public Load(String reference, Set<ShipmentId> shipments, Location origin, Location destination, LocalDate requestedPickupDate, LocalDate requestedDeliveryDate, String notes) {
         this.id = LoadId.generate();
@@ -48,8 +49,18 @@ public class Load {
             LoadId id, String reference, LoadStatus status, CarrierName carrierName, Set<ShipmentId> shipmentIds,
             Location origin, Location destination, LocalDate requestedPickupDate, LocalDate requestedDeliveryDate,
             Pickup pickup, Tender tender, String notes, OffsetDateTime createdAt, OffsetDateTime updatedAt) {
-        return new Load(id, reference, status, carrierName, shipmentIds, origin, destination, requestedPickupDate,
+        return restore(id, reference, status, carrierName, shipmentIds, origin, destination, requestedPickupDate,
+                requestedDeliveryDate, pickup, tender, notes, createdAt, updatedAt, null);
+    }
+
+    public static Load restore(
+            LoadId id, String reference, LoadStatus status, CarrierName carrierName, Set<ShipmentId> shipmentIds,
+            Location origin, Location destination, LocalDate requestedPickupDate, LocalDate requestedDeliveryDate,
+            Pickup pickup, Tender tender, String notes, OffsetDateTime createdAt, OffsetDateTime updatedAt, Long version) {
+        Load load = new Load(id, reference, status, carrierName, shipmentIds, origin, destination, requestedPickupDate,
                 requestedDeliveryDate, pickup, tender, notes, createdAt, updatedAt);
+        load.version = version;
+        return load;
     }
     
     // Private constructor for the restore method
@@ -147,7 +158,7 @@ public class Load {
         if (this.carrierName == null) {
             throw new IllegalStateException("Cannot tender a load without an assigned carrier.");
         }
-        this.tender = new Tender(TenderStatus.PENDING, expiresAt, null, null, null, notes);
+        this.tender = Tender.pending(expiresAt, notes);
         this.updatedAt = OffsetDateTime.now();
     }
 
@@ -166,11 +177,7 @@ public class Load {
             throw new IllegalStateException("Cannot record tender decision for a load that is not in PENDING state.");
         }
         this.tender = new Tender(TenderStatus.valueOf(decision.name()), this.tender.expiresAt(), OffsetDateTime.now(), respondedBy, decision, reason);
-        if (decision == Tender.Decision.ACCEPTED) {
-            this.status = LoadStatus.TENDER_ACCEPTED;
-        } else {
-            this.status = LoadStatus.PLANNED; // Or some other appropriate status
-        }
+        this.status = decision.resultingLoadStatus();
         this.updatedAt = OffsetDateTime.now();
     }
 
@@ -207,4 +214,13 @@ public class Load {
     public String getNotes() { return notes; }
     public OffsetDateTime getCreatedAt() { return createdAt; }
     public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
+
+    /**
+     * Records the version a repository wrote; the next save is conditional on it. Null until the
+     * load is first persisted.
+     */
+    public void markPersisted(long version) {
+        this.version = version;
+    }
 }
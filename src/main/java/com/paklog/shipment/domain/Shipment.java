@@ -12,7 +12,11 @@ public class Shipment {
     private final OrderId orderId;
     private final CarrierName carrierName;
     private final OffsetDateTime createdAt;
+    // Only the events loaded with the aggregate (the latest one, once persisted) plus any added since;
+    // the full history lives in the tracking event store.
     private final List<TrackingEvent> trackingEvents;
+    private long storedTrackingEventCount;
+    private int storedTrackingEventsLoaded;
 
     private ShipmentStatus status;
     private TrackingNumber trackingNumber;
@@ -21,6 +25,8 @@ public class Shipment {
     private OffsetDateTime deliveredAt;
     private LoadId assignedLoadId;
     private OffsetDateTime lastUpdatedAt;
+    private OffsetDateTime trackingPushedAt;
+    private Long version;
 
     private Shipment(ShipmentId id, OrderId orderId, CarrierName carrierName, OffsetDateTime createdAt) {
         this.id = id;
@@ -28,6 +34,7 @@ public class Shipment {
         this.carrierName = carrierName;
         this.createdAt = createdAt;
         this.trackingEvents = new ArrayList<>();
+        this.status = ShipmentStatus.CREATED;
     }
 
 
@@ -61,11 +68,8 @@ public class Shipment {
         Objects.requireNonNull(event, "Tracking event cannot be null");
         ensureHasTrackingNumber();
         ensureNotDelivered();
-        if (!trackingEvents.isEmpty()) {
-            OffsetDateTime lastTimestamp = trackingEvents.get(trackingEvents.size() - 1).getTimestamp();
-            if (!event.getTimestamp().isAfter(lastTimestamp)) {
-                throw new IllegalArgumentException("Tracking events must be in chronological order");
-            }
+        if (!trackingEvents.isEmpty() && !event.isAfter(trackingEvents.get(trackingEvents.size() - 1))) {
+            throw new IllegalArgumentException("Tracking events must be in chronological order");
         }
         trackingEvents.add(event);
         if (status == ShipmentStatus.DISPATCHED || status == ShipmentStatus.CREATED) {
@@ -109,6 +113,17 @@ public class Shipment {
         this.lastUpdatedAt = OffsetDateTime.now();
     }
 
+    /**
+     * Notes that the carrier pushed tracking for this shipment, so polling can skip it while pushes
+     * keep arriving.
+     */
+    public void recordTrackingPush(OffsetDateTime pushedAt) {
+        Objects.requireNonNull(pushedAt, "pushedAt cannot be null");
+        if (trackingPushedAt == null || pushedAt.isAfter(trackingPushedAt)) {
+            this.trackingPushedAt = pushedAt;
+        }
+    }
+
     public ShipmentId getId() {
         return id;
     }
@@ -145,10 +160,33 @@ public class Shipment {
         return deliveredAt;
     }
 
+    /**
+     * The tracking events held by this instance: the latest recorded one, if any, followed by any
+     * added since it was loaded. Page the full history from the repository.
+     */
     public List<TrackingEvent> getTrackingEvents() {
         return Collections.unmodifiableList(trackingEvents);
     }
 
+    public TrackingEvent getLatestTrackingEvent() {
+        return trackingEvents.isEmpty() ? null : trackingEvents.get(trackingEvents.size() - 1);
+    }
+
+    /**
+     * Tracking events added since the shipment was loaded or last persisted, oldest first.
+     */
+    public List<TrackingEvent> getUnsavedTrackingEvents() {
+        return Collections.unmodifiableList(trackingEvents.subList(storedTrackingEventsLoaded, trackingEvents.size()));
+    }
+
+    public long getTrackingEventCount() {
+        return storedTrackingEventCount + (trackingEvents.size() - storedTrackingEventsLoaded);
+    }
+
+    public boolean holdsFullTrackingHistory() {
+        return getTrackingEventCount() == trackingEvents.size();
+    }
+
     public LoadId getAssignedLoadId() {
         return assignedLoadId;
     }
@@ -157,6 +195,24 @@ public class Shipment {
         return lastUpdatedAt;
     }
 
+    public OffsetDateTime getTrackingPushedAt() {
+        return trackingPushedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Records the version a repository wrote; the next save is conditional on it. Null until the
+     * shipment is first persisted.
+     */
+    public void markPersisted(long version) {
+        this.version = version;
+        this.storedTrackingEventCount = getTrackingEventCount();
+        this.storedTrackingEventsLoaded = trackingEvents.size();
+    }
+
     public boolean isDelivered() {
         return status == ShipmentStatus.DELIVERED;
     }
@@ -186,6 +242,38 @@ public class Shipment {
                                    TrackingNumber trackingNumber, byte[] labelData, ShipmentStatus status,
                                    OffsetDateTime createdAt, OffsetDateTime dispatchedAt, OffsetDateTime deliveredAt,
                                    List<TrackingEvent> trackingEvents, LoadId assignedLoadId, OffsetDateTime lastUpdatedAt) {
+        return restore(id, orderId, carrierName, trackingNumber, labelData, status, createdAt, dispatchedAt, deliveredAt,
+                trackingEvents, assignedLoadId, lastUpdatedAt, null);
+    }
+
+    public static Shipment restore(ShipmentId id, OrderId orderId, CarrierName carrierName,
+                                   TrackingNumber trackingNumber, byte[] labelData, ShipmentStatus status,
+                                   OffsetDateTime createdAt, OffsetDateTime dispatchedAt, OffsetDateTime deliveredAt,
+                                   List<TrackingEvent> trackingEvents, LoadId assignedLoadId, OffsetDateTime lastUpdatedAt,
+                                   OffsetDateTime trackingPushedAt) {
+        return restore(id, orderId, carrierName, trackingNumber, labelData, status, createdAt, dispatchedAt, deliveredAt,
+                trackingEvents, assignedLoadId, lastUpdatedAt, trackingPushedAt, null);
+    }
+
+    public static Shipment restore(ShipmentId id, OrderId orderId, CarrierName carrierName,
+                                   TrackingNumber trackingNumber, byte[] labelData, ShipmentStatus status,
+                                   OffsetDateTime createdAt, OffsetDateTime dispatchedAt, OffsetDateTime deliveredAt,
+                                   List<TrackingEvent> trackingEvents, LoadId assignedLoadId, OffsetDateTime lastUpdatedAt,
+                                   OffsetDateTime trackingPushedAt, Long version) {
+        return restore(id, orderId, carrierName, trackingNumber, labelData, status, createdAt, dispatchedAt, deliveredAt,
+                trackingEvents, assignedLoadId, lastUpdatedAt, trackingPushedAt, version,
+                trackingEvents != null ? trackingEvents.size() : 0);
+    }
+
+    /**
+     * Restores a shipment holding only the most recent of its {@code trackingEventCount} recorded
+     * events.
+     */
+    public static Shipment restore(ShipmentId id, OrderId orderId, CarrierName carrierName,
+                                   TrackingNumber trackingNumber, byte[] labelData, ShipmentStatus status,
+                                   OffsetDateTime createdAt, OffsetDateTime dispatchedAt, OffsetDateTime deliveredAt,
+                                   List<TrackingEvent> trackingEvents, LoadId assignedLoadId, OffsetDateTime lastUpdatedAt,
+                                   OffsetDateTime trackingPushedAt, Long version, long trackingEventCount) {
         Shipment shipment = new Shipment(id, orderId, carrierName, createdAt);
         shipment.status = Objects.requireNonNull(status, "Shipment status cannot be null");
         shipment.trackingNumber = trackingNumber;
@@ -196,8 +284,15 @@ public class Shipment {
         if (trackingEvents != null) {
             shipment.trackingEvents.addAll(trackingEvents);
         }
+        if (trackingEventCount < shipment.trackingEvents.size()) {
+            throw new IllegalArgumentException("trackingEventCount cannot be less than the events restored");
+        }
+        shipment.storedTrackingEventCount = trackingEventCount;
+        shipment.storedTrackingEventsLoaded = shipment.trackingEvents.size();
         shipment.assignedLoadId = assignedLoadId;
         shipment.lastUpdatedAt = lastUpdatedAt;
+        shipment.trackingPushedAt = trackingPushedAt;
+        shipment.version = version;
         return shipment;
     }
 }
@@ -11,11 +11,25 @@ public record Tender(
     String notes
 ) {
     public enum Decision {
-        ACCEPTED,
-        DECLINED
+        ACCEPTED(LoadStatus.TENDER_ACCEPTED),
+        DECLINED(LoadStatus.PLANNED);
+
+        private final LoadStatus resultingLoadStatus;
+
+        Decision(LoadStatus resultingLoadStatus) {
+            this.resultingLoadStatus = resultingLoadStatus;
+        }
+
+        public LoadStatus resultingLoadStatus() {
+            return resultingLoadStatus;
+        }
     }
 
     public static Tender notTendered() {
         return new Tender(TenderStatus.NOT_TENDERED, null, null, null, null, null);
     }
+
+    public static Tender pending(OffsetDateTime expiresAt, String notes) {
+        return new Tender(TenderStatus.PENDING, expiresAt, null, null, null, notes);
+    }
 }
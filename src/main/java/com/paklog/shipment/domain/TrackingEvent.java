@@ -1,25 +1,51 @@
 package com.paklog.shipment.domain;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Objects;
 
+/**
+ * One carrier scan. Shipments and cached tracking views hold many of these, so the vocabulary
+ * fields share canonical instances (see {@link TrackingVocabulary}) and the timestamp is kept as
+ * epoch millis plus its offset, at the millisecond precision Mongo stores anyway.
+ */
 public class TrackingEvent {
     private final String status;
     private final String statusDescription;
     private final String location;
-    private final OffsetDateTime timestamp;
+    private final long epochMilli;
+    private final ZoneOffset offset;
     private final String eventCode;
     private final String detailedDescription;
 
     public TrackingEvent(String status, String statusDescription, String location, OffsetDateTime timestamp, String eventCode, String detailedDescription) {
-        this.status = Objects.requireNonNull(status, "status cannot be null");
-        this.statusDescription = Objects.requireNonNull(statusDescription, "statusDescription cannot be null");
-        this.location = Objects.requireNonNull(location, "location cannot be null");
-        this.timestamp = Objects.requireNonNull(timestamp, "timestamp cannot be null");
-        this.eventCode = eventCode;
+        this(status, statusDescription, location,
+                Objects.requireNonNull(timestamp, "timestamp cannot be null").toInstant().toEpochMilli(),
+                timestamp.getOffset(), eventCode, detailedDescription);
+    }
+
+    private TrackingEvent(String status, String statusDescription, String location, long epochMilli, ZoneOffset offset,
+                          String eventCode, String detailedDescription) {
+        this.status = TrackingVocabulary.canonical(Objects.requireNonNull(status, "status cannot be null"));
+        this.statusDescription = TrackingVocabulary.canonical(
+                Objects.requireNonNull(statusDescription, "statusDescription cannot be null"));
+        this.location = TrackingVocabulary.canonical(Objects.requireNonNull(location, "location cannot be null"));
+        this.epochMilli = epochMilli;
+        this.offset = Objects.requireNonNull(offset, "offset cannot be null");
+        this.eventCode = TrackingVocabulary.canonical(eventCode);
         this.detailedDescription = detailedDescription;
     }
 
+    /**
+     * Rebuilds a stored event without going through an {@link OffsetDateTime}.
+     */
+    public static TrackingEvent restore(String status, String statusDescription, String location, long epochMilli,
+                                        int offsetSeconds, String eventCode, String detailedDescription) {
+        return new TrackingEvent(status, statusDescription, location, epochMilli,
+                ZoneOffset.ofTotalSeconds(offsetSeconds), eventCode, detailedDescription);
+    }
+
     public String getStatus() {
         return status;
     }
@@ -33,7 +59,19 @@ public class TrackingEvent {
     }
 
     public OffsetDateTime getTimestamp() {
-        return timestamp;
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), offset);
+    }
+
+    public long getEpochMilli() {
+        return epochMilli;
+    }
+
+    public int getOffsetSeconds() {
+        return offset.getTotalSeconds();
+    }
+
+    public boolean isAfter(TrackingEvent other) {
+        return epochMilli > other.epochMilli;
     }
 
     public String getEventCode() {
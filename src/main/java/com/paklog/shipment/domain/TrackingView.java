@@ -0,0 +1,36 @@
+package com.paklog.shipment.domain;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * What a tracking page shows for a shipment: its status and the most recent events, oldest first.
+ * Carries the shipment version so it can be served as a conditional response.
+ */
+public record TrackingView(
+    TrackingNumber trackingNumber,
+    CarrierName carrierName,
+    ShipmentStatus status,
+    List<TrackingEvent> recentEvents,
+    OffsetDateTime dispatchedAt,
+    OffsetDateTime deliveredAt,
+    OffsetDateTime lastUpdatedAt,
+    long version
+) {
+    public TrackingView {
+        recentEvents = List.copyOf(recentEvents);
+    }
+
+    public static TrackingView of(Shipment shipment, int eventLimit) {
+        List<TrackingEvent> events = shipment.getTrackingEvents();
+        return new TrackingView(
+                shipment.getTrackingNumber(),
+                shipment.getCarrierName(),
+                shipment.getStatus(),
+                events.subList(Math.max(0, events.size() - eventLimit), events.size()),
+                shipment.getDispatchedAt(),
+                shipment.getDeliveredAt(),
+                shipment.getLastUpdatedAt(),
+                shipment.getVersion() != null ? shipment.getVersion() : 0L);
+    }
+}
@@ -0,0 +1,37 @@
+package com.paklog.shipment.domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances of the short, repetitive strings carriers put in tracking events: statuses,
+ * event codes, stock descriptions and hub names. Every hydrated event then shares one copy of each
+ * instead of holding its own. The table is bounded, so free text that slips in stops being pooled
+ * once it is full rather than growing it without limit.
+ */
+final class TrackingVocabulary {
+
+    static final int MAX_ENTRIES = 8192;
+    // Longer values are almost always free text and not worth pooling.
+    static final int MAX_LENGTH = 64;
+
+    private static final Map<String, String> CANONICAL = new ConcurrentHashMap<>();
+
+    private TrackingVocabulary() {
+    }
+
+    static String canonical(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        String existing = CANONICAL.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (CANONICAL.size() >= MAX_ENTRIES) {
+            return value;
+        }
+        existing = CANONICAL.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
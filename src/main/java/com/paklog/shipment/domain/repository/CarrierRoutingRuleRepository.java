@@ -0,0 +1,9 @@
+package com.paklog.shipment.domain.repository;
+
+import com.paklog.shipment.domain.CarrierRoutingRule;
+
+import java.util.List;
+
+public interface CarrierRoutingRuleRepository {
+    List<CarrierRoutingRule> findAllEnabled();
+}
@@ -4,17 +4,54 @@ import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.Load;
 import com.paklog.shipment.domain.LoadId;
 import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.domain.Pickup;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.Tender;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.Optional;
+import java.util.Set;
 
 public interface ILoadRepository {
+    /**
+     * Saves the load conditionally on the version it was read at. Throws
+     * {@link org.springframework.dao.OptimisticLockingFailureException} if another write got there first.
+     */
     void save(Load load);
 
     Optional<Load> findById(LoadId loadId);
 
+    /**
+     * Reads only the version of a load. Used for conditional requests that should not hydrate the
+     * aggregate.
+     */
+    Optional<Long> findVersion(LoadId loadId);
+
     Page<Load> findAll(Pageable pageable, LoadStatus status, CarrierName carrierName);
 
     void delete(Load load);
+
+    // Single-round-trip transitions. Each applies only if the load is in the state the matching Load
+    // method requires (and at expectedVersion, when given), and returns the updated load; empty
+    // means nothing matched and the caller has to find out why.
+
+    Optional<Load> assignCarrier(LoadId loadId, Long expectedVersion, CarrierName carrierName);
+
+    /**
+     * Tenders the load. With {@code firstTender} only a load that was never tendered matches,
+     * otherwise only one that was.
+     */
+    Optional<Load> tender(LoadId loadId, Long expectedVersion, Tender tender, boolean firstTender);
+
+    Optional<Load> recordTenderDecision(LoadId loadId, Long expectedVersion, Tender.Decision decision,
+                                        String respondedBy, String reason);
+
+    /**
+     * Schedules the pickup. With {@code firstPickup} only a load without a pickup matches,
+     * otherwise only one that has one.
+     */
+    Optional<Load> schedulePickup(LoadId loadId, Long expectedVersion, Pickup pickup, boolean firstPickup);
+
+    Optional<Load> addShipments(LoadId loadId, Long expectedVersion, Set<ShipmentId> shipmentIds);
 }
@@ -4,20 +4,88 @@ import com.paklog.shipment.domain.LoadId;
 import com.paklog.shipment.domain.OrderId;
 import com.paklog.shipment.domain.Shipment;
 import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.TrackingEvent;
 import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ShipmentRepository {
+    /**
+     * Saves the shipment conditionally on the version it was read at. Throws
+     * {@link org.springframework.dao.OptimisticLockingFailureException} if another write got there first.
+     */
     Shipment save(Shipment shipment);
     Optional<Shipment> findById(ShipmentId shipmentId);
+
+    /**
+     * Reads only the version of a shipment. Used for conditional requests that should not hydrate
+     * the aggregate.
+     */
+    Optional<Long> findVersion(ShipmentId shipmentId);
     Optional<Shipment> findByOrderId(OrderId orderId);
     Optional<Shipment> findByTrackingNumber(TrackingNumber trackingNumber);
-    List<Shipment> findPageInTransit(String lastSeenId, int limit);
+
+    /**
+     * Loads the active shipments holding any of the given tracking numbers in one query. Unknown
+     * numbers are left out.
+     */
+    List<Shipment> findByTrackingNumbers(Collection<TrackingNumber> trackingNumbers);
+
+    /**
+     * Reads the tracking view for a tracking number, with at most {@code eventLimit} of the latest
+     * events. Only the fields the view needs are loaded.
+     */
+    Optional<TrackingView> findTrackingView(TrackingNumber trackingNumber, int eventLimit);
+
+    /**
+     * Pages through a shipment's full tracking history, oldest event first.
+     */
+    Page<TrackingEvent> findTrackingEvents(ShipmentId shipmentId, Pageable pageable);
+    /**
+     * Pages through in-transit shipments that need polling. Shipments with a carrier push after
+     * {@code pushedBefore} are left out.
+     */
+    List<Shipment> findPageInTransit(String lastSeenId, int limit, OffsetDateTime pushedBefore);
     List<Shipment> findAll();
     void delete(ShipmentId shipmentId);
     boolean existsById(ShipmentId shipmentId);
+
+    /**
+     * Moves up to {@code limit} delivered or failed shipments last updated before
+     * {@code updatedBefore} to the archive, oldest first, and returns how many moved. Fewer than
+     * {@code limit} can move while more remain, when candidates are written during the move, so
+     * callers are done only once nothing moves. Archived shipments are still found by id, order id,
+     * version and tracking view but are no longer updated.
+     */
+    int archiveTerminal(OffsetDateTime updatedBefore, int limit);
+
+    /**
+     * Estimated number of shipments that are not archived, read from collection metadata.
+     */
+    long estimateActiveCount();
     List<Shipment> findByLoadId(LoadId loadId);
+
+    /**
+     * Streams a load's shipments from a server-side cursor in id order. The caller must close the
+     * stream.
+     */
+    Stream<Shipment> streamByLoadId(LoadId loadId);
+
+    /**
+     * Streams shipments not assigned to any load, in id order. The caller must close the stream.
+     */
+    Stream<Shipment> streamUnassigned();
     List<Shipment> findAllById(List<ShipmentId> shipmentIds);
+
+    /**
+     * Returns one page of the given shipments ordered by id. Label data is not loaded.
+     */
+    Page<Shipment> findPageByIds(Collection<ShipmentId> shipmentIds, Pageable pageable);
 }
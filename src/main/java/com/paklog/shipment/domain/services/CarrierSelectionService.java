@@ -1,16 +1,49 @@
 package com.paklog.shipment.domain.services;
 
+import com.paklog.shipment.domain.CarrierAllocation;
+import com.paklog.shipment.domain.CarrierCapacityGate;
 import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.CarrierSelectionStrategy;
 import com.paklog.shipment.domain.Package;
+
+import java.util.Optional;
+
 public class CarrierSelectionService {
     private final CarrierSelectionStrategy carrierSelectionStrategy;
+    private final CarrierCapacityGate capacityGate;
 
     public CarrierSelectionService(CarrierSelectionStrategy carrierSelectionStrategy) {
+        this(carrierSelectionStrategy, CarrierCapacityGate.UNLIMITED);
+    }
+
+    public CarrierSelectionService(CarrierSelectionStrategy carrierSelectionStrategy, CarrierCapacityGate capacityGate) {
         this.carrierSelectionStrategy = carrierSelectionStrategy;
+        this.capacityGate = capacityGate;
+    }
+
+    /**
+     * Picks the carrier for a package and takes one unit of its daily capacity. Callers that end up
+     * not shipping must hand the allocation back through {@link #releaseAllocation}.
+     */
+    public CarrierAllocation allocateCarrier(Package packageDetail) {
+        CarrierName preferred = carrierSelectionStrategy.selectCarrier(packageDetail);
+        Optional<CarrierAllocation> allocation = capacityGate.tryAllocate(preferred);
+        if (allocation.isPresent()) {
+            return allocation.get();
+        }
+        for (CarrierName candidate : carrierSelectionStrategy.rankCarriers(packageDetail)) {
+            if (candidate != preferred) {
+                allocation = capacityGate.tryAllocate(candidate);
+                if (allocation.isPresent()) {
+                    return allocation.get();
+                }
+            }
+        }
+        // Every acceptable carrier is at its daily commitment; ship with the preferred one rather than fail.
+        return capacityGate.forceAllocate(preferred);
     }
 
-    public CarrierName selectBestCarrier(Package packageDetail) {
-        return carrierSelectionStrategy.selectCarrier(packageDetail);
+    public void releaseAllocation(CarrierAllocation allocation) {
+        capacityGate.release(allocation);
     }
 }
@@ -0,0 +1,230 @@
+package com.paklog.shipment.domain.services;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.CarrierRoutingRule;
+import com.paklog.shipment.domain.Package;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * Immutable decision structure built from a routing rule table. Rules are partitioned by package
+ * type and indexed on weight: the weight axis is cut at every rule boundary and each segment keeps
+ * the priority-ordered rules covering it, so a lookup is a hash probe, a binary search and a short
+ * scan over primitive arrays with no allocation. Rankings are precomputed too: each segment keeps one
+ * immutable list per dimension band and fallback carrier, so the spillover path only looks one up.
+ */
+final class CompiledRoutingTable {
+
+    static final CompiledRoutingTable EMPTY = compile(List.of());
+
+    private final List<CarrierRoutingRule> rules;
+    private final Map<String, WeightIndex> indexByPackageType;
+    private final WeightIndex anyTypeIndex;
+
+    private CompiledRoutingTable(List<CarrierRoutingRule> rules,
+                                 Map<String, WeightIndex> indexByPackageType,
+                                 WeightIndex anyTypeIndex) {
+        this.rules = rules;
+        this.indexByPackageType = indexByPackageType;
+        this.anyTypeIndex = anyTypeIndex;
+    }
+
+    static CompiledRoutingTable compile(List<CarrierRoutingRule> rules) {
+        List<CarrierRoutingRule> ordered = new ArrayList<>(rules);
+        // Stable sort keeps declaration order between rules of equal priority.
+        ordered.sort(Comparator.comparingInt(CarrierRoutingRule::priority));
+
+        CarrierName[] carriers = new CarrierName[ordered.size()];
+        double[] maxLongestSides = new double[ordered.size()];
+        for (int i = 0; i < ordered.size(); i++) {
+            carriers[i] = ordered.get(i).carrier();
+            maxLongestSides[i] = ordered.get(i).maxLongestSide();
+        }
+
+        Map<String, WeightIndex> byType = new HashMap<>();
+        ordered.stream()
+                .flatMap(rule -> rule.packageTypes().stream())
+                .distinct()
+                .forEach(type -> byType.put(type, WeightIndex.build(ordered, carriers, maxLongestSides,
+                        rule -> rule.appliesToAnyPackageType() || rule.packageTypes().contains(type))));
+        WeightIndex anyType = WeightIndex.build(ordered, carriers, maxLongestSides, CarrierRoutingRule::appliesToAnyPackageType);
+
+        return new CompiledRoutingTable(List.copyOf(ordered), Map.copyOf(byType), anyType);
+    }
+
+    CarrierName match(Package packageDetails) {
+        return indexFor(packageDetails).first(packageDetails.getWeight(), longestSide(packageDetails));
+    }
+
+    /**
+     * Carriers whose rules accept the package, best first, with {@code fallback} appended unless a
+     * rule already ranks it. The returned list is shared and immutable.
+     */
+    List<CarrierName> rank(Package packageDetails, CarrierName fallback) {
+        return indexFor(packageDetails).ranking(packageDetails.getWeight(), longestSide(packageDetails)).with(fallback);
+    }
+
+    List<CarrierRoutingRule> rules() {
+        return rules;
+    }
+
+    private WeightIndex indexFor(Package packageDetails) {
+        String type = packageDetails.getType();
+        WeightIndex index = type != null ? indexByPackageType.get(type) : null;
+        return index != null ? index : anyTypeIndex;
+    }
+
+    private static double longestSide(Package packageDetails) {
+        return Math.max(packageDetails.getLength(), Math.max(packageDetails.getWidth(), packageDetails.getHeight()));
+    }
+
+    private static final class WeightIndex {
+        private final double[] boundaries;
+        private final int[][] segmentRules;
+        private final double[][] segmentSideLimits;
+        private final Ranking[][] segmentRankings;
+        private final CarrierName[] carriers;
+        private final double[] maxLongestSides;
+
+        private WeightIndex(double[] boundaries,
+                            int[][] segmentRules,
+                            double[][] segmentSideLimits,
+                            Ranking[][] segmentRankings,
+                            CarrierName[] carriers,
+                            double[] maxLongestSides) {
+            this.boundaries = boundaries;
+            this.segmentRules = segmentRules;
+            this.segmentSideLimits = segmentSideLimits;
+            this.segmentRankings = segmentRankings;
+            this.carriers = carriers;
+            this.maxLongestSides = maxLongestSides;
+        }
+
+        static WeightIndex build(List<CarrierRoutingRule> ordered,
+                                 CarrierName[] carriers,
+                                 double[] maxLongestSides,
+                                 Predicate<CarrierRoutingRule> include) {
+            TreeSet<Double> cuts = new TreeSet<>();
+            for (CarrierRoutingRule rule : ordered) {
+                if (include.test(rule)) {
+                    cuts.add(rule.minWeight());
+                    cuts.add(rule.maxWeight());
+                }
+            }
+            double[] boundaries = cuts.stream().mapToDouble(Double::doubleValue).toArray();
+            int segments = Math.max(boundaries.length - 1, 0);
+            int[][] segmentRules = new int[segments][];
+            double[][] segmentSideLimits = new double[segments][];
+            Ranking[][] segmentRankings = new Ranking[segments][];
+            for (int segment = 0; segment < segments; segment++) {
+                double from = boundaries[segment];
+                double to = boundaries[segment + 1];
+                List<Integer> covering = new ArrayList<>();
+                for (int i = 0; i < ordered.size(); i++) {
+                    CarrierRoutingRule rule = ordered.get(i);
+                    if (include.test(rule) && rule.minWeight() <= from && rule.maxWeight() >= to) {
+                        covering.add(i);
+                    }
+                }
+                segmentRules[segment] = covering.stream().mapToInt(Integer::intValue).toArray();
+                segmentSideLimits[segment] = Arrays.stream(segmentRules[segment])
+                        .mapToDouble(candidate -> maxLongestSides[candidate])
+                        .distinct()
+                        .sorted()
+                        .toArray();
+                segmentRankings[segment] = rankingsByBand(segmentRules[segment], segmentSideLimits[segment], carriers, maxLongestSides);
+            }
+            return new WeightIndex(boundaries, segmentRules, segmentSideLimits, segmentRankings, carriers, maxLongestSides);
+        }
+
+        /**
+         * Band {@code i} holds packages whose longest side is above limit {@code i - 1} and within
+         * limit {@code i}; the band past the largest limit accepts no rule.
+         */
+        private static Ranking[] rankingsByBand(int[] candidates,
+                                                double[] sideLimits,
+                                                CarrierName[] carriers,
+                                                double[] maxLongestSides) {
+            Ranking[] rankings = new Ranking[sideLimits.length + 1];
+            for (int band = 0; band < sideLimits.length; band++) {
+                LinkedHashSet<CarrierName> ranked = new LinkedHashSet<>();
+                for (int candidate : candidates) {
+                    if (maxLongestSides[candidate] >= sideLimits[band]) {
+                        ranked.add(carriers[candidate]);
+                    }
+                }
+                rankings[band] = Ranking.of(List.copyOf(ranked));
+            }
+            rankings[sideLimits.length] = Ranking.NONE;
+            return rankings;
+        }
+
+        CarrierName first(double weight, double longestSide) {
+            int segment = segmentOf(weight);
+            if (segment < 0) {
+                return null;
+            }
+            int[] candidates = segmentRules[segment];
+            for (int candidate : candidates) {
+                if (longestSide <= maxLongestSides[candidate]) {
+                    return carriers[candidate];
+                }
+            }
+            return null;
+        }
+
+        Ranking ranking(double weight, double longestSide) {
+            int segment = segmentOf(weight);
+            if (segment < 0) {
+                return Ranking.NONE;
+            }
+            int position = Arrays.binarySearch(segmentSideLimits[segment], longestSide);
+            return segmentRankings[segment][position >= 0 ? position : -position - 1];
+        }
+
+        private int segmentOf(double weight) {
+            int position = Arrays.binarySearch(boundaries, weight);
+            int segment = position >= 0 ? position : -position - 2;
+            return segment >= 0 && segment < segmentRules.length ? segment : -1;
+        }
+    }
+
+    private static final class Ranking {
+        private static final CarrierName[] ALL_CARRIERS = CarrierName.values();
+        static final Ranking NONE = of(List.of());
+
+        private final List<CarrierName> carriers;
+        private final List<List<CarrierName>> withFallback;
+
+        private Ranking(List<CarrierName> carriers, List<List<CarrierName>> withFallback) {
+            this.carriers = carriers;
+            this.withFallback = withFallback;
+        }
+
+        static Ranking of(List<CarrierName> carriers) {
+            List<List<CarrierName>> withFallback = new ArrayList<>(ALL_CARRIERS.length);
+            for (CarrierName fallback : ALL_CARRIERS) {
+                if (carriers.contains(fallback)) {
+                    withFallback.add(carriers);
+                } else {
+                    List<CarrierName> extended = new ArrayList<>(carriers);
+                    extended.add(fallback);
+                    withFallback.add(List.copyOf(extended));
+                }
+            }
+            return new Ranking(carriers, List.copyOf(withFallback));
+        }
+
+        List<CarrierName> with(CarrierName fallback) {
+            return fallback != null ? withFallback.get(fallback.ordinal()) : carriers;
+        }
+    }
+}
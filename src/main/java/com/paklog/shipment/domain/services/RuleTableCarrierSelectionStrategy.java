@@ -0,0 +1,49 @@
+package com.paklog.shipment.domain.services;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.CarrierRoutingRule;
+import com.paklog.shipment.domain.CarrierSelectionStrategy;
+import com.paklog.shipment.domain.Package;
+
+import java.util.List;
+import java.util.Objects;
+
+public class RuleTableCarrierSelectionStrategy implements CarrierSelectionStrategy {
+
+    private final CarrierSelectionStrategy fallbackStrategy;
+    private volatile CompiledRoutingTable table = CompiledRoutingTable.EMPTY;
+
+    public RuleTableCarrierSelectionStrategy(CarrierSelectionStrategy fallbackStrategy) {
+        this.fallbackStrategy = Objects.requireNonNull(fallbackStrategy, "Fallback strategy cannot be null");
+    }
+
+    @Override
+    public CarrierName selectCarrier(Package packageDetails) {
+        if (packageDetails == null) {
+            throw new IllegalArgumentException("Package details cannot be null");
+        }
+        CarrierName carrier = table.match(packageDetails);
+        return carrier != null ? carrier : fallbackStrategy.selectCarrier(packageDetails);
+    }
+
+    @Override
+    public List<CarrierName> rankCarriers(Package packageDetails) {
+        if (packageDetails == null) {
+            throw new IllegalArgumentException("Package details cannot be null");
+        }
+        return table.rank(packageDetails, fallbackStrategy.selectCarrier(packageDetails));
+    }
+
+    /**
+     * Compiles the given rules and swaps them in atomically; in-flight selections finish against
+     * the table they started with.
+     */
+    public void reload(List<CarrierRoutingRule> rules) {
+        Objects.requireNonNull(rules, "Routing rules cannot be null");
+        table = CompiledRoutingTable.compile(rules);
+    }
+
+    public List<CarrierRoutingRule> getRules() {
+        return table.rules();
+    }
+}
@@ -0,0 +1,237 @@
+package com.paklog.shipment.infrastructure;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.LoadCacheProperties;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.domain.Pickup;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.Tender;
+import com.paklog.shipment.domain.repository.ILoadRepository;
+import com.paklog.shipment.infrastructure.persistence.document.LoadConverters;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Near-cache in front of {@link LoadMongoRepository#findById}. Dashboards poll loads far more often
+ * than anything writes them, so lookups are served from a bounded, TTL'd map of load snapshots.
+ * <p>
+ * Every write through this repository refreshes the local entry and publishes the load's new
+ * version on the invalidation topic. Each replica consumes that topic in its own consumer group and
+ * drops any entry older than the published version, leaving a tombstone so a read already in flight
+ * cannot put the stale copy back. A lost message is bounded by the TTL.
+ */
+@Primary
+@Profile("!in-memory")
+@Repository
+public class CachingLoadRepository implements ILoadRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingLoadRepository.class);
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final Map<LoadId, Entry> entries = new ConcurrentHashMap<>();
+    private final LoadMongoRepository delegate;
+    private final LoadCacheProperties properties;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final MetricsService metricsService;
+    private final Clock clock;
+
+    public CachingLoadRepository(LoadMongoRepository delegate,
+                                 LoadCacheProperties properties,
+                                 KafkaTemplate<String, String> kafkaTemplate,
+                                 MetricsService metricsService) {
+        this(delegate, properties, kafkaTemplate, metricsService, Clock.systemUTC());
+    }
+
+    CachingLoadRepository(LoadMongoRepository delegate,
+                          LoadCacheProperties properties,
+                          KafkaTemplate<String, String> kafkaTemplate,
+                          MetricsService metricsService,
+                          Clock clock) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.kafkaTemplate = kafkaTemplate;
+        this.metricsService = metricsService;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<Load> findById(LoadId loadId) {
+        if (!properties.isEnabled()) {
+            return delegate.findById(loadId);
+        }
+        Entry entry = entries.get(loadId);
+        if (entry != null && entry.snapshot() != null && entry.expiresAt().isAfter(clock.instant())) {
+            metricsService.recordLoadCacheLookup(true);
+            // Callers mutate the aggregate they get back, so every hit gets its own copy.
+            return Optional.of(LoadConverters.LoadReadConverter.INSTANCE.convert(entry.snapshot()));
+        }
+        metricsService.recordLoadCacheLookup(false);
+        Optional<Load> loaded = delegate.findById(loadId);
+        loaded.ifPresent(this::remember);
+        return loaded;
+    }
+
+    @Override
+    public Optional<Long> findVersion(LoadId loadId) {
+        // Write preconditions rely on this being read from the database.
+        return delegate.findVersion(loadId);
+    }
+
+    @Override
+    public Page<Load> findAll(Pageable pageable, LoadStatus status, CarrierName carrierName) {
+        return delegate.findAll(pageable, status, carrierName);
+    }
+
+    @Override
+    public void save(Load load) {
+        delegate.save(load);
+        written(load);
+    }
+
+    @Override
+    public void delete(Load load) {
+        delegate.delete(load);
+        invalidate(load.getId(), DELETED);
+        publish(load.getId(), DELETED);
+    }
+
+    @Override
+    public Optional<Load> assignCarrier(LoadId loadId, Long expectedVersion, CarrierName carrierName) {
+        return delegate.assignCarrier(loadId, expectedVersion, carrierName).map(this::written);
+    }
+
+    @Override
+    public Optional<Load> tender(LoadId loadId, Long expectedVersion, Tender tender, boolean firstTender) {
+        return delegate.tender(loadId, expectedVersion, tender, firstTender).map(this::written);
+    }
+
+    @Override
+    public Optional<Load> recordTenderDecision(LoadId loadId, Long expectedVersion, Tender.Decision decision,
+                                               String respondedBy, String reason) {
+        return delegate.recordTenderDecision(loadId, expectedVersion, decision, respondedBy, reason).map(this::written);
+    }
+
+    @Override
+    public Optional<Load> schedulePickup(LoadId loadId, Long expectedVersion, Pickup pickup, boolean firstPickup) {
+        return delegate.schedulePickup(loadId, expectedVersion, pickup, firstPickup).map(this::written);
+    }
+
+    @Override
+    public Optional<Load> addShipments(LoadId loadId, Long expectedVersion, Set<ShipmentId> shipmentIds) {
+        return delegate.addShipments(loadId, expectedVersion, shipmentIds).map(this::written);
+    }
+
+    @KafkaListener(
+            topics = "${mongo.load-cache.invalidation-topic:shipment.load-cache.v1.invalidations}",
+            groupId = "${spring.application.name}-load-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest",
+            autoStartup = "${mongo.load-cache.enabled:true}")
+    void onInvalidation(ConsumerRecord<String, String> record) {
+        LoadId loadId;
+        long version;
+        try {
+            loadId = LoadId.of(record.key());
+            version = Long.parseLong(record.value());
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed load cache invalidation {}={}", record.key(), record.value());
+            return;
+        }
+        invalidate(loadId, version);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Load written(Load load) {
+        remember(load);
+        publish(load.getId(), versionOf(load));
+        return load;
+    }
+
+    private void remember(Load load) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant now = clock.instant();
+        long version = versionOf(load);
+        ensureCapacity(now);
+        entries.compute(load.getId(), (id, existing) ->
+                existing != null && existing.version() > version && existing.expiresAt().isAfter(now)
+                        ? existing
+                        : new Entry(LoadConverters.LoadWriteConverter.INSTANCE.convert(load), version, now.plus(properties.getTtl())));
+    }
+
+    private void invalidate(LoadId loadId, long version) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant now = clock.instant();
+        ensureCapacity(now);
+        entries.compute(loadId, (id, existing) ->
+                existing != null && existing.version() >= version && existing.expiresAt().isAfter(now)
+                        ? existing
+                        : new Entry(null, version, now.plus(properties.getTtl())));
+    }
+
+    private void publish(LoadId loadId, long version) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            kafkaTemplate.send(properties.getInvalidationTopic(), loadId.getValue().toString(), Long.toString(version))
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            logger.warn("Failed to publish cache invalidation for load {}; peers catch up within {}",
+                                    loadId.getValue(), properties.getTtl(), error);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish cache invalidation for load {}; peers catch up within {}",
+                    loadId.getValue(), properties.getTtl(), e);
+        }
+    }
+
+    private static long versionOf(Load load) {
+        return load.getVersion() != null ? load.getVersion() : 0L;
+    }
+
+    private void ensureCapacity(Instant now) {
+        if (entries.size() < properties.getMaxEntries()) {
+            return;
+        }
+        entries.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        Iterator<LoadId> keys = entries.keySet().iterator();
+        while (entries.size() >= properties.getMaxEntries() && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * A cached snapshot at {@code version}, or a tombstone (null snapshot) recording that the load has
+     * moved past every copy older than {@code version}.
+     */
+    private record Entry(Document snapshot, long version, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.paklog.shipment.infrastructure;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.CarrierCapacityProperties;
+import com.paklog.shipment.domain.CarrierAllocation;
+import com.paklog.shipment.domain.CarrierCapacityGate;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.infrastructure.persistence.CarrierAllocationDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per carrier, per facility, per day allocation counters. Selection only touches in-process atomics;
+ * local deltas are pushed to Mongo with {@code $inc} on a schedule and the counters rebased on the
+ * shared total, so replicas converge within one reconcile interval.
+ */
+@Component
+public class CarrierAllocationTracker implements CarrierCapacityGate {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarrierAllocationTracker.class);
+    private final Map<AllocationKey, Allocation> allocations = new ConcurrentHashMap<>();
+    private final MongoTemplate mongoTemplate;
+    private final CarrierCapacityProperties properties;
+    private final MetricsService metricsService;
+    private final Clock clock;
+
+    public CarrierAllocationTracker(MongoTemplate mongoTemplate,
+                                    CarrierCapacityProperties properties,
+                                    MetricsService metricsService) {
+        this(mongoTemplate, properties, metricsService, Clock.systemUTC());
+    }
+
+    CarrierAllocationTracker(MongoTemplate mongoTemplate,
+                             CarrierCapacityProperties properties,
+                             MetricsService metricsService,
+                             Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.metricsService = metricsService;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<CarrierAllocation> tryAllocate(CarrierName carrier) {
+        Long limit = limitFor(carrier);
+        if (limit == null) {
+            return Optional.of(CarrierAllocation.untracked(carrier));
+        }
+        AllocationKey key = new AllocationKey(carrier, today());
+        if (allocationFor(key).tryIncrement(limit)) {
+            return Optional.of(new CarrierAllocation(carrier, key.day()));
+        }
+        metricsService.recordCarrierCapacityRejection(carrier.name());
+        return Optional.empty();
+    }
+
+    @Override
+    public CarrierAllocation forceAllocate(CarrierName carrier) {
+        if (limitFor(carrier) == null) {
+            return CarrierAllocation.untracked(carrier);
+        }
+        AllocationKey key = new AllocationKey(carrier, today());
+        allocationFor(key).increment();
+        return new CarrierAllocation(carrier, key.day());
+    }
+
+    @Override
+    public void release(CarrierAllocation allocation) {
+        if (!allocation.isTracked()) {
+            return;
+        }
+        // The day's counter may already have been flushed and dropped; a fresh one carries the
+        // negative delta to Mongo on the next reconcile.
+        allocationFor(new AllocationKey(allocation.carrier(), allocation.day())).decrement();
+    }
+
+    public long allocatedToday(CarrierName carrier) {
+        Allocation allocation = allocations.get(new AllocationKey(carrier, today()));
+        return allocation != null ? allocation.allocated.get() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${carrier.capacity.reconcile-interval-ms:5000}")
+    public void reconcile() {
+        LocalDate today = today();
+        for (Map.Entry<AllocationKey, Allocation> entry : allocations.entrySet()) {
+            AllocationKey key = entry.getKey();
+            Allocation allocation = entry.getValue();
+            long delta = allocation.unflushed.getAndSet(0);
+            try {
+                CarrierAllocationDocument committed = mongoTemplate.findAndModify(
+                        new Query(Criteria.where("_id").is(documentId(key))),
+                        new Update().inc("allocated", delta)
+                                .setOnInsert("facilityId", properties.getFacilityId())
+                                .setOnInsert("carrier", key.carrier())
+                                .setOnInsert("day", key.day()),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        CarrierAllocationDocument.class);
+                if (committed != null) {
+                    allocation.rebase(committed.getAllocated());
+                }
+            } catch (RuntimeException ex) {
+                allocation.unflushed.addAndGet(delta);
+                logger.warn("Failed to reconcile carrier allocation {}", documentId(key), ex);
+                continue;
+            }
+            if (key.day().isBefore(today) && allocation.unflushed.get() == 0) {
+                allocations.remove(key, allocation);
+            }
+        }
+    }
+
+    private Long limitFor(CarrierName carrier) {
+        return properties.isEnabled() ? properties.getDailyLimits().get(carrier) : null;
+    }
+
+    private Allocation allocationFor(AllocationKey key) {
+        Allocation allocation = allocations.get(key);
+        if (allocation != null) {
+            return allocation;
+        }
+        // First use of the day on this replica: seed from what other replicas already committed.
+        long committed = loadCommitted(key);
+        return allocations.computeIfAbsent(key, ignored -> new Allocation(committed));
+    }
+
+    private long loadCommitted(AllocationKey key) {
+        try {
+            CarrierAllocationDocument document = mongoTemplate.findById(documentId(key), CarrierAllocationDocument.class);
+            return document != null ? document.getAllocated() : 0;
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to load carrier allocation {}, starting from zero", documentId(key), ex);
+            return 0;
+        }
+    }
+
+    private String documentId(AllocationKey key) {
+        return CarrierAllocationDocument.idOf(properties.getFacilityId(), key.carrier(), key.day());
+    }
+
+    private LocalDate today() {
+        return LocalDate.ofInstant(clock.instant(), properties.getZone());
+    }
+
+    private record AllocationKey(CarrierName carrier, LocalDate day) {
+    }
+
+    private static final class Allocation {
+        private final AtomicLong allocated;
+        private final AtomicLong unflushed = new AtomicLong();
+
+        private Allocation(long committed) {
+            this.allocated = new AtomicLong(committed);
+        }
+
+        boolean tryIncrement(long limit) {
+            long current;
+            do {
+                current = allocated.get();
+                if (current >= limit) {
+                    return false;
+                }
+            } while (!allocated.compareAndSet(current, current + 1));
+            unflushed.incrementAndGet();
+            return true;
+        }
+
+        void increment() {
+            allocated.incrementAndGet();
+            unflushed.incrementAndGet();
+        }
+
+        void decrement() {
+            allocated.decrementAndGet();
+            unflushed.decrementAndGet();
+        }
+
+        void rebase(long committed) {
+            allocated.set(committed + unflushed.get());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.paklog.shipment.infrastructure;
+
+import com.paklog.shipment.domain.CarrierRoutingRule;
+import com.paklog.shipment.domain.repository.CarrierRoutingRuleRepository;
+import com.paklog.shipment.infrastructure.persistence.CarrierRoutingRuleDocument;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class CarrierRoutingRuleMongoRepository implements CarrierRoutingRuleRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    public CarrierRoutingRuleMongoRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<CarrierRoutingRule> findAllEnabled() {
+        Query query = new Query(Criteria.where("enabled").is(true));
+        return mongoTemplate.find(query, CarrierRoutingRuleDocument.class).stream()
+                .map(CarrierRoutingRuleDocument::toDomain)
+                .toList();
+    }
+}
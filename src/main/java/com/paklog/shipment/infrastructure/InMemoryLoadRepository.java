@@ -0,0 +1,275 @@
+package com.paklog.shipment.infrastructure;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.domain.Pickup;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.Tender;
+import com.paklog.shipment.domain.TenderStatus;
+import com.paklog.shipment.domain.repository.ILoadRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Loads held on the heap, for profiling the application layer without MongoDB and for local
+ * development. Active with the {@code in-memory} profile, in place of {@link CachingLoadRepository}
+ * and {@link LoadMongoRepository}.
+ * <p>
+ * Saves and transitions are compare-and-set per load with the same guards and version bumps as the
+ * Mongo repository. Loads are copied in and out, so callers never share an instance with the store.
+ * <p>
+ * The status and carrier indexes are updated inside the per-load compute, so writes to one load
+ * reach them in the order they were applied. Reads still re-check each stored load against the
+ * filter, since an index can briefly list a load the map has not caught up with.
+ */
+@Profile("in-memory")
+@Repository
+public class InMemoryLoadRepository implements ILoadRepository {
+
+    private static final Comparator<Load> BY_ID = Comparator.comparing(load -> load.getId().getValue().toString());
+
+    private final Map<LoadId, Load> loads = new ConcurrentHashMap<>();
+    private final Map<LoadStatus, Set<LoadId>> byStatus = new ConcurrentHashMap<>();
+    private final Map<CarrierName, Set<LoadId>> byCarrier = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Load load) {
+        Long expectedVersion = load.getVersion();
+        long version = expectedVersion == null ? 0L : expectedVersion + 1;
+        Load written = copy(load, version);
+
+        loads.compute(load.getId(), (id, current) -> {
+            if (expectedVersion == null && current != null) {
+                throw new DuplicateKeyException("Load " + id.getValue() + " already exists");
+            }
+            if (expectedVersion != null && (current == null || !expectedVersion.equals(current.getVersion()))) {
+                throw new OptimisticLockingFailureException(String.format(
+                        "Cannot save Load %s with version %d; has it been modified meanwhile?",
+                        id.getValue(), expectedVersion));
+            }
+            reindex(current, written);
+            return written;
+        });
+        load.markPersisted(version);
+    }
+
+    @Override
+    public Optional<Load> findById(LoadId loadId) {
+        return Optional.ofNullable(loads.get(loadId)).map(stored -> copy(stored, stored.getVersion()));
+    }
+
+    @Override
+    public Optional<Long> findVersion(LoadId loadId) {
+        return Optional.ofNullable(loads.get(loadId)).map(stored -> stored.getVersion() != null ? stored.getVersion() : 0L);
+    }
+
+    @Override
+    public Page<Load> findAll(Pageable pageable, LoadStatus status, CarrierName carrierName) {
+        Collection<LoadId> candidates;
+        if (status != null) {
+            candidates = byStatus.getOrDefault(status, Set.of());
+        } else if (carrierName != null) {
+            candidates = byCarrier.getOrDefault(carrierName, Set.of());
+        } else {
+            candidates = loads.keySet();
+        }
+
+        List<Load> matches = new ArrayList<>(candidates.size());
+        for (LoadId loadId : candidates) {
+            Load stored = loads.get(loadId);
+            if (stored != null
+                    && (status == null || stored.getStatus() == status)
+                    && (carrierName == null || stored.getCarrierName() == carrierName)) {
+                matches.add(stored);
+            }
+        }
+        matches.sort(comparator(pageable.getSort()));
+
+        List<Load> content = matches;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), matches.size());
+            content = matches.subList(from, Math.min(from + pageable.getPageSize(), matches.size()));
+        }
+        return new PageImpl<>(content.stream().map(stored -> copy(stored, stored.getVersion())).toList(),
+                pageable, matches.size());
+    }
+
+    @Override
+    public void delete(Load load) {
+        loads.compute(load.getId(), (id, current) -> {
+            // As with a versioned remove, nothing is deleted after a concurrent write.
+            if (current == null || !Objects.equals(current.getVersion(), load.getVersion())) {
+                throw new OptimisticLockingFailureException("Load " + id.getValue() + " was modified concurrently");
+            }
+            reindex(current, null);
+            return null;
+        });
+    }
+
+    // The guards below repeat the ones in LoadMongoRepository and the matching Load methods; keep them in step.
+
+    @Override
+    public Optional<Load> assignCarrier(LoadId loadId, Long expectedVersion, CarrierName carrierName) {
+        return transition(loadId, expectedVersion,
+                current -> current.getStatus() == LoadStatus.PLANNED,
+                current -> with(current, LoadStatus.TENDERED, carrierName, current.getShipmentIds(),
+                        current.getPickup(), current.getTender()));
+    }
+
+    @Override
+    public Optional<Load> tender(LoadId loadId, Long expectedVersion, Tender tender, boolean firstTender) {
+        // Loads written before tenders existed have no tender at all, which counts as never tendered.
+        Predicate<Load> tenderState = current -> {
+            boolean neverTendered = current.getTender() == null
+                    || current.getTender().status() == null
+                    || current.getTender().status() == TenderStatus.NOT_TENDERED;
+            return firstTender == neverTendered;
+        };
+        return transition(loadId, expectedVersion,
+                current -> current.getStatus() == LoadStatus.TENDERED && current.getCarrierName() != null
+                        && tenderState.test(current),
+                current -> with(current, current.getStatus(), current.getCarrierName(), current.getShipmentIds(),
+                        current.getPickup(), tender));
+    }
+
+    @Override
+    public Optional<Load> recordTenderDecision(LoadId loadId, Long expectedVersion, Tender.Decision decision,
+                                               String respondedBy, String reason) {
+        return transition(loadId, expectedVersion,
+                current -> current.getTender() != null && current.getTender().status() == TenderStatus.PENDING,
+                current -> with(current, decision.resultingLoadStatus(), current.getCarrierName(),
+                        current.getShipmentIds(), current.getPickup(),
+                        new Tender(TenderStatus.valueOf(decision.name()), current.getTender().expiresAt(),
+                                OffsetDateTime.now(), respondedBy, decision, reason)));
+    }
+
+    @Override
+    public Optional<Load> schedulePickup(LoadId loadId, Long expectedVersion, Pickup pickup, boolean firstPickup) {
+        return transition(loadId, expectedVersion,
+                current -> current.getStatus() == LoadStatus.BOOKED && firstPickup == (current.getPickup() == null),
+                current -> with(current, current.getStatus(), current.getCarrierName(), current.getShipmentIds(),
+                        pickup, current.getTender()));
+    }
+
+    @Override
+    public Optional<Load> addShipments(LoadId loadId, Long expectedVersion, Set<ShipmentId> shipmentIds) {
+        Set<String> added = values(shipmentIds);
+        return transition(loadId, expectedVersion,
+                current -> current.getStatus() == LoadStatus.PLANNED
+                        && values(current.getShipmentIds()).stream().noneMatch(added::contains),
+                current -> {
+                    Set<ShipmentId> merged = new HashSet<>(current.getShipmentIds());
+                    merged.addAll(shipmentIds);
+                    return with(current, current.getStatus(), current.getCarrierName(), merged,
+                            current.getPickup(), current.getTender());
+                });
+    }
+
+    /**
+     * Replaces the load with {@code update} of it if it matches the guard (and expectedVersion, when
+     * given), stamping updatedAt and bumping the version the way a versioned save would.
+     */
+    private Optional<Load> transition(LoadId loadId, Long expectedVersion, Predicate<Load> guard,
+                                      UnaryOperator<Load> update) {
+        Load[] before = new Load[1];
+        Load after = loads.computeIfPresent(loadId, (id, current) -> {
+            if (!guard.test(current) || (expectedVersion != null && !expectedVersion.equals(current.getVersion()))) {
+                return current;
+            }
+            before[0] = current;
+            Load updated = update.apply(current);
+            reindex(current, updated);
+            return updated;
+        });
+        if (before[0] == null) {
+            return Optional.empty();
+        }
+        return Optional.of(copy(after, after.getVersion()));
+    }
+
+    // Called from inside the compute on the load, which serializes index updates per load.
+    private void reindex(Load before, Load after) {
+        update(byStatus, Load::getStatus, before, after);
+        update(byCarrier, Load::getCarrierName, before, after);
+    }
+
+    private static <K> void update(Map<K, Set<LoadId>> index, Function<Load, K> field, Load before, Load after) {
+        K oldKey = before != null ? field.apply(before) : null;
+        K newKey = after != null ? field.apply(after) : null;
+        if (newKey != null) {
+            index.computeIfAbsent(newKey, ignored -> ConcurrentHashMap.newKeySet()).add(after.getId());
+        }
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            Set<LoadId> previous = index.get(oldKey);
+            if (previous != null) {
+                previous.remove(before.getId());
+            }
+        }
+    }
+
+    private static Comparator<Load> comparator(Sort sort) {
+        Comparator<Load> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Load> next = switch (order.getProperty()) {
+                case "createdAt" -> Comparator.comparing(Load::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "updatedAt" -> Comparator.comparing(Load::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "reference" -> Comparator.comparing(Load::getReference, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "status" -> Comparator.comparing(load -> load.getStatus().name());
+                case "id" -> BY_ID;
+                default -> throw new IllegalArgumentException("Unsupported load sort property: " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator == null ? BY_ID : comparator.thenComparing(BY_ID);
+    }
+
+    private static Set<String> values(Set<ShipmentId> shipmentIds) {
+        Set<String> values = new HashSet<>(shipmentIds.size() * 2);
+        for (ShipmentId shipmentId : shipmentIds) {
+            values.add(shipmentId.getValue().toString());
+        }
+        return values;
+    }
+
+    private static Load with(Load load, LoadStatus status, CarrierName carrierName, Set<ShipmentId> shipmentIds,
+                             Pickup pickup, Tender tender) {
+        long version = load.getVersion() != null ? load.getVersion() + 1 : 1L;
+        return Load.restore(load.getId(), load.getReference(), status, carrierName, new HashSet<>(shipmentIds),
+                load.getOrigin(), load.getDestination(), load.getRequestedPickupDate(),
+                load.getRequestedDeliveryDate(), pickup, tender, load.getNotes(), load.getCreatedAt(),
+                OffsetDateTime.now(), version);
+    }
+
+    private static Load copy(Load load, Long version) {
+        return Load.restore(load.getId(), load.getReference(), load.getStatus(), load.getCarrierName(),
+                new HashSet<>(load.getShipmentIds()), load.getOrigin(), load.getDestination(),
+                load.getRequestedPickupDate(), load.getRequestedDeliveryDate(), load.getPickup(), load.getTender(),
+                load.getNotes(), load.getCreatedAt(), load.getUpdatedAt(), version);
+    }
+}
@@ -0,0 +1,465 @@
+package com.paklog.shipment.infrastructure;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.ShipmentStatus;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingView;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Shipments held on the heap, for profiling the application layer without MongoDB and for local
+ * development. Active with the {@code in-memory} profile, in place of {@link ShipmentMongoRepository}.
+ * <p>
+ * Queries answer the way the Mongo repository does: shipments come back holding only their latest
+ * tracking event, the full history is paged from a separate log, ordering is by id, and archived
+ * shipments are found by id, order id and tracking view only. Writes are compare-and-set on the version, per
+ * shipment; they are not transactional and survive a rollback.
+ * <p>
+ * Each secondary index maps a field value to the ids holding it, in id order. Indexes are updated
+ * inside the compute on the shipment's entry, so writes to one shipment reach them in the order
+ * they were applied. A read can still land between the index and the map, so every read re-checks
+ * the stored shipment against its query.
+ */
+@Profile("in-memory")
+@Repository
+public class InMemoryShipmentRepository implements ShipmentRepository {
+
+    private static final List<ShipmentStatus> TERMINAL_STATUSES =
+            List.of(ShipmentStatus.DELIVERED, ShipmentStatus.FAILED_DELIVERY);
+
+    private final Map<String, StoredShipment> shipments = new ConcurrentHashMap<>();
+    private final Map<String, StoredShipment> archive = new ConcurrentHashMap<>();
+    private final Map<String, List<TrackingEvent>> trackingEvents = new ConcurrentHashMap<>();
+    private final NavigableSet<String> ids = new ConcurrentSkipListSet<>();
+    private final Index<String> byOrderId = new Index<>(StoredShipment::orderId);
+    private final Index<String> byTrackingNumber = new Index<>(StoredShipment::trackingNumber);
+    private final Index<ShipmentStatus> byStatus = new Index<>(StoredShipment::status);
+    private final Index<String> byAssignedLoadId = new Index<>(StoredShipment::assignedLoadId);
+    private final Index<String> archivedByOrderId = new Index<>(StoredShipment::orderId);
+    private final Index<String> archivedByTrackingNumber = new Index<>(StoredShipment::trackingNumber);
+
+    @Override
+    public Shipment save(Shipment shipment) {
+        String id = key(shipment.getId());
+        Long expectedVersion = shipment.getVersion();
+        long version = expectedVersion == null ? 0L : expectedVersion + 1;
+        StoredShipment written = StoredShipment.of(shipment, version);
+        List<TrackingEvent> newEvents = List.copyOf(shipment.getUnsavedTrackingEvents());
+
+        shipments.compute(id, (key, current) -> {
+            if (expectedVersion == null && current != null) {
+                throw new DuplicateKeyException("Shipment " + key + " already exists");
+            }
+            if (expectedVersion != null && (current == null || current.version() != expectedVersion)) {
+                throw new OptimisticLockingFailureException(String.format(
+                        "Cannot save Shipment %s with version %d; has it been modified meanwhile?",
+                        key, expectedVersion));
+            }
+            ids.add(key);
+            reindex(key, current, written);
+            return written;
+        });
+        appendTrackingEvents(id, newEvents);
+        shipment.markPersisted(version);
+        return written.toShipment(true);
+    }
+
+    private void appendTrackingEvents(String id, List<TrackingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        trackingEvents.merge(id, events, (history, added) -> {
+            List<TrackingEvent> appended = new ArrayList<>(history.size() + added.size());
+            appended.addAll(history);
+            appended.addAll(added);
+            return List.copyOf(appended);
+        });
+    }
+
+    @Override
+    public Optional<Shipment> findById(ShipmentId shipmentId) {
+        String id = key(shipmentId);
+        StoredShipment stored = shipments.get(id);
+        if (stored == null) {
+            stored = archive.get(id);
+        }
+        return Optional.ofNullable(stored).map(found -> found.toShipment(true));
+    }
+
+    @Override
+    public Optional<Long> findVersion(ShipmentId shipmentId) {
+        String id = key(shipmentId);
+        StoredShipment stored = shipments.get(id);
+        if (stored == null) {
+            stored = archive.get(id);
+        }
+        return Optional.ofNullable(stored).map(StoredShipment::version);
+    }
+
+    @Override
+    public Optional<Shipment> findByOrderId(OrderId orderId) {
+        Optional<StoredShipment> stored = byOrderId.first(orderId.getValue(), shipments);
+        if (stored.isEmpty()) {
+            stored = archivedByOrderId.first(orderId.getValue(), archive);
+        }
+        return stored.map(found -> found.toShipment(true));
+    }
+
+    @Override
+    public Optional<Shipment> findByTrackingNumber(TrackingNumber trackingNumber) {
+        return byTrackingNumber.first(trackingNumber.getValue(), shipments).map(found -> found.toShipment(true));
+    }
+
+    @Override
+    public List<Shipment> findByTrackingNumbers(Collection<TrackingNumber> trackingNumbers) {
+        List<Shipment> found = new ArrayList<>(trackingNumbers.size());
+        for (TrackingNumber trackingNumber : trackingNumbers) {
+            byTrackingNumber.matching(trackingNumber.getValue(), shipments).forEach(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<TrackingView> findTrackingView(TrackingNumber trackingNumber, int eventLimit) {
+        Optional<StoredShipment> found = byTrackingNumber.first(trackingNumber.getValue(), shipments);
+        if (found.isEmpty()) {
+            found = archivedByTrackingNumber.first(trackingNumber.getValue(), archive);
+        }
+        return found.map(stored -> {
+            List<TrackingEvent> history = trackingEvents.getOrDefault(stored.id(), List.of());
+            return new TrackingView(
+                    trackingNumber,
+                    stored.carrierName(),
+                    stored.status(),
+                    history.subList(Math.max(0, history.size() - eventLimit), history.size()),
+                    stored.dispatchedAt(),
+                    stored.deliveredAt(),
+                    stored.lastUpdatedAt(),
+                    stored.version());
+        });
+    }
+
+    @Override
+    public Page<TrackingEvent> findTrackingEvents(ShipmentId shipmentId, Pageable pageable) {
+        List<TrackingEvent> history = trackingEvents.getOrDefault(key(shipmentId), List.of());
+        return PageableExecutionUtils.getPage(slice(history, pageable), pageable, history::size);
+    }
+
+    @Override
+    public List<Shipment> findPageInTransit(String lastSeenId, int limit, OffsetDateTime pushedBefore) {
+        NavigableSet<String> inTransit = byStatus.ids(ShipmentStatus.IN_TRANSIT);
+        List<Shipment> page = new ArrayList<>();
+        for (String id : lastSeenId != null ? inTransit.tailSet(lastSeenId, false) : inTransit) {
+            if (page.size() == limit) {
+                break;
+            }
+            StoredShipment stored = shipments.get(id);
+            if (stored != null && stored.status() == ShipmentStatus.IN_TRANSIT
+                    && (stored.trackingPushedAt() == null || stored.trackingPushedAt().isBefore(pushedBefore))) {
+                page.add(stored.toShipment(true));
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<Shipment> findAll() {
+        List<Shipment> all = new ArrayList<>(shipments.size());
+        for (String id : ids) {
+            StoredShipment stored = shipments.get(id);
+            if (stored != null) {
+                all.add(stored.toShipment(true));
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public void delete(ShipmentId shipmentId) {
+        String id = key(shipmentId);
+        shipments.computeIfPresent(id, (key, removed) -> {
+            reindex(key, removed, null);
+            ids.remove(key);
+            return null;
+        });
+        archive.computeIfPresent(id, (key, archived) -> {
+            archivedByOrderId.remove(key, archived);
+            archivedByTrackingNumber.remove(key, archived);
+            return null;
+        });
+        trackingEvents.remove(id);
+    }
+
+    @Override
+    public boolean existsById(ShipmentId shipmentId) {
+        String id = key(shipmentId);
+        return shipments.containsKey(id) || archive.containsKey(id);
+    }
+
+    @Override
+    public int archiveTerminal(OffsetDateTime updatedBefore, int limit) {
+        List<StoredShipment> candidates = new ArrayList<>();
+        for (ShipmentStatus status : TERMINAL_STATUSES) {
+            for (String id : byStatus.ids(status)) {
+                StoredShipment stored = shipments.get(id);
+                if (stored != null && TERMINAL_STATUSES.contains(stored.status())
+                        && stored.lastUpdatedAt() != null && stored.lastUpdatedAt().isBefore(updatedBefore)) {
+                    candidates.add(stored);
+                }
+            }
+        }
+        candidates.sort(Comparator.comparing(StoredShipment::lastUpdatedAt));
+
+        int moved = 0;
+        for (StoredShipment stored : candidates.subList(0, Math.min(limit, candidates.size()))) {
+            archive.compute(stored.id(), (key, previous) -> {
+                archivedByOrderId.update(key, previous, stored);
+                archivedByTrackingNumber.update(key, previous, stored);
+                return stored;
+            });
+            // Only the copied version is removed; a shipment written since stays hot until the next run.
+            boolean[] removed = new boolean[1];
+            shipments.computeIfPresent(stored.id(), (key, current) -> {
+                if (current != stored) {
+                    return current;
+                }
+                reindex(key, current, null);
+                ids.remove(key);
+                removed[0] = true;
+                return null;
+            });
+            if (removed[0]) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    @Override
+    public long estimateActiveCount() {
+        return shipments.size();
+    }
+
+    @Override
+    public List<Shipment> findByLoadId(LoadId loadId) {
+        return byAssignedLoadId.matching(loadId.getValue().toString(), shipments).toList();
+    }
+
+    @Override
+    public Stream<Shipment> streamByLoadId(LoadId loadId) {
+        return byAssignedLoadId.matching(loadId.getValue().toString(), shipments);
+    }
+
+    @Override
+    public Stream<Shipment> streamUnassigned() {
+        return byAssignedLoadId.matching(null, shipments);
+    }
+
+    @Override
+    public List<Shipment> findAllById(List<ShipmentId> shipmentIds) {
+        List<Shipment> found = new ArrayList<>(shipmentIds.size());
+        for (ShipmentId shipmentId : shipmentIds) {
+            StoredShipment stored = shipments.get(key(shipmentId));
+            if (stored != null) {
+                found.add(stored.toShipment(true));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Page<Shipment> findPageByIds(Collection<ShipmentId> shipmentIds, Pageable pageable) {
+        if (shipmentIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<StoredShipment> matches = new ArrayList<>(shipmentIds.size());
+        for (String id : sortedKeys(shipmentIds)) {
+            StoredShipment stored = shipments.get(id);
+            if (stored != null) {
+                matches.add(stored);
+            }
+        }
+        // Listings never show labels.
+        List<Shipment> content = slice(matches, pageable).stream()
+                .map(stored -> stored.toShipment(false))
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable, matches::size);
+    }
+
+    private void reindex(String id, StoredShipment before, StoredShipment after) {
+        byOrderId.update(id, before, after);
+        byTrackingNumber.update(id, before, after);
+        byStatus.update(id, before, after);
+        byAssignedLoadId.update(id, before, after);
+    }
+
+    private static NavigableSet<String> sortedKeys(Collection<ShipmentId> shipmentIds) {
+        NavigableSet<String> keys = new TreeSet<>();
+        for (ShipmentId shipmentId : shipmentIds) {
+            keys.add(key(shipmentId));
+        }
+        return keys;
+    }
+
+    private static <T> List<T> slice(List<T> items, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return items;
+        }
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return items.subList(from, to);
+    }
+
+    private static String key(ShipmentId shipmentId) {
+        return shipmentId.getValue().toString();
+    }
+
+    /**
+     * Ids of the shipments holding each value of one field, in id order. A null value is indexed
+     * like any other, so "not assigned to a load" is a lookup too.
+     */
+    private static final class Index<K> {
+
+        private static final Object NULL = new Object();
+
+        private final Map<Object, NavigableSet<String>> entries = new ConcurrentHashMap<>();
+        private final Function<StoredShipment, K> field;
+
+        private Index(Function<StoredShipment, K> field) {
+            this.field = field;
+        }
+
+        void update(String id, StoredShipment before, StoredShipment after) {
+            Object oldKey = before != null ? keyOf(field.apply(before)) : null;
+            Object newKey = after != null ? keyOf(field.apply(after)) : null;
+            if (newKey != null) {
+                entries.computeIfAbsent(newKey, ignored -> new ConcurrentSkipListSet<>()).add(id);
+            }
+            if (oldKey != null && !oldKey.equals(newKey)) {
+                NavigableSet<String> previous = entries.get(oldKey);
+                if (previous != null) {
+                    previous.remove(id);
+                }
+            }
+        }
+
+        void remove(String id, StoredShipment stored) {
+            update(id, stored, null);
+        }
+
+        NavigableSet<String> ids(K value) {
+            return entries.getOrDefault(keyOf(value), new TreeSet<>());
+        }
+
+        Optional<StoredShipment> first(K value, Map<String, StoredShipment> store) {
+            for (String id : ids(value)) {
+                StoredShipment stored = store.get(id);
+                if (stored != null && Objects.equals(field.apply(stored), value)) {
+                    return Optional.of(stored);
+                }
+            }
+            return Optional.empty();
+        }
+
+        Stream<Shipment> matching(K value, Map<String, StoredShipment> store) {
+            return ids(value).stream()
+                    .map(store::get)
+                    .filter(stored -> stored != null && Objects.equals(field.apply(stored), value))
+                    .map(stored -> stored.toShipment(true));
+        }
+
+        private static Object keyOf(Object value) {
+            return value != null ? value : NULL;
+        }
+    }
+
+    /**
+     * What the Mongo repository would have stored: the shipment's fields and its latest tracking
+     * event, with the rest of the history kept in the event log.
+     */
+    private record StoredShipment(
+            String id,
+            ShipmentId shipmentId,
+            String orderId,
+            CarrierName carrierName,
+            String trackingNumber,
+            byte[] labelData,
+            ShipmentStatus status,
+            OffsetDateTime createdAt,
+            OffsetDateTime dispatchedAt,
+            OffsetDateTime deliveredAt,
+            TrackingEvent latestTrackingEvent,
+            long trackingEventCount,
+            String assignedLoadId,
+            OffsetDateTime lastUpdatedAt,
+            OffsetDateTime trackingPushedAt,
+            long version
+    ) {
+
+        static StoredShipment of(Shipment shipment, long version) {
+            return new StoredShipment(
+                    key(shipment.getId()),
+                    shipment.getId(),
+                    shipment.getOrderId().getValue(),
+                    shipment.getCarrierName(),
+                    shipment.getTrackingNumber() != null ? shipment.getTrackingNumber().getValue() : null,
+                    shipment.getLabelData(),
+                    shipment.getStatus(),
+                    shipment.getCreatedAt(),
+                    shipment.getDispatchedAt(),
+                    shipment.getDeliveredAt(),
+                    shipment.getLatestTrackingEvent(),
+                    shipment.getTrackingEventCount(),
+                    shipment.getAssignedLoadId() != null ? shipment.getAssignedLoadId().getValue().toString() : null,
+                    shipment.getLastUpdatedAt(),
+                    shipment.getTrackingPushedAt(),
+                    version);
+        }
+
+        Shipment toShipment(boolean withLabel) {
+            return Shipment.restore(
+                    shipmentId,
+                    OrderId.of(orderId),
+                    carrierName,
+                    trackingNumber != null ? TrackingNumber.of(trackingNumber) : null,
+                    withLabel ? labelData : null,
+                    status,
+                    createdAt,
+                    dispatchedAt,
+                    deliveredAt,
+                    latestTrackingEvent != null ? List.of(latestTrackingEvent) : List.of(),
+                    assignedLoadId != null ? LoadId.of(assignedLoadId) : null,
+                    lastUpdatedAt,
+                    trackingPushedAt,
+                    version,
+                    trackingEventCount);
+        }
+    }
+}
@@ -4,23 +4,51 @@ import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.Load;
 import com.paklog.shipment.domain.LoadId;
 import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.domain.Pickup;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.Tender;
+import com.paklog.shipment.domain.TenderStatus;
 import com.paklog.shipment.domain.repository.ILoadRepository;
+import com.paklog.shipment.infrastructure.persistence.QueryShape;
+import com.paklog.shipment.infrastructure.persistence.document.LoadConverters;
 import com.paklog.shipment.infrastructure.persistence.document.LoadDocument;
+import com.paklog.shipment.infrastructure.persistence.document.PickupDocument;
+import com.paklog.shipment.infrastructure.persistence.document.TenderDocument;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
+@Profile("!in-memory")
 @Repository
 public class LoadMongoRepository implements ILoadRepository {
 
+    // Keep in step with the queries below and the indexes declared on LoadDocument.
+    public static final List<QueryShape> QUERY_SHAPES = List.of(
+            new QueryShape("loads.byStatusAndCarrier", LoadDocument.class,
+                    new Document("status", LoadStatus.PLANNED.name()).append("carrierName", "FEDEX"),
+                    new Document("createdAt", -1)),
+            new QueryShape("loads.byStatus", LoadDocument.class,
+                    new Document("status", LoadStatus.PLANNED.name()), new Document("createdAt", -1)),
+            new QueryShape("loads.byCarrier", LoadDocument.class,
+                    new Document("carrierName", "FEDEX"), new Document("createdAt", -1)),
+            new QueryShape("loads.newestFirst", LoadDocument.class,
+                    null, new Document("createdAt", -1))
+    );
+
     private final MongoTemplate mongoTemplate;
 
     public LoadMongoRepository(MongoTemplate mongoTemplate) {
@@ -29,14 +57,24 @@ public class LoadMongoRepository implements ILoadRepository {
 
     @Override
     public void save(Load load) {
-        LoadDocument doc = LoadDocument.fromDomain(load);
-        mongoTemplate.save(doc);
+        Document doc = LoadConverters.LoadWriteConverter.INSTANCE.convert(load);
+        // Compare-and-set on the version; a concurrent write raises OptimisticLockingFailureException.
+        load.markPersisted(VersionedDocuments.save(mongoTemplate, LoadDocument.class, doc, load.getVersion()));
     }
 
     @Override
     public Optional<Load> findById(LoadId loadId) {
-        LoadDocument doc = mongoTemplate.findById(loadId.getValue().toString(), LoadDocument.class);
-        return Optional.ofNullable(doc).map(LoadDocument::toDomain);
+        // Queries are mapped against LoadDocument; results go through LoadConverters.LoadReadConverter.
+        Query query = new Query(Criteria.where("id").is(loadId.getValue().toString()));
+        return Optional.ofNullable(mongoTemplate.query(LoadDocument.class).as(Load.class).matching(query).oneValue());
+    }
+
+    @Override
+    public Optional<Long> findVersion(LoadId loadId) {
+        Query query = new Query(Criteria.where("id").is(loadId.getValue().toString()));
+        query.fields().include("version");
+        return Optional.ofNullable(mongoTemplate.findOne(query, LoadDocument.class))
+                .map(doc -> doc.getVersion() != null ? doc.getVersion() : 0L);
     }
 
     @Override
@@ -52,10 +90,7 @@ public class LoadMongoRepository implements ILoadRepository {
 
         long total = mongoTemplate.count(query, LoadDocument.class);
 
-        List<LoadDocument> docs = mongoTemplate.find(query.with(pageable), LoadDocument.class);
-        List<Load> loads = docs.stream()
-                .map(LoadDocument::toDomain)
-                .collect(Collectors.toList());
+        List<Load> loads = mongoTemplate.query(LoadDocument.class).as(Load.class).matching(query.with(pageable)).all();
 
         return new PageImpl<>(loads, pageable, total);
     }
@@ -63,6 +98,74 @@ public class LoadMongoRepository implements ILoadRepository {
     @Override
     public void delete(Load load) {
         LoadDocument doc = LoadDocument.fromDomain(load);
-        mongoTemplate.remove(doc);
+        // Removing a versioned entity matches on the version too, so nothing is deleted after a concurrent write.
+        if (mongoTemplate.remove(doc).getDeletedCount() == 0) {
+            throw new OptimisticLockingFailureException("Load " + doc.getId() + " was modified concurrently");
+        }
+    }
+
+    // The guards below repeat the ones in the matching Load methods; keep them in step.
+
+    @Override
+    public Optional<Load> assignCarrier(LoadId loadId, Long expectedVersion, CarrierName carrierName) {
+        return transition(loadId, expectedVersion,
+                Criteria.where("status").is(LoadStatus.PLANNED),
+                new Update().set("carrierName", carrierName).set("status", LoadStatus.TENDERED));
+    }
+
+    @Override
+    public Optional<Load> tender(LoadId loadId, Long expectedVersion, Tender tender, boolean firstTender) {
+        // Loads written before tenders existed have no tender at all, which counts as never tendered.
+        Criteria tenderState = firstTender
+                ? Criteria.where("tender.status").in(TenderStatus.NOT_TENDERED, null)
+                : Criteria.where("tender.status").nin(TenderStatus.NOT_TENDERED, null);
+        return transition(loadId, expectedVersion,
+                Criteria.where("status").is(LoadStatus.TENDERED).and("carrierName").ne(null).andOperator(tenderState),
+                new Update().set("tender", TenderDocument.fromDomain(tender)));
+    }
+
+    @Override
+    public Optional<Load> recordTenderDecision(LoadId loadId, Long expectedVersion, Tender.Decision decision,
+                                               String respondedBy, String reason) {
+        return transition(loadId, expectedVersion,
+                Criteria.where("tender.status").is(TenderStatus.PENDING),
+                new Update()
+                        .set("tender.status", TenderStatus.valueOf(decision.name()))
+                        .set("tender.respondedAt", OffsetDateTime.now())
+                        .set("tender.respondedBy", respondedBy)
+                        .set("tender.decision", decision.name())
+                        .set("tender.notes", reason)
+                        .set("status", decision.resultingLoadStatus()));
+    }
+
+    @Override
+    public Optional<Load> schedulePickup(LoadId loadId, Long expectedVersion, Pickup pickup, boolean firstPickup) {
+        Criteria pickupState = firstPickup ? Criteria.where("pickup").is(null) : Criteria.where("pickup").ne(null);
+        return transition(loadId, expectedVersion,
+                Criteria.where("status").is(LoadStatus.BOOKED).andOperator(pickupState),
+                new Update().set("pickup", PickupDocument.fromDomain(pickup)));
+    }
+
+    @Override
+    public Optional<Load> addShipments(LoadId loadId, Long expectedVersion, Set<ShipmentId> shipmentIds) {
+        Object[] ids = shipmentIds.stream().map(id -> id.getValue().toString()).toArray();
+        return transition(loadId, expectedVersion,
+                Criteria.where("status").is(LoadStatus.PLANNED).and("shipmentIds").nin(ids),
+                new Update().addToSet("shipmentIds").each(ids));
+    }
+
+    /**
+     * Applies the update with findAndModify if the load matches the guard, stamping updatedAt and
+     * bumping the version the way a versioned save would.
+     */
+    private Optional<Load> transition(LoadId loadId, Long expectedVersion, Criteria guard, Update update) {
+        Query query = new Query(Criteria.where("id").is(loadId.getValue().toString())).addCriteria(guard);
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where("version").is(expectedVersion));
+        }
+        update.set("updatedAt", OffsetDateTime.now()).inc("version", 1);
+        LoadDocument updated = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), LoadDocument.class);
+        return Optional.ofNullable(updated).map(LoadDocument::toDomain);
     }
 }
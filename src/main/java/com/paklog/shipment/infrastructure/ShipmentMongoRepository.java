@@ -1,25 +1,89 @@
 package com.paklog.shipment.infrastructure;
 
+import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.LoadId;
 import com.paklog.shipment.domain.OrderId;
 import com.paklog.shipment.domain.Shipment;
 import com.paklog.shipment.domain.ShipmentId;
 import com.paklog.shipment.domain.ShipmentStatus;
+import com.paklog.shipment.domain.TrackingEvent;
 import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingView;
 import com.paklog.shipment.domain.repository.ShipmentRepository;
+import com.paklog.shipment.infrastructure.persistence.QueryShape;
+import com.paklog.shipment.infrastructure.persistence.ShipmentConverters;
 import com.paklog.shipment.infrastructure.persistence.ShipmentDocument;
+import com.paklog.shipment.infrastructure.persistence.TrackingEventRelay;
+import com.paklog.shipment.infrastructure.persistence.TrackingEventSeriesDocument;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ExecutableFindOperation;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Profile("!in-memory")
 @Repository
 public class ShipmentMongoRepository implements ShipmentRepository {
+
+    // Keep in step with the queries below and the indexes declared on ShipmentDocument.
+    public static final List<QueryShape> QUERY_SHAPES = List.of(
+            new QueryShape("shipments.byOrderId", ShipmentDocument.class,
+                    new Document("orderId", "order-1"), null),
+            new QueryShape("shipments.byTrackingNumber", ShipmentDocument.class,
+                    new Document("trackingNumber", "TRK1"), null),
+            new QueryShape("shipments.byAssignedLoad", ShipmentDocument.class,
+                    new Document("assignedLoadId", "00000000-0000-0000-0000-000000000000"), new Document("_id", 1)),
+            new QueryShape("shipments.unassigned", ShipmentDocument.class,
+                    new Document("assignedLoadId", null), new Document("_id", 1)),
+            new QueryShape("shipments.pageByIds", ShipmentDocument.class,
+                    new Document("_id", new Document("$in", List.of("00000000-0000-0000-0000-000000000000"))),
+                    new Document("_id", 1)),
+            new QueryShape("shipments.inTransitPage", ShipmentDocument.class,
+                    new Document("status", ShipmentStatus.IN_TRANSIT.name())
+                            .append("_id", new Document("$gt", "00000000-0000-0000-0000-000000000000"))
+                            .append("$or", List.of(new Document("trackingPushedAt", null),
+                                    new Document("trackingPushedAt", new Document("$lt", new Date(0))))),
+                    new Document("_id", 1)),
+            new QueryShape("shipments.byStatusAndCarrier", ShipmentDocument.class,
+                    new Document("status", ShipmentStatus.IN_TRANSIT.name()).append("carrierName", "FEDEX"),
+                    new Document("createdAt", -1)),
+            new QueryShape("shipments.byCarrier", ShipmentDocument.class,
+                    new Document("carrierName", "FEDEX"), new Document("createdAt", -1)),
+            new QueryShape("shipments.newestFirst", ShipmentDocument.class,
+                    null, new Document("createdAt", -1)),
+            new QueryShape("shipments.archivable", ShipmentDocument.class,
+                    new Document("status", new Document("$in", List.of(ShipmentStatus.DELIVERED.name(),
+                            ShipmentStatus.FAILED_DELIVERY.name())))
+                            .append("lastUpdatedAt", new Document("$lt", new Date(0))),
+                    new Document("lastUpdatedAt", 1))
+    );
+
+    // Terminal shipments moved out of the hot collection by archiveTerminal; created by ShipmentArchiveSetup.
+    public static final String ARCHIVE_COLLECTION = "shipments_archive";
+    private static final List<String> TERMINAL_STATUSES =
+            List.of(ShipmentStatus.DELIVERED.name(), ShipmentStatus.FAILED_DELIVERY.name());
+
+    private static final int STREAM_BATCH_SIZE = 500;
+
     private final MongoTemplate mongoTemplate;
 
     public ShipmentMongoRepository(MongoTemplate mongoTemplate) {
@@ -28,70 +92,262 @@ public class ShipmentMongoRepository implements ShipmentRepository {
 
     @Override
     public Shipment save(Shipment shipment) {
-        ShipmentDocument doc = ShipmentDocument.fromDomain(shipment);
-        ShipmentDocument savedDoc = mongoTemplate.save(doc);
-        return savedDoc.toDomain();
+        Document doc = ShipmentConverters.ShipmentWriteConverter.INSTANCE.convert(shipment);
+        List<TrackingEventSeriesDocument> newEvents = newTrackingEvents(shipment);
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction) {
+            // Staged ahead of the compare-and-set, so both commit or roll back together.
+            stageTrackingEvents(newEvents);
+        }
+        // Compare-and-set on the version; a concurrent write raises OptimisticLockingFailureException.
+        long version = VersionedDocuments.save(mongoTemplate, ShipmentDocument.class, doc, shipment.getVersion());
+        if (!inTransaction) {
+            // Without a transaction, only a write that won the compare-and-set may stage its events.
+            stageTrackingEvents(newEvents);
+        }
+        shipment.markPersisted(version);
+        return ShipmentConverters.ShipmentReadConverter.INSTANCE.convert(doc);
+    }
+
+    private static List<TrackingEventSeriesDocument> newTrackingEvents(Shipment shipment) {
+        List<TrackingEvent> events = shipment.getUnsavedTrackingEvents();
+        long firstSequence = shipment.getTrackingEventCount() - events.size();
+        List<TrackingEventSeriesDocument> docs = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            docs.add(TrackingEventSeriesDocument.fromDomain(shipment.getId(), firstSequence + i, events.get(i)));
+        }
+        return docs;
+    }
+
+    /**
+     * Time-series collections cannot be written inside a transaction, so new events go to a plain
+     * staging collection and {@link TrackingEventRelay} moves them into the series. Ids are derived
+     * from the shipment and the event's position, so restaging an event replaces it.
+     */
+    private void stageTrackingEvents(List<TrackingEventSeriesDocument> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        BulkOperations stage = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrackingEventSeriesDocument.class,
+                TrackingEventSeriesDocument.PENDING_COLLECTION);
+        for (TrackingEventSeriesDocument event : events) {
+            stage.replaceOne(new Query(Criteria.where("_id").is(event.getId())), event, FindAndReplaceOptions.options().upsert());
+        }
+        stage.execute();
     }
 
     @Override
     public Optional<Shipment> findById(ShipmentId id) {
-        ShipmentDocument doc = mongoTemplate.findById(id.getValue(), ShipmentDocument.class);
-        return Optional.ofNullable(doc).map(ShipmentDocument::toDomain);
+        Query query = new Query(Criteria.where("id").is(id.getValue().toString()));
+        Shipment shipment = shipments().matching(query).oneValue();
+        if (shipment == null) {
+            shipment = archivedShipments().matching(query).oneValue();
+        }
+        return Optional.ofNullable(shipment);
+    }
+
+    /**
+     * Full-document reads. Queries are still mapped against ShipmentDocument, while results go
+     * through {@link ShipmentConverters.ShipmentReadConverter} instead of the reflective mapper.
+     */
+    private ExecutableFindOperation.FindWithQuery<Shipment> shipments() {
+        return mongoTemplate.query(ShipmentDocument.class).as(Shipment.class);
+    }
+
+    private ExecutableFindOperation.FindWithQuery<Shipment> archivedShipments() {
+        return mongoTemplate.query(ShipmentDocument.class).inCollection(ARCHIVE_COLLECTION).as(Shipment.class);
+    }
+
+    @Override
+    public Optional<Long> findVersion(ShipmentId shipmentId) {
+        Query query = new Query(Criteria.where("id").is(shipmentId.getValue()));
+        query.fields().include("version");
+        return Optional.ofNullable(findOneHotOrArchived(query))
+                .map(doc -> doc.getVersion() != null ? doc.getVersion() : 0L);
     }
 
     @Override
     public Optional<Shipment> findByOrderId(OrderId orderId) {
         Query query = new Query(Criteria.where("orderId").is(orderId.getValue()));
-        ShipmentDocument doc = mongoTemplate.findOne(query, ShipmentDocument.class);
-        return Optional.ofNullable(doc).map(ShipmentDocument::toDomain);
+        Shipment shipment = shipments().matching(query).firstValue();
+        if (shipment == null) {
+            shipment = archivedShipments().matching(query).firstValue();
+        }
+        return Optional.ofNullable(shipment);
     }
 
     @Override
     public Optional<Shipment> findByTrackingNumber(TrackingNumber trackingNumber) {
         Query query = new Query(Criteria.where("trackingNumber").is(trackingNumber.getValue()));
+        return Optional.ofNullable(shipments().matching(query).firstValue());
+    }
+
+    @Override
+    public List<Shipment> findByTrackingNumbers(Collection<TrackingNumber> trackingNumbers) {
+        if (trackingNumbers.isEmpty()) {
+            return List.of();
+        }
+        List<String> values = trackingNumbers.stream().map(TrackingNumber::getValue).toList();
+        return shipments().matching(new Query(Criteria.where("trackingNumber").in(values))).all();
+    }
+
+    @Override
+    public Optional<TrackingView> findTrackingView(TrackingNumber trackingNumber, int eventLimit) {
+        Query query = new Query(Criteria.where("trackingNumber").is(trackingNumber.getValue()));
+        query.fields().include("carrierName", "status", "dispatchedAt", "deliveredAt", "lastUpdatedAt", "version",
+                "latestTrackingEvent");
+        return Optional.ofNullable(findOneHotOrArchived(query))
+                .map(doc -> new TrackingView(
+                        trackingNumber,
+                        CarrierName.valueOf(doc.getCarrierName()),
+                        ShipmentStatus.valueOf(doc.getStatus()),
+                        latestTrackingEvents(doc, eventLimit),
+                        doc.getDispatchedAt(),
+                        doc.getDeliveredAt(),
+                        doc.getLastUpdatedAt(),
+                        doc.getVersion() != null ? doc.getVersion() : 0L));
+    }
+
+    // Projected reads follow findById: the hot collection first, then the archive.
+    private ShipmentDocument findOneHotOrArchived(Query query) {
         ShipmentDocument doc = mongoTemplate.findOne(query, ShipmentDocument.class);
-        return Optional.ofNullable(doc).map(ShipmentDocument::toDomain);
+        return doc != null ? doc : mongoTemplate.findOne(query, ShipmentDocument.class, ARCHIVE_COLLECTION);
+    }
+
+    private List<TrackingEvent> latestTrackingEvents(ShipmentDocument shipment, int limit) {
+        Query query = new Query(Criteria.where("shipmentId").is(shipment.getId()))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp"))
+                .limit(limit);
+        List<TrackingEvent> events = mongoTemplate.find(query, TrackingEventSeriesDocument.class).stream()
+                .map(TrackingEventSeriesDocument::toDomain)
+                .collect(Collectors.toCollection(ArrayList::new));
+        Collections.reverse(events);
+        // The latest event may still be staged; the shipment document always has it.
+        TrackingEvent latest = shipment.getLatestTrackingEvent() != null ? shipment.getLatestTrackingEvent().toDomain() : null;
+        if (latest != null && limit > 0 && (events.isEmpty() || latest.isAfter(events.get(events.size() - 1)))) {
+            if (events.size() == limit) {
+                events.remove(0);
+            }
+            events.add(latest);
+        }
+        return events;
+    }
+
+    @Override
+    public Page<TrackingEvent> findTrackingEvents(ShipmentId shipmentId, Pageable pageable) {
+        // Reads the series only; events saved within the last relay interval may not be listed yet.
+        Criteria criteria = Criteria.where("shipmentId").is(shipmentId.getValue().toString());
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "timestamp"))
+                .with(pageable);
+        List<TrackingEvent> content = mongoTemplate.find(query, TrackingEventSeriesDocument.class).stream()
+                .map(TrackingEventSeriesDocument::toDomain)
+                .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(new Query(criteria), TrackingEventSeriesDocument.class));
     }
 
     @Override
-    public List<Shipment> findPageInTransit(String lastSeenId, int limit) {
-        Query query = new Query(Criteria.where("status").is(ShipmentStatus.IN_TRANSIT.name()))
+    public List<Shipment> findPageInTransit(String lastSeenId, int limit, OffsetDateTime pushedBefore) {
+        Query query = new Query(Criteria.where("status").is(ShipmentStatus.IN_TRANSIT.name())
+                .orOperator(Criteria.where("trackingPushedAt").is(null),
+                        Criteria.where("trackingPushedAt").lt(pushedBefore)))
                 .limit(limit)
                 .with(Sort.by(Sort.Direction.ASC, "id"));
         if (lastSeenId != null) {
             query.addCriteria(Criteria.where("id").gt(lastSeenId));
         }
-        List<ShipmentDocument> docs = mongoTemplate.find(query, ShipmentDocument.class);
-        return docs.stream().map(ShipmentDocument::toDomain).collect(Collectors.toList());
+        return shipments().matching(query).all();
     }
 
     @Override
     public List<Shipment> findAll() {
-        return mongoTemplate.findAll(ShipmentDocument.class).stream()
-                .map(ShipmentDocument::toDomain)
-                .collect(Collectors.toList());
+        return shipments().all();
     }
 
     @Override
     public void delete(ShipmentId shipmentId) {
         Query query = new Query(Criteria.where("id").is(shipmentId.getValue()));
         mongoTemplate.remove(query, ShipmentDocument.class);
+        mongoTemplate.remove(query, ShipmentDocument.class, ARCHIVE_COLLECTION);
+        Query events = new Query(Criteria.where("shipmentId").is(shipmentId.getValue().toString()));
+        mongoTemplate.remove(events, TrackingEventSeriesDocument.class);
+        mongoTemplate.remove(events, TrackingEventSeriesDocument.class, TrackingEventSeriesDocument.PENDING_COLLECTION);
     }
 
     @Override
     public boolean existsById(ShipmentId shipmentId) {
         Query query = new Query(Criteria.where("id").is(shipmentId.getValue()));
-        return mongoTemplate.exists(query, ShipmentDocument.class);
+        return mongoTemplate.exists(query, ShipmentDocument.class)
+                || mongoTemplate.exists(query, ShipmentDocument.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public int archiveTerminal(OffsetDateTime updatedBefore, int limit) {
+        Query query = new Query(Criteria.where("status").in(TERMINAL_STATUSES).and("lastUpdatedAt").lt(updatedBefore))
+                .with(Sort.by(Sort.Direction.ASC, "lastUpdatedAt"))
+                .limit(limit);
+        List<ShipmentDocument> docs = mongoTemplate.find(query, ShipmentDocument.class);
+        if (docs.isEmpty()) {
+            return 0;
+        }
+        // Upserts, so a batch interrupted between the copy and the delete is simply copied again.
+        BulkOperations copy = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ShipmentDocument.class,
+                ARCHIVE_COLLECTION);
+        BulkOperations remove = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ShipmentDocument.class);
+        for (ShipmentDocument doc : docs) {
+            copy.replaceOne(new Query(Criteria.where("id").is(doc.getId())), doc, FindAndReplaceOptions.options().upsert());
+            // Only the copied version is removed; a shipment written since stays hot until the next run.
+            remove.remove(new Query(Criteria.where("id").is(doc.getId()).and("version").is(doc.getVersion())));
+        }
+        copy.execute();
+        return remove.execute().getDeletedCount();
+    }
+
+    @Override
+    public long estimateActiveCount() {
+        return mongoTemplate.estimatedCount(ShipmentDocument.class);
     }
 
     @Override
     public List<Shipment> findByLoadId(LoadId loadId) {
-        // This is a conceptual implementation. In a real system, you would have a proper relationship.
-        // For now, we assume all shipments are on the unassigned load.
-        if (loadId.toString().equals("00000000-0000-0000-0000-000000000000")) {
-            return findAll();
+        return shipments().matching(byLoadId(loadId)).all();
+    }
+
+    @Override
+    public Stream<Shipment> streamByLoadId(LoadId loadId) {
+        return shipments().matching(byLoadId(loadId).cursorBatchSize(STREAM_BATCH_SIZE)).stream();
+    }
+
+    @Override
+    public Stream<Shipment> streamUnassigned() {
+        Query query = new Query(Criteria.where("assignedLoadId").is(null))
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        return shipments().matching(query).stream();
+    }
+
+    private static Query byLoadId(LoadId loadId) {
+        return new Query(Criteria.where("assignedLoadId").is(loadId.getValue().toString()))
+                .with(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Override
+    public Page<Shipment> findPageByIds(Collection<ShipmentId> shipmentIds, Pageable pageable) {
+        if (shipmentIds.isEmpty()) {
+            return Page.empty(pageable);
         }
-        return List.of();
+        Criteria criteria = Criteria.where("id").in(shipmentIds.stream()
+                .map(shipmentId -> shipmentId.getValue().toString())
+                .collect(Collectors.toList()));
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .with(pageable);
+        // Listings never show labels, and they dominate the document size.
+        query.fields().exclude("labelData");
+        List<Shipment> content = shipments().matching(query).all();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(new Query(criteria), ShipmentDocument.class));
     }
 
     @Override
@@ -100,9 +356,6 @@ public class ShipmentMongoRepository implements ShipmentRepository {
                 .map(ShipmentId::getValue)
                 .map(Object::toString)
                 .collect(Collectors.toList());
-        Query query = new Query(Criteria.where("id").in(ids));
-        return mongoTemplate.find(query, ShipmentDocument.class).stream()
-                .map(ShipmentDocument::toDomain)
-                .collect(Collectors.toList());
+        return shipments().matching(new Query(Criteria.where("id").in(ids))).all();
     }
 }
@@ -0,0 +1,43 @@
+package com.paklog.shipment.infrastructure;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Saves a document produced by one of the hand-written converters with the same compare-and-set
+ * semantics as a {@code @Version} entity save: version 0 on insert, otherwise a replace matching
+ * the expected version that bumps it by one.
+ */
+final class VersionedDocuments {
+
+    private VersionedDocuments() {
+    }
+
+    /**
+     * @return the version now stored
+     * @throws OptimisticLockingFailureException if the stored version is no longer {@code expectedVersion}
+     */
+    static long save(MongoTemplate mongoTemplate, Class<?> entityClass, Document document, Long expectedVersion) {
+        if (expectedVersion == null) {
+            document.put("version", 0L);
+            // A concurrent insert of the same id surfaces as DuplicateKeyException, as it does for save().
+            mongoTemplate.execute(entityClass, collection -> collection.insertOne(document));
+            return 0L;
+        }
+        long nextVersion = expectedVersion + 1;
+        document.put("version", nextVersion);
+        UpdateResult result = mongoTemplate.execute(entityClass, collection -> collection.replaceOne(
+                Filters.and(Filters.eq("_id", document.get("_id")), Filters.eq("version", expectedVersion)),
+                document));
+        if (result == null || result.getMatchedCount() == 0) {
+            throw new OptimisticLockingFailureException(String.format(
+                    "Cannot save %s %s with version %d to collection %s; has it been modified meanwhile?",
+                    entityClass.getSimpleName(), document.get("_id"), expectedVersion,
+                    mongoTemplate.getCollectionName(entityClass)));
+        }
+        return nextVersion;
+    }
+}
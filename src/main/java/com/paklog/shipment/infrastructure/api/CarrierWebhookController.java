@@ -0,0 +1,50 @@
+package com.paklog.shipment.infrastructure.api;
+
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.infrastructure.api.gen.controller.CarrierWebhooksApi;
+import com.paklog.shipment.infrastructure.api.gen.dto.CarrierName;
+import com.paklog.shipment.infrastructure.api.gen.dto.CarrierTrackingNotification;
+import com.paklog.shipment.infrastructure.api.mapper.ShipmentMapper;
+import com.paklog.shipment.infrastructure.webhook.InvalidTrackingNotificationException;
+import com.paklog.shipment.infrastructure.webhook.TrackingNotification;
+import com.paklog.shipment.infrastructure.webhook.TrackingWebhookBuffer;
+import com.paklog.shipment.infrastructure.webhook.WebhookBufferFullException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+
+@RestController
+public class CarrierWebhookController implements CarrierWebhooksApi {
+
+    private final TrackingWebhookBuffer webhookBuffer;
+    private final ShipmentMapper shipmentMapper;
+
+    public CarrierWebhookController(TrackingWebhookBuffer webhookBuffer, ShipmentMapper shipmentMapper) {
+        this.webhookBuffer = webhookBuffer;
+        this.shipmentMapper = shipmentMapper;
+    }
+
+    @Override
+    public ResponseEntity<Void> receiveCarrierTrackingNotification(CarrierName carrierName,
+                                                                   CarrierTrackingNotification carrierTrackingNotification) {
+        TrackingNotification notification = toNotification(carrierName, carrierTrackingNotification);
+        if (!webhookBuffer.offer(notification)) {
+            throw new WebhookBufferFullException("Tracking webhook buffer is full, retry later");
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private TrackingNotification toNotification(CarrierName carrierName, CarrierTrackingNotification body) {
+        try {
+            return new TrackingNotification(
+                    shipmentMapper.toDomain(carrierName),
+                    TrackingNumber.of(body.getTrackingNumber()),
+                    body.getEvents().stream().map(shipmentMapper::toDomain).toList(),
+                    Boolean.TRUE.equals(body.getDelivered()),
+                    OffsetDateTime.now());
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new InvalidTrackingNotificationException("Invalid tracking notification: " + ex.getMessage(), ex);
+        }
+    }
+}
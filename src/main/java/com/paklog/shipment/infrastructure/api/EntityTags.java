@@ -0,0 +1,35 @@
+package com.paklog.shipment.infrastructure.api;
+
+import com.paklog.shipment.application.exception.PreconditionFailedException;
+
+/**
+ * Strong ETags for single resources are the quoted aggregate version.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header asks for, or null when there is no precondition. A tag
+     * this service could not have issued can never match, so it fails the precondition outright.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version");
+    }
+}
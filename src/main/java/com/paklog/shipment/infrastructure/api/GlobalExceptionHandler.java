@@ -1,8 +1,12 @@
 package com.paklog.shipment.infrastructure.api;
 
 import com.paklog.shipment.application.exception.LoadNotFoundException;
+import com.paklog.shipment.application.exception.PreconditionFailedException;
 import com.paklog.shipment.application.exception.ShipmentNotFoundException;
 import com.paklog.shipment.infrastructure.api.gen.dto.Problem;
+import com.paklog.shipment.infrastructure.webhook.InvalidTrackingNotificationException;
+import com.paklog.shipment.infrastructure.webhook.WebhookBufferFullException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -40,6 +44,26 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, URI.create("/problems/shipment-not-found"), ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidTrackingNotificationException.class)
+    public ResponseEntity<Problem> handleInvalidTrackingNotificationException(InvalidTrackingNotificationException ex) {
+        return buildResponse(HttpStatus.BAD_REQUEST, URI.create("/problems/validation-error"), ex.getMessage());
+    }
+
+    @ExceptionHandler(WebhookBufferFullException.class)
+    public ResponseEntity<Problem> handleWebhookBufferFullException(WebhookBufferFullException ex) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, URI.create("/problems/webhook-buffer-full"), ex.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Problem> handlePreconditionFailedException(PreconditionFailedException ex) {
+        return buildResponse(HttpStatus.PRECONDITION_FAILED, URI.create("/problems/precondition-failed"), ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Problem> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return buildResponse(HttpStatus.CONFLICT, URI.create("/problems/concurrent-modification"), ex.getMessage());
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<Problem> handleIllegalStateException(IllegalStateException ex) {
         return buildResponse(HttpStatus.CONFLICT, URI.create("/problems/conflict"), ex.getMessage());
@@ -1,6 +1,7 @@
 package com.paklog.shipment.infrastructure.api;
 
 import com.paklog.shipment.application.LoadApplicationService;
+import com.paklog.shipment.application.ResourceVersionService;
 import com.paklog.shipment.domain.LoadId;
 import com.paklog.shipment.infrastructure.api.gen.controller.LoadCarrierApi;
 import com.paklog.shipment.infrastructure.api.gen.dto.AssignCarrierRequest;
@@ -10,7 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @RestController
@@ -18,45 +18,41 @@ public class LoadCarrierController implements LoadCarrierApi {
 
     private final LoadApplicationService loadApplicationService;
     private final LoadMapper loadMapper;
+    private final ResourceVersionService resourceVersions;
 
-    public LoadCarrierController(LoadApplicationService loadApplicationService, LoadMapper loadMapper) {
+    public LoadCarrierController(LoadApplicationService loadApplicationService, LoadMapper loadMapper,
+                                 ResourceVersionService resourceVersions) {
         this.loadApplicationService = loadApplicationService;
         this.loadMapper = loadMapper;
+        this.resourceVersions = resourceVersions;
     }
 
     @Override
     public ResponseEntity<Load> assignCarrier(UUID loadId, AssignCarrierRequest assignCarrierRequest, String ifMatch) {
-        var currentLoad = loadApplicationService.getLoad(LoadId.of(loadId));
-        var currentEtag = buildEtag(currentLoad.getUpdatedAt());
-        if (ifMatch != null && !ifMatch.equals(currentEtag)) {
-            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
-        }
-
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
         var updatedLoad = loadApplicationService.assignCarrier(
                 LoadId.of(loadId),
                 loadMapper.toDomain(assignCarrierRequest.getCarrierName()),
                 assignCarrierRequest.getScac(),
                 assignCarrierRequest.getContactName(),
-                assignCarrierRequest.getContactPhone()
+                assignCarrierRequest.getContactPhone(),
+                expectedVersion
         );
+        resourceVersions.evict(LoadId.of(loadId));
 
         return ResponseEntity.ok()
-                .eTag(buildEtag(updatedLoad.getUpdatedAt()))
+                .eTag(EntityTags.of(updatedLoad.getVersion()))
                 .body(loadMapper.toDto(updatedLoad));
     }
 
     @Override
     public ResponseEntity<Void> unassignCarrier(UUID loadId, String ifMatch) {
-        var currentLoad = loadApplicationService.getLoad(LoadId.of(loadId));
-        var currentEtag = buildEtag(currentLoad.getUpdatedAt());
-        if (ifMatch != null && !ifMatch.equals(currentEtag)) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        if (expectedVersion != null && expectedVersion != resourceVersions.freshLoadVersion(LoadId.of(loadId))) {
             return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
-        loadApplicationService.unassignCarrier(LoadId.of(loadId));
+        loadApplicationService.unassignCarrier(LoadId.of(loadId), expectedVersion);
+        resourceVersions.evict(LoadId.of(loadId));
         return ResponseEntity.noContent().build();
     }
-
-    private String buildEtag(OffsetDateTime timestamp) {
-        return timestamp != null ? "\"" + timestamp.toInstant().toEpochMilli() + "\"" : "\"0\"";
-    }
 }
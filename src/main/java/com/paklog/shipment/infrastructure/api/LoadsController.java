@@ -2,6 +2,7 @@
 package com.paklog.shipment.infrastructure.api;
 
 import com.paklog.shipment.application.LoadApplicationService;
+import com.paklog.shipment.application.ResourceVersionService;
 import com.paklog.shipment.application.command.CreateLoadCommand;
 import com.paklog.shipment.application.command.UpdateLoadCommand;
 import com.paklog.shipment.domain.LoadId;
@@ -27,11 +28,14 @@ public class LoadsController implements LoadsApi {
 
     private final LoadApplicationService loadApplicationService;
     private final LoadMapper loadMapper;
+    private final ResourceVersionService resourceVersions;
 
 
-    public LoadsController(LoadApplicationService loadApplicationService, LoadMapper loadMapper) {
+    public LoadsController(LoadApplicationService loadApplicationService, LoadMapper loadMapper,
+                           ResourceVersionService resourceVersions) {
         this.loadApplicationService = loadApplicationService;
         this.loadMapper = loadMapper;
+        this.resourceVersions = resourceVersions;
     }
 
 
@@ -54,25 +58,28 @@ public class LoadsController implements LoadsApi {
                 .buildAndExpand(loadResponse.getId())
                 .toUri();
         return ResponseEntity.created(location)
-                .eTag(buildEtag(domainLoad.getUpdatedAt()))
+                .eTag(EntityTags.of(domainLoad.getVersion()))
                 .body(loadResponse);
     }
 
     @Override
     public ResponseEntity<Void> deleteLoad(UUID loadId, String ifMatch) {
-        var domainLoad = loadApplicationService.getLoad(LoadId.of(loadId));
-        var currentEtag = buildEtag(domainLoad.getUpdatedAt());
-        if (ifMatch != null && !ifMatch.equals(currentEtag)) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        if (expectedVersion != null && expectedVersion != resourceVersions.freshLoadVersion(LoadId.of(loadId))) {
             return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
-        loadApplicationService.deleteLoad(LoadId.of(loadId));
+        loadApplicationService.deleteLoad(LoadId.of(loadId), expectedVersion);
+        resourceVersions.evict(LoadId.of(loadId));
         return ResponseEntity.noContent().build();
     }
 
     @Override
     public ResponseEntity<Load> getLoad(UUID loadId, String ifNoneMatch) {
+        if (ifNoneMatch != null && ifNoneMatch.equals(EntityTags.of(resourceVersions.loadVersion(LoadId.of(loadId))))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         var domainLoad = loadApplicationService.getLoad(LoadId.of(loadId));
-        var etag = buildEtag(domainLoad.getUpdatedAt());
+        var etag = EntityTags.of(domainLoad.getVersion());
         if (ifNoneMatch != null && ifNoneMatch.equals(etag)) {
             return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
         }
@@ -106,14 +113,14 @@ public class LoadsController implements LoadsApi {
                 loadMapper.toDomain(updateLoadRequest.getStatus()),
                 updateLoadRequest.getNotes()
         );
-        var domainLoad = loadApplicationService.getLoad(LoadId.of(loadId));
-        var currentEtag = buildEtag(domainLoad.getUpdatedAt());
-        if (ifMatch != null && !ifMatch.equals(currentEtag)) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        if (expectedVersion != null && expectedVersion != resourceVersions.freshLoadVersion(LoadId.of(loadId))) {
             return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
-        var updatedLoad = loadApplicationService.updateLoad(LoadId.of(loadId), command);
+        var updatedLoad = loadApplicationService.updateLoad(LoadId.of(loadId), command, expectedVersion);
+        resourceVersions.evict(LoadId.of(loadId));
         return ResponseEntity.ok()
-                .eTag(buildEtag(updatedLoad.getUpdatedAt()))
+                .eTag(EntityTags.of(updatedLoad.getVersion()))
                 .body(loadMapper.toDto(updatedLoad));
     }
 
@@ -1,6 +1,8 @@
 package com.paklog.shipment.infrastructure.api;
 
 import com.paklog.shipment.application.LoadApplicationService;
+import com.paklog.shipment.application.LoadChange;
+import com.paklog.shipment.application.ResourceVersionService;
 import com.paklog.shipment.domain.Load;
 import com.paklog.shipment.domain.LoadId;
 import com.paklog.shipment.domain.Pickup;
@@ -14,7 +16,6 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @RestController
@@ -22,20 +23,23 @@ public class PickupController implements PickupApi {
 
     private final LoadApplicationService loadApplicationService;
     private final LoadMapper loadMapper;
+    private final ResourceVersionService resourceVersions;
 
-    public PickupController(LoadApplicationService loadApplicationService, LoadMapper loadMapper) {
+    public PickupController(LoadApplicationService loadApplicationService, LoadMapper loadMapper,
+                            ResourceVersionService resourceVersions) {
         this.loadApplicationService = loadApplicationService;
         this.loadMapper = loadMapper;
+        this.resourceVersions = resourceVersions;
     }
 
     @Override
     public ResponseEntity<Void> cancelPickup(UUID loadId, String ifMatch) {
-        var load = loadApplicationService.getLoad(LoadId.of(loadId));
-        var etag = buildEtag(load.getUpdatedAt());
-        if (ifMatch != null && !ifMatch.equals(etag)) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        if (expectedVersion != null && expectedVersion != resourceVersions.freshLoadVersion(LoadId.of(loadId))) {
             return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
-        loadApplicationService.cancelPickup(LoadId.of(loadId));
+        loadApplicationService.cancelPickup(LoadId.of(loadId), expectedVersion);
+        resourceVersions.evict(LoadId.of(loadId));
         return ResponseEntity.noContent().build();
     }
 
@@ -47,26 +51,23 @@ public class PickupController implements PickupApi {
 
     @Override
     public ResponseEntity<PickupDetails> schedulePickup(UUID loadId, SchedulePickupRequest schedulePickupRequest, String ifMatch) {
-        Load existingLoad = loadApplicationService.getLoad(LoadId.of(loadId));
-        var currentEtag = buildEtag(existingLoad.getUpdatedAt());
-        if (ifMatch != null && !ifMatch.equals(currentEtag)) {
-            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
-        }
-
-        boolean isNewPickup = existingLoad.getPickup() == null;
-        Load updatedLoad = loadApplicationService.schedulePickup(
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        LoadChange change = loadApplicationService.schedulePickup(
                 LoadId.of(loadId),
                 schedulePickupRequest.getScheduledFor(),
                 loadMapper.toDomain(schedulePickupRequest.getLocation()),
                 schedulePickupRequest.getContactName(),
                 schedulePickupRequest.getContactPhone(),
-                schedulePickupRequest.getInstructions()
+                schedulePickupRequest.getInstructions(),
+                expectedVersion
         );
+        resourceVersions.evict(LoadId.of(loadId));
 
+        Load updatedLoad = change.load();
         var responseBody = loadMapper.toDto(updatedLoad.getPickup());
-        HttpStatus status = isNewPickup ? HttpStatus.CREATED : HttpStatus.OK;
+        HttpStatus status = change.created() ? HttpStatus.CREATED : HttpStatus.OK;
         ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
-                .eTag(buildEtag(updatedLoad.getUpdatedAt()));
+                .eTag(EntityTags.of(updatedLoad.getVersion()));
         if (status == HttpStatus.CREATED) {
             URI location = ServletUriComponentsBuilder
                     .fromCurrentRequestUri()
@@ -76,8 +77,4 @@ public class PickupController implements PickupApi {
         }
         return builder.body(responseBody);
     }
-
-    private String buildEtag(OffsetDateTime timestamp) {
-        return timestamp != null ? "\"" + timestamp.toInstant().toEpochMilli() + "\"" : "\"0\"";
-    }
 }
@@ -1,6 +1,7 @@
 
 package com.paklog.shipment.infrastructure.api;
 
+import com.paklog.shipment.application.ResourceVersionService;
 import com.paklog.shipment.application.ShipmentApplicationService;
 import com.paklog.shipment.domain.ShipmentId;
 import com.paklog.shipment.infrastructure.api.gen.controller.ShipmentsApi;
@@ -8,6 +9,7 @@ import com.paklog.shipment.infrastructure.api.gen.dto.CarrierName;
 import com.paklog.shipment.infrastructure.api.gen.dto.Shipment;
 import com.paklog.shipment.infrastructure.api.gen.dto.ShipmentCollection;
 import com.paklog.shipment.infrastructure.api.gen.dto.ShipmentStatus;
+import com.paklog.shipment.infrastructure.api.gen.dto.TrackingEventCollection;
 import com.paklog.shipment.infrastructure.api.mapper.ShipmentMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,16 +22,22 @@ public class ShipmentController implements ShipmentsApi {
 
     private final ShipmentApplicationService shipmentService;
     private final ShipmentMapper shipmentMapper;
+    private final ResourceVersionService resourceVersions;
 
-    public ShipmentController(ShipmentApplicationService shipmentService, ShipmentMapper shipmentMapper) {
+    public ShipmentController(ShipmentApplicationService shipmentService, ShipmentMapper shipmentMapper,
+                              ResourceVersionService resourceVersions) {
         this.shipmentService = shipmentService;
         this.shipmentMapper = shipmentMapper;
+        this.resourceVersions = resourceVersions;
     }
 
     @Override
     public ResponseEntity<Shipment> getShipment(UUID shipmentId, String ifNoneMatch) {
+        if (ifNoneMatch != null && ifNoneMatch.equals(EntityTags.of(resourceVersions.shipmentVersion(ShipmentId.of(shipmentId))))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         var domainShipment = shipmentService.getShipment(ShipmentId.of(shipmentId));
-        var etag = buildEtag(domainShipment.getLastUpdatedAt());
+        var etag = EntityTags.of(domainShipment.getVersion());
         if (ifNoneMatch != null && ifNoneMatch.equals(etag)) {
             return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
         }
@@ -58,6 +66,14 @@ public class ShipmentController implements ShipmentsApi {
                 .body(shipmentMapper.toDto(domainShipments));
     }
 
+    @Override
+    public ResponseEntity<TrackingEventCollection> listShipmentTrackingEvents(UUID shipmentId, Integer page, Integer size) {
+        var events = shipmentService.getTrackingEvents(ShipmentId.of(shipmentId),
+                page != null ? page : 0,
+                size != null ? size : 20);
+        return ResponseEntity.ok(shipmentMapper.toTrackingEventCollection(events));
+    }
+
     private String buildEtag(java.time.OffsetDateTime timestamp) {
         return timestamp != null ? "\"" + timestamp.toInstant().toEpochMilli() + "\"" : "\"0\"";
     }
@@ -1,10 +1,11 @@
 package com.paklog.shipment.infrastructure.api;
 
 import com.paklog.shipment.application.LoadApplicationService;
+import com.paklog.shipment.application.LoadChange;
+import com.paklog.shipment.application.ResourceVersionService;
 import com.paklog.shipment.domain.Load;
 import com.paklog.shipment.domain.LoadId;
 import com.paklog.shipment.domain.Tender;
-import com.paklog.shipment.domain.TenderStatus;
 import com.paklog.shipment.infrastructure.api.gen.controller.TenderApi;
 import com.paklog.shipment.infrastructure.api.gen.dto.TenderDecisionRequest;
 import com.paklog.shipment.infrastructure.api.gen.dto.TenderRequest;
@@ -15,7 +16,6 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @RestController
@@ -23,20 +23,23 @@ public class TenderController implements TenderApi {
 
     private final LoadApplicationService loadApplicationService;
     private final LoadMapper loadMapper;
+    private final ResourceVersionService resourceVersions;
 
-    public TenderController(LoadApplicationService loadApplicationService, LoadMapper loadMapper) {
+    public TenderController(LoadApplicationService loadApplicationService, LoadMapper loadMapper,
+                            ResourceVersionService resourceVersions) {
         this.loadApplicationService = loadApplicationService;
         this.loadMapper = loadMapper;
+        this.resourceVersions = resourceVersions;
     }
 
     @Override
     public ResponseEntity<Void> cancelTender(UUID loadId, String ifMatch) {
-        var load = loadApplicationService.getLoad(LoadId.of(loadId));
-        var etag = buildEtag(load.getUpdatedAt());
-        if (ifMatch != null && !ifMatch.equals(etag)) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        if (expectedVersion != null && expectedVersion != resourceVersions.freshLoadVersion(LoadId.of(loadId))) {
             return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
-        loadApplicationService.cancelTender(LoadId.of(loadId));
+        loadApplicationService.cancelTender(LoadId.of(loadId), expectedVersion);
+        resourceVersions.evict(LoadId.of(loadId));
         return ResponseEntity.noContent().build();
     }
 
@@ -45,25 +48,21 @@ public class TenderController implements TenderApi {
         var load = loadApplicationService.getLoad(LoadId.of(loadId));
         var tender = load.getTender();
         return ResponseEntity.ok()
-                .eTag(buildEtag(load.getUpdatedAt()))
+                .eTag(EntityTags.of(load.getVersion()))
                 .body(loadMapper.toDto(tender));
     }
 
     @Override
     public ResponseEntity<com.paklog.shipment.infrastructure.api.gen.dto.Tender> tenderLoad(UUID loadId, TenderRequest tenderRequest, String ifMatch) {
-        var load = loadApplicationService.getLoad(LoadId.of(loadId));
-        var currentEtag = buildEtag(load.getUpdatedAt());
-        if (ifMatch != null && !ifMatch.equals(currentEtag)) {
-            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
-        }
-
-        TenderStatus previousStatus = load.getTender() != null ? load.getTender().status() : TenderStatus.NOT_TENDERED;
-        Load updatedLoad = loadApplicationService.tenderLoad(LoadId.of(loadId), tenderRequest.getExpiresAt(), tenderRequest.getNotes());
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        LoadChange change = loadApplicationService.tenderLoad(LoadId.of(loadId), tenderRequest.getExpiresAt(), tenderRequest.getNotes(), expectedVersion);
+        resourceVersions.evict(LoadId.of(loadId));
+        Load updatedLoad = change.load();
         var responseBody = loadMapper.toDto(updatedLoad.getTender());
 
-        HttpStatus status = previousStatus == TenderStatus.NOT_TENDERED ? HttpStatus.CREATED : HttpStatus.OK;
+        HttpStatus status = change.created() ? HttpStatus.CREATED : HttpStatus.OK;
         ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
-                .eTag(buildEtag(updatedLoad.getUpdatedAt()));
+                .eTag(EntityTags.of(updatedLoad.getVersion()));
         if (status == HttpStatus.CREATED) {
             URI location = ServletUriComponentsBuilder
                     .fromCurrentRequestUri()
@@ -76,25 +75,18 @@ public class TenderController implements TenderApi {
 
     @Override
     public ResponseEntity<com.paklog.shipment.infrastructure.api.gen.dto.Tender> recordTenderDecision(UUID loadId, TenderDecisionRequest tenderDecisionRequest, String ifMatch) {
-        var load = loadApplicationService.getLoad(LoadId.of(loadId));
-        var currentEtag = buildEtag(load.getUpdatedAt());
-        if (ifMatch != null && !ifMatch.equals(currentEtag)) {
-            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
-        }
-
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
         Tender.Decision decision = Tender.Decision.valueOf(tenderDecisionRequest.getDecision().getValue());
         var updatedLoad = loadApplicationService.recordTenderDecision(
                 LoadId.of(loadId),
                 decision,
                 tenderDecisionRequest.getRespondedBy(),
-                tenderDecisionRequest.getReason()
+                tenderDecisionRequest.getReason(),
+                expectedVersion
         );
+        resourceVersions.evict(LoadId.of(loadId));
         return ResponseEntity.ok()
-                .eTag(buildEtag(updatedLoad.getUpdatedAt()))
+                .eTag(EntityTags.of(updatedLoad.getVersion()))
                 .body(loadMapper.toDto(updatedLoad.getTender()));
     }
-
-    private String buildEtag(OffsetDateTime timestamp) {
-        return timestamp != null ? "\"" + timestamp.toInstant().toEpochMilli() + "\"" : "\"0\"";
-    }
 }
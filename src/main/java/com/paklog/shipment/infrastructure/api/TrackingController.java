@@ -0,0 +1,34 @@
+package com.paklog.shipment.infrastructure.api;
+
+import com.paklog.shipment.application.TrackingViewService;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.infrastructure.api.gen.controller.TrackingApi;
+import com.paklog.shipment.infrastructure.api.gen.dto.TrackingView;
+import com.paklog.shipment.infrastructure.api.mapper.ShipmentMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class TrackingController implements TrackingApi {
+
+    private final TrackingViewService trackingViews;
+    private final ShipmentMapper shipmentMapper;
+
+    public TrackingController(TrackingViewService trackingViews, ShipmentMapper shipmentMapper) {
+        this.trackingViews = trackingViews;
+        this.shipmentMapper = shipmentMapper;
+    }
+
+    @Override
+    public ResponseEntity<TrackingView> getTrackingView(String trackingNumber, String ifNoneMatch) {
+        var view = trackingViews.getTrackingView(TrackingNumber.of(trackingNumber));
+        var etag = EntityTags.of(view.version());
+        if (ifNoneMatch != null && ifNoneMatch.equals(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(shipmentMapper.toDto(view));
+    }
+}
@@ -5,9 +5,11 @@ import com.paklog.shipment.domain.Shipment;
 import com.paklog.shipment.domain.ShipmentStatus;
 import com.paklog.shipment.domain.TrackingEvent;
 import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingView;
 import com.paklog.shipment.infrastructure.api.gen.dto.OrderId;
 import com.paklog.shipment.infrastructure.api.gen.dto.ShipmentCollection;
 import com.paklog.shipment.infrastructure.api.gen.dto.ShipmentId;
+import com.paklog.shipment.infrastructure.api.gen.dto.TrackingEventCollection;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
@@ -27,7 +29,9 @@ public class ShipmentMapper {
         if (shipment.getTrackingNumber() != null) {
             dto.setTrackingNumber(toDto(shipment.getTrackingNumber()));
         }
+        // Deprecated in the API: only the latest event. The history is paged from /tracking-events.
         dto.setTrackingEvents(shipment.getTrackingEvents().stream().map(this::toDto).toList());
+        dto.setTrackingEventCount(shipment.getTrackingEventCount());
         dto.setAssignedLoadId(shipment.getAssignedLoadId() != null ? shipment.getAssignedLoadId().getValue() : null);
         dto.setLastUpdatedAt(shipment.getLastUpdatedAt());
         return dto;
@@ -43,6 +47,28 @@ public class ShipmentMapper {
         return collection;
     }
 
+    public TrackingEventCollection toTrackingEventCollection(Page<TrackingEvent> page) {
+        var collection = new TrackingEventCollection();
+        collection.setItems(page.getContent().stream().map(this::toDto).toList());
+        collection.setPage(page.getNumber());
+        collection.setSize(page.getSize());
+        collection.setTotalItems(Math.toIntExact(page.getTotalElements()));
+        collection.setTotalPages(page.getTotalPages());
+        return collection;
+    }
+
+    public com.paklog.shipment.infrastructure.api.gen.dto.TrackingView toDto(TrackingView view) {
+        var dto = new com.paklog.shipment.infrastructure.api.gen.dto.TrackingView();
+        dto.setTrackingNumber(view.trackingNumber().getValue());
+        dto.setCarrierName(toDto(view.carrierName()));
+        dto.setStatus(toDto(view.status()));
+        dto.setRecentEvents(view.recentEvents().stream().map(this::toDto).toList());
+        dto.setDispatchedAt(view.dispatchedAt());
+        dto.setDeliveredAt(view.deliveredAt());
+        dto.setLastUpdatedAt(view.lastUpdatedAt());
+        return dto;
+    }
+
     public ShipmentStatus toDomain(com.paklog.shipment.infrastructure.api.gen.dto.ShipmentStatus status) {
         return status != null ? ShipmentStatus.valueOf(status.name()) : null;
     }
@@ -51,6 +77,16 @@ public class ShipmentMapper {
         return carrierName != null ? CarrierName.valueOf(carrierName.name()) : null;
     }
 
+    public TrackingEvent toDomain(com.paklog.shipment.infrastructure.api.gen.dto.TrackingEvent event) {
+        return new TrackingEvent(
+                event.getStatus(),
+                Objects.requireNonNullElse(event.getStatusDescription(), event.getStatus()),
+                Objects.requireNonNullElse(event.getLocation(), ""),
+                event.getTimestamp(),
+                event.getEventCode(),
+                event.getDetailedDescription());
+    }
+
     private com.paklog.shipment.infrastructure.api.gen.dto.ShipmentStatus toDto(ShipmentStatus status) {
         return status != null ? com.paklog.shipment.infrastructure.api.gen.dto.ShipmentStatus.valueOf(status.name()) : null;
     }
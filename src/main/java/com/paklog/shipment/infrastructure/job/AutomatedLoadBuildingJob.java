@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AutomatedLoadBuildingJob {
@@ -41,10 +42,14 @@ public class AutomatedLoadBuildingJob {
         int loadsCreated = 0;
         try (Scope scope = observation.openScope()) {
             List<LoadTemplate> templates = List.of(new LoadTemplate("New York", CarrierName.FEDEX));
-            List<Shipment> unassignedShipments = shipmentRepository.findByLoadId(LoadId.of("00000000-0000-0000-0000-000000000000"));
-
-            Map<String, List<Shipment>> shipmentsByDestination = unassignedShipments.stream()
-                    .collect(Collectors.groupingBy(s -> "New York"));
+            // Streamed from a cursor, so the backlog of unassigned shipments is never held in memory at once.
+            Map<String, Long> shipmentsByDestination;
+            try (Stream<Shipment> unassignedShipments = shipmentRepository.streamUnassigned()) {
+                shipmentsByDestination = unassignedShipments
+                        .collect(Collectors.groupingBy(s -> "New York", Collectors.counting()));
+            }
+            observation.highCardinalityKeyValue(KeyValue.of("shipments.unassigned",
+                    Long.toString(shipmentsByDestination.values().stream().mapToLong(Long::longValue).sum())));
 
             // TODO: Rewrite this job to use the new LoadApplicationService methods and CreateLoadCommand
             // for (LoadTemplate template : templates) {
@@ -0,0 +1,52 @@
+package com.paklog.shipment.infrastructure.job;
+
+import com.paklog.shipment.config.CarrierRoutingProperties;
+import com.paklog.shipment.domain.CarrierRoutingRule;
+import com.paklog.shipment.domain.repository.CarrierRoutingRuleRepository;
+import com.paklog.shipment.domain.services.RuleTableCarrierSelectionStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class CarrierRoutingRuleRefreshJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarrierRoutingRuleRefreshJob.class);
+    private final CarrierRoutingRuleRepository ruleRepository;
+    private final RuleTableCarrierSelectionStrategy strategy;
+    private final CarrierRoutingProperties properties;
+
+    public CarrierRoutingRuleRefreshJob(CarrierRoutingRuleRepository ruleRepository,
+                                        RuleTableCarrierSelectionStrategy strategy,
+                                        CarrierRoutingProperties properties) {
+        this.ruleRepository = ruleRepository;
+        this.strategy = strategy;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${carrier.routing.refresh-interval-ms:60000}")
+    public void refreshRules() {
+        List<CarrierRoutingRule> rules;
+        try {
+            rules = ruleRepository.findAllEnabled();
+        } catch (RuntimeException ex) {
+            // Keep routing on the current table; the next run retries.
+            logger.warn("Failed to load carrier routing rules, keeping {} active rules", strategy.getRules().size(), ex);
+            return;
+        }
+        if (rules.isEmpty()) {
+            rules = properties.toRoutingRules();
+        }
+        if (!sameRules(rules, strategy.getRules())) {
+            strategy.reload(rules);
+            logger.info("Reloaded carrier routing table with {} rules", rules.size());
+        }
+    }
+
+    private boolean sameRules(List<CarrierRoutingRule> candidate, List<CarrierRoutingRule> active) {
+        return candidate.size() == active.size() && active.containsAll(candidate);
+    }
+}
@@ -0,0 +1,95 @@
+package com.paklog.shipment.infrastructure.job;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.ShipmentArchivalProperties;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.Observation.Scope;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+
+/**
+ * Moves delivered and failed shipments past the retention period out of the hot collection in
+ * batches, keeping its indexes and working set to the shipments still in flight.
+ */
+@Service
+public class ShipmentArchivalJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShipmentArchivalJob.class);
+
+    private final ShipmentRepository shipmentRepository;
+    private final ShipmentArchivalProperties properties;
+    private final ObservationRegistry observationRegistry;
+    private final MetricsService metricsService;
+    private final Clock clock;
+
+    public ShipmentArchivalJob(ShipmentRepository shipmentRepository,
+                               ShipmentArchivalProperties properties,
+                               ObservationRegistry observationRegistry,
+                               MetricsService metricsService) {
+        this(shipmentRepository, properties, observationRegistry, metricsService, Clock.systemUTC());
+    }
+
+    ShipmentArchivalJob(ShipmentRepository shipmentRepository,
+                        ShipmentArchivalProperties properties,
+                        ObservationRegistry observationRegistry,
+                        MetricsService metricsService,
+                        Clock clock) {
+        this.shipmentRepository = shipmentRepository;
+        this.properties = properties;
+        this.observationRegistry = observationRegistry;
+        this.metricsService = metricsService;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${mongo.archival.cron:0 30 3 * * *}")
+    public void archiveTerminalShipments() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        OffsetDateTime cutoff = OffsetDateTime.now(clock).minus(properties.getRetention());
+        logger.info("Starting shipment archival for shipments last updated before {}", cutoff);
+        Observation observation = Observation.createNotStarted("job.shipment.archive", observationRegistry)
+                .contextualName("shipmentArchival")
+                .start();
+        int archived = 0;
+        try (Scope scope = observation.openScope()) {
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                int moved = shipmentRepository.archiveTerminal(cutoff, properties.getBatchSize());
+                archived += moved;
+                metricsService.recordShipmentsArchived(moved);
+                // A short batch does not mean the backlog is done: shipments written since they
+                // were read are left behind. Only an empty batch does.
+                if (moved == 0) {
+                    break;
+                }
+            }
+            refreshActiveShipmentCount();
+            observation.lowCardinalityKeyValue(KeyValue.of("result", "success"));
+        } catch (RuntimeException ex) {
+            observation.lowCardinalityKeyValue(KeyValue.of("result", "failed"));
+            observation.error(ex);
+            throw ex;
+        } finally {
+            observation.highCardinalityKeyValue(KeyValue.of("shipments.archived", Integer.toString(archived)));
+            observation.stop();
+            logger.info("Shipment archival finished. Shipments archived: {}", archived);
+        }
+    }
+
+    /**
+     * Keeps the active shipment gauge current between archival runs. The estimate is read from
+     * collection metadata, so this does not scan.
+     */
+    @Scheduled(fixedDelayString = "${mongo.archival.active-count-refresh-ms:60000}")
+    public void refreshActiveShipmentCount() {
+        metricsService.recordActiveShipmentCount(shipmentRepository.estimateActiveCount());
+    }
+}
@@ -1,6 +1,7 @@
 package com.paklog.shipment.infrastructure.job;
 
-import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.adapter.AsyncCarrierAdapter;
+import com.paklog.shipment.adapter.AsyncCarrierAdapterRegistry;
 import com.paklog.shipment.application.MetricsService;
 import com.paklog.shipment.application.ShipmentApplicationService;
 import com.paklog.shipment.config.TrackingJobProperties;
@@ -18,11 +19,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class TrackingJobService {
@@ -30,7 +31,7 @@ public class TrackingJobService {
 
     private final ShipmentRepository shipmentRepository;
     private final ShipmentApplicationService shipmentApplicationService;
-    private final Map<CarrierName, ICarrierAdapter> carrierAdapters;
+    private final AsyncCarrierAdapterRegistry carrierAdapters;
     private final TrackingJobProperties trackingJobProperties;
     private final ObservationRegistry observationRegistry;
     private final MetricsService metricsService;
@@ -38,17 +39,13 @@ public class TrackingJobService {
     public TrackingJobService(
             ShipmentRepository shipmentRepository,
             ShipmentApplicationService shipmentApplicationService,
-            List<ICarrierAdapter> carrierAdapterList,
+            AsyncCarrierAdapterRegistry carrierAdapters,
             TrackingJobProperties trackingJobProperties,
             ObservationRegistry observationRegistry,
             MetricsService metricsService) {
         this.shipmentRepository = shipmentRepository;
         this.shipmentApplicationService = shipmentApplicationService;
-        this.carrierAdapters = carrierAdapterList.stream()
-                .collect(Collectors.toMap(
-                        ICarrierAdapter::getCarrierName,
-                        Function.identity()
-                ));
+        this.carrierAdapters = carrierAdapters;
         this.trackingJobProperties = trackingJobProperties;
         this.observationRegistry = observationRegistry;
         this.metricsService = metricsService;
@@ -90,15 +87,22 @@ public class TrackingJobService {
         }
     }
 
-    private boolean updateShipmentTracking(Shipment shipment) {
-        ICarrierAdapter carrier = carrierAdapters.get(shipment.getCarrierName());
-        if (carrier == null) {
+    private CompletableFuture<Optional<TrackingUpdate>> requestTrackingStatus(Shipment shipment) {
+        Optional<AsyncCarrierAdapter> carrier = carrierAdapters.find(shipment.getCarrierName());
+        if (carrier.isEmpty()) {
             logger.warn("No carrier adapter found for: {}", shipment.getCarrierName());
-            return false;
+            return CompletableFuture.completedFuture(Optional.empty());
         }
+        try {
+            return carrier.get().getTrackingStatus(shipment.getTrackingNumber());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
 
+    private boolean updateShipmentTracking(Shipment shipment, CompletableFuture<Optional<TrackingUpdate>> pendingUpdate) {
         try {
-            Optional<TrackingUpdate> update = carrier.getTrackingStatus(shipment.getTrackingNumber());
+            Optional<TrackingUpdate> update = pendingUpdate.join();
 
             if (update.isPresent()) {
                 TrackingUpdate trackingUpdate = update.get();
@@ -111,9 +115,12 @@ public class TrackingJobService {
                 }
             }
 
-        } catch (CarrierException e) {
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof CarrierException carrierException)) {
+                throw e;
+            }
             logger.warn("Carrier error updating tracking for shipment {}: {}",
-                    shipment.getId(), e.getMessage());
+                    shipment.getId(), carrierException.getMessage());
         }
 
         return false;
@@ -125,16 +132,23 @@ public class TrackingJobService {
         int processed = 0;
         int successCount = 0;
         int errorCount = 0;
+        OffsetDateTime pushedBefore = OffsetDateTime.now().minus(trackingJobProperties.getPushFreshness());
 
         while (true) {
-            List<Shipment> page = shipmentRepository.findPageInTransit(lastSeenId, batchSize);
+            List<Shipment> page = shipmentRepository.findPageInTransit(lastSeenId, batchSize, pushedBefore);
             if (page.isEmpty()) {
                 break;
             }
 
             logger.info("Processing {} shipments in transit", page.size());
 
-            for (Shipment shipment : page) {
+            // Issue the whole page to the carriers up front; updates are applied in order as they complete.
+            List<CompletableFuture<Optional<TrackingUpdate>>> pendingUpdates = page.stream()
+                    .map(this::requestTrackingStatus)
+                    .toList();
+
+            for (int i = 0; i < page.size(); i++) {
+                Shipment shipment = page.get(i);
                 processed++;
                 Observation shipmentObservation = Observation.createNotStarted("job.tracking.update.shipment", observationRegistry)
                         .contextualName("trackingUpdate")
@@ -142,7 +156,7 @@ public class TrackingJobService {
                         .highCardinalityKeyValue(KeyValue.of("shipment.id", shipment.getId().toString()))
                         .start();
                 try (Scope scope = shipmentObservation.openScope()) {
-                    boolean updated = updateShipmentTracking(shipment);
+                    boolean updated = updateShipmentTracking(shipment, pendingUpdates.get(i));
                     if (updated) {
                         successCount++;
                         shipmentObservation.lowCardinalityKeyValue(KeyValue.of("status", "updated"));
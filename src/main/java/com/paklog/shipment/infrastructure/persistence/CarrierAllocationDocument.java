@@ -0,0 +1,62 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+@Document(collection = "carrier_allocations")
+public class CarrierAllocationDocument {
+
+    @Id
+    private String id;
+    private String facilityId;
+    private CarrierName carrier;
+    private LocalDate day;
+    private long allocated;
+
+    public static String idOf(String facilityId, CarrierName carrier, LocalDate day) {
+        return facilityId + ":" + carrier + ":" + day;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFacilityId() {
+        return facilityId;
+    }
+
+    public void setFacilityId(String facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public CarrierName getCarrier() {
+        return carrier;
+    }
+
+    public void setCarrier(CarrierName carrier) {
+        this.carrier = carrier;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getAllocated() {
+        return allocated;
+    }
+
+    public void setAllocated(long allocated) {
+        this.allocated = allocated;
+    }
+}
@@ -0,0 +1,91 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.CarrierRoutingRule;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Set;
+
+@Document(collection = "carrier_routing_rules")
+public class CarrierRoutingRuleDocument {
+
+    @Id
+    private String id;
+    private int priority;
+    private CarrierName carrier;
+    private double minWeight;
+    private double maxWeight;
+    private double maxLongestSide;
+    private Set<String> packageTypes;
+    private boolean enabled = true;
+
+    public CarrierRoutingRule toDomain() {
+        return new CarrierRoutingRule(id, priority, carrier, minWeight, maxWeight,
+                maxLongestSide > 0 ? maxLongestSide : Double.MAX_VALUE, packageTypes);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public CarrierName getCarrier() {
+        return carrier;
+    }
+
+    public void setCarrier(CarrierName carrier) {
+        this.carrier = carrier;
+    }
+
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    public void setMinWeight(double minWeight) {
+        this.minWeight = minWeight;
+    }
+
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(double maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public double getMaxLongestSide() {
+        return maxLongestSide;
+    }
+
+    public void setMaxLongestSide(double maxLongestSide) {
+        this.maxLongestSide = maxLongestSide;
+    }
+
+    public Set<String> getPackageTypes() {
+        return packageTypes;
+    }
+
+    public void setPackageTypes(Set<String> packageTypes) {
+        this.packageTypes = packageTypes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
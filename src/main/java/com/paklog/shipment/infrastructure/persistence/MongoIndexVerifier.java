@@ -0,0 +1,93 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.paklog.shipment.config.MongoIndexVerificationProperties;
+import com.paklog.shipment.infrastructure.LoadMongoRepository;
+import com.paklog.shipment.infrastructure.ShipmentMongoRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Explains every declared repository query shape once the application is up and reports the ones
+ * the planner would answer with a collection scan. In FAIL mode startup is aborted instead, so a
+ * missing index cannot ship unnoticed.
+ */
+@Profile("!in-memory")
+@Component
+public class MongoIndexVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexVerifier.class);
+    private static final String COLLECTION_SCAN = "COLLSCAN";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoIndexVerificationProperties properties;
+
+    public MongoIndexVerifier(MongoTemplate mongoTemplate, MongoIndexVerificationProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (properties.getMode() == MongoIndexVerificationProperties.Mode.OFF) {
+            return;
+        }
+        List<QueryShape> shapes = new ArrayList<>(ShipmentMongoRepository.QUERY_SHAPES);
+        shapes.addAll(LoadMongoRepository.QUERY_SHAPES);
+        List<String> scans = verify(shapes);
+        if (scans.isEmpty()) {
+            logger.info("Verified {} Mongo query shapes, all use an index", shapes.size());
+            return;
+        }
+        String message = "Mongo queries planned as collection scans: " + String.join(", ", scans);
+        if (properties.getMode() == MongoIndexVerificationProperties.Mode.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+
+    List<String> verify(List<QueryShape> shapes) {
+        List<String> scans = new ArrayList<>();
+        for (QueryShape shape : shapes) {
+            Document explain;
+            try {
+                explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(shape.documentType()))
+                        .find(shape.filter())
+                        .sort(shape.sort())
+                        .explain();
+            } catch (RuntimeException ex) {
+                logger.warn("Could not explain query shape {}", shape.name(), ex);
+                continue;
+            }
+            Object winningPlan = explain.get("queryPlanner", Document.class) != null
+                    ? explain.get("queryPlanner", Document.class).get("winningPlan")
+                    : null;
+            if (winningPlan == null || usesCollectionScan(winningPlan)) {
+                scans.add(shape.name());
+            }
+        }
+        return scans;
+    }
+
+    // Plans nest stages under inputStage, inputStages, queryPlan (SBE) and shards (mongos).
+    static boolean usesCollectionScan(Object plan) {
+        if (plan instanceof Document stage) {
+            if (COLLECTION_SCAN.equals(stage.get("stage"))) {
+                return true;
+            }
+            return stage.values().stream().anyMatch(MongoIndexVerifier::usesCollectionScan);
+        }
+        if (plan instanceof List<?> stages) {
+            return stages.stream().anyMatch(MongoIndexVerifier::usesCollectionScan);
+        }
+        return false;
+    }
+}
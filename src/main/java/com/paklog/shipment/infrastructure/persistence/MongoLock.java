@@ -0,0 +1,57 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Named leases shared by all replicas, for work that must run on one of them at a time. A lease is
+ * held until released or until it expires, so a replica that dies mid-run only blocks the others for
+ * the lease duration; the holder extends it by acquiring again.
+ */
+@Profile("!in-memory")
+@Component
+public class MongoLock {
+
+    static final String COLLECTION = "locks";
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final String owner = UUID.randomUUID().toString();
+
+    public MongoLock(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, Clock.systemUTC());
+    }
+
+    MongoLock(MongoTemplate mongoTemplate, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+    }
+
+    public boolean tryAcquire(String name, Duration leaseFor) {
+        Instant now = clock.instant();
+        Query query = new Query(Criteria.where("_id").is(name)
+                .orOperator(Criteria.where("lockedUntil").lt(now), Criteria.where("owner").is(owner)));
+        Update update = new Update().set("owner", owner).set("lockedUntil", now.plus(leaseFor));
+        try {
+            mongoTemplate.upsert(query, update, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            // Another replica holds an unexpired lease: the filter missed and the insert hit its document.
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(name).and("owner").is(owner)), COLLECTION);
+    }
+}
@@ -0,0 +1,19 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import org.bson.Document;
+
+import java.util.Objects;
+
+/**
+ * A representative instance of a query a repository issues, with sample values in place of
+ * parameters. Used to explain the query against the live collection.
+ */
+public record QueryShape(String name, Class<?> documentType, Document filter, Document sort) {
+
+    public QueryShape {
+        Objects.requireNonNull(name, "Query shape name cannot be null");
+        Objects.requireNonNull(documentType, "Document type cannot be null");
+        filter = filter != null ? filter : new Document();
+        sort = sort != null ? sort : new Document();
+    }
+}
@@ -0,0 +1,42 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.paklog.shipment.infrastructure.ShipmentMongoRepository;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the shipment archive collection with zstd block compression, since it is written once
+ * and rarely read, and the order id and tracking number indexes its fallback lookups need. Runs
+ * before the web server starts and is a no-op once they exist.
+ */
+@Profile("!in-memory")
+@Component
+public class ShipmentArchiveSetup implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ShipmentArchiveSetup(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String archive = ShipmentMongoRepository.ARCHIVE_COLLECTION;
+        if (!mongoTemplate.collectionExists(archive)) {
+            mongoTemplate.getDb().createCollection(archive, new CreateCollectionOptions().storageEngineOptions(
+                    new Document("wiredTiger", new Document("configString", "block_compressor=zstd"))));
+        }
+        mongoTemplate.indexOps(archive).ensureIndex(new Index()
+                .on("orderId", Sort.Direction.ASC)
+                .named("orderId_idx"));
+        mongoTemplate.indexOps(archive).ensureIndex(new Index()
+                .on("trackingNumber", Sort.Direction.ASC)
+                .named("trackingNumber_idx"));
+    }
+}
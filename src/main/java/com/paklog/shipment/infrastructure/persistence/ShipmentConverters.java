@@ -0,0 +1,129 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.ShipmentStatus;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Maps {@link Shipment} straight to and from its BSON document, skipping the reflective pass through
+ * {@link ShipmentDocument} on the hot read and save paths. The layout must stay identical to what
+ * ShipmentDocument writes: the archival job, projections and index declarations still go through it.
+ */
+public final class ShipmentConverters {
+
+    private ShipmentConverters() {
+    }
+
+    public static List<Converter<?, ?>> getConvertersToRegister() {
+        return List.of(ShipmentWriteConverter.INSTANCE, ShipmentReadConverter.INSTANCE);
+    }
+
+    @WritingConverter
+    public enum ShipmentWriteConverter implements Converter<Shipment, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Shipment source) {
+            Document doc = new Document("_id", source.getId().getValue().toString());
+            doc.put("orderId", source.getOrderId().getValue().toString());
+            doc.put("carrierName", source.getCarrierName().name());
+            putIfNotNull(doc, "trackingNumber", source.getTrackingNumber() != null ? source.getTrackingNumber().getValue() : null);
+            doc.put("status", source.getStatus().name());
+            putIfNotNull(doc, "createdAt", TemporalConverters.toDate(source.getCreatedAt()));
+            putIfNotNull(doc, "dispatchedAt", TemporalConverters.toDate(source.getDispatchedAt()));
+            putIfNotNull(doc, "deliveredAt", TemporalConverters.toDate(source.getDeliveredAt()));
+            TrackingEvent latest = source.getLatestTrackingEvent();
+            putIfNotNull(doc, "latestTrackingEvent", latest != null ? writeTrackingEvent(latest) : null);
+            doc.put("trackingEventCount", source.getTrackingEventCount());
+            byte[] labelData = source.getLabelData();
+            putIfNotNull(doc, "labelData", labelData != null ? new Binary(labelData) : null);
+            putIfNotNull(doc, "assignedLoadId", source.getAssignedLoadId() != null ? source.getAssignedLoadId().getValue().toString() : null);
+            putIfNotNull(doc, "lastUpdatedAt", TemporalConverters.toDate(source.getLastUpdatedAt()));
+            putIfNotNull(doc, "trackingPushedAt", TemporalConverters.toDate(source.getTrackingPushedAt()));
+            putIfNotNull(doc, "version", source.getVersion());
+            return doc;
+        }
+
+        private static Document writeTrackingEvent(TrackingEvent event) {
+            Document doc = new Document();
+            putIfNotNull(doc, "status", event.getStatus());
+            putIfNotNull(doc, "statusDescription", event.getStatusDescription());
+            putIfNotNull(doc, "location", event.getLocation());
+            doc.put("timestamp", new Date(event.getEpochMilli()));
+            doc.put("offsetSeconds", event.getOffsetSeconds());
+            putIfNotNull(doc, "eventCode", event.getEventCode());
+            putIfNotNull(doc, "detailedDescription", event.getDetailedDescription());
+            return doc;
+        }
+    }
+
+    @ReadingConverter
+    public enum ShipmentReadConverter implements Converter<Document, Shipment> {
+        INSTANCE;
+
+        @Override
+        public Shipment convert(Document source) {
+            Document latest = source.get("latestTrackingEvent", Document.class);
+            List<TrackingEvent> events = latest == null ? List.of() : List.of(readTrackingEvent(latest));
+            String trackingNumber = source.getString("trackingNumber");
+            String assignedLoadId = source.getString("assignedLoadId");
+            Number version = (Number) source.get("version");
+            Number trackingEventCount = (Number) source.get("trackingEventCount");
+            return Shipment.restore(
+                    ShipmentId.of(source.getString("_id")),
+                    OrderId.of(source.getString("orderId")),
+                    CarrierName.valueOf(source.getString("carrierName")),
+                    trackingNumber != null ? TrackingNumber.of(trackingNumber) : null,
+                    labelData(source.get("labelData")),
+                    ShipmentStatus.valueOf(source.getString("status")),
+                    TemporalConverters.toOffsetDateTime(source.get("createdAt")),
+                    TemporalConverters.toOffsetDateTime(source.get("dispatchedAt")),
+                    TemporalConverters.toOffsetDateTime(source.get("deliveredAt")),
+                    events,
+                    assignedLoadId != null ? LoadId.of(assignedLoadId) : null,
+                    TemporalConverters.toOffsetDateTime(source.get("lastUpdatedAt")),
+                    TemporalConverters.toOffsetDateTime(source.get("trackingPushedAt")),
+                    version != null ? version.longValue() : null,
+                    Math.max(trackingEventCount != null ? trackingEventCount.longValue() : 0L, events.size()));
+        }
+
+        private static TrackingEvent readTrackingEvent(Document doc) {
+            Number offsetSeconds = (Number) doc.get("offsetSeconds");
+            return TrackingEvent.restore(
+                    doc.getString("status"),
+                    doc.getString("statusDescription"),
+                    doc.getString("location"),
+                    doc.getDate("timestamp").getTime(),
+                    offsetSeconds != null ? offsetSeconds.intValue() : 0,
+                    doc.getString("eventCode"),
+                    doc.getString("detailedDescription"));
+        }
+
+        private static byte[] labelData(Object value) {
+            if (value instanceof Binary binary) {
+                return binary.getData();
+            }
+            return value instanceof byte[] bytes ? bytes : null;
+        }
+    }
+
+    // The mapping layer leaves null properties out of the document; do the same.
+    static void putIfNotNull(Document doc, String key, Object value) {
+        if (value != null) {
+            doc.put(key, value);
+        }
+    }
+}
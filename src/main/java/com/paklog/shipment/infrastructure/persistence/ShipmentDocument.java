@@ -3,27 +3,49 @@ package com.paklog.shipment.infrastructure.persistence;
 
 import com.paklog.shipment.domain.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
+// One index per query shape in ShipmentMongoRepository.QUERY_SHAPES; MongoIndexVerifier checks them at startup.
 @Document(collection = "shipments")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_id_idx", def = "{'status': 1, '_id': 1}"),
+    @CompoundIndex(name = "status_carrier_createdAt_idx", def = "{'status': 1, 'carrierName': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "carrier_createdAt_idx", def = "{'carrierName': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "status_lastUpdatedAt_idx", def = "{'status': 1, 'lastUpdatedAt': 1}")
+})
 public class ShipmentDocument {
     @Id
     private String id;
+    @Indexed(name = "orderId_idx")
     private String orderId;
     private String carrierName;
+    // Webhook ingestion resolves every pushed notification by tracking number.
+    @Indexed(name = "trackingNumber_idx", sparse = true)
     private String trackingNumber;
     private String status;
+    @Indexed(name = "createdAt_idx", direction = IndexDirection.DESCENDING)
     private OffsetDateTime createdAt;
     private OffsetDateTime dispatchedAt;
     private OffsetDateTime deliveredAt;
-    private List<TrackingEventDocument> trackingEvents;
+    // The full history is in the tracking_events time series; see TrackingEventSeriesDocument.
+    private TrackingEventDocument latestTrackingEvent;
+    private long trackingEventCount;
     private byte[] labelData;
+    // Not sparse: unassigned shipments are found by querying for a null load id.
+    @Indexed(name = "assignedLoadId_idx")
     private String assignedLoadId;
     private OffsetDateTime lastUpdatedAt;
+    private OffsetDateTime trackingPushedAt;
+    @Version
+    private Long version;
 
     public static ShipmentDocument fromDomain(Shipment shipment) {
         ShipmentDocument doc = new ShipmentDocument();
@@ -36,18 +58,20 @@ public class ShipmentDocument {
         doc.setDispatchedAt(shipment.getDispatchedAt());
         doc.setDeliveredAt(shipment.getDeliveredAt());
         doc.setLabelData(shipment.getLabelData());
-        doc.setTrackingEvents(shipment.getTrackingEvents().stream()
-            .map(TrackingEventDocument::fromDomain)
-            .collect(Collectors.toList()));
+        TrackingEvent latest = shipment.getLatestTrackingEvent();
+        doc.setLatestTrackingEvent(latest != null ? TrackingEventDocument.fromDomain(latest) : null);
+        doc.setTrackingEventCount(shipment.getTrackingEventCount());
         doc.setAssignedLoadId(shipment.getAssignedLoadId() != null ? shipment.getAssignedLoadId().getValue().toString() : null);
         doc.setLastUpdatedAt(shipment.getLastUpdatedAt());
+        doc.setTrackingPushedAt(shipment.getTrackingPushedAt());
+        doc.setVersion(shipment.getVersion());
         return doc;
     }
 
     public Shipment toDomain() {
-        List<TrackingEvent> events = trackingEvents == null
+        List<TrackingEvent> events = latestTrackingEvent == null
             ? List.of()
-            : trackingEvents.stream().map(TrackingEventDocument::toDomain).collect(Collectors.toList());
+            : List.of(latestTrackingEvent.toDomain());
 
         return Shipment.restore(
             ShipmentId.of(id),
@@ -61,7 +85,10 @@ public class ShipmentDocument {
             deliveredAt,
             events,
             assignedLoadId != null ? LoadId.of(assignedLoadId) : null,
-            lastUpdatedAt
+            lastUpdatedAt,
+            trackingPushedAt,
+            version,
+            Math.max(trackingEventCount, events.size())
         );
     }
 
@@ -129,12 +156,20 @@ public class ShipmentDocument {
         this.deliveredAt = deliveredAt;
     }
 
-    public List<TrackingEventDocument> getTrackingEvents() {
-        return trackingEvents;
+    public TrackingEventDocument getLatestTrackingEvent() {
+        return latestTrackingEvent;
     }
 
-    public void setTrackingEvents(List<TrackingEventDocument> trackingEvents) {
-        this.trackingEvents = trackingEvents;
+    public void setLatestTrackingEvent(TrackingEventDocument latestTrackingEvent) {
+        this.latestTrackingEvent = latestTrackingEvent;
+    }
+
+    public long getTrackingEventCount() {
+        return trackingEventCount;
+    }
+
+    public void setTrackingEventCount(long trackingEventCount) {
+        this.trackingEventCount = trackingEventCount;
     }
 
     public byte[] getLabelData() {
@@ -160,4 +195,20 @@ public class ShipmentDocument {
     public void setLastUpdatedAt(OffsetDateTime lastUpdatedAt) {
         this.lastUpdatedAt = lastUpdatedAt;
     }
+
+    public OffsetDateTime getTrackingPushedAt() {
+        return trackingPushedAt;
+    }
+
+    public void setTrackingPushedAt(OffsetDateTime trackingPushedAt) {
+        this.trackingPushedAt = trackingPushedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,64 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Stores {@link OffsetDateTime} as a BSON date, so timestamps sort and compare natively in queries.
+ * The offset is not kept; values read back are in UTC. The static helpers are shared with the
+ * hand-written aggregate converters so both paths agree on the stored form.
+ */
+public final class TemporalConverters {
+
+    private TemporalConverters() {
+    }
+
+    public static List<Converter<?, ?>> getConvertersToRegister() {
+        return List.of(OffsetDateTimeToDateConverter.INSTANCE, DateToOffsetDateTimeConverter.INSTANCE);
+    }
+
+    public static Date toDate(OffsetDateTime value) {
+        return value != null ? Date.from(value.toInstant()) : null;
+    }
+
+    public static OffsetDateTime toOffsetDateTime(Object value) {
+        return value instanceof Date date ? OffsetDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC) : null;
+    }
+
+    // Same as Spring Data's own LocalDate conversion, so documents written either way read back alike.
+    public static Date toDate(LocalDate value) {
+        return value != null ? Date.from(value.atStartOfDay(ZoneId.systemDefault()).toInstant()) : null;
+    }
+
+    public static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+
+    @WritingConverter
+    enum OffsetDateTimeToDateConverter implements Converter<OffsetDateTime, Date> {
+        INSTANCE;
+
+        @Override
+        public Date convert(OffsetDateTime source) {
+            return toDate(source);
+        }
+    }
+
+    @ReadingConverter
+    enum DateToOffsetDateTimeConverter implements Converter<Date, OffsetDateTime> {
+        INSTANCE;
+
+        @Override
+        public OffsetDateTime convert(Date source) {
+            return toOffsetDateTime(source);
+        }
+    }
+}
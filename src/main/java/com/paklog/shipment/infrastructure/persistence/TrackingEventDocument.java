@@ -2,14 +2,16 @@ package com.paklog.shipment.infrastructure.persistence;
 
 import com.paklog.shipment.domain.TrackingEvent;
 
-import java.time.OffsetDateTime;
+import java.time.Instant;
 
 public class TrackingEventDocument {
 
     private String status;
     private String statusDescription;
     private String location;
-    private OffsetDateTime timestamp;
+    // Stored as a BSON date (epoch millis) plus the carrier's offset, as in TrackingEventSeriesDocument.
+    private Instant timestamp;
+    private int offsetSeconds;
     private String eventCode;
     private String detailedDescription;
 
@@ -18,14 +20,16 @@ public class TrackingEventDocument {
         doc.setStatus(event.getStatus());
         doc.setStatusDescription(event.getStatusDescription());
         doc.setLocation(event.getLocation());
-        doc.setTimestamp(event.getTimestamp());
+        doc.setTimestamp(Instant.ofEpochMilli(event.getEpochMilli()));
+        doc.setOffsetSeconds(event.getOffsetSeconds());
         doc.setEventCode(event.getEventCode());
         doc.setDetailedDescription(event.getDetailedDescription());
         return doc;
     }
 
     public TrackingEvent toDomain() {
-        return new TrackingEvent(status, statusDescription, location, timestamp, eventCode, detailedDescription);
+        return TrackingEvent.restore(status, statusDescription, location, timestamp.toEpochMilli(), offsetSeconds,
+                eventCode, detailedDescription);
     }
 
     // Getters and setters
@@ -54,14 +58,22 @@ public class TrackingEventDocument {
         this.location = location;
     }
 
-    public OffsetDateTime getTimestamp() {
+    public Instant getTimestamp() {
         return timestamp;
     }
 
-    public void setTimestamp(OffsetDateTime timestamp) {
+    public void setTimestamp(Instant timestamp) {
         this.timestamp = timestamp;
     }
 
+    public int getOffsetSeconds() {
+        return offsetSeconds;
+    }
+
+    public void setOffsetSeconds(int offsetSeconds) {
+        this.offsetSeconds = offsetSeconds;
+    }
+
     public String getEventCode() {
         return eventCode;
     }
@@ -0,0 +1,84 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves tracking events staged by the shipment repository into the {@code tracking_events} time
+ * series. Staged events are committed together with their shipment, so none is lost; moving them
+ * is idempotent, because an event already in the series under the same id is not inserted again,
+ * and runs on one replica at a time, because the series does not enforce unique ids.
+ */
+@Profile("!in-memory")
+@Component
+public class TrackingEventRelay {
+
+    static final String LOCK = "tracking-event-relay";
+    private static final Logger logger = LoggerFactory.getLogger(TrackingEventRelay.class);
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoLock lock;
+
+    public TrackingEventRelay(MongoTemplate mongoTemplate, MongoLock lock) {
+        this.mongoTemplate = mongoTemplate;
+        this.lock = lock;
+    }
+
+    @Scheduled(fixedDelayString = "${tracking.events.relay-interval-ms:1000}")
+    public void relay() {
+        if (!lock.tryAcquire(LOCK, LEASE)) {
+            return;
+        }
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                if (relayBatch() < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to relay staged tracking events, retrying on the next run", ex);
+        } finally {
+            lock.release(LOCK);
+        }
+    }
+
+    int relayBatch() {
+        Query pending = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(BATCH_SIZE);
+        List<TrackingEventSeriesDocument> staged = mongoTemplate.find(pending, TrackingEventSeriesDocument.class,
+                TrackingEventSeriesDocument.PENDING_COLLECTION);
+        if (staged.isEmpty()) {
+            return 0;
+        }
+        List<String> ids = staged.stream().map(TrackingEventSeriesDocument::getId).toList();
+        Set<String> shipmentIds = new HashSet<>();
+        staged.forEach(doc -> shipmentIds.add(doc.getShipmentId()));
+
+        // Left over from a run that stopped between the insert and the delete.
+        Query alreadyMoved = new Query(Criteria.where("shipmentId").in(shipmentIds).and("_id").in(ids));
+        alreadyMoved.fields().include("_id");
+        Set<String> moved = new HashSet<>();
+        mongoTemplate.find(alreadyMoved, TrackingEventSeriesDocument.class).forEach(doc -> moved.add(doc.getId()));
+
+        List<TrackingEventSeriesDocument> toInsert = staged.stream().filter(doc -> !moved.contains(doc.getId())).toList();
+        if (!toInsert.isEmpty()) {
+            mongoTemplate.insert(toInsert, TrackingEventSeriesDocument.class);
+        }
+        mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), TrackingEventSeriesDocument.PENDING_COLLECTION);
+        return staged.size();
+    }
+}
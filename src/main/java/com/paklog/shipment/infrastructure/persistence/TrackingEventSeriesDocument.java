@@ -0,0 +1,147 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.TrackingEvent;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.time.Instant;
+
+/**
+ * One tracking event in the {@code tracking_events} time-series collection, bucketed by shipment.
+ * The collection and its index are created by {@link TrackingEventSeriesSetup}; do not declare
+ * indexes here, or index creation would create it as a plain collection first.
+ * <p>
+ * The id is the shipment id and the event's position in its history, so writing an event twice
+ * yields the same document. New events are first staged in {@link #PENDING_COLLECTION}, a plain
+ * collection, and moved here by {@link TrackingEventRelay}.
+ */
+@Document(collection = "tracking_events")
+@TimeSeries(timeField = "timestamp", metaField = "shipmentId", granularity = Granularity.HOURS)
+public class TrackingEventSeriesDocument {
+
+    // Written in the shipment's transaction; time-series collections cannot take part in one.
+    public static final String PENDING_COLLECTION = "tracking_events_pending";
+
+    @Id
+    private String id;
+    private String shipmentId;
+    private long sequence;
+    // Time-series buckets need a BSON date; the carrier's offset is kept alongside to restore it.
+    private Instant timestamp;
+    private int offsetSeconds;
+    private String status;
+    private String statusDescription;
+    private String location;
+    private String eventCode;
+    private String detailedDescription;
+
+    public static String idOf(ShipmentId shipmentId, long sequence) {
+        return shipmentId.getValue() + ":" + sequence;
+    }
+
+    /**
+     * @param sequence the event's zero-based position in the shipment's tracking history
+     */
+    public static TrackingEventSeriesDocument fromDomain(ShipmentId shipmentId, long sequence, TrackingEvent event) {
+        TrackingEventSeriesDocument doc = new TrackingEventSeriesDocument();
+        doc.setId(idOf(shipmentId, sequence));
+        doc.setShipmentId(shipmentId.getValue().toString());
+        doc.setSequence(sequence);
+        doc.setTimestamp(Instant.ofEpochMilli(event.getEpochMilli()));
+        doc.setOffsetSeconds(event.getOffsetSeconds());
+        doc.setStatus(event.getStatus());
+        doc.setStatusDescription(event.getStatusDescription());
+        doc.setLocation(event.getLocation());
+        doc.setEventCode(event.getEventCode());
+        doc.setDetailedDescription(event.getDetailedDescription());
+        return doc;
+    }
+
+    public TrackingEvent toDomain() {
+        return TrackingEvent.restore(status, statusDescription, location, timestamp.toEpochMilli(), offsetSeconds,
+                eventCode, detailedDescription);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getShipmentId() {
+        return shipmentId;
+    }
+
+    public void setShipmentId(String shipmentId) {
+        this.shipmentId = shipmentId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public int getOffsetSeconds() {
+        return offsetSeconds;
+    }
+
+    public void setOffsetSeconds(int offsetSeconds) {
+        this.offsetSeconds = offsetSeconds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getStatusDescription() {
+        return statusDescription;
+    }
+
+    public void setStatusDescription(String statusDescription) {
+        this.statusDescription = statusDescription;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getEventCode() {
+        return eventCode;
+    }
+
+    public void setEventCode(String eventCode) {
+        this.eventCode = eventCode;
+    }
+
+    public String getDetailedDescription() {
+        return detailedDescription;
+    }
+
+    public void setDetailedDescription(String detailedDescription) {
+        this.detailedDescription = detailedDescription;
+    }
+}
@@ -0,0 +1,140 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.TrackingEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Creates the {@code tracking_events} time-series collection and its per-shipment index, then moves
+ * any tracking history still embedded in shipment documents into it. Runs before the web server
+ * starts and is a no-op once no shipment carries an embedded {@code trackingEvents} array.
+ * <p>
+ * Only the replica holding the migration lease moves history; the others start without waiting,
+ * and the migration carries on where it stopped if the lease holder dies.
+ */
+@Profile("!in-memory")
+@Component
+public class TrackingEventSeriesSetup implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrackingEventSeriesSetup.class);
+    private static final String LEGACY_EVENTS = "trackingEvents";
+    static final String MIGRATION_LOCK = "tracking-events-migration";
+    private static final Duration MIGRATION_LEASE = Duration.ofMinutes(5);
+    // Shipments migrated between lease renewals.
+    private static final int RENEW_EVERY = 200;
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoLock lock;
+
+    public TrackingEventSeriesSetup(MongoTemplate mongoTemplate, MongoLock lock) {
+        this.mongoTemplate = mongoTemplate;
+        this.lock = lock;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!mongoTemplate.collectionExists(TrackingEventSeriesDocument.class)) {
+            // Picks up the @TimeSeries options; a plain collection cannot be converted afterwards.
+            mongoTemplate.createCollection(TrackingEventSeriesDocument.class);
+        }
+        mongoTemplate.indexOps(TrackingEventSeriesDocument.class).ensureIndex(new Index()
+                .on("shipmentId", Sort.Direction.ASC)
+                .on("timestamp", Sort.Direction.ASC)
+                .named("shipmentId_timestamp_idx"));
+        migrateEmbeddedEvents();
+    }
+
+    void migrateEmbeddedEvents() {
+        Query legacy = new Query(Criteria.where(LEGACY_EVENTS).exists(true));
+        if (!mongoTemplate.exists(legacy, ShipmentDocument.class)) {
+            return;
+        }
+        if (!lock.tryAcquire(MIGRATION_LOCK, MIGRATION_LEASE)) {
+            logger.info("Embedded tracking history is being migrated by another instance");
+            return;
+        }
+        legacy.fields().include(LEGACY_EVENTS);
+        long migrated = 0;
+        try (Stream<LegacyShipment> shipments = mongoTemplate.stream(legacy, LegacyShipment.class,
+                mongoTemplate.getCollectionName(ShipmentDocument.class))) {
+            for (LegacyShipment shipment : (Iterable<LegacyShipment>) shipments::iterator) {
+                migrate(shipment);
+                migrated++;
+                if (migrated % RENEW_EVERY == 0 && !lock.tryAcquire(MIGRATION_LOCK, MIGRATION_LEASE)) {
+                    logger.warn("Lost the tracking history migration lease after {} shipments, stopping", migrated);
+                    return;
+                }
+            }
+        } finally {
+            lock.release(MIGRATION_LOCK);
+        }
+        if (migrated > 0) {
+            logger.info("Moved embedded tracking history of {} shipments into {}", migrated,
+                    mongoTemplate.getCollectionName(TrackingEventSeriesDocument.class));
+        }
+    }
+
+    private void migrate(LegacyShipment shipment) {
+        List<TrackingEvent> events = shipment.trackingEvents != null
+                ? shipment.trackingEvents.stream().map(LegacyTrackingEvent::toDomain).toList()
+                : List.of();
+        // Replaces anything a previous, interrupted run inserted, so a restart never duplicates events.
+        mongoTemplate.remove(new Query(Criteria.where("shipmentId").is(shipment.id)), TrackingEventSeriesDocument.class);
+        if (!events.isEmpty()) {
+            ShipmentId shipmentId = ShipmentId.of(shipment.id);
+            List<TrackingEventSeriesDocument> docs = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                docs.add(TrackingEventSeriesDocument.fromDomain(shipmentId, i, events.get(i)));
+            }
+            mongoTemplate.insertAll(docs);
+        }
+        TrackingEventDocument latest = events.isEmpty() ? null : TrackingEventDocument.fromDomain(events.get(events.size() - 1));
+        Update update = new Update()
+                .set("latestTrackingEvent", latest)
+                .set("trackingEventCount", (long) events.size())
+                .unset(LEGACY_EVENTS);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(shipment.id)), update, ShipmentDocument.class);
+    }
+
+    /**
+     * The parts of a shipment document written before tracking history moved to the time series.
+     */
+    static class LegacyShipment {
+        @Id
+        String id;
+        List<LegacyTrackingEvent> trackingEvents;
+    }
+
+    /**
+     * An embedded tracking event as written before timestamps were stored as epoch millis.
+     */
+    static class LegacyTrackingEvent {
+        String status;
+        String statusDescription;
+        String location;
+        OffsetDateTime timestamp;
+        String eventCode;
+        String detailedDescription;
+
+        TrackingEvent toDomain() {
+            return new TrackingEvent(status, statusDescription, location, timestamp, eventCode, detailedDescription);
+        }
+    }
+}
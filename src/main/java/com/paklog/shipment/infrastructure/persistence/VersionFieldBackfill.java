@@ -0,0 +1,46 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.paklog.shipment.infrastructure.persistence.document.LoadDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stamps version 0 on shipment and load documents written before they carried a version. Without
+ * it, saving one of them would be taken as an insert and fail on the duplicate id. Runs before the
+ * web server starts and is a no-op once every document has a version.
+ */
+@Profile("!in-memory")
+@Component
+public class VersionFieldBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(VersionFieldBackfill.class);
+    private static final List<Class<?>> VERSIONED_DOCUMENTS = List.of(ShipmentDocument.class, LoadDocument.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public VersionFieldBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Class<?> documentType : VERSIONED_DOCUMENTS) {
+            long stamped = mongoTemplate.updateMulti(
+                    new Query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L),
+                    documentType).getModifiedCount();
+            if (stamped > 0) {
+                logger.info("Backfilled version on {} {} documents", stamped, mongoTemplate.getCollectionName(documentType));
+            }
+        }
+    }
+}
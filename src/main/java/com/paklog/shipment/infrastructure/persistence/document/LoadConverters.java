@@ -0,0 +1,180 @@
+package com.paklog.shipment.infrastructure.persistence.document;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.domain.Location;
+import com.paklog.shipment.domain.Pickup;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.Tender;
+import com.paklog.shipment.domain.TenderStatus;
+import com.paklog.shipment.infrastructure.persistence.TemporalConverters;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps {@link Load} straight to and from its BSON document. The layout must stay identical to what
+ * {@link LoadDocument} writes, since the guarded findAndModify transitions still go through it.
+ */
+public final class LoadConverters {
+
+    private LoadConverters() {
+    }
+
+    public static List<Converter<?, ?>> getConvertersToRegister() {
+        return List.of(LoadWriteConverter.INSTANCE, LoadReadConverter.INSTANCE);
+    }
+
+    @WritingConverter
+    public enum LoadWriteConverter implements Converter<Load, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Load source) {
+            Document doc = new Document("_id", source.getId().getValue().toString());
+            putIfNotNull(doc, "reference", source.getReference());
+            putIfNotNull(doc, "status", source.getStatus() != null ? source.getStatus().name() : null);
+            putIfNotNull(doc, "carrierName", source.getCarrierName() != null ? source.getCarrierName().name() : null);
+            List<String> shipmentIds = new ArrayList<>(source.getShipmentIds().size());
+            for (ShipmentId shipmentId : source.getShipmentIds()) {
+                shipmentIds.add(shipmentId.getValue().toString());
+            }
+            doc.put("shipmentIds", shipmentIds);
+            putIfNotNull(doc, "origin", writeLocation(source.getOrigin()));
+            putIfNotNull(doc, "destination", writeLocation(source.getDestination()));
+            putIfNotNull(doc, "requestedPickupDate", TemporalConverters.toDate(source.getRequestedPickupDate()));
+            putIfNotNull(doc, "requestedDeliveryDate", TemporalConverters.toDate(source.getRequestedDeliveryDate()));
+            putIfNotNull(doc, "pickup", writePickup(source.getPickup()));
+            putIfNotNull(doc, "tender", writeTender(source.getTender()));
+            putIfNotNull(doc, "notes", source.getNotes());
+            putIfNotNull(doc, "createdAt", TemporalConverters.toDate(source.getCreatedAt()));
+            putIfNotNull(doc, "updatedAt", TemporalConverters.toDate(source.getUpdatedAt()));
+            putIfNotNull(doc, "version", source.getVersion());
+            return doc;
+        }
+
+        private static Document writeLocation(Location location) {
+            if (location == null) {
+                return null;
+            }
+            Document doc = new Document("name", location.name());
+            doc.put("addressLine1", location.addressLine1());
+            putIfNotNull(doc, "addressLine2", location.addressLine2());
+            doc.put("city", location.city());
+            doc.put("stateOrProvince", location.stateOrProvince());
+            doc.put("postalCode", location.postalCode());
+            doc.put("country", location.country());
+            return doc;
+        }
+
+        private static Document writePickup(Pickup pickup) {
+            if (pickup == null) {
+                return null;
+            }
+            Document doc = new Document();
+            putIfNotNull(doc, "confirmationNumber", pickup.confirmationNumber());
+            putIfNotNull(doc, "scheduledFor", TemporalConverters.toDate(pickup.scheduledFor()));
+            putIfNotNull(doc, "location", writeLocation(pickup.location()));
+            putIfNotNull(doc, "contactName", pickup.contactName());
+            putIfNotNull(doc, "contactPhone", pickup.contactPhone());
+            putIfNotNull(doc, "instructions", pickup.instructions());
+            return doc;
+        }
+
+        private static Document writeTender(Tender tender) {
+            if (tender == null) {
+                return null;
+            }
+            Document doc = new Document();
+            putIfNotNull(doc, "status", tender.status() != null ? tender.status().name() : null);
+            putIfNotNull(doc, "expiresAt", TemporalConverters.toDate(tender.expiresAt()));
+            putIfNotNull(doc, "respondedAt", TemporalConverters.toDate(tender.respondedAt()));
+            putIfNotNull(doc, "respondedBy", tender.respondedBy());
+            putIfNotNull(doc, "decision", tender.decision() != null ? tender.decision().name() : null);
+            putIfNotNull(doc, "notes", tender.notes());
+            return doc;
+        }
+    }
+
+    @ReadingConverter
+    public enum LoadReadConverter implements Converter<Document, Load> {
+        INSTANCE;
+
+        @Override
+        public Load convert(Document source) {
+            Set<ShipmentId> shipmentIds = new HashSet<>();
+            List<?> storedIds = source.get("shipmentIds", List.class);
+            if (storedIds != null) {
+                for (Object id : storedIds) {
+                    shipmentIds.add(ShipmentId.of((String) id));
+                }
+            }
+            String status = source.getString("status");
+            String carrierName = source.getString("carrierName");
+            Number version = (Number) source.get("version");
+            return Load.restore(
+                    LoadId.of(source.getString("_id")),
+                    source.getString("reference"),
+                    status != null ? LoadStatus.valueOf(status) : null,
+                    carrierName != null ? CarrierName.valueOf(carrierName) : null,
+                    shipmentIds,
+                    readLocation(source.get("origin", Document.class)),
+                    readLocation(source.get("destination", Document.class)),
+                    TemporalConverters.toLocalDate(source.get("requestedPickupDate")),
+                    TemporalConverters.toLocalDate(source.get("requestedDeliveryDate")),
+                    readPickup(source.get("pickup", Document.class)),
+                    readTender(source.get("tender", Document.class)),
+                    source.getString("notes"),
+                    TemporalConverters.toOffsetDateTime(source.get("createdAt")),
+                    TemporalConverters.toOffsetDateTime(source.get("updatedAt")),
+                    version != null ? version.longValue() : null);
+        }
+
+        private static Location readLocation(Document doc) {
+            if (doc == null) {
+                return null;
+            }
+            return new Location(doc.getString("name"), doc.getString("addressLine1"), doc.getString("addressLine2"),
+                    doc.getString("city"), doc.getString("stateOrProvince"), doc.getString("postalCode"),
+                    doc.getString("country"));
+        }
+
+        private static Pickup readPickup(Document doc) {
+            if (doc == null) {
+                return null;
+            }
+            return new Pickup(doc.getString("confirmationNumber"),
+                    TemporalConverters.toOffsetDateTime(doc.get("scheduledFor")),
+                    readLocation(doc.get("location", Document.class)),
+                    doc.getString("contactName"), doc.getString("contactPhone"), doc.getString("instructions"));
+        }
+
+        private static Tender readTender(Document doc) {
+            if (doc == null) {
+                return null;
+            }
+            String status = doc.getString("status");
+            String decision = doc.getString("decision");
+            return new Tender(status != null ? TenderStatus.valueOf(status) : null,
+                    TemporalConverters.toOffsetDateTime(doc.get("expiresAt")),
+                    TemporalConverters.toOffsetDateTime(doc.get("respondedAt")),
+                    doc.getString("respondedBy"),
+                    decision != null ? Tender.Decision.valueOf(decision) : null,
+                    doc.getString("notes"));
+        }
+    }
+
+    private static void putIfNotNull(Document doc, String key, Object value) {
+        if (value != null) {
+            doc.put(key, value);
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.paklog.shipment.infrastructure.persistence.document;
 
 import com.paklog.shipment.domain.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
@@ -10,7 +15,12 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+// One index per query shape in LoadMongoRepository.QUERY_SHAPES; MongoIndexVerifier checks them at startup.
 @Document(collection = "loads")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_carrier_createdAt_idx", def = "{'status': 1, 'carrierName': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "carrier_createdAt_idx", def = "{'carrierName': 1, 'createdAt': -1}")
+})
 public class LoadDocument {
 
     @Id
@@ -26,8 +36,11 @@ public class LoadDocument {
     private PickupDocument pickup;
     private TenderDocument tender;
     private String notes;
+    @Indexed(name = "createdAt_idx", direction = IndexDirection.DESCENDING)
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
+    @Version
+    private Long version;
 
     public static LoadDocument fromDomain(Load load) {
         LoadDocument doc = new LoadDocument();
@@ -45,6 +58,7 @@ public class LoadDocument {
         doc.setNotes(load.getNotes());
         doc.setCreatedAt(load.getCreatedAt());
         doc.setUpdatedAt(load.getUpdatedAt());
+        doc.setVersion(load.getVersion());
         return doc;
     }
 
@@ -64,7 +78,8 @@ public class LoadDocument {
                 this.tender != null ? this.tender.toDomain() : null,
                 this.notes,
                 this.createdAt,
-                this.updatedAt
+                this.updatedAt,
+                this.version
         );
     }
 
@@ -97,4 +112,6 @@ public class LoadDocument {
     public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
     public OffsetDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
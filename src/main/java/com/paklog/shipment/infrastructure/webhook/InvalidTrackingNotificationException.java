@@ -0,0 +1,7 @@
+package com.paklog.shipment.infrastructure.webhook;
+
+public class InvalidTrackingNotificationException extends RuntimeException {
+    public InvalidTrackingNotificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
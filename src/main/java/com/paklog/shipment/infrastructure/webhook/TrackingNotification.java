@@ -0,0 +1,45 @@
+package com.paklog.shipment.infrastructure.webhook;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingUpdate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+public record TrackingNotification(
+    CarrierName carrier,
+    TrackingNumber trackingNumber,
+    List<TrackingEvent> events,
+    boolean delivered,
+    OffsetDateTime receivedAt
+) {
+    public TrackingNotification {
+        Objects.requireNonNull(carrier, "Carrier cannot be null");
+        Objects.requireNonNull(trackingNumber, "Tracking number cannot be null");
+        Objects.requireNonNull(receivedAt, "Received timestamp cannot be null");
+        if (events == null || events.isEmpty()) {
+            throw new IllegalArgumentException("Tracking notification must carry at least one event");
+        }
+        events = events.stream().sorted(Comparator.comparing(TrackingEvent::getTimestamp)).toList();
+    }
+
+    /**
+     * Folds a later notification for the same parcel into this one, so a batch applies each
+     * shipment once.
+     */
+    public TrackingNotification merge(TrackingNotification other) {
+        List<TrackingEvent> combined = new ArrayList<>(events);
+        combined.addAll(other.events);
+        OffsetDateTime latestReceipt = other.receivedAt.isAfter(receivedAt) ? other.receivedAt : receivedAt;
+        return new TrackingNotification(carrier, trackingNumber, combined, delivered || other.delivered, latestReceipt);
+    }
+
+    public TrackingUpdate toTrackingUpdate() {
+        return new TrackingUpdate(events.get(events.size() - 1), delivered, events);
+    }
+}
@@ -0,0 +1,108 @@
+package com.paklog.shipment.infrastructure.webhook;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.application.ShipmentApplicationService;
+import com.paklog.shipment.config.TrackingWebhookProperties;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Decouples webhook acknowledgement from shipment updates. Notifications are queued on receipt and
+ * applied in batches; notifications for the same parcel within a batch are merged first, and the
+ * batch's shipments are loaded with a single query.
+ * <p>
+ * The queue is in memory. A notification lost to a restart is still picked up by the tracking
+ * poller, because the shipment's push timestamp is only written once the notification is applied.
+ */
+@Component
+public class TrackingWebhookBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrackingWebhookBuffer.class);
+
+    private final BlockingQueue<TrackingNotification> queue;
+    private final int batchSize;
+    private final ShipmentRepository shipmentRepository;
+    private final ShipmentApplicationService shipmentApplicationService;
+    private final MetricsService metricsService;
+
+    public TrackingWebhookBuffer(TrackingWebhookProperties properties,
+                                 ShipmentRepository shipmentRepository,
+                                 ShipmentApplicationService shipmentApplicationService,
+                                 MetricsService metricsService) {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.shipmentRepository = shipmentRepository;
+        this.shipmentApplicationService = shipmentApplicationService;
+        this.metricsService = metricsService;
+    }
+
+    public boolean offer(TrackingNotification notification) {
+        boolean accepted = queue.offer(notification);
+        metricsService.recordTrackingWebhook(notification.carrier().name(), accepted ? "accepted" : "buffer_full");
+        return accepted;
+    }
+
+    @Scheduled(fixedDelayString = "${tracking.webhook.flush-interval-ms:1000}")
+    public void flush() {
+        List<TrackingNotification> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            apply(batch);
+            batch.clear();
+        }
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    private void apply(List<TrackingNotification> batch) {
+        Map<TrackingNumber, TrackingNotification> byParcel = new LinkedHashMap<>();
+        for (TrackingNotification notification : batch) {
+            byParcel.merge(notification.trackingNumber(), notification, TrackingNotification::merge);
+        }
+
+        Map<TrackingNumber, Shipment> shipments = new HashMap<>();
+        try {
+            for (Shipment shipment : shipmentRepository.findByTrackingNumbers(byParcel.keySet())) {
+                shipments.put(shipment.getTrackingNumber(), shipment);
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Failed to load shipments for {} tracking pushes", byParcel.size(), ex);
+            byParcel.values().forEach(notification ->
+                    metricsService.recordTrackingWebhook(notification.carrier().name(), "failed"));
+            return;
+        }
+
+        for (TrackingNotification notification : byParcel.values()) {
+            String carrier = notification.carrier().name();
+            Shipment shipment = shipments.get(notification.trackingNumber());
+            if (shipment == null || shipment.getCarrierName() != notification.carrier()) {
+                logger.warn("Ignoring {} tracking push for unknown tracking number {}", carrier,
+                        notification.trackingNumber().getValue());
+                metricsService.recordTrackingWebhook(carrier, "unknown_shipment");
+                continue;
+            }
+            try {
+                shipmentApplicationService.applyPushedTracking(shipment, notification.toTrackingUpdate(),
+                        notification.receivedAt());
+                metricsService.recordTrackingWebhook(carrier, "applied");
+            } catch (RuntimeException ex) {
+                logger.error("Failed to apply {} tracking push for {}", carrier, notification.trackingNumber().getValue(), ex);
+                metricsService.recordTrackingWebhook(carrier, "failed");
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.paklog.shipment.infrastructure.webhook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.TrackingWebhookProperties;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.infrastructure.api.gen.dto.Problem;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+
+/**
+ * Authenticates carrier webhooks before they reach the controller. The HMAC has to be computed
+ * over the exact bytes the carrier sent, so the body is read here and replayed downstream.
+ * Registered by {@link com.paklog.shipment.config.TrackingWebhookConfiguration}.
+ */
+public class TrackingWebhookSignatureFilter extends OncePerRequestFilter {
+
+    public static final String PATH_PREFIX = "/webhooks/carriers/";
+    private static final Logger logger = LoggerFactory.getLogger(TrackingWebhookSignatureFilter.class);
+
+    private final TrackingWebhookProperties properties;
+    private final WebhookSignatureVerifier verifier;
+    private final ObjectMapper objectMapper;
+    private final MetricsService metricsService;
+
+    public TrackingWebhookSignatureFilter(TrackingWebhookProperties properties,
+                                          ObjectMapper objectMapper,
+                                          MetricsService metricsService) {
+        this.properties = properties;
+        this.verifier = new WebhookSignatureVerifier(properties.getSecrets(), properties.getMaxClockSkew(), Clock.systemUTC());
+        this.objectMapper = objectMapper;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CarrierName carrier = carrierOf(request.getRequestURI());
+        byte[] body = request.getInputStream().readNBytes(properties.getMaxBodyBytes() + 1);
+        if (body.length > properties.getMaxBodyBytes()) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "/problems/payload-too-large", "Webhook body exceeds "
+                    + properties.getMaxBodyBytes() + " bytes");
+            return;
+        }
+        String timestamp = request.getHeader(properties.getTimestampHeader());
+        String signature = request.getHeader(properties.getSignatureHeader());
+        if (carrier == null || !verifier.verify(carrier, timestamp, signature, body)) {
+            logger.warn("Rejected carrier webhook with invalid signature on {}", request.getRequestURI());
+            metricsService.recordTrackingWebhook(carrier != null ? carrier.name() : "UNKNOWN", "invalid_signature");
+            reject(response, HttpStatus.UNAUTHORIZED, "/problems/invalid-signature", "Webhook signature is missing, stale or invalid");
+            return;
+        }
+        chain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private static CarrierName carrierOf(String uri) {
+        String rest = uri.substring(PATH_PREFIX.length());
+        int slash = rest.indexOf('/');
+        String segment = slash >= 0 ? rest.substring(0, slash) : rest;
+        for (CarrierName carrier : CarrierName.values()) {
+            if (carrier.name().equalsIgnoreCase(segment)) {
+                return carrier;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String type, String detail) throws IOException {
+        Problem problem = new Problem();
+        problem.setType(URI.create(type));
+        problem.setTitle(status.getReasonPhrase());
+        problem.setStatus(status.value());
+        problem.setDetail(detail);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is already in memory, so it is available at once.
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.paklog.shipment.infrastructure.webhook;
+
+public class WebhookBufferFullException extends RuntimeException {
+    public WebhookBufferFullException(String message) {
+        super(message);
+    }
+}
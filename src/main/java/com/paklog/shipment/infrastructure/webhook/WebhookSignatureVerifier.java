@@ -0,0 +1,78 @@
+package com.paklog.shipment.infrastructure.webhook;
+
+import com.paklog.shipment.domain.CarrierName;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Checks carrier webhook signatures: a hex HMAC-SHA256 over {@code <timestamp>.<body>} with the
+ * carrier's shared secret. Signing the timestamp lets stale requests be rejected as replays.
+ */
+public class WebhookSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String SIGNATURE_PREFIX = "sha256=";
+
+    private final Map<CarrierName, SecretKeySpec> keys = new EnumMap<>(CarrierName.class);
+    private final Duration maxClockSkew;
+    private final Clock clock;
+
+    public WebhookSignatureVerifier(Map<CarrierName, String> secrets, Duration maxClockSkew, Clock clock) {
+        secrets.forEach((carrier, secret) -> {
+            if (secret != null && !secret.isBlank()) {
+                keys.put(carrier, new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            }
+        });
+        this.maxClockSkew = maxClockSkew;
+        this.clock = clock;
+    }
+
+    public boolean verify(CarrierName carrier, String timestamp, String signature, byte[] body) {
+        SecretKeySpec key = keys.get(carrier);
+        if (key == null || timestamp == null || signature == null) {
+            return false;
+        }
+        Instant signedAt;
+        try {
+            signedAt = Instant.ofEpochSecond(Long.parseLong(timestamp.trim()));
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+        if (Duration.between(signedAt, clock.instant()).abs().compareTo(maxClockSkew) > 0) {
+            return false;
+        }
+        String hex = signature.trim();
+        if (hex.startsWith(SIGNATURE_PREFIX)) {
+            hex = hex.substring(SIGNATURE_PREFIX.length());
+        }
+        byte[] presented;
+        try {
+            presented = HexFormat.of().parseHex(hex);
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(key, timestamp.trim(), body), presented);
+    }
+
+    static byte[] sign(SecretKeySpec key, String timestamp, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(timestamp.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '.');
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+}
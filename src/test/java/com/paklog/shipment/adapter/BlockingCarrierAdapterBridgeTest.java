@@ -0,0 +1,54 @@
+package com.paklog.shipment.adapter;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingUpdate;
+import com.paklog.shipment.domain.exception.CarrierException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockingCarrierAdapterBridgeTest {
+
+    private static final TrackingNumber TRACKING_NUMBER = TrackingNumber.of("trk-1");
+
+    @Mock
+    private ICarrierAdapter delegate;
+
+    @Test
+    void saturatedPoolFailsTheFutureWithoutRunningOnTheCaller() {
+        when(delegate.getCarrierName()).thenReturn(CarrierName.UPS);
+        BlockingCarrierAdapterBridge bridge = new BlockingCarrierAdapterBridge(delegate, task -> {
+            throw new RejectedExecutionException("carrier I/O pool is full");
+        });
+
+        CompletableFuture<Optional<TrackingUpdate>> update = bridge.getTrackingStatus(TRACKING_NUMBER);
+
+        CompletionException ex = assertThrows(CompletionException.class, update::join);
+        assertEquals(BlockingCarrierAdapterBridge.IO_SATURATED, ((CarrierException) ex.getCause()).getErrorCode());
+        verify(delegate, never()).getTrackingStatus(any());
+    }
+
+    @Test
+    void marksOnlyThePoolThreadWhileTheCallRuns() {
+        when(delegate.getTrackingStatus(TRACKING_NUMBER)).thenAnswer(invocation -> {
+            assertTrue(BlockingCarrierAdapterBridge.isBridgedCall());
+            return Optional.empty();
+        });
+        BlockingCarrierAdapterBridge bridge = new BlockingCarrierAdapterBridge(delegate, Runnable::run);
+
+        assertEquals(Optional.empty(), bridge.getTrackingStatus(TRACKING_NUMBER).join());
+        assertFalse(BlockingCarrierAdapterBridge.isBridgedCall());
+    }
+}
@@ -0,0 +1,163 @@
+package com.paklog.shipment.adapter.auth;
+
+import com.paklog.shipment.application.MetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarrierTokenCacheTest {
+
+    private MutableClock clock;
+    private AtomicInteger fetches;
+    private CarrierTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-01T08:00:00Z"));
+        fetches = new AtomicInteger();
+        cache = new CarrierTokenCache(Duration.ofMinutes(5), Runnable::run,
+                new MetricsService(new SimpleMeterRegistry()), clock);
+        cache.register("fedex", () -> new AccessToken("token-" + fetches.incrementAndGet(),
+                clock.instant().plus(Duration.ofHours(1))));
+    }
+
+    @Test
+    void reusesTokenUntilRefreshWindow() {
+        assertEquals("token-1", cache.getToken("fedex"));
+        clock.advance(Duration.ofMinutes(30));
+        assertEquals("token-1", cache.getToken("fedex"));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void refreshesAheadOfExpiryWhileServingCurrentToken() {
+        cache.getToken("fedex");
+        clock.advance(Duration.ofMinutes(56));
+
+        assertEquals("token-1", cache.getToken("fedex"));
+        assertEquals("token-2", cache.getToken("fedex"));
+    }
+
+    @Test
+    void scheduledRefreshRenewsExpiringTokens() {
+        cache.getToken("fedex");
+        clock.advance(Duration.ofMinutes(58));
+
+        cache.refreshExpiring();
+
+        assertEquals(2, fetches.get());
+        assertEquals("token-2", cache.getToken("fedex"));
+    }
+
+    @Test
+    void invalidatedTokenIsReplacedOnNextCall() {
+        String rejected = cache.getToken("fedex");
+
+        cache.invalidate("fedex", rejected);
+
+        assertEquals("token-2", cache.getToken("fedex"));
+    }
+
+    @Test
+    void concurrentCallersShareOneRefresh() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowFetches = new AtomicInteger();
+        ExecutorService refreshPool = Executors.newSingleThreadExecutor();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            CarrierTokenCache slowCache = new CarrierTokenCache(Duration.ofMinutes(5), refreshPool,
+                    new MetricsService(new SimpleMeterRegistry()), clock);
+            slowCache.register("ups", () -> {
+                slowFetches.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return new AccessToken("shared", clock.instant().plus(Duration.ofHours(1)));
+            });
+
+            List<Future<String>> tokens = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tokens.add(callers.submit(() -> slowCache.getToken("ups")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> token : tokens) {
+                assertEquals("shared", token.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, slowFetches.get());
+        } finally {
+            callers.shutdownNow();
+            refreshPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectedRefreshFailsTheCallerAndLeavesTheSlotFree() {
+        AtomicBoolean saturated = new AtomicBoolean(true);
+        CarrierTokenCache busyCache = new CarrierTokenCache(Duration.ofMinutes(5), task -> {
+            if (saturated.get()) {
+                throw new RejectedExecutionException("carrier I/O pool is full");
+            }
+            task.run();
+        }, new MetricsService(new SimpleMeterRegistry()), clock);
+        busyCache.register("ups", () -> new AccessToken("fresh", clock.instant().plus(Duration.ofHours(1))));
+
+        assertThrows(RejectedExecutionException.class, () -> busyCache.getToken("ups"));
+
+        saturated.set(false);
+        assertEquals("fresh", busyCache.getToken("ups"));
+    }
+
+    @Test
+    void rejectsUnknownAccounts() {
+        assertThrows(IllegalStateException.class, () -> cache.getToken("dhl"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
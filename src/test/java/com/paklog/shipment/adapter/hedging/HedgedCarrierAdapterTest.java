@@ -0,0 +1,152 @@
+package com.paklog.shipment.adapter.hedging;
+
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.domain.CarrierInfo;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.Package;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HedgedCarrierAdapterTest {
+
+    private static final Package PACKAGE = new Package("pkg-1", 2.0, 10, 10, 10, "BOX");
+    private static final OrderId ORDER_ID = OrderId.of("order-1");
+
+    @Mock
+    private ICarrierAdapter delegate;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry registry;
+    private MetricsService metricsService;
+    private LatencyWindow latencyWindow;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        registry = new SimpleMeterRegistry();
+        metricsService = new MetricsService(registry);
+        latencyWindow = new LatencyWindow(10, 0.95, 1);
+        lenient().when(delegate.getCarrierName()).thenReturn(CarrierName.FEDEX);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void callsDirectlyUntilLatencyWindowIsWarm() {
+        CarrierInfo info = new CarrierInfo("trk-1", new byte[]{1}, CarrierName.FEDEX);
+        when(delegate.createShipment(PACKAGE, ORDER_ID, "pkg-1")).thenReturn(info);
+
+        assertSame(info, adapter(new HedgeBudget(100, 1)).createShipment(PACKAGE, ORDER_ID, "pkg-1"));
+        assertEquals(1, latencyWindow.count());
+    }
+
+    @Test
+    void hedgeWinsWhenPrimaryIsSlow() {
+        warmUp();
+        CarrierInfo slow = new CarrierInfo("trk-slow", new byte[]{1}, CarrierName.FEDEX);
+        CarrierInfo fast = new CarrierInfo("trk-fast", new byte[]{1}, CarrierName.FEDEX);
+        AtomicInteger attempts = new AtomicInteger();
+        when(delegate.createShipment(any(), any(), eq("pkg-1"))).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(1_000);
+                return slow;
+            }
+            return fast;
+        });
+
+        CarrierInfo result = adapter(new HedgeBudget(100, 1)).createShipment(PACKAGE, ORDER_ID, "pkg-1");
+
+        assertSame(fast, result);
+        verify(delegate, times(2)).createShipment(PACKAGE, ORDER_ID, "pkg-1");
+        assertEquals(1.0, registry.get("carrier.hedge.requests").tag("outcome", "sent").counter().count());
+        assertEquals(1.0, registry.get("carrier.hedge.requests").tag("outcome", "won").counter().count());
+    }
+
+    @Test
+    void waitsForPrimaryWhenBudgetIsSpent() {
+        warmUp();
+        CarrierInfo slow = new CarrierInfo("trk-slow", new byte[]{1}, CarrierName.FEDEX);
+        when(delegate.createShipment(PACKAGE, ORDER_ID, "pkg-1")).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return slow;
+        });
+
+        CarrierInfo result = adapter(new HedgeBudget(0, 1)).createShipment(PACKAGE, ORDER_ID, "pkg-1");
+
+        assertSame(slow, result);
+        verify(delegate, times(1)).createShipment(PACKAGE, ORDER_ID, "pkg-1");
+        assertEquals(1.0, registry.get("carrier.hedge.requests").tag("outcome", "budget_exhausted").counter().count());
+    }
+
+    @Test
+    void skipsHedgeAndKeepsWaitingWhenNoThreadIsFree() {
+        warmUp();
+        ExecutorService singleThread = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        CarrierInfo slow = new CarrierInfo("trk-slow", new byte[]{1}, CarrierName.FEDEX);
+        when(delegate.createShipment(PACKAGE, ORDER_ID, "pkg-1")).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return slow;
+        });
+        HedgeBudget budget = new HedgeBudget(100, 1);
+
+        try {
+            CarrierInfo result = new HedgedCarrierAdapter(delegate, latencyWindow, budget, 10, Duration.ofMillis(10),
+                    singleThread, metricsService).createShipment(PACKAGE, ORDER_ID, "pkg-1");
+
+            assertSame(slow, result);
+        } finally {
+            singleThread.shutdownNow();
+        }
+        verify(delegate, times(1)).createShipment(PACKAGE, ORDER_ID, "pkg-1");
+        assertEquals(1.0, registry.get("carrier.hedge.requests").tag("outcome", "skipped").counter().count());
+        assertNull(registry.find("carrier.hedge.requests").tag("outcome", "sent").counter());
+        assertTrue(budget.tryHedge());
+    }
+
+    @Test
+    void budgetCapsHedgesAtConfiguredShare() {
+        HedgeBudget budget = new HedgeBudget(10, 5);
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+            if (budget.tryHedge()) {
+                hedges++;
+            }
+        }
+        assertEquals(10, hedges);
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 10; i++) {
+            latencyWindow.record(Duration.ofMillis(20).toNanos());
+        }
+    }
+
+    private HedgedCarrierAdapter adapter(HedgeBudget budget) {
+        return new HedgedCarrierAdapter(delegate, latencyWindow, budget, 10, Duration.ofMillis(10), executor, metricsService);
+    }
+}
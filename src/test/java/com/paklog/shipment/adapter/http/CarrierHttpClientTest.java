@@ -0,0 +1,145 @@
+package com.paklog.shipment.adapter.http;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.CarrierHttpProperties;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.exception.CarrierException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarrierHttpClientTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/track", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{\"status\":\"IN_TRANSIT\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/label", exchange -> {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write("LABEL-DATA".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.size());
+            exchange.getResponseBody().write(compressed.toByteArray());
+            exchange.close();
+        });
+        server.createContext("/corrupt", exchange -> {
+            byte[] body = "not gzip at all".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void reusesConnectionAcrossSequentialRequests() {
+        CarrierHttpClient client = client(8);
+
+        for (int i = 0; i < 50; i++) {
+            CarrierHttpResponse response = client.send(client.request("/track").GET(), "getTrackingStatus");
+            assertTrue(response.isSuccessful());
+        }
+
+        assertEquals(1, clientPorts.size());
+        assertEquals(50, registry.get("carrier.http.requests").tag("status", "200").timer().count());
+    }
+
+    @Test
+    void decompressesGzipBodies() {
+        CarrierHttpClient client = client(8);
+
+        CarrierHttpResponse response = client.send(client.request("/label").GET(), "createShipment");
+
+        assertEquals("LABEL-DATA", response.bodyAsString());
+    }
+
+    @Test
+    void reportsCorruptGzipBodiesAsCarrierFailures() {
+        CarrierHttpClient client = client(8);
+
+        CarrierException ex = assertThrows(CarrierException.class,
+                () -> client.send(client.request("/corrupt").GET(), "createShipment"));
+
+        assertEquals("FEDEX", ex.getCarrierName());
+        assertInstanceOf(IOException.class, ex.getCause());
+    }
+
+    @Test
+    void boundsConcurrentRequestsPerCarrier() throws Exception {
+        CarrierHttpClient client = client(1);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<CarrierHttpResponse> blocked = callers.submit(() -> client.send(client.request("/slow").GET(), "tenderLoad"));
+            Thread.sleep(100);
+
+            CarrierException ex = assertThrows(CarrierException.class,
+                    () -> client.send(client.request("/track").GET(), "getTrackingStatus"));
+            assertEquals(CarrierHttpClient.POOL_EXHAUSTED, ex.getErrorCode());
+
+            release.countDown();
+            assertEquals(204, blocked.get(5, TimeUnit.SECONDS).statusCode());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private CarrierHttpClient client(int maxConcurrentRequests) {
+        CarrierHttpProperties.Client settings = new CarrierHttpProperties.Client();
+        settings.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        settings.setMaxConcurrentRequests(maxConcurrentRequests);
+        settings.setAcquireTimeout(Duration.ofMillis(200));
+        return new CarrierHttpClient(CarrierName.FEDEX, settings, new MetricsService(registry));
+    }
+}
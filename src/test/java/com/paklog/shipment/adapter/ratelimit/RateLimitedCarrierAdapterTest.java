@@ -0,0 +1,161 @@
+package com.paklog.shipment.adapter.ratelimit;
+
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.adapter.resilience.AimdConcurrencyLimiter;
+import com.paklog.shipment.adapter.resilience.CarrierCircuitBreaker;
+import com.paklog.shipment.adapter.resilience.ResilientCarrierAdapter;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.exception.CarrierException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitedCarrierAdapterTest {
+
+    private static final TrackingNumber TRACKING_NUMBER = TrackingNumber.of("trk-1");
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Mock
+    private ICarrierAdapter delegate;
+
+    private AtomicLong nanos;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong();
+        registry = new SimpleMeterRegistry();
+        lenient().when(delegate.getCarrierName()).thenReturn(CarrierName.FEDEX);
+    }
+
+    @Test
+    void limiterAllowsBurstThenRefillsAtConfiguredRate() {
+        CarrierRateLimiter limiter = new CarrierRateLimiter(10, 5, 0, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(CallPriority.NORMAL, 0));
+        }
+        assertFalse(limiter.tryAcquire(CallPriority.NORMAL, 0));
+
+        assertTrue(limiter.tryAcquire(CallPriority.NORMAL, SECOND / 10));
+        assertFalse(limiter.tryAcquire(CallPriority.NORMAL, SECOND / 10));
+    }
+
+    @Test
+    void lowPriorityLeavesReserveForLabels() {
+        CarrierRateLimiter limiter = new CarrierRateLimiter(10, 5, 2, 0);
+
+        int tracking = 0;
+        while (limiter.tryAcquire(CallPriority.LOW, 0)) {
+            tracking++;
+        }
+
+        assertEquals(3, tracking);
+        assertTrue(limiter.tryAcquire(CallPriority.HIGH, 0));
+        assertTrue(limiter.tryAcquire(CallPriority.HIGH, 0));
+        assertFalse(limiter.tryAcquire(CallPriority.HIGH, 0));
+    }
+
+    @Test
+    void acquireReservesFuturePermitWithinMaxWait() {
+        CarrierRateLimiter limiter = new CarrierRateLimiter(10, 1, 0, 0);
+        assertTrue(limiter.tryAcquire(CallPriority.HIGH, 0));
+
+        assertEquals(-1, limiter.acquire(CallPriority.HIGH, 0, SECOND / 20));
+        assertEquals(SECOND / 10, limiter.acquire(CallPriority.HIGH, 0, SECOND / 5));
+        assertEquals(2 * SECOND / 10, limiter.acquire(CallPriority.HIGH, 0, SECOND / 5));
+    }
+
+    @Test
+    void trackingFailsFastWhenThrottled() {
+        RateLimitedCarrierAdapter adapter = adapter(new CarrierRateLimiter(10, 1, 0, 0), Duration.ofSeconds(1));
+        when(delegate.getTrackingStatus(TRACKING_NUMBER)).thenReturn(Optional.empty());
+        adapter.getTrackingStatus(TRACKING_NUMBER);
+
+        CarrierException exception = assertThrows(CarrierException.class, () -> adapter.getTrackingStatus(TRACKING_NUMBER));
+
+        assertEquals(RateLimitedCarrierAdapter.RATE_LIMITED, exception.getErrorCode());
+        verify(delegate, times(1)).getTrackingStatus(any());
+        assertEquals(1.0, registry.get("carrier.ratelimit.throttled")
+                .tag("operation", "getTrackingStatus").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void labelCreationWaitsForNextPermit() {
+        RateLimitedCarrierAdapter adapter = adapter(new CarrierRateLimiter(100, 1, 0, 0), Duration.ofMillis(50));
+        adapter.createShipment(null, null, "pkg-1");
+
+        adapter.createShipment(null, null, "pkg-2");
+
+        verify(delegate, times(2)).createShipment(any(), any(), any());
+        assertEquals(1.0, registry.get("carrier.ratelimit.throttled")
+                .tag("operation", "createShipment").tag("outcome", "delayed").counter().count());
+    }
+
+    @Test
+    void throttledBurstLeavesTheCircuitBreakerClosed() {
+        when(delegate.getTrackingStatus(TRACKING_NUMBER)).thenReturn(Optional.empty());
+        ExecutorService callExecutor = Executors.newCachedThreadPool();
+        try {
+            // As deployed: the limiter wraps the resilience layer.
+            CarrierCircuitBreaker outerBreaker = breaker();
+            ICarrierAdapter limitedOutside = new RateLimitedCarrierAdapter(resilient(delegate, outerBreaker, callExecutor),
+                    new CarrierRateLimiter(10, 2, 0, 0), Duration.ZERO, new MetricsService(registry), nanos::get);
+            // Nested the other way round, RATE_LIMITED failures must still not count against the breaker.
+            CarrierCircuitBreaker innerBreaker = breaker();
+            ICarrierAdapter limitedInside = resilient(adapter(new CarrierRateLimiter(10, 2, 0, 0), Duration.ZERO),
+                    innerBreaker, callExecutor);
+
+            for (ICarrierAdapter adapter : List.of(limitedOutside, limitedInside)) {
+                int throttled = 0;
+                for (int i = 0; i < 20; i++) {
+                    try {
+                        adapter.getTrackingStatus(TRACKING_NUMBER);
+                    } catch (CarrierException ex) {
+                        assertEquals(RateLimitedCarrierAdapter.RATE_LIMITED, ex.getErrorCode());
+                        throttled++;
+                    }
+                }
+                assertEquals(18, throttled);
+            }
+
+            assertEquals(CarrierCircuitBreaker.State.CLOSED, outerBreaker.getState());
+            assertEquals(CarrierCircuitBreaker.State.CLOSED, innerBreaker.getState());
+            verify(delegate, times(4)).getTrackingStatus(TRACKING_NUMBER);
+        } finally {
+            callExecutor.shutdownNow();
+        }
+    }
+
+    private static CarrierCircuitBreaker breaker() {
+        return new CarrierCircuitBreaker(0.5, 10, 5, Duration.ofMinutes(1), 1, Clock.systemUTC());
+    }
+
+    private ICarrierAdapter resilient(ICarrierAdapter adapter, CarrierCircuitBreaker breaker, ExecutorService callExecutor) {
+        return new ResilientCarrierAdapter(adapter, breaker,
+                new AimdConcurrencyLimiter(10, 1, 20, 0.5, Duration.ofSeconds(1).toNanos()),
+                Duration.ofSeconds(1), callExecutor, new MetricsService(registry));
+    }
+
+    private RateLimitedCarrierAdapter adapter(CarrierRateLimiter limiter, Duration maxWait) {
+        return new RateLimitedCarrierAdapter(delegate, limiter, maxWait, new MetricsService(registry), nanos::get);
+    }
+}
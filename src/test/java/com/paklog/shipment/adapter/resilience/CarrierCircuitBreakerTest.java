@@ -0,0 +1,135 @@
+package com.paklog.shipment.adapter.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarrierCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-05-01T08:00:00Z"));
+    private final CarrierCircuitBreaker breaker = new CarrierCircuitBreaker(0.5, 10, 4, Duration.ofSeconds(30), 2, clock);
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+
+        assertEquals(CarrierCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void closesAfterSuccessfulProbes() {
+        tripOpen();
+        assertFalse(breaker.tryAcquire().granted());
+
+        clock.advance(Duration.ofSeconds(31));
+        CarrierCircuitBreaker.Permit first = breaker.tryAcquire();
+        CarrierCircuitBreaker.Permit second = breaker.tryAcquire();
+        assertTrue(first.granted());
+        assertTrue(second.granted());
+        assertFalse(breaker.tryAcquire().granted());
+        breaker.onSuccess(first);
+        breaker.onSuccess(second);
+
+        assertEquals(CarrierCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void reopensWhenProbeFails() {
+        tripOpen();
+        clock.advance(Duration.ofSeconds(31));
+
+        CarrierCircuitBreaker.Permit probe = breaker.tryAcquire();
+        assertTrue(probe.granted());
+        breaker.onFailure(probe);
+
+        assertEquals(CarrierCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire().granted());
+    }
+
+    @Test
+    void callsAdmittedBeforeTheBreakerOpenedDoNotCountAsProbes() {
+        CarrierCircuitBreaker.Permit lateSuccess = breaker.tryAcquire();
+        CarrierCircuitBreaker.Permit lateFailure = breaker.tryAcquire();
+        tripOpen();
+        clock.advance(Duration.ofSeconds(31));
+        CarrierCircuitBreaker.Permit probe = breaker.tryAcquire();
+
+        breaker.onSuccess(lateSuccess);
+        breaker.onSuccess(lateSuccess);
+        breaker.onFailure(lateFailure);
+
+        assertEquals(CarrierCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire().granted());
+        assertFalse(breaker.tryAcquire().granted());
+        breaker.onSuccess(probe);
+        assertEquals(CarrierCircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void lateFailuresDoNotExtendTheOpenPeriod() {
+        CarrierCircuitBreaker.Permit late = breaker.tryAcquire();
+        tripOpen();
+        clock.advance(Duration.ofSeconds(20));
+
+        breaker.onFailure(late);
+        clock.advance(Duration.ofSeconds(11));
+
+        assertTrue(breaker.tryAcquire().granted());
+    }
+
+    @Test
+    void limiterGrowsUnderLoadAndShrinksOnSlowCalls() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 1, 10, 0.5, Duration.ofMillis(100).toNanos());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onSuccess(Duration.ofMillis(10).toNanos());
+        assertEquals(5, limiter.getLimit());
+
+        limiter.onSuccess(Duration.ofMillis(500).toNanos());
+        assertEquals(2, limiter.getLimit());
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(breaker.tryAcquire());
+        }
+        assertEquals(CarrierCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
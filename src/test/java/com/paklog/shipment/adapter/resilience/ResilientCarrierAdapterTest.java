@@ -0,0 +1,170 @@
+package com.paklog.shipment.adapter.resilience;
+
+import com.paklog.shipment.adapter.BlockingCarrierAdapterBridge;
+import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.adapter.http.CarrierHttpClient;
+import com.paklog.shipment.adapter.ratelimit.RateLimitedCarrierAdapter;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.exception.CarrierException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientCarrierAdapterTest {
+
+    private static final TrackingNumber TRACKING_NUMBER = TrackingNumber.of("trk-1");
+
+    @Mock
+    private ICarrierAdapter delegate;
+
+    private ExecutorService executor;
+    private CarrierCircuitBreaker circuitBreaker;
+    private AimdConcurrencyLimiter concurrencyLimiter;
+    private ResilientCarrierAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        circuitBreaker = new CarrierCircuitBreaker(0.5, 4, 4, Duration.ofMinutes(1), 1, Clock.systemUTC());
+        concurrencyLimiter = new AimdConcurrencyLimiter(10, 1, 20, 0.5, Duration.ofSeconds(1).toNanos());
+        lenient().when(delegate.getCarrierName()).thenReturn(CarrierName.FEDEX);
+        adapter = new ResilientCarrierAdapter(delegate, circuitBreaker, concurrencyLimiter,
+                Duration.ofMillis(100), executor, new MetricsService(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void passesResultsThrough() {
+        when(delegate.getTrackingStatus(TRACKING_NUMBER)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), adapter.getTrackingStatus(TRACKING_NUMBER));
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void abandonsCallsThatExceedTimeoutAndBacksOffConcurrency() {
+        when(delegate.getTrackingStatus(TRACKING_NUMBER)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return Optional.empty();
+        });
+
+        CarrierException ex = assertThrows(CarrierException.class, () -> adapter.getTrackingStatus(TRACKING_NUMBER));
+
+        assertEquals(ResilientCarrierAdapter.TIMEOUT, ex.getErrorCode());
+        assertEquals(5, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    void bridgedCallsRunOnTheBridgingThread() throws Exception {
+        ExecutorService carrierIo = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "carrier-io-test"));
+        try {
+            when(delegate.getTrackingStatus(TRACKING_NUMBER)).thenAnswer(invocation -> {
+                assertEquals("carrier-io-test", Thread.currentThread().getName());
+                return Optional.empty();
+            });
+            BlockingCarrierAdapterBridge bridge = new BlockingCarrierAdapterBridge(adapter, carrierIo);
+
+            assertEquals(Optional.empty(), bridge.getTrackingStatus(TRACKING_NUMBER).get(1, TimeUnit.SECONDS));
+            assertEquals(0, concurrencyLimiter.getInFlight());
+        } finally {
+            carrierIo.shutdownNow();
+        }
+    }
+
+    @Test
+    void bridgedCallsThatExceedTimeoutAreInterruptedInPlace() throws Exception {
+        ExecutorService carrierIo = Executors.newSingleThreadExecutor();
+        try {
+            when(delegate.getTrackingStatus(TRACKING_NUMBER)).thenAnswer(invocation -> {
+                Thread.sleep(5_000);
+                return Optional.empty();
+            });
+            BlockingCarrierAdapterBridge bridge = new BlockingCarrierAdapterBridge(adapter, carrierIo);
+
+            ExecutionException ex = assertThrows(ExecutionException.class,
+                    () -> bridge.getTrackingStatus(TRACKING_NUMBER).get(2, TimeUnit.SECONDS));
+
+            assertEquals(ResilientCarrierAdapter.TIMEOUT, ((CarrierException) ex.getCause()).getErrorCode());
+            assertEquals(5, concurrencyLimiter.getLimit());
+            // The interrupt that ended the call must not carry over to the next task on the thread.
+            assertFalse(carrierIo.submit(() -> Thread.currentThread().isInterrupted()).get(1, TimeUnit.SECONDS));
+        } finally {
+            carrierIo.shutdownNow();
+        }
+    }
+
+    @Test
+    void opensCircuitAfterRepeatedFailuresAndFailsFast() {
+        when(delegate.getTrackingStatus(TRACKING_NUMBER))
+                .thenThrow(new CarrierException("boom", "FEDEX", CarrierHttpClient.SERVER_ERROR, null));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(CarrierException.class, () -> adapter.getTrackingStatus(TRACKING_NUMBER));
+        }
+
+        CarrierException ex = assertThrows(CarrierException.class, () -> adapter.getTrackingStatus(TRACKING_NUMBER));
+
+        assertEquals(ResilientCarrierAdapter.CIRCUIT_OPEN, ex.getErrorCode());
+        assertEquals(CarrierCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(delegate, times(4)).getTrackingStatus(any());
+    }
+
+    @Test
+    void carrierRefusalsAndCallsHeldBackLocallyLeaveTheCircuitClosed() {
+        when(delegate.getTrackingStatus(TRACKING_NUMBER))
+                .thenThrow(new CarrierException("unknown tracking number", "FEDEX"))
+                .thenThrow(new CarrierException("throttled", "FEDEX", RateLimitedCarrierAdapter.RATE_LIMITED, null));
+        for (int i = 0; i < 8; i++) {
+            assertThrows(CarrierException.class, () -> adapter.getTrackingStatus(TRACKING_NUMBER));
+        }
+
+        assertEquals(CarrierCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        verify(delegate, times(8)).getTrackingStatus(any());
+    }
+
+    @Test
+    void countsTransportErrorsAsCarrierFaults() {
+        assertEquals(ResilientCarrierAdapter.FailureKind.CARRIER_FAULT, ResilientCarrierAdapter.classify(
+                new CarrierException("reset", "FEDEX", null, new IOException("connection reset"))));
+        assertEquals(ResilientCarrierAdapter.FailureKind.CARRIER_ANSWERED, ResilientCarrierAdapter.classify(
+                new CarrierException("invalid address", "FEDEX")));
+        assertEquals(ResilientCarrierAdapter.FailureKind.NOT_SENT, ResilientCarrierAdapter.classify(
+                new CarrierException("no slot", "FEDEX", CarrierHttpClient.POOL_EXHAUSTED, null)));
+    }
+
+    @Test
+    void rejectsWhenConcurrencyLimitIsReached() {
+        AimdConcurrencyLimiter saturated = new AimdConcurrencyLimiter(1, 1, 1, 0.5, Long.MAX_VALUE);
+        assertTrue(saturated.tryAcquire());
+        ResilientCarrierAdapter limited = new ResilientCarrierAdapter(delegate, circuitBreaker, saturated,
+                Duration.ofMillis(100), executor, new MetricsService(new SimpleMeterRegistry()));
+
+        CarrierException ex = assertThrows(CarrierException.class, () -> limited.getTrackingStatus(TRACKING_NUMBER));
+
+        assertEquals(ResilientCarrierAdapter.LIMIT_EXCEEDED, ex.getErrorCode());
+        verify(delegate, never()).getTrackingStatus(any());
+    }
+}
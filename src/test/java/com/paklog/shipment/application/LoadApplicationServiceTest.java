@@ -2,12 +2,17 @@ package com.paklog.shipment.application;
 
 import com.paklog.shipment.TestFixtures;
 import com.paklog.shipment.adapter.ICarrierAdapter;
+import com.paklog.shipment.application.exception.LoadNotFoundException;
+import com.paklog.shipment.application.exception.PreconditionFailedException;
+import com.paklog.shipment.config.RateQuoteCacheProperties;
 import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.Load;
 import com.paklog.shipment.domain.LoadId;
 import com.paklog.shipment.domain.LoadStatus;
 import com.paklog.shipment.domain.Location;
+import com.paklog.shipment.domain.OrderId;
 import com.paklog.shipment.domain.Pickup;
+import com.paklog.shipment.domain.Shipment;
 import com.paklog.shipment.domain.ShipmentId;
 import com.paklog.shipment.domain.ShippingCost;
 import com.paklog.shipment.domain.Tender;
@@ -20,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -28,6 +34,8 @@ import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,7 +57,8 @@ class LoadApplicationServiceTest {
     void setUp() {
         metricsService = new MetricsService(new SimpleMeterRegistry());
         when(carrierAdapter.getCarrierName()).thenReturn(CarrierName.FEDEX);
-        service = new LoadApplicationService(loadRepository, shipmentRepository, List.of(carrierAdapter), metricsService);
+        RateQuoteCache rateQuoteCache = new RateQuoteCache(new RateQuoteCacheProperties(), metricsService);
+        service = new LoadApplicationService(loadRepository, shipmentRepository, List.of(carrierAdapter), metricsService, rateQuoteCache);
     }
 
     @Test
@@ -67,61 +76,229 @@ class LoadApplicationServiceTest {
     }
 
     @Test
-    void assignShipmentsToLoadAddsIdentifiers() {
-        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, CarrierName.FEDEX);
+    void rateLoadReusesCachedQuoteForSameLane() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        load.assignCarrier(CarrierName.FEDEX);
         when(loadRepository.findById(load.getId())).thenReturn(Optional.of(load));
+        ShippingCost expected = new ShippingCost(new BigDecimal("125.50"), "USD", 3);
+        when(carrierAdapter.rateLoad(load)).thenReturn(expected);
 
+        service.rateLoad(load.getId());
+        ShippingCost result = service.rateLoad(load.getId());
+
+        assertEquals(expected, result);
+        verify(carrierAdapter, times(1)).rateLoad(load);
+        assertEquals(0.5, metricsService.rateQuoteCacheHitRatio());
+    }
+
+    @Test
+    void assignShipmentsToLoadAddsIdentifiersInOneWrite() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, CarrierName.FEDEX);
         ShipmentId newShipment = ShipmentId.generate();
-        service.assignShipmentsToLoad(load.getId(), Set.of(newShipment.getValue()));
+        when(loadRepository.addShipments(eq(load.getId()), isNull(), anySet())).thenReturn(Optional.of(load));
 
-        boolean present = load.getShipmentIds().stream()
-                .anyMatch(id -> id.getValue().equals(newShipment.getValue()));
-        assertTrue(present);
-        verify(loadRepository).save(load);
+        assertSame(load, service.assignShipmentsToLoad(load.getId(), Set.of(newShipment.getValue())));
+
+        verify(loadRepository, never()).findById(any());
+        verify(loadRepository, never()).save(any());
     }
 
     @Test
-    void tenderLoadCreatesPendingTender() {
+    void assignShipmentsToLoadRecordsTheLoadOnEachShipment() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, CarrierName.FEDEX);
+        Shipment shipment = Shipment.create(OrderId.of("order-1"), CarrierName.FEDEX, OffsetDateTime.now());
+        when(shipmentRepository.findAllById(List.of(shipment.getId()))).thenReturn(List.of(shipment));
+        when(loadRepository.addShipments(eq(load.getId()), isNull(), anySet())).thenReturn(Optional.of(load));
+
+        service.assignShipmentsToLoad(load.getId(), Set.of(shipment.getId().getValue()));
+
+        assertEquals(load.getId(), shipment.getAssignedLoadId());
+        verify(shipmentRepository).save(shipment);
+    }
+
+    @Test
+    void assignShipmentsToLoadRefusesShipmentsOnAnotherLoad() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, CarrierName.FEDEX);
+        Shipment shipment = Shipment.create(OrderId.of("order-1"), CarrierName.FEDEX, OffsetDateTime.now());
+        shipment.assignToLoad(LoadId.generate());
+        when(shipmentRepository.findAllById(List.of(shipment.getId()))).thenReturn(List.of(shipment));
+
+        assertThrows(IllegalStateException.class,
+                () -> service.assignShipmentsToLoad(load.getId(), Set.of(shipment.getId().getValue())));
+        verify(loadRepository, never()).addShipments(any(), any(), any());
+        verify(shipmentRepository, never()).save(any());
+    }
+
+    @Test
+    void assignShipmentsToLoadReleasesClaimedShipmentsWhenTheLoadWriteFails() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, CarrierName.FEDEX);
+        Shipment shipment = Shipment.create(OrderId.of("order-1"), CarrierName.FEDEX, OffsetDateTime.now());
+        when(shipmentRepository.findAllById(List.of(shipment.getId()))).thenReturn(List.of(shipment));
+        when(loadRepository.addShipments(eq(load.getId()), isNull(), anySet()))
+                .thenThrow(new OptimisticLockingFailureException("conflict"));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> service.assignShipmentsToLoad(load.getId(), Set.of(shipment.getId().getValue())));
+
+        assertNull(shipment.getAssignedLoadId());
+        verify(shipmentRepository, times(2)).save(shipment);
+    }
+
+    @Test
+    void removeShipmentFromLoadClearsTheAssignment() {
         Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
-        load.assignCarrier(CarrierName.FEDEX);
+        Shipment shipment = Shipment.create(OrderId.of("order-1"), CarrierName.FEDEX, OffsetDateTime.now());
+        load.addShipments(Set.of(shipment.getId()));
+        shipment.assignToLoad(load.getId());
         when(loadRepository.findById(load.getId())).thenReturn(Optional.of(load));
+        when(shipmentRepository.findAllById(List.of(shipment.getId()))).thenReturn(List.of(shipment));
 
-        OffsetDateTime expiresAt = OffsetDateTime.parse("2024-05-10T17:00:00Z");
-        Load updated = service.tenderLoad(load.getId(), expiresAt, "call carrier");
+        service.removeShipmentFromLoad(load.getId(), shipment.getId());
 
-        assertEquals(TenderStatus.PENDING, updated.getTender().status());
-        assertEquals(expiresAt, updated.getTender().expiresAt());
+        assertNull(shipment.getAssignedLoadId());
         verify(loadRepository).save(load);
+        verify(shipmentRepository).save(shipment);
     }
 
     @Test
-    void recordTenderDecisionUpdatesStatus() {
+    void assignCarrierRejectedByStateSurfacesDomainError() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.BOOKED, CarrierName.FEDEX);
+        when(loadRepository.assignCarrier(load.getId(), null, CarrierName.UPS)).thenReturn(Optional.empty());
+        when(loadRepository.findById(load.getId())).thenReturn(Optional.of(load));
+
+        assertThrows(IllegalStateException.class,
+                () -> service.assignCarrier(load.getId(), CarrierName.UPS, null, null, null, null));
+        verify(loadRepository, never()).save(any());
+    }
+
+    @Test
+    void assignCarrierRejectedByVersionFailsPrecondition() {
         Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
-        load.assignCarrier(CarrierName.FEDEX);
+        load.markPersisted(5L);
+        when(loadRepository.assignCarrier(load.getId(), 4L, CarrierName.UPS)).thenReturn(Optional.empty());
         when(loadRepository.findById(load.getId())).thenReturn(Optional.of(load));
 
-        service.tenderLoad(load.getId(), OffsetDateTime.parse("2024-05-10T17:00:00Z"), null);
-        Load updated = service.recordTenderDecision(load.getId(), Tender.Decision.ACCEPTED, "ops@carrier.com", "confirmed");
+        assertThrows(PreconditionFailedException.class,
+                () -> service.assignCarrier(load.getId(), CarrierName.UPS, null, null, null, 4L));
+    }
+
+    @Test
+    void assignCarrierRejectedButNowAllowedIsAConcurrentModification() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        when(loadRepository.assignCarrier(load.getId(), null, CarrierName.UPS)).thenReturn(Optional.empty());
+        when(loadRepository.findById(load.getId())).thenReturn(Optional.of(load));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> service.assignCarrier(load.getId(), CarrierName.UPS, null, null, null, null));
+    }
+
+    @Test
+    void tenderLoadCreatesPendingTender() {
+        Load tendered = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        tendered.assignCarrier(CarrierName.FEDEX);
+        OffsetDateTime expiresAt = OffsetDateTime.parse("2024-05-10T17:00:00Z");
+        tendered.tenderLoad(expiresAt, "call carrier");
+        when(loadRepository.tender(tendered.getId(), null, Tender.pending(expiresAt, "call carrier"), true))
+                .thenReturn(Optional.of(tendered));
+
+        LoadChange change = service.tenderLoad(tendered.getId(), expiresAt, "call carrier", null);
+
+        assertTrue(change.created());
+        assertEquals(TenderStatus.PENDING, change.load().getTender().status());
+        verify(loadRepository, never()).tender(any(), any(), any(), eq(false));
+    }
+
+    @Test
+    void tenderLoadReplacesExistingTender() {
+        Load tendered = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        tendered.assignCarrier(CarrierName.FEDEX);
+        OffsetDateTime expiresAt = OffsetDateTime.parse("2024-05-10T17:00:00Z");
+        tendered.tenderLoad(expiresAt, null);
+        when(loadRepository.tender(any(), any(), any(), eq(true))).thenReturn(Optional.empty());
+        when(loadRepository.tender(any(), any(), any(), eq(false))).thenReturn(Optional.of(tendered));
+
+        LoadChange change = service.tenderLoad(tendered.getId(), expiresAt, null, null);
+
+        assertFalse(change.created());
+        verify(loadRepository, never()).findById(any());
+    }
+
+    @Test
+    void recordTenderDecisionUsesConditionalWrite() {
+        Load accepted = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        accepted.assignCarrier(CarrierName.FEDEX);
+        accepted.tenderLoad(OffsetDateTime.parse("2024-05-10T17:00:00Z"), null);
+        accepted.recordTenderDecision(Tender.Decision.ACCEPTED, "ops@carrier.com", "confirmed");
+        when(loadRepository.recordTenderDecision(accepted.getId(), 7L, Tender.Decision.ACCEPTED, "ops@carrier.com", "confirmed"))
+                .thenReturn(Optional.of(accepted));
+
+        Load updated = service.recordTenderDecision(accepted.getId(), Tender.Decision.ACCEPTED, "ops@carrier.com", "confirmed", 7L);
 
         assertEquals(LoadStatus.TENDER_ACCEPTED, updated.getStatus());
         assertEquals(TenderStatus.ACCEPTED, updated.getTender().status());
-        verify(loadRepository, times(2)).save(load);
     }
 
     @Test
-    void schedulePickupSetsPickupDetails() {
-        Load load = TestFixtures.sampleLoad(LoadStatus.BOOKED, CarrierName.FEDEX);
+    void recordTenderDecisionWithoutPendingTenderSurfacesDomainError() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        when(loadRepository.recordTenderDecision(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
         when(loadRepository.findById(load.getId())).thenReturn(Optional.of(load));
 
+        assertThrows(IllegalStateException.class,
+                () -> service.recordTenderDecision(load.getId(), Tender.Decision.ACCEPTED, "ops", null, null));
+    }
+
+    @Test
+    void schedulePickupSetsPickupDetails() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.BOOKED, CarrierName.FEDEX);
         Location location = TestFixtures.sampleLocation();
         OffsetDateTime scheduledFor = OffsetDateTime.parse("2024-05-15T14:00:00Z");
+        when(loadRepository.schedulePickup(eq(load.getId()), isNull(), any(Pickup.class), eq(true))).thenAnswer(invocation -> {
+            Pickup pickup = invocation.getArgument(2);
+            load.schedulePickup(pickup.confirmationNumber(), pickup.scheduledFor(), pickup.location(),
+                    pickup.contactName(), pickup.contactPhone(), pickup.instructions());
+            return Optional.of(load);
+        });
 
-        Load result = service.schedulePickup(load.getId(), scheduledFor, location, "Dock", "123", "Instructions");
+        LoadChange change = service.schedulePickup(load.getId(), scheduledFor, location, "Dock", "123", "Instructions", null);
 
-        Pickup pickup = result.getPickup();
+        assertTrue(change.created());
+        Pickup pickup = change.load().getPickup();
         assertNotNull(pickup);
+        assertNotNull(pickup.confirmationNumber());
         assertEquals(scheduledFor, pickup.scheduledFor());
         assertEquals(location, pickup.location());
+    }
+
+    @Test
+    void schedulePickupOnMissingLoadIsNotFound() {
+        LoadId loadId = LoadId.generate();
+        when(loadRepository.schedulePickup(any(), any(), any(), anyBoolean())).thenReturn(Optional.empty());
+        when(loadRepository.findById(loadId)).thenReturn(Optional.empty());
+
+        assertThrows(LoadNotFoundException.class,
+                () -> service.schedulePickup(loadId, OffsetDateTime.now(), TestFixtures.sampleLocation(), null, null, null, null));
+    }
+
+    @Test
+    void writeWithStaleExpectedVersionFailsPrecondition() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.TENDERED, CarrierName.FEDEX);
+        load.markPersisted(2L);
+        when(loadRepository.findById(load.getId())).thenReturn(Optional.of(load));
+
+        assertThrows(PreconditionFailedException.class, () -> service.unassignCarrier(load.getId(), 1L));
+        verify(loadRepository, never()).save(any());
+    }
+
+    @Test
+    void writeWithCurrentExpectedVersionSaves() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.TENDERED, CarrierName.FEDEX);
+        load.markPersisted(2L);
+        when(loadRepository.findById(load.getId())).thenReturn(Optional.of(load));
+
+        service.unassignCarrier(load.getId(), 2L);
+
+        assertNull(load.getCarrierName());
         verify(loadRepository).save(load);
     }
 }
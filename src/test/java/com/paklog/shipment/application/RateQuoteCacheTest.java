@@ -0,0 +1,134 @@
+package com.paklog.shipment.application;
+
+import com.paklog.shipment.TestFixtures;
+import com.paklog.shipment.config.RateQuoteCacheProperties;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.domain.ShippingCost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateQuoteCacheTest {
+
+    private static final ShippingCost COST = new ShippingCost(new BigDecimal("42.00"), "USD", 2);
+
+    private MutableClock clock;
+    private RateQuoteCacheProperties properties;
+    private MetricsService metricsService;
+    private RateQuoteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-01T08:00:00Z"));
+        properties = new RateQuoteCacheProperties();
+        properties.setTtl(Duration.ofMinutes(30));
+        metricsService = new MetricsService(new SimpleMeterRegistry());
+        cache = new RateQuoteCache(properties, metricsService, clock);
+    }
+
+    @Test
+    void keyNormalizesLaneToCountryAndPostalPrefix() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, CarrierName.FEDEX);
+
+        RateQuoteKey key = RateQuoteKey.of(load, "2024-Q2");
+
+        assertEquals("US-972", key.originZone());
+        assertEquals("US-802", key.destinationZone());
+        assertEquals(1, key.pieceCount());
+    }
+
+    @Test
+    void servesRepeatedLookupsFromCacheUntilTtlExpires() {
+        RateQuoteKey key = sampleKey("v1");
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.getOrQuote(key, () -> quote(calls));
+        cache.getOrQuote(key, () -> quote(calls));
+        assertEquals(1, calls.get());
+
+        clock.advance(Duration.ofMinutes(31));
+        cache.getOrQuote(key, () -> quote(calls));
+        assertEquals(2, calls.get());
+        assertEquals(1.0 / 3.0, metricsService.rateQuoteCacheHitRatio(), 1e-9);
+    }
+
+    @Test
+    void newRateCardVersionMissesCache() {
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.getOrQuote(sampleKey("v1"), () -> quote(calls));
+        cache.getOrQuote(sampleKey("v2"), () -> quote(calls));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void invalidateCarrierDropsOnlyThatCarriersQuotes() {
+        AtomicInteger calls = new AtomicInteger();
+        cache.getOrQuote(sampleKey("v1"), () -> quote(calls));
+        cache.getOrQuote(new RateQuoteKey(CarrierName.UPS, "US-972", "US-802", 1, "v1"), () -> quote(calls));
+
+        cache.invalidateCarrier(CarrierName.FEDEX);
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void staysWithinConfiguredBound() {
+        properties.setMaxEntries(2);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int pieces = 1; pieces <= 5; pieces++) {
+            cache.getOrQuote(new RateQuoteKey(CarrierName.FEDEX, "US-972", "US-802", pieces, "v1"), () -> quote(calls));
+        }
+
+        assertTrue(cache.size() <= 2);
+    }
+
+    private RateQuoteKey sampleKey(String rateCardVersion) {
+        return new RateQuoteKey(CarrierName.FEDEX, "US-972", "US-802", 1, rateCardVersion);
+    }
+
+    private ShippingCost quote(AtomicInteger calls) {
+        calls.incrementAndGet();
+        return COST;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
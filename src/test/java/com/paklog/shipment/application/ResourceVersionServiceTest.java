@@ -0,0 +1,160 @@
+package com.paklog.shipment.application;
+
+import com.paklog.shipment.application.exception.LoadNotFoundException;
+import com.paklog.shipment.application.exception.ShipmentNotFoundException;
+import com.paklog.shipment.config.ResourceVersionCacheProperties;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.repository.ILoadRepository;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceVersionServiceTest {
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @Mock
+    private ILoadRepository loadRepository;
+
+    private MutableClock clock;
+    private ResourceVersionCacheProperties properties;
+    private ResourceVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-01T08:00:00Z"));
+        properties = new ResourceVersionCacheProperties();
+        properties.setTtl(Duration.ofSeconds(2));
+        service = new ResourceVersionService(shipmentRepository, loadRepository, properties, clock);
+    }
+
+    @Test
+    void servesRepeatedLoadLookupsFromCacheUntilTtlExpires() {
+        LoadId loadId = LoadId.generate();
+        when(loadRepository.findVersion(loadId)).thenReturn(Optional.of(100L), Optional.of(200L));
+
+        assertEquals(100L, service.loadVersion(loadId));
+        assertEquals(100L, service.loadVersion(loadId));
+
+        clock.advance(Duration.ofSeconds(3));
+        assertEquals(200L, service.loadVersion(loadId));
+        verify(loadRepository, times(2)).findVersion(loadId);
+    }
+
+    @Test
+    void freshLoadVersionAlwaysReadsAndRefreshesCache() {
+        LoadId loadId = LoadId.generate();
+        when(loadRepository.findVersion(loadId)).thenReturn(Optional.of(100L), Optional.of(200L));
+
+        assertEquals(100L, service.loadVersion(loadId));
+        assertEquals(200L, service.freshLoadVersion(loadId));
+        assertEquals(200L, service.loadVersion(loadId));
+        verify(loadRepository, times(2)).findVersion(loadId);
+    }
+
+    @Test
+    void evictForcesNextLookupToRead() {
+        ShipmentId shipmentId = ShipmentId.generate();
+        when(shipmentRepository.findVersion(shipmentId)).thenReturn(Optional.of(1L), Optional.of(2L));
+
+        service.shipmentVersion(shipmentId);
+        service.evict(shipmentId);
+
+        assertEquals(2L, service.shipmentVersion(shipmentId));
+    }
+
+    @Test
+    void shipmentLookupsHitAndEvictByValue() {
+        ShipmentId shipmentId = ShipmentId.generate();
+        ShipmentId sameShipment = ShipmentId.of(shipmentId.getValue().toString());
+        when(shipmentRepository.findVersion(any())).thenReturn(Optional.of(1L), Optional.of(2L));
+
+        assertEquals(1L, service.shipmentVersion(shipmentId));
+        assertEquals(1L, service.shipmentVersion(sameShipment));
+        assertEquals(1, service.size());
+
+        service.evict(ShipmentId.of(shipmentId.getValue()));
+
+        assertEquals(2L, service.shipmentVersion(sameShipment));
+        verify(shipmentRepository, times(2)).findVersion(any());
+    }
+
+    @Test
+    void missingResourcesRaiseNotFound() {
+        LoadId loadId = LoadId.generate();
+        ShipmentId shipmentId = ShipmentId.generate();
+        when(loadRepository.findVersion(loadId)).thenReturn(Optional.empty());
+        when(shipmentRepository.findVersion(shipmentId)).thenReturn(Optional.empty());
+
+        assertThrows(LoadNotFoundException.class, () -> service.loadVersion(loadId));
+        assertThrows(ShipmentNotFoundException.class, () -> service.shipmentVersion(shipmentId));
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void disabledCacheReadsEveryTime() {
+        properties.setEnabled(false);
+        LoadId loadId = LoadId.generate();
+        when(loadRepository.findVersion(loadId)).thenReturn(Optional.of(100L));
+
+        service.loadVersion(loadId);
+        service.loadVersion(loadId);
+
+        verify(loadRepository, times(2)).findVersion(loadId);
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void staysWithinConfiguredBound() {
+        properties.setMaxEntries(2);
+        when(loadRepository.findVersion(any())).thenReturn(Optional.of(1L));
+
+        for (int i = 0; i < 5; i++) {
+            service.loadVersion(LoadId.generate());
+        }
+
+        assertTrue(service.size() <= 2);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.paklog.shipment.application.command.CreateShipmentCommand;
 import com.paklog.shipment.application.exception.ShipmentCreationException;
 import com.paklog.shipment.application.exception.ShipmentNotFoundException;
 import com.paklog.shipment.application.port.ShipmentEventPublisher;
+import com.paklog.shipment.domain.CarrierAllocation;
 import com.paklog.shipment.domain.CarrierInfo;
 import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.OrderId;
@@ -22,9 +23,12 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -52,6 +56,8 @@ class ShipmentApplicationServiceTest {
     private ShipmentEventPublisher shipmentEventPublisher;
     @Mock
     private ICarrierAdapter carrierAdapter;
+    @Mock
+    private TrackingViewService trackingViews;
 
     private ShipmentApplicationService shipmentService;
 
@@ -68,7 +74,8 @@ class ShipmentApplicationServiceTest {
                 packageRetrievalService,
                 carrierSelectionService,
                 List.of(carrierAdapter),
-                shipmentEventPublisher
+                shipmentEventPublisher,
+                trackingViews
         );
     }
 
@@ -76,7 +83,7 @@ class ShipmentApplicationServiceTest {
     void createShipmentDispatchesAndPersists() {
         Package packageDetails = new Package(PACKAGE_ID, 5.0, 10.0, 10.0, 10.0, "BOX");
         when(packageRetrievalService.getPackageDetails(PACKAGE_ID)).thenReturn(packageDetails);
-        when(carrierSelectionService.selectBestCarrier(packageDetails)).thenReturn(CarrierName.FEDEX);
+        when(carrierSelectionService.allocateCarrier(packageDetails)).thenReturn(CarrierAllocation.untracked(CarrierName.FEDEX));
         when(carrierAdapter.createShipment(packageDetails, OrderId.of(ORDER_ID), PACKAGE_ID))
                 .thenReturn(new CarrierInfo("trk-123", "label-data".getBytes(), CarrierName.FEDEX));
         when(shipmentRepository.save(any(Shipment.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -90,6 +97,7 @@ class ShipmentApplicationServiceTest {
         verify(shipmentEventPublisher).shipmentDispatched(result);
         verify(carrierAdapter).createShipment(packageDetails, OrderId.of(ORDER_ID), PACKAGE_ID);
         verify(shipmentRepository).save(result);
+        verify(carrierSelectionService, never()).releaseAllocation(any());
     }
 
     @Test
@@ -122,7 +130,7 @@ class ShipmentApplicationServiceTest {
     void createShipmentThrowsWhenAdapterMissing() {
         Package packageDetails = new Package(PACKAGE_ID, 5.0, 10.0, 10.0, 10.0, "BOX");
         when(packageRetrievalService.getPackageDetails(PACKAGE_ID)).thenReturn(packageDetails);
-        when(carrierSelectionService.selectBestCarrier(packageDetails)).thenReturn(CarrierName.UPS);
+        when(carrierSelectionService.allocateCarrier(packageDetails)).thenReturn(CarrierAllocation.untracked(CarrierName.UPS));
 
         assertThrows(ShipmentCreationException.class,
                 () -> shipmentService.createShipment(new CreateShipmentCommand(PACKAGE_ID, ORDER_ID)));
@@ -132,13 +140,34 @@ class ShipmentApplicationServiceTest {
     void createShipmentWrapsCarrierExceptions() {
         Package packageDetails = new Package(PACKAGE_ID, 5.0, 10.0, 10.0, 10.0, "BOX");
         when(packageRetrievalService.getPackageDetails(PACKAGE_ID)).thenReturn(packageDetails);
-        when(carrierSelectionService.selectBestCarrier(packageDetails)).thenReturn(CarrierName.FEDEX);
+        when(carrierSelectionService.allocateCarrier(packageDetails)).thenReturn(CarrierAllocation.untracked(CarrierName.FEDEX));
         when(carrierAdapter.createShipment(packageDetails, OrderId.of(ORDER_ID), PACKAGE_ID))
                 .thenThrow(new CarrierException("Carrier down", "FEDEX"));
 
         assertThrows(ShipmentCreationException.class,
                 () -> shipmentService.createShipment(new CreateShipmentCommand(PACKAGE_ID, ORDER_ID)));
         verify(shipmentRepository, never()).save(any());
+        verify(carrierSelectionService).releaseAllocation(CarrierAllocation.untracked(CarrierName.FEDEX));
+    }
+
+    @Test
+    void createShipmentReleasesTheAllocationDayWhenPersistenceFails() {
+        Package packageDetails = new Package(PACKAGE_ID, 5.0, 10.0, 10.0, 10.0, "BOX");
+        CarrierAllocation allocation = new CarrierAllocation(CarrierName.FEDEX, LocalDate.parse("2024-05-01"));
+        when(packageRetrievalService.getPackageDetails(PACKAGE_ID)).thenReturn(packageDetails);
+        when(carrierSelectionService.allocateCarrier(packageDetails)).thenReturn(allocation);
+        when(carrierAdapter.createShipment(packageDetails, OrderId.of(ORDER_ID), PACKAGE_ID))
+                .thenReturn(new CarrierInfo("trk-123", "label-data".getBytes(), CarrierName.FEDEX));
+        when(shipmentRepository.save(any(Shipment.class))).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> shipmentService.createShipment(new CreateShipmentCommand(PACKAGE_ID, ORDER_ID)));
+        // The failure has to come from the save itself, after the carrier booked the parcel.
+        ArgumentCaptor<Shipment> attempted = ArgumentCaptor.forClass(Shipment.class);
+        verify(shipmentRepository).save(attempted.capture());
+        assertEquals(ShipmentStatus.DISPATCHED, attempted.getValue().getStatus());
+        verify(shipmentEventPublisher, never()).shipmentDispatched(any());
+        verify(carrierSelectionService).releaseAllocation(allocation);
     }
 
     @Test
@@ -160,6 +189,16 @@ class ShipmentApplicationServiceTest {
                 () -> shipmentService.getShipmentTracking(missingId));
     }
 
+    @Test
+    void getTrackingEventsThrowsWhenShipmentMissing() {
+        ShipmentId missingId = ShipmentId.generate();
+        when(shipmentRepository.existsById(missingId)).thenReturn(false);
+
+        assertThrows(ShipmentNotFoundException.class,
+                () -> shipmentService.getTrackingEvents(missingId, 0, 20));
+        verify(shipmentRepository, never()).findTrackingEvents(any(), any());
+    }
+
     @Test
     void updateShipmentTrackingPersistsNewEvents() {
         Shipment shipment = createDispatchedShipment();
@@ -173,6 +212,7 @@ class ShipmentApplicationServiceTest {
 
         assertEquals(List.of(newEvent), shipment.getTrackingEvents());
         verify(shipmentRepository).save(shipment);
+        verify(trackingViews).refresh(shipment);
         verify(shipmentEventPublisher, never()).shipmentDelivered(any());
     }
 
@@ -193,6 +233,41 @@ class ShipmentApplicationServiceTest {
         verify(shipmentRepository).save(shipment);
     }
 
+    @Test
+    void updateShipmentTrackingSkipsEventsAlreadyRecorded() {
+        Shipment shipment = createDispatchedShipment();
+        TrackingEvent departed = new TrackingEvent("IN_TRANSIT", "Departed facility", "NY",
+                OffsetDateTime.parse("2024-01-02T00:00:00Z"), "CODE", "Details");
+        TrackingEvent delivered = new TrackingEvent("DELIVERED", "Package delivered", "LA",
+                OffsetDateTime.parse("2024-01-02T10:00:00Z"), "DEL", "Left at door");
+        shipment.addTrackingEvent(departed);
+        when(shipmentRepository.findById(shipment.getId())).thenReturn(Optional.of(shipment));
+
+        shipmentService.updateShipmentTracking(shipment.getId(), new TrackingUpdate(delivered, true, List.of(departed, delivered)));
+
+        assertEquals(List.of(departed, delivered), shipment.getTrackingEvents());
+        assertEquals(ShipmentStatus.DELIVERED, shipment.getStatus());
+        verify(shipmentEventPublisher).shipmentDelivered(shipment);
+    }
+
+    @Test
+    void applyPushedTrackingSkipsRedeliveredEventsAndRecordsPush() {
+        Shipment shipment = createDispatchedShipment();
+        TrackingEvent departed = new TrackingEvent("IN_TRANSIT", "Departed facility", "NY",
+                OffsetDateTime.parse("2024-01-02T00:00:00Z"), "CODE", "Details");
+        TrackingEvent arrived = new TrackingEvent("IN_TRANSIT", "Arrived at hub", "CO",
+                OffsetDateTime.parse("2024-01-02T08:00:00Z"), "AR", "Details");
+        shipment.addTrackingEvent(departed);
+        OffsetDateTime pushedAt = OffsetDateTime.parse("2024-01-02T08:05:00Z");
+
+        shipmentService.applyPushedTracking(shipment, new TrackingUpdate(arrived, false, List.of(departed, arrived)), pushedAt);
+
+        assertEquals(List.of(departed, arrived), shipment.getTrackingEvents());
+        assertEquals(pushedAt, shipment.getTrackingPushedAt());
+        verify(shipmentRepository).save(shipment);
+        verify(trackingViews).refresh(shipment);
+    }
+
     private Shipment createDispatchedShipment() {
         Shipment shipment = Shipment.create(OrderId.of(ORDER_ID), CarrierName.FEDEX,
                 OffsetDateTime.parse("2024-01-01T00:00:00Z"));
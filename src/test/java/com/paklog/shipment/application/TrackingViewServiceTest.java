@@ -0,0 +1,233 @@
+package com.paklog.shipment.application;
+
+import com.paklog.shipment.application.exception.ShipmentNotFoundException;
+import com.paklog.shipment.config.TrackingViewCacheProperties;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.ShipmentStatus;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingView;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrackingViewServiceTest {
+
+    private static final TrackingNumber TRACKING_NUMBER = TrackingNumber.of("TRK123");
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    private MutableClock clock;
+    private TrackingViewCacheProperties properties;
+    private TrackingViewService service;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-01T08:00:00Z"));
+        properties = new TrackingViewCacheProperties();
+        properties.setTtl(Duration.ofMinutes(1));
+        properties.setEventLimit(2);
+        service = new TrackingViewService(shipmentRepository, properties, new MetricsService(new SimpleMeterRegistry()), clock);
+    }
+
+    @Test
+    void servesRepeatedLookupsFromCacheUntilTtlExpires() {
+        when(shipmentRepository.findTrackingView(TRACKING_NUMBER, 2)).thenReturn(Optional.of(view(TRACKING_NUMBER, 1L)));
+
+        service.getTrackingView(TRACKING_NUMBER);
+        service.getTrackingView(TRACKING_NUMBER);
+        clock.advance(Duration.ofMinutes(2));
+        service.getTrackingView(TRACKING_NUMBER);
+
+        verify(shipmentRepository, times(2)).findTrackingView(TRACKING_NUMBER, 2);
+    }
+
+    @Test
+    void refreshReplacesCachedViewWithLatestEventsOnly() {
+        when(shipmentRepository.findTrackingView(TRACKING_NUMBER, 2)).thenReturn(Optional.of(view(TRACKING_NUMBER, 1L)));
+        service.getTrackingView(TRACKING_NUMBER);
+
+        Shipment shipment = Shipment.create(OrderId.of("order-1"), CarrierName.FEDEX, OffsetDateTime.parse("2024-05-01T00:00:00Z"));
+        shipment.dispatch(TRACKING_NUMBER, "label".getBytes(), OffsetDateTime.parse("2024-05-01T01:00:00Z"));
+        for (int hour = 2; hour <= 4; hour++) {
+            shipment.addTrackingEvent(new TrackingEvent("IN_TRANSIT", "Scan " + hour, "Hub",
+                    OffsetDateTime.parse("2024-05-01T0" + hour + ":00:00Z"), "SC", null));
+        }
+        shipment.markPersisted(2L);
+        service.refresh(shipment);
+
+        TrackingView refreshed = service.getTrackingView(TRACKING_NUMBER);
+        assertEquals(2L, refreshed.version());
+        assertEquals(List.of("Scan 3", "Scan 4"),
+                refreshed.recentEvents().stream().map(TrackingEvent::getStatusDescription).toList());
+        verify(shipmentRepository, times(1)).findTrackingView(TRACKING_NUMBER, 2);
+    }
+
+    @Test
+    void refreshDropsViewWhenShipmentHoldsOnlyItsLatestEvent() {
+        when(shipmentRepository.findTrackingView(TRACKING_NUMBER, 2)).thenReturn(Optional.of(view(TRACKING_NUMBER, 1L)));
+        service.getTrackingView(TRACKING_NUMBER);
+
+        OffsetDateTime createdAt = OffsetDateTime.parse("2024-05-01T00:00:00Z");
+        TrackingEvent latest = new TrackingEvent("IN_TRANSIT", "Scan 5", "Hub", createdAt.plusHours(5), "SC", null);
+        Shipment shipment = Shipment.restore(ShipmentId.generate(), OrderId.of("order-1"),
+                CarrierName.FEDEX, TRACKING_NUMBER, "label".getBytes(), ShipmentStatus.IN_TRANSIT, createdAt,
+                createdAt.plusHours(1), null, List.of(latest), null, createdAt.plusHours(5), null, 2L, 5);
+        shipment.markPersisted(3L);
+        service.refresh(shipment);
+
+        assertEquals(0, service.size());
+        service.getTrackingView(TRACKING_NUMBER);
+        verify(shipmentRepository, times(2)).findTrackingView(TRACKING_NUMBER, 2);
+    }
+
+    @Test
+    void staleReadDoesNotOverwriteNewerView() {
+        Shipment shipment = Shipment.create(OrderId.of("order-1"), CarrierName.FEDEX, OffsetDateTime.parse("2024-05-01T00:00:00Z"));
+        shipment.dispatch(TRACKING_NUMBER, "label".getBytes(), OffsetDateTime.parse("2024-05-01T01:00:00Z"));
+        shipment.markPersisted(5L);
+        service.refresh(shipment);
+        clock.advance(Duration.ofMinutes(2));
+        when(shipmentRepository.findTrackingView(TRACKING_NUMBER, 2)).thenReturn(Optional.of(view(TRACKING_NUMBER, 6L)));
+
+        assertEquals(6L, service.getTrackingView(TRACKING_NUMBER).version());
+    }
+
+    @Test
+    void unknownTrackingNumberIsNotFoundAndCachedForTheNegativeTtl() {
+        properties.setNegativeTtl(Duration.ofSeconds(10));
+        when(shipmentRepository.findTrackingView(TRACKING_NUMBER, 2)).thenReturn(Optional.empty());
+
+        assertThrows(ShipmentNotFoundException.class, () -> service.getTrackingView(TRACKING_NUMBER));
+        assertThrows(ShipmentNotFoundException.class, () -> service.getTrackingView(TRACKING_NUMBER));
+        clock.advance(Duration.ofSeconds(11));
+        assertThrows(ShipmentNotFoundException.class, () -> service.getTrackingView(TRACKING_NUMBER));
+
+        verify(shipmentRepository, times(2)).findTrackingView(TRACKING_NUMBER, 2);
+    }
+
+    @Test
+    void refreshReplacesACachedMiss() {
+        when(shipmentRepository.findTrackingView(TRACKING_NUMBER, 2)).thenReturn(Optional.empty());
+        assertThrows(ShipmentNotFoundException.class, () -> service.getTrackingView(TRACKING_NUMBER));
+
+        Shipment shipment = Shipment.create(OrderId.of("order-1"), CarrierName.FEDEX, OffsetDateTime.parse("2024-05-01T00:00:00Z"));
+        shipment.dispatch(TRACKING_NUMBER, "label".getBytes(), OffsetDateTime.parse("2024-05-01T01:00:00Z"));
+        shipment.markPersisted(0L);
+        service.refresh(shipment);
+
+        assertEquals(ShipmentStatus.DISPATCHED, service.getTrackingView(TRACKING_NUMBER).status());
+        verify(shipmentRepository, times(1)).findTrackingView(TRACKING_NUMBER, 2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondBound() {
+        properties.setMaxEntries(2);
+        TrackingNumber first = TrackingNumber.of("TRK1");
+        TrackingNumber second = TrackingNumber.of("TRK2");
+        TrackingNumber third = TrackingNumber.of("TRK3");
+        when(shipmentRepository.findTrackingView(any(), eq(2)))
+                .thenAnswer(invocation -> Optional.of(view(invocation.getArgument(0), 1L)));
+
+        service.getTrackingView(first);
+        service.getTrackingView(second);
+        service.getTrackingView(first);
+        service.getTrackingView(third);
+        service.getTrackingView(first);
+        service.getTrackingView(second);
+
+        assertEquals(2, service.size());
+        verify(shipmentRepository, times(1)).findTrackingView(first, 2);
+        verify(shipmentRepository, times(2)).findTrackingView(second, 2);
+    }
+
+    @Test
+    void evictionSamplesBeyondTheFirstEntriesOfALargeCache() {
+        properties.setMaxEntries(40);
+        when(shipmentRepository.findTrackingView(any(), eq(2)))
+                .thenAnswer(invocation -> Optional.of(view(invocation.getArgument(0), 1L)));
+        for (int i = 0; i < 200; i++) {
+            service.getTrackingView(TrackingNumber.of("TRK" + i));
+        }
+
+        assertTrue(service.size() <= 40);
+        assertTrue(service.size() >= 39);
+    }
+
+    @Test
+    void sweepDropsExpiredEntriesWithoutAnInsert() {
+        when(shipmentRepository.findTrackingView(TRACKING_NUMBER, 2)).thenReturn(Optional.of(view(TRACKING_NUMBER, 1L)));
+        service.getTrackingView(TRACKING_NUMBER);
+
+        service.sweepExpired();
+        assertEquals(1, service.size());
+        clock.advance(Duration.ofMinutes(2));
+        service.sweepExpired();
+
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void disabledCacheReadsEveryTime() {
+        properties.setEnabled(false);
+        when(shipmentRepository.findTrackingView(TRACKING_NUMBER, 2)).thenReturn(Optional.of(view(TRACKING_NUMBER, 1L)));
+
+        service.getTrackingView(TRACKING_NUMBER);
+        service.getTrackingView(TRACKING_NUMBER);
+
+        verify(shipmentRepository, times(2)).findTrackingView(TRACKING_NUMBER, 2);
+        assertEquals(0, service.size());
+    }
+
+    private static TrackingView view(TrackingNumber trackingNumber, long version) {
+        return new TrackingView(trackingNumber, CarrierName.FEDEX, ShipmentStatus.IN_TRANSIT, List.of(),
+                OffsetDateTime.parse("2024-05-01T01:00:00Z"), null, OffsetDateTime.parse("2024-05-01T01:00:00Z"), version);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
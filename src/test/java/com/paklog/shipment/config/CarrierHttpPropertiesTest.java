@@ -0,0 +1,28 @@
+package com.paklog.shipment.config;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarrierHttpPropertiesTest {
+
+    @Test
+    void carrierEntryOverridesOnlyTheSettingsItNames() {
+        CarrierHttpProperties properties = new CarrierHttpProperties();
+        properties.getDefaults().setRequestTimeout(Duration.ofSeconds(3));
+        properties.getDefaults().setHttp2(false);
+        CarrierHttpProperties.ClientOverride fedex = new CarrierHttpProperties.ClientOverride();
+        fedex.setMaxConcurrentRequests(8);
+        properties.getCarriers().put(CarrierName.FEDEX, fedex);
+
+        CarrierHttpProperties.Client merged = properties.forCarrier(CarrierName.FEDEX);
+
+        assertEquals(8, merged.getMaxConcurrentRequests());
+        assertEquals(Duration.ofSeconds(3), merged.getRequestTimeout());
+        assertFalse(merged.isHttp2());
+        assertSame(properties.getDefaults(), properties.forCarrier(CarrierName.UPS));
+    }
+}
@@ -151,4 +151,28 @@ class ShipmentTest {
         assertArrayEquals("label".getBytes(), shipment.getLabelData());
         assertEquals(List.of(event), shipment.getTrackingEvents());
     }
+
+    @Test
+    void restoredShipmentCountsStoredEventsAndTracksOnlyNewOnes() {
+        OffsetDateTime createdAt = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+        TrackingEvent latest = new TrackingEvent("IN_TRANSIT", "Arrived at hub", "Denver",
+                createdAt.plusHours(5), "ARR", null);
+        Shipment shipment = Shipment.restore(ShipmentId.generate(), ORDER_ID, CARRIER, TrackingNumber.of("TRACK123"),
+                "label".getBytes(), ShipmentStatus.IN_TRANSIT, createdAt, createdAt.plusHours(1), null,
+                List.of(latest), null, createdAt.plusHours(5), null, 3L, 4);
+
+        TrackingEvent next = new TrackingEvent("IN_TRANSIT", "Departed hub", "Denver",
+                createdAt.plusHours(6), "DEP", null);
+        shipment.addTrackingEvent(next);
+
+        assertEquals(5, shipment.getTrackingEventCount());
+        assertEquals(List.of(next), shipment.getUnsavedTrackingEvents());
+        assertEquals(next, shipment.getLatestTrackingEvent());
+        assertFalse(shipment.holdsFullTrackingHistory());
+
+        shipment.markPersisted(4L);
+
+        assertTrue(shipment.getUnsavedTrackingEvents().isEmpty());
+        assertEquals(5, shipment.getTrackingEventCount());
+    }
 }
@@ -0,0 +1,52 @@
+package com.paklog.shipment.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackingEventTest {
+
+    @Test
+    void vocabularyFieldsShareOneInstanceAcrossEvents() {
+        TrackingEvent first = event(new String("IN_TRANSIT"), new String("Memphis, TN"), "2024-05-01T10:00:00Z");
+        TrackingEvent second = event(new String("IN_TRANSIT"), new String("Memphis, TN"), "2024-05-01T11:00:00Z");
+
+        assertSame(first.getStatus(), second.getStatus());
+        assertSame(first.getLocation(), second.getLocation());
+        assertSame(first.getEventCode(), second.getEventCode());
+    }
+
+    @Test
+    void freeTextIsNotPooled() {
+        String longText = "x".repeat(TrackingVocabulary.MAX_LENGTH + 1);
+
+        assertNotSame(TrackingVocabulary.canonical(new String(longText)), TrackingVocabulary.canonical(new String(longText)));
+    }
+
+    @Test
+    void timestampKeepsItsOffsetAtMillisecondPrecision() {
+        TrackingEvent event = event("IN_TRANSIT", "Hub", "2024-05-01T10:00:00.123456-05:00");
+
+        assertEquals(OffsetDateTime.parse("2024-05-01T10:00:00.123-05:00"), event.getTimestamp());
+        assertEquals(-5 * 3600, event.getOffsetSeconds());
+    }
+
+    @Test
+    void restoreRebuildsTheSameEvent() {
+        TrackingEvent event = event("IN_TRANSIT", "Hub", "2024-05-01T10:00:00+02:00");
+
+        TrackingEvent restored = TrackingEvent.restore(event.getStatus(), event.getStatusDescription(), event.getLocation(),
+                event.getEpochMilli(), event.getOffsetSeconds(), event.getEventCode(), event.getDetailedDescription());
+
+        assertEquals(event.getTimestamp(), restored.getTimestamp());
+        assertSame(event.getStatus(), restored.getStatus());
+        assertFalse(restored.isAfter(event));
+        assertTrue(event("IN_TRANSIT", "Hub", "2024-05-01T08:00:01Z").isAfter(event));
+    }
+
+    private static TrackingEvent event(String status, String location, String timestamp) {
+        return new TrackingEvent(status, "Departed facility", location, OffsetDateTime.parse(timestamp), "DEP", null);
+    }
+}
@@ -1,5 +1,7 @@
 package com.paklog.shipment.domain.services;
 
+import com.paklog.shipment.domain.CarrierAllocation;
+import com.paklog.shipment.domain.CarrierCapacityGate;
 import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.CarrierSelectionStrategy;
 import com.paklog.shipment.domain.Package;
@@ -10,7 +12,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,6 +27,9 @@ class CarrierSelectionServiceTest {
     @Mock
     private CarrierSelectionStrategy carrierSelectionStrategy;
 
+    @Mock
+    private CarrierCapacityGate capacityGate;
+
     @InjectMocks
     private CarrierSelectionService carrierSelectionService;
 
@@ -33,11 +44,35 @@ class CarrierSelectionServiceTest {
     void testSelectCarrier() {
         // Arrange
         when(carrierSelectionStrategy.selectCarrier(mockPackage)).thenReturn(CarrierName.FEDEX);
+        when(capacityGate.tryAllocate(CarrierName.FEDEX)).thenReturn(Optional.of(CarrierAllocation.untracked(CarrierName.FEDEX)));
 
         // Act
-        CarrierName selectedCarrier = carrierSelectionService.selectBestCarrier(mockPackage);
+        CarrierAllocation allocation = carrierSelectionService.allocateCarrier(mockPackage);
 
         // Assert
-        assertEquals(CarrierName.FEDEX, selectedCarrier);
+        assertEquals(CarrierName.FEDEX, allocation.carrier());
+    }
+
+    @Test
+    void spillsOverToNextRankedCarrierWhenPreferredIsFull() {
+        when(carrierSelectionStrategy.selectCarrier(mockPackage)).thenReturn(CarrierName.FEDEX);
+        when(carrierSelectionStrategy.rankCarriers(mockPackage)).thenReturn(List.of(CarrierName.FEDEX, CarrierName.DHL, CarrierName.UPS));
+        CarrierAllocation ups = new CarrierAllocation(CarrierName.UPS, LocalDate.parse("2024-05-01"));
+        when(capacityGate.tryAllocate(CarrierName.FEDEX)).thenReturn(Optional.empty());
+        when(capacityGate.tryAllocate(CarrierName.DHL)).thenReturn(Optional.empty());
+        when(capacityGate.tryAllocate(CarrierName.UPS)).thenReturn(Optional.of(ups));
+
+        assertEquals(ups, carrierSelectionService.allocateCarrier(mockPackage));
+    }
+
+    @Test
+    void keepsPreferredCarrierWhenEveryCarrierIsFull() {
+        when(carrierSelectionStrategy.selectCarrier(mockPackage)).thenReturn(CarrierName.FEDEX);
+        when(carrierSelectionStrategy.rankCarriers(mockPackage)).thenReturn(List.of(CarrierName.FEDEX, CarrierName.UPS));
+        when(capacityGate.tryAllocate(any())).thenReturn(Optional.empty());
+        when(capacityGate.forceAllocate(CarrierName.FEDEX)).thenReturn(CarrierAllocation.untracked(CarrierName.FEDEX));
+
+        assertEquals(CarrierName.FEDEX, carrierSelectionService.allocateCarrier(mockPackage).carrier());
+        verify(capacityGate).forceAllocate(CarrierName.FEDEX);
     }
 }
@@ -0,0 +1,99 @@
+package com.paklog.shipment.domain.services;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.CarrierRoutingRule;
+import com.paklog.shipment.domain.Package;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RuleTableCarrierSelectionStrategyTest {
+
+    private RuleTableCarrierSelectionStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new RuleTableCarrierSelectionStrategy(packageDetails -> CarrierName.USPS);
+        strategy.reload(List.of(
+                new CarrierRoutingRule("envelopes", 10, CarrierName.DHL, 0, 1, 40, Set.of("ENVELOPE")),
+                new CarrierRoutingRule("light", 100, CarrierName.FEDEX, 0, 5, 120, Set.of()),
+                new CarrierRoutingRule("heavy", 100, CarrierName.UPS, 5, 70, 120, Set.of()),
+                new CarrierRoutingRule("oversize-light", 200, CarrierName.UPS, 0, 5, 300, Set.of())
+        ));
+    }
+
+    @Test
+    void picksHighestPriorityRuleForPackageType() {
+        assertEquals(CarrierName.DHL, strategy.selectCarrier(new Package("pkg-1", 0.5, 30, 20, 1, "ENVELOPE")));
+    }
+
+    @Test
+    void typedPackagesStillMatchUntypedRules() {
+        assertEquals(CarrierName.FEDEX, strategy.selectCarrier(new Package("pkg-2", 3.0, 30, 20, 1, "ENVELOPE")));
+    }
+
+    @Test
+    void weightBoundaryBelongsToUpperRange() {
+        assertEquals(CarrierName.FEDEX, strategy.selectCarrier(new Package("pkg-3", 4.99, 10, 10, 10, "BOX")));
+        assertEquals(CarrierName.UPS, strategy.selectCarrier(new Package("pkg-4", 5.0, 10, 10, 10, "BOX")));
+    }
+
+    @Test
+    void skipsRulesWhoseDimensionLimitIsExceeded() {
+        assertEquals(CarrierName.UPS, strategy.selectCarrier(new Package("pkg-5", 2.0, 200, 10, 10, "TUBE")));
+    }
+
+    @Test
+    void fallsBackWhenNoRuleMatches() {
+        assertEquals(CarrierName.USPS, strategy.selectCarrier(new Package("pkg-6", 90.0, 10, 10, 10, "BOX")));
+    }
+
+    @Test
+    void ranksMatchingCarriersByPriorityWithFallbackLast() {
+        List<CarrierName> ranked = strategy.rankCarriers(new Package("pkg-8", 0.5, 30, 20, 1, "ENVELOPE"));
+
+        assertEquals(List.of(CarrierName.DHL, CarrierName.FEDEX, CarrierName.UPS, CarrierName.USPS), ranked);
+    }
+
+    @Test
+    void rankingDropsCarriersWhoseDimensionLimitIsExceeded() {
+        assertEquals(List.of(CarrierName.UPS, CarrierName.USPS),
+                strategy.rankCarriers(new Package("pkg-9", 2.0, 200, 10, 10, "BOX")));
+        assertEquals(List.of(CarrierName.USPS),
+                strategy.rankCarriers(new Package("pkg-10", 2.0, 400, 10, 10, "BOX")));
+    }
+
+    @Test
+    void rankingIsSharedAcrossPackagesInTheSameBand() {
+        List<CarrierName> first = strategy.rankCarriers(new Package("pkg-11", 1.0, 30, 20, 10, "BOX"));
+        List<CarrierName> second = strategy.rankCarriers(new Package("pkg-12", 4.0, 110, 20, 10, "BOX"));
+
+        assertSame(first, second);
+        assertEquals(List.of(CarrierName.FEDEX, CarrierName.UPS, CarrierName.USPS), first);
+    }
+
+    @Test
+    void reloadSwapsTable() {
+        strategy.reload(List.of(new CarrierRoutingRule("all", 1, CarrierName.DHL, 0, 1000, 1000, Set.of())));
+
+        assertEquals(CarrierName.DHL, strategy.selectCarrier(new Package("pkg-7", 4.0, 10, 10, 10, "BOX")));
+        assertEquals(1, strategy.getRules().size());
+    }
+
+    @Test
+    void rejectsInvalidRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CarrierRoutingRule("empty", 1, CarrierName.UPS, 5, 5, 10, Set.of()));
+    }
+
+    @Test
+    void rejectsNullPackage() {
+        assertThrows(IllegalArgumentException.class, () -> strategy.selectCarrier(null));
+    }
+}
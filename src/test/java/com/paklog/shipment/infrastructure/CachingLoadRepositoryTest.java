@@ -0,0 +1,183 @@
+package com.paklog.shipment.infrastructure;
+
+import com.paklog.shipment.TestFixtures;
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.LoadCacheProperties;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.LoadStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingLoadRepositoryTest {
+
+    private static final String TOPIC = "shipment.load-cache.v1.invalidations";
+
+    @Mock
+    private LoadMongoRepository delegate;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private MutableClock clock;
+    private LoadCacheProperties properties;
+    private CachingLoadRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-01T08:00:00Z"));
+        properties = new LoadCacheProperties();
+        properties.setTtl(Duration.ofSeconds(30));
+        repository = new CachingLoadRepository(delegate, properties, kafkaTemplate,
+                new MetricsService(new SimpleMeterRegistry()), clock);
+    }
+
+    @Test
+    void repeatedLookupsHitMongoOnceAndReturnIndependentCopies() {
+        Load load = persisted(TestFixtures.sampleLoad(LoadStatus.PLANNED, null), 3L);
+        when(delegate.findById(load.getId())).thenReturn(Optional.of(load));
+
+        Load first = repository.findById(load.getId()).orElseThrow();
+        Load second = repository.findById(load.getId()).orElseThrow();
+        second.assignCarrier(CarrierName.FEDEX);
+
+        verify(delegate, times(1)).findById(load.getId());
+        assertEquals(LoadStatus.PLANNED, repository.findById(load.getId()).orElseThrow().getStatus());
+        assertEquals(3L, second.getVersion());
+        assertSame(load, first);
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        Load load = persisted(TestFixtures.sampleLoad(LoadStatus.PLANNED, null), 3L);
+        when(delegate.findById(load.getId())).thenReturn(Optional.of(load));
+
+        repository.findById(load.getId());
+        clock.advance(Duration.ofSeconds(31));
+        repository.findById(load.getId());
+
+        verify(delegate, times(2)).findById(load.getId());
+    }
+
+    @Test
+    void writesRefreshLocalEntryAndPublishNewVersion() {
+        Load load = persisted(TestFixtures.sampleLoad(LoadStatus.PLANNED, null), 4L);
+        when(kafkaTemplate.send(TOPIC, load.getId().getValue().toString(), "4"))
+                .thenReturn(new CompletableFuture<>());
+
+        repository.save(load);
+
+        assertEquals(4L, repository.findById(load.getId()).orElseThrow().getVersion());
+        verify(delegate, never()).findById(any());
+        verify(kafkaTemplate).send(TOPIC, load.getId().getValue().toString(), "4");
+    }
+
+    @Test
+    void peerInvalidationDropsOlderEntryAndRejectsStaleReads() {
+        Load stale = persisted(TestFixtures.sampleLoad(LoadStatus.PLANNED, null), 3L);
+        when(delegate.findById(stale.getId())).thenReturn(Optional.of(stale));
+        repository.findById(stale.getId());
+
+        repository.onInvalidation(new ConsumerRecord<>(TOPIC, 0, 0L, stale.getId().getValue().toString(), "4"));
+        repository.findById(stale.getId());
+        repository.findById(stale.getId());
+
+        // The read after the invalidation returned version 3, older than announced, so it was not cached.
+        verify(delegate, times(3)).findById(stale.getId());
+    }
+
+    @Test
+    void ownInvalidationEchoKeepsTheCurrentEntry() {
+        Load load = persisted(TestFixtures.sampleLoad(LoadStatus.PLANNED, null), 4L);
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+        repository.save(load);
+
+        repository.onInvalidation(new ConsumerRecord<>(TOPIC, 0, 0L, load.getId().getValue().toString(), "4"));
+
+        assertTrue(repository.findById(load.getId()).isPresent());
+        verify(delegate, never()).findById(any());
+    }
+
+    @Test
+    void malformedInvalidationIsIgnored() {
+        repository.onInvalidation(new ConsumerRecord<>(TOPIC, 0, 0L, "not-a-load", "x"));
+
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    void disabledCacheReadsThroughAndPublishesNothing() {
+        properties.setEnabled(false);
+        Load load = persisted(TestFixtures.sampleLoad(LoadStatus.PLANNED, null), 3L);
+        when(delegate.findById(load.getId())).thenReturn(Optional.of(load));
+
+        repository.findById(load.getId());
+        repository.findById(load.getId());
+        repository.save(load);
+
+        verify(delegate, times(2)).findById(load.getId());
+        verifyNoInteractions(kafkaTemplate);
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    void staysWithinConfiguredBound() {
+        properties.setMaxEntries(2);
+        for (int i = 0; i < 5; i++) {
+            Load load = persisted(TestFixtures.sampleLoad(LoadStatus.PLANNED, null), 1L);
+            when(delegate.findById(load.getId())).thenReturn(Optional.of(load));
+            repository.findById(load.getId());
+        }
+
+        assertTrue(repository.size() <= 2);
+    }
+
+    private static Load persisted(Load load, long version) {
+        load.markPersisted(version);
+        return load;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
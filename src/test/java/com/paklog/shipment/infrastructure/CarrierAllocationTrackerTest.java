@@ -0,0 +1,157 @@
+package com.paklog.shipment.infrastructure;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.CarrierCapacityProperties;
+import com.paklog.shipment.domain.CarrierAllocation;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.infrastructure.persistence.CarrierAllocationDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CarrierAllocationTrackerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private CarrierCapacityProperties properties;
+    private MetricsService metricsService;
+    private CarrierAllocationTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CarrierCapacityProperties();
+        properties.setFacilityId("PDX1");
+        properties.getDailyLimits().put(CarrierName.FEDEX, 3L);
+        metricsService = new MetricsService(new SimpleMeterRegistry());
+        Clock clock = Clock.fixed(Instant.parse("2024-05-01T10:00:00Z"), ZoneOffset.UTC);
+        tracker = new CarrierAllocationTracker(mongoTemplate, properties, metricsService, clock);
+    }
+
+    @Test
+    void refusesAllocationsPastDailyLimit() {
+        assertTrue(tracker.tryAllocate(CarrierName.FEDEX).isPresent());
+        assertTrue(tracker.tryAllocate(CarrierName.FEDEX).isPresent());
+        CarrierAllocation third = tracker.tryAllocate(CarrierName.FEDEX).orElseThrow();
+        assertTrue(tracker.tryAllocate(CarrierName.FEDEX).isEmpty());
+
+        tracker.release(third);
+        assertTrue(tracker.tryAllocate(CarrierName.FEDEX).isPresent());
+        assertEquals(3, tracker.allocatedToday(CarrierName.FEDEX));
+    }
+
+    @Test
+    void carriersWithoutLimitAreNeverTracked() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(tracker.tryAllocate(CarrierName.UPS).isPresent());
+        }
+        verify(mongoTemplate, never()).findById(any(), eq(CarrierAllocationDocument.class));
+    }
+
+    @Test
+    void seedsFromCommittedTotalOnFirstUse() {
+        CarrierAllocationDocument committed = new CarrierAllocationDocument();
+        committed.setAllocated(2);
+        when(mongoTemplate.findById("PDX1:FEDEX:2024-05-01", CarrierAllocationDocument.class)).thenReturn(committed);
+
+        assertTrue(tracker.tryAllocate(CarrierName.FEDEX).isPresent());
+        assertTrue(tracker.tryAllocate(CarrierName.FEDEX).isEmpty());
+    }
+
+    @Test
+    void reconcilePushesLocalDeltaAndRebasesOnSharedTotal() {
+        tracker.tryAllocate(CarrierName.FEDEX);
+        CarrierAllocationDocument shared = new CarrierAllocationDocument();
+        shared.setAllocated(3);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+                eq(CarrierAllocationDocument.class))).thenReturn(shared);
+
+        tracker.reconcile();
+
+        assertEquals(3, tracker.allocatedToday(CarrierName.FEDEX));
+        assertTrue(tracker.tryAllocate(CarrierName.FEDEX).isEmpty());
+    }
+
+    @Test
+    void releaseGivesCapacityBackToTheDayItWasTakenFrom() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-05-01T23:59:59Z"));
+        tracker = new CarrierAllocationTracker(mongoTemplate, properties, metricsService, clock);
+        CarrierAllocation lateAllocation = tracker.tryAllocate(CarrierName.FEDEX).orElseThrow();
+        tracker.tryAllocate(CarrierName.FEDEX);
+
+        clock.instant = Instant.parse("2024-05-02T00:00:01Z");
+        tracker.tryAllocate(CarrierName.FEDEX);
+        tracker.release(lateAllocation);
+
+        assertEquals(LocalDate.parse("2024-05-01"), lateAllocation.day());
+        assertEquals(1, tracker.allocatedToday(CarrierName.FEDEX));
+        clock.instant = Instant.parse("2024-05-01T23:59:59Z");
+        assertEquals(1, tracker.allocatedToday(CarrierName.FEDEX));
+    }
+
+    @Test
+    void neverOverAllocatesUnderContention() throws InterruptedException {
+        properties.getDailyLimits().put(CarrierName.FEDEX, 500L);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2000; i++) {
+            executor.submit(() -> {
+                if (tracker.tryAllocate(CarrierName.FEDEX).isPresent()) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(500, granted.get());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
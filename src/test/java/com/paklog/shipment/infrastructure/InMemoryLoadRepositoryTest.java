@@ -0,0 +1,112 @@
+package com.paklog.shipment.infrastructure;
+
+import com.paklog.shipment.TestFixtures;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.Tender;
+import com.paklog.shipment.domain.TenderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryLoadRepositoryTest {
+
+    private final InMemoryLoadRepository repository = new InMemoryLoadRepository();
+
+    @Test
+    void saveReplacesTheExpectedVersionAndBumpsIt() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+
+        repository.save(load);
+        Load stale = repository.findById(load.getId()).orElseThrow();
+        repository.save(load);
+
+        assertEquals(1L, load.getVersion());
+        assertEquals(1L, repository.findVersion(load.getId()).orElseThrow());
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(stale));
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.delete(stale));
+    }
+
+    @Test
+    void findAllFiltersThroughTheIndexesAndFollowsTheRequestedOrder() {
+        Load planned = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        Load fedex = TestFixtures.sampleLoad(LoadStatus.TENDERED, CarrierName.FEDEX);
+        Load ups = TestFixtures.sampleLoad(LoadStatus.TENDERED, CarrierName.UPS);
+        repository.save(planned);
+        repository.save(fedex);
+        repository.save(ups);
+
+        Page<Load> tendered = repository.findAll(PageRequest.of(0, 10, Sort.by("createdAt").descending()),
+                LoadStatus.TENDERED, null);
+        Page<Load> onFedex = repository.findAll(PageRequest.of(0, 10), null, CarrierName.FEDEX);
+        Page<Load> firstOfAll = repository.findAll(PageRequest.of(0, 1), null, null);
+
+        assertEquals(2, tendered.getTotalElements());
+        assertEquals(1, onFedex.getTotalElements());
+        assertEquals(fedex.getId(), onFedex.getContent().get(0).getId());
+        assertEquals(3, firstOfAll.getTotalElements());
+        assertEquals(1, firstOfAll.getContent().size());
+    }
+
+    @Test
+    void transitionsApplyOnlyWhenTheGuardAndVersionMatch() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        repository.save(load);
+
+        assertTrue(repository.assignCarrier(load.getId(), 7L, CarrierName.UPS).isEmpty());
+        Load assigned = repository.assignCarrier(load.getId(), 0L, CarrierName.UPS).orElseThrow();
+        assertEquals(LoadStatus.TENDERED, assigned.getStatus());
+        assertEquals(1L, assigned.getVersion());
+        assertTrue(repository.assignCarrier(load.getId(), null, CarrierName.FEDEX).isEmpty());
+
+        assertTrue(repository.tender(load.getId(), null, Tender.pending(null, null), false).isEmpty());
+        repository.tender(load.getId(), null, Tender.pending(null, "first"), true).orElseThrow();
+        Load accepted = repository.recordTenderDecision(load.getId(), 2L, Tender.Decision.ACCEPTED, "ops", null)
+                .orElseThrow();
+
+        assertEquals(LoadStatus.TENDER_ACCEPTED, accepted.getStatus());
+        assertEquals(TenderStatus.ACCEPTED, accepted.getTender().status());
+        assertEquals("ops", accepted.getTender().respondedBy());
+        assertEquals(3L, repository.findVersion(load.getId()).orElseThrow());
+        assertEquals(1, repository.findAll(PageRequest.of(0, 10), LoadStatus.TENDER_ACCEPTED, null).getTotalElements());
+        assertEquals(0, repository.findAll(PageRequest.of(0, 10), LoadStatus.TENDERED, null).getTotalElements());
+    }
+
+    @Test
+    void statusIndexFollowsALoadBackToPlanned() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        repository.save(load);
+
+        repository.assignCarrier(load.getId(), 0L, CarrierName.UPS).orElseThrow();
+        repository.tender(load.getId(), 1L, Tender.pending(null, null), true).orElseThrow();
+        Load declined = repository.recordTenderDecision(load.getId(), 2L, Tender.Decision.DECLINED, "ups", "no capacity")
+                .orElseThrow();
+
+        assertEquals(LoadStatus.PLANNED, declined.getStatus());
+        assertEquals(1, repository.findAll(PageRequest.of(0, 10), LoadStatus.PLANNED, null).getTotalElements());
+        assertEquals(0, repository.findAll(PageRequest.of(0, 10), LoadStatus.TENDERED, null).getTotalElements());
+        assertEquals(1, repository.findAll(PageRequest.of(0, 10), null, CarrierName.UPS).getTotalElements());
+    }
+
+    @Test
+    void addShipmentsRejectsShipmentsAlreadyOnTheLoad() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        repository.save(load);
+        ShipmentId onLoad = ShipmentId.of(load.getShipmentIds().iterator().next().getValue());
+        ShipmentId added = ShipmentId.generate();
+
+        assertTrue(repository.addShipments(load.getId(), null, Set.of(onLoad, added)).isEmpty());
+        Load updated = repository.addShipments(load.getId(), null, Set.of(added)).orElseThrow();
+
+        assertEquals(2, updated.getShipmentIds().size());
+        assertEquals(1L, repository.findById(load.getId()).orElseThrow().getVersion());
+    }
+}
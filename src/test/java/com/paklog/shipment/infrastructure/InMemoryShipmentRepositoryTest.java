@@ -0,0 +1,198 @@
+package com.paklog.shipment.infrastructure;
+
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.ShipmentStatus;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingView;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryShipmentRepositoryTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.parse("2024-05-01T08:00:00Z");
+
+    private final InMemoryShipmentRepository repository = new InMemoryShipmentRepository();
+
+    @Test
+    void saveInsertsAtVersionZeroAndRejectsStaleWrites() {
+        Shipment shipment = dispatched("ORD-1", "TRK1");
+
+        repository.save(shipment);
+        assertEquals(0L, shipment.getVersion());
+        assertThrows(DuplicateKeyException.class, () -> repository.save(dispatched(shipment.getId(), "ORD-1", "TRK1")));
+
+        Shipment stale = repository.findById(shipment.getId()).orElseThrow();
+        shipment.addTrackingEvent(scan(1));
+        repository.save(shipment);
+
+        assertEquals(1L, shipment.getVersion());
+        assertEquals(1L, repository.findVersion(shipment.getId()).orElseThrow());
+        stale.addTrackingEvent(scan(2));
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(stale));
+    }
+
+    @Test
+    void readsReturnCopiesHoldingOnlyTheLatestEvent() {
+        Shipment shipment = dispatched("ORD-1", "TRK1");
+        shipment.addTrackingEvent(scan(1));
+        shipment.addTrackingEvent(scan(2));
+        repository.save(shipment);
+
+        Shipment found = repository.findById(shipment.getId()).orElseThrow();
+        found.assignToLoad(LoadId.generate());
+
+        assertEquals(List.of(scan(2).getTimestamp()), found.getTrackingEvents().stream().map(TrackingEvent::getTimestamp).toList());
+        assertEquals(2, found.getTrackingEventCount());
+        assertNull(repository.findById(shipment.getId()).orElseThrow().getAssignedLoadId());
+    }
+
+    @Test
+    void secondaryIndexesFollowUpdates() {
+        Shipment shipment = dispatched("ORD-1", "TRK1");
+        repository.save(shipment);
+        LoadId loadId = LoadId.generate();
+
+        shipment.addTrackingEvent(scan(1));
+        shipment.assignToLoad(loadId);
+        repository.save(shipment);
+
+        assertEquals(ShipmentStatus.IN_TRANSIT,
+                repository.findByOrderId(OrderId.of("ORD-1")).orElseThrow().getStatus());
+        assertTrue(repository.findByTrackingNumber(TrackingNumber.of("TRK1")).isPresent());
+        assertTrue(repository.findByTrackingNumber(TrackingNumber.of("TRK2")).isEmpty());
+        assertEquals(1, repository.findByLoadId(loadId).size());
+        try (Stream<Shipment> unassigned = repository.streamUnassigned()) {
+            assertEquals(0, unassigned.count());
+        }
+    }
+
+    @Test
+    void loadIndexFollowsAnAssignmentAndItsRemoval() {
+        Shipment shipment = dispatched("ORD-1", "TRK1");
+        repository.save(shipment);
+        LoadId loadId = LoadId.generate();
+
+        shipment.assignToLoad(loadId);
+        repository.save(shipment);
+        shipment.unassignFromLoad();
+        repository.save(shipment);
+
+        assertTrue(repository.findByLoadId(loadId).isEmpty());
+        try (Stream<Shipment> unassigned = repository.streamUnassigned()) {
+            assertEquals(ids(shipment), ids(unassigned.toArray(Shipment[]::new)));
+        }
+    }
+
+    @Test
+    void findPageInTransitPagesByIdAndSkipsRecentlyPushedShipments() {
+        List<Shipment> inTransit = Stream.of("A", "B", "C", "D", "E")
+                .map(order -> {
+                    Shipment shipment = dispatched("ORD-" + order, "TRK" + order);
+                    shipment.addTrackingEvent(scan(1));
+                    return repository.save(shipment);
+                })
+                .sorted(Comparator.comparing(shipment -> shipment.getId().getValue().toString()))
+                .toList();
+        repository.save(dispatched("ORD-F", "TRKF"));
+        Shipment pushed = repository.findById(inTransit.get(2).getId()).orElseThrow();
+        pushed.recordTrackingPush(T0.plusDays(1));
+        repository.save(pushed);
+
+        List<Shipment> first = repository.findPageInTransit(null, 2, T0.plusHours(12));
+        List<Shipment> second = repository.findPageInTransit(first.get(1).getId().getValue().toString(), 2, T0.plusHours(12));
+
+        assertEquals(ids(inTransit.get(0), inTransit.get(1)), ids(first.toArray(Shipment[]::new)));
+        assertEquals(ids(inTransit.get(3), inTransit.get(4)), ids(second.toArray(Shipment[]::new)));
+    }
+
+    @Test
+    void trackingHistoryIsPagedOldestFirstAndFeedsTheTrackingView() {
+        Shipment shipment = dispatched("ORD-1", "TRK1");
+        repository.save(shipment);
+        for (int i = 1; i <= 5; i++) {
+            shipment.addTrackingEvent(scan(i));
+            repository.save(shipment);
+        }
+
+        Page<TrackingEvent> page = repository.findTrackingEvents(shipment.getId(), PageRequest.of(1, 2));
+        TrackingView view = repository.findTrackingView(TrackingNumber.of("TRK1"), 3).orElseThrow();
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of(scan(3).getTimestamp(), scan(4).getTimestamp()),
+                page.getContent().stream().map(TrackingEvent::getTimestamp).toList());
+        assertEquals(List.of(scan(3).getTimestamp(), scan(4).getTimestamp(), scan(5).getTimestamp()),
+                view.recentEvents().stream().map(TrackingEvent::getTimestamp).toList());
+        assertEquals(5L, view.version());
+    }
+
+    @Test
+    void archiveTerminalMovesOldDeliveredShipmentsOutOfTheHotSet() {
+        Shipment delivered = dispatched("ORD-1", "TRK1");
+        delivered.markAsDelivered(scan(1), T0.plusDays(1));
+        repository.save(delivered);
+        Shipment active = dispatched("ORD-2", "TRK2");
+        repository.save(active);
+
+        int moved = repository.archiveTerminal(OffsetDateTime.now().plusMinutes(1), 10);
+
+        assertEquals(1, moved);
+        assertEquals(1, repository.estimateActiveCount());
+        assertTrue(repository.existsById(delivered.getId()));
+        assertTrue(repository.findByOrderId(OrderId.of("ORD-1")).isPresent());
+        assertTrue(repository.findByTrackingNumber(TrackingNumber.of("TRK1")).isEmpty());
+        assertEquals(Optional.of(delivered.getVersion()), repository.findVersion(delivered.getId()));
+        assertEquals(ShipmentStatus.DELIVERED,
+                repository.findTrackingView(TrackingNumber.of("TRK1"), 5).orElseThrow().status());
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(delivered));
+    }
+
+    @Test
+    void findPageByIdsOrdersByIdAndLeavesOutLabels() {
+        List<Shipment> saved = Stream.of("A", "B", "C")
+                .map(order -> repository.save(dispatched("ORD-" + order, "TRK" + order)))
+                .sorted(Comparator.comparing(shipment -> shipment.getId().getValue().toString()))
+                .toList();
+
+        Page<Shipment> page = repository.findPageByIds(
+                List.of(saved.get(2).getId(), saved.get(0).getId(), saved.get(1).getId(), ShipmentId.generate()),
+                PageRequest.of(0, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(ids(saved.get(0), saved.get(1)), ids(page.getContent().toArray(Shipment[]::new)));
+        assertNull(page.getContent().get(0).getLabelData());
+    }
+
+    private static Shipment dispatched(String orderId, String trackingNumber) {
+        return dispatched(ShipmentId.generate(), orderId, trackingNumber);
+    }
+
+    private static Shipment dispatched(ShipmentId id, String orderId, String trackingNumber) {
+        return Shipment.restore(id, OrderId.of(orderId), CarrierName.FEDEX, TrackingNumber.of(trackingNumber),
+                "label".getBytes(), ShipmentStatus.DISPATCHED, T0, T0.plusHours(1), null, List.of(), null,
+                T0.plusHours(1));
+    }
+
+    private static TrackingEvent scan(int hour) {
+        return new TrackingEvent("IN_TRANSIT", "Arrived at hub", "Denver, CO", T0.plusHours(1 + hour), "AR", null);
+    }
+
+    private static List<String> ids(Shipment... shipments) {
+        return Stream.of(shipments).map(shipment -> shipment.getId().getValue().toString()).toList();
+    }
+}
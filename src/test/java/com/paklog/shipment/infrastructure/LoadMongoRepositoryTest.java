@@ -0,0 +1,98 @@
+package com.paklog.shipment.infrastructure;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.UpdateResult;
+import com.paklog.shipment.TestFixtures;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.infrastructure.persistence.document.LoadDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.CollectionCallback;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoadMongoRepositoryTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @InjectMocks
+    private LoadMongoRepository loadMongoRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveReplacesTheExpectedVersionAndBumpsIt() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        load.markPersisted(2L);
+        when(mongoTemplate.execute(eq(LoadDocument.class), any(CollectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<CollectionCallback<?>>getArgument(1).doInCollection(collection));
+        when(collection.replaceOne(any(Bson.class), any(Document.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        loadMongoRepository.save(load);
+
+        assertEquals(3L, load.getVersion());
+        ArgumentCaptor<Document> written = ArgumentCaptor.forClass(Document.class);
+        verify(collection).replaceOne(any(Bson.class), written.capture());
+        assertEquals(load.getId().getValue().toString(), written.getValue().get("_id"));
+        assertEquals(3L, written.getValue().get("version"));
+        assertThrows(OptimisticLockingFailureException.class, () -> loadMongoRepository.save(load));
+    }
+
+    @Test
+    void assignCarrierIsOneGuardedFindAndModify() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        Load assigned = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        assigned.assignCarrier(CarrierName.UPS);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        when(mongoTemplate.findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(LoadDocument.class)))
+                .thenReturn(LoadDocument.fromDomain(assigned));
+
+        Optional<Load> result = loadMongoRepository.assignCarrier(load.getId(), 4L, CarrierName.UPS);
+
+        assertTrue(result.isPresent());
+        assertEquals(CarrierName.UPS, result.get().getCarrierName());
+        Document filter = query.getValue().getQueryObject();
+        assertEquals(load.getId().getValue().toString(), filter.get("id"));
+        assertEquals(LoadStatus.PLANNED, filter.get("status"));
+        assertEquals(4L, filter.get("version"));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(LoadStatus.TENDERED, set.get("status"));
+        assertEquals(1, update.getValue().getUpdateObject().get("$inc", Document.class).get("version"));
+        verify(mongoTemplate, never()).findById(any(), any());
+        verify(mongoTemplate, never()).save(any());
+    }
+
+    @Test
+    void transitionWithoutExpectedVersionDoesNotFilterOnVersion() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(LoadDocument.class)))
+                .thenReturn(null);
+
+        assertTrue(loadMongoRepository.assignCarrier(load.getId(), null, CarrierName.UPS).isEmpty());
+        assertFalse(query.getValue().getQueryObject().containsKey("version"));
+    }
+}
@@ -5,8 +5,10 @@ import com.paklog.shipment.application.LoadApplicationService;
 import com.paklog.shipment.application.MetricsService;
 import com.paklog.shipment.application.PackageRetrievalService;
 import com.paklog.shipment.application.ShipmentApplicationService;
+import com.paklog.shipment.application.TrackingViewService;
 import com.paklog.shipment.config.OutboxProperties;
 import com.paklog.shipment.config.ShipmentEventProperties;
+import com.paklog.shipment.domain.CarrierAllocation;
 import com.paklog.shipment.domain.CarrierInfo;
 import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.Package;
@@ -86,7 +88,8 @@ class PackagePackedFlowTest {
                 packageRetrievalService,
                 carrierSelectionService,
                 List.of(carrierAdapter),
-                eventPublisher
+                eventPublisher,
+                mock(TrackingViewService.class)
         );
     }
 
@@ -94,7 +97,7 @@ class PackagePackedFlowTest {
     void endToEndPackagePackedCreatesShipmentAndOutboxEvent() {
         Package packageDetails = new Package("pkg-flow", 2.0, 10.0, 5.0, 5.0, "BOX");
         when(packageRetrievalService.getPackageDetails("pkg-flow")).thenReturn(packageDetails);
-        when(carrierSelectionService.selectBestCarrier(packageDetails)).thenReturn(CarrierName.FEDEX);
+        when(carrierSelectionService.allocateCarrier(packageDetails)).thenReturn(CarrierAllocation.untracked(CarrierName.FEDEX));
         when(carrierAdapter.createShipment(packageDetails, OrderId.of("order-flow"), "pkg-flow"))
                 .thenReturn(new CarrierInfo("trk-flow", "label".getBytes(), CarrierName.FEDEX));
 
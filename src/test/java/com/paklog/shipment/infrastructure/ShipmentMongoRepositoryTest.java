@@ -1,25 +1,41 @@
 package com.paklog.shipment.infrastructure;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.UpdateResult;
 import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.LoadId;
 import com.paklog.shipment.domain.OrderId;
 import com.paklog.shipment.domain.Shipment;
 import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.TrackingEvent;
 import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingView;
 import com.paklog.shipment.domain.ShipmentStatus;
 import com.paklog.shipment.infrastructure.persistence.ShipmentDocument;
+import com.paklog.shipment.infrastructure.persistence.TrackingEventSeriesDocument;
+import org.bson.conversions.Bson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.CollectionCallback;
+import org.springframework.data.mongodb.core.ExecutableFindOperation;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
-
-import static org.junit.jupiter.api.Assertions.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +46,27 @@ class ShipmentMongoRepositoryTest {
     @Mock
     private MongoTemplate mongoTemplate;
 
+    @Mock
+    private MongoCollection<org.bson.Document> collection;
+
+    @Mock
+    private ExecutableFindOperation.ExecutableFind<ShipmentDocument> shipmentFind;
+
+    @Mock
+    private ExecutableFindOperation.FindWithQuery<Shipment> shipmentQuery;
+
+    @Mock
+    private ExecutableFindOperation.TerminatingFind<Shipment> shipmentResult;
+
+    @Mock
+    private ExecutableFindOperation.FindWithProjection<ShipmentDocument> archiveFind;
+
+    @Mock
+    private ExecutableFindOperation.FindWithQuery<Shipment> archiveQuery;
+
+    @Mock
+    private ExecutableFindOperation.TerminatingFind<Shipment> archiveResult;
+
     @InjectMocks
     private ShipmentMongoRepository shipmentMongoRepository;
 
@@ -66,23 +103,62 @@ class ShipmentMongoRepositoryTest {
     @Test
     void testSave() {
         // Arrange
-        when(mongoTemplate.save(any(ShipmentDocument.class))).thenReturn(mockShipmentDocument);
+        mockShipment.markPersisted(0L);
+        stubCollection();
+        when(collection.replaceOne(any(Bson.class), any(org.bson.Document.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
 
         // Act
         Shipment savedShipment = shipmentMongoRepository.save(mockShipment);
 
         // Assert
         assertNotNull(savedShipment);
+        assertEquals(1L, mockShipment.getVersion());
+        assertEquals(1L, savedShipment.getVersion());
         assertEquals(mockShipment.getTrackingNumber(), savedShipment.getTrackingNumber());
         assertEquals(mockShipment.getCarrierName(), savedShipment.getCarrierName());
         assertArrayEquals(mockShipment.getLabelData(), savedShipment.getLabelData());
-        verify(mongoTemplate, times(1)).save(any(ShipmentDocument.class));
+        ArgumentCaptor<org.bson.Document> written = ArgumentCaptor.forClass(org.bson.Document.class);
+        verify(collection).replaceOne(any(Bson.class), written.capture());
+        assertEquals(shipmentId.getValue().toString(), written.getValue().get("_id"));
+        assertEquals(1L, written.getValue().get("version"));
+    }
+
+    @Test
+    void testSave_NewShipmentIsInsertedAtVersionZero() {
+        // Arrange
+        stubCollection();
+
+        // Act
+        shipmentMongoRepository.save(mockShipment);
+
+        // Assert
+        assertEquals(0L, mockShipment.getVersion());
+        ArgumentCaptor<org.bson.Document> written = ArgumentCaptor.forClass(org.bson.Document.class);
+        verify(collection).insertOne(written.capture());
+        assertEquals(0L, written.getValue().get("version"));
+        verify(collection, never()).replaceOne(any(Bson.class), any(org.bson.Document.class));
+    }
+
+    @Test
+    void testSave_ConcurrentWriteIsRejected() {
+        // Arrange
+        mockShipment.markPersisted(3L);
+        stubCollection();
+        when(collection.replaceOne(any(Bson.class), any(org.bson.Document.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> shipmentMongoRepository.save(mockShipment));
+        assertEquals(3L, mockShipment.getVersion());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class), anyString());
     }
 
     @Test
     void testFindById_Found() {
         // Arrange
-        when(mongoTemplate.findById(shipmentId.getValue(), ShipmentDocument.class)).thenReturn(mockShipmentDocument);
+        ArgumentCaptor<Query> query = stubShipmentQuery();
+        when(shipmentResult.oneValue()).thenReturn(mockShipment);
 
         // Act
         Optional<Shipment> foundShipment = shipmentMongoRepository.findById(shipmentId);
@@ -90,26 +166,31 @@ class ShipmentMongoRepositoryTest {
         // Assert
         assertTrue(foundShipment.isPresent());
         assertEquals(mockShipment.getTrackingNumber(), foundShipment.get().getTrackingNumber());
-        verify(mongoTemplate, times(1)).findById(shipmentId.getValue(), ShipmentDocument.class);
+        assertEquals(shipmentId.getValue().toString(), query.getValue().getQueryObject().get("id"));
+        verify(shipmentFind, never()).inCollection(anyString());
     }
 
     @Test
     void testFindById_NotFound() {
         // Arrange
-        when(mongoTemplate.findById(shipmentId.getValue(), ShipmentDocument.class)).thenReturn(null);
+        stubShipmentQuery();
+        stubArchiveQuery();
+        when(shipmentResult.oneValue()).thenReturn(null);
+        when(archiveResult.oneValue()).thenReturn(null);
 
         // Act
         Optional<Shipment> foundShipment = shipmentMongoRepository.findById(shipmentId);
 
         // Assert
         assertFalse(foundShipment.isPresent());
-        verify(mongoTemplate, times(1)).findById(shipmentId.getValue(), ShipmentDocument.class);
+        verify(shipmentResult, times(1)).oneValue();
     }
 
     @Test
     void testFindByTrackingNumber_Found() {
         // Arrange
-        when(mongoTemplate.findOne(any(Query.class), eq(ShipmentDocument.class))).thenReturn(mockShipmentDocument);
+        ArgumentCaptor<Query> query = stubShipmentQuery();
+        when(shipmentResult.firstValue()).thenReturn(mockShipment);
 
         // Act
         Optional<Shipment> foundShipment = shipmentMongoRepository.findByTrackingNumber(trackingNumber);
@@ -117,19 +198,287 @@ class ShipmentMongoRepositoryTest {
         // Assert
         assertTrue(foundShipment.isPresent());
         assertEquals(mockShipment.getTrackingNumber(), foundShipment.get().getTrackingNumber());
-        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(ShipmentDocument.class));
+        assertEquals(trackingNumber.getValue(), query.getValue().getQueryObject().get("trackingNumber"));
     }
 
     @Test
     void testFindByTrackingNumber_NotFound() {
         // Arrange
-        when(mongoTemplate.findOne(any(Query.class), eq(ShipmentDocument.class))).thenReturn(null);
+        stubShipmentQuery();
+        when(shipmentResult.firstValue()).thenReturn(null);
 
         // Act
         Optional<Shipment> foundShipment = shipmentMongoRepository.findByTrackingNumber(trackingNumber);
 
         // Assert
         assertFalse(foundShipment.isPresent());
-        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(ShipmentDocument.class));
+        verify(shipmentResult, times(1)).firstValue();
+    }
+
+    @Test
+    void testFindByLoadId_QueriesAssignedLoadId() {
+        // Arrange
+        LoadId loadId = LoadId.generate();
+        ArgumentCaptor<Query> query = stubShipmentQuery();
+        when(shipmentResult.all()).thenReturn(List.of(mockShipment));
+
+        // Act
+        List<Shipment> shipments = shipmentMongoRepository.findByLoadId(loadId);
+
+        // Assert
+        assertEquals(1, shipments.size());
+        assertEquals(loadId.getValue().toString(), query.getValue().getQueryObject().get("assignedLoadId"));
+    }
+
+    @Test
+    void testStreamUnassigned_QueriesNullLoadIdThroughCursor() {
+        // Arrange
+        ArgumentCaptor<Query> query = stubShipmentQuery();
+        when(shipmentResult.stream()).thenReturn(Stream.of(mockShipment));
+
+        // Act
+        List<Shipment> shipments;
+        try (Stream<Shipment> stream = shipmentMongoRepository.streamUnassigned()) {
+            shipments = stream.toList();
+        }
+
+        // Assert
+        assertEquals(1, shipments.size());
+        assertTrue(query.getValue().getQueryObject().containsKey("assignedLoadId"));
+        assertNull(query.getValue().getQueryObject().get("assignedLoadId"));
+    }
+
+    @Test
+    void testFindPageByIds_PagesServerSideWithoutLabels() {
+        // Arrange
+        ArgumentCaptor<Query> query = stubShipmentQuery();
+        when(shipmentResult.all()).thenReturn(List.of(mockShipment));
+        when(mongoTemplate.count(any(Query.class), eq(ShipmentDocument.class))).thenReturn(3L);
+
+        // Act
+        Page<Shipment> page = shipmentMongoRepository.findPageByIds(
+                List.of(shipmentId, ShipmentId.generate(), ShipmentId.generate()), PageRequest.of(1, 1));
+
+        // Assert
+        assertEquals(3, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        assertEquals(1, query.getValue().getSkip());
+        assertEquals(1, query.getValue().getLimit());
+        assertEquals(0, query.getValue().getFieldsObject().get("labelData"));
+        assertEquals(1, query.getValue().getSortObject().get("id"));
+    }
+
+    @Test
+    void testFindVersion_ProjectsOnlyTheVersionField() {
+        // Arrange
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        mockShipmentDocument.setVersion(7L);
+        when(mongoTemplate.findOne(query.capture(), eq(ShipmentDocument.class))).thenReturn(mockShipmentDocument);
+
+        // Act
+        Optional<Long> version = shipmentMongoRepository.findVersion(shipmentId);
+
+        // Assert
+        assertEquals(Optional.of(7L), version);
+        assertEquals(1, query.getValue().getFieldsObject().get("version"));
+        assertEquals(1, query.getValue().getFieldsObject().size());
+    }
+
+    @Test
+    void testFindVersion_FallsBackToArchive() {
+        // Arrange
+        mockShipmentDocument.setVersion(9L);
+        when(mongoTemplate.findOne(any(Query.class), eq(ShipmentDocument.class))).thenReturn(null);
+        when(mongoTemplate.findOne(any(Query.class), eq(ShipmentDocument.class), eq(ShipmentMongoRepository.ARCHIVE_COLLECTION)))
+                .thenReturn(mockShipmentDocument);
+
+        // Act
+        Optional<Long> version = shipmentMongoRepository.findVersion(shipmentId);
+
+        // Assert
+        assertEquals(Optional.of(9L), version);
+    }
+
+    @Test
+    void testFindTrackingView_ProjectsStatusAndReadsLatestEventsFromSeries() {
+        // Arrange
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Query> eventQuery = ArgumentCaptor.forClass(Query.class);
+        mockShipmentDocument.setVersion(4L);
+        when(mongoTemplate.findOne(query.capture(), eq(ShipmentDocument.class))).thenReturn(mockShipmentDocument);
+        when(mongoTemplate.find(eventQuery.capture(), eq(TrackingEventSeriesDocument.class)))
+                .thenReturn(List.of(seriesEvent("Scan 3", 3), seriesEvent("Scan 2", 2)));
+
+        // Act
+        Optional<TrackingView> view = shipmentMongoRepository.findTrackingView(trackingNumber, 5);
+
+        // Assert
+        assertTrue(view.isPresent());
+        assertEquals(trackingNumber, view.get().trackingNumber());
+        assertEquals(4L, view.get().version());
+        assertEquals(List.of("Scan 2", "Scan 3"),
+                view.get().recentEvents().stream().map(TrackingEvent::getStatusDescription).toList());
+        assertEquals(trackingNumber.getValue(), query.getValue().getQueryObject().get("trackingNumber"));
+        org.bson.Document fields = query.getValue().getFieldsObject();
+        assertFalse(fields.containsKey("labelData"));
+        assertFalse(fields.containsKey("orderId"));
+        assertEquals(shipmentId.getValue().toString(), eventQuery.getValue().getQueryObject().get("shipmentId"));
+        assertEquals(-1, eventQuery.getValue().getSortObject().get("timestamp"));
+        assertEquals(5, eventQuery.getValue().getLimit());
+    }
+
+    @Test
+    void testSave_StagesOnlyEventsAddedSinceLoadUnderPositionalIds() {
+        // Arrange
+        mockShipment.markPersisted(1L);
+        TrackingEvent first = new TrackingEvent("IN_TRANSIT", "Scan 1", "Hub", OffsetDateTime.parse("2024-01-01T02:00:00Z"), "SC", null);
+        TrackingEvent second = new TrackingEvent("IN_TRANSIT", "Scan 2", "Hub", OffsetDateTime.parse("2024-01-01T03:00:00Z"), "SC", null);
+        mockShipment.addTrackingEvent(first);
+        stubCollection();
+        when(collection.replaceOne(any(Bson.class), any(org.bson.Document.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        BulkOperations stage = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrackingEventSeriesDocument.class,
+                TrackingEventSeriesDocument.PENDING_COLLECTION)).thenReturn(stage);
+        shipmentMongoRepository.save(mockShipment);
+        mockShipment.addTrackingEvent(second);
+
+        // Act
+        shipmentMongoRepository.save(mockShipment);
+
+        // Assert
+        ArgumentCaptor<Object> staged = ArgumentCaptor.forClass(Object.class);
+        verify(stage, times(2)).replaceOne(any(Query.class), staged.capture(), any(FindAndReplaceOptions.class));
+        verify(stage, times(2)).execute();
+        List<TrackingEventSeriesDocument> events = staged.getAllValues().stream()
+                .map(TrackingEventSeriesDocument.class::cast).toList();
+        assertEquals(List.of("Scan 1", "Scan 2"), events.stream().map(TrackingEventSeriesDocument::getStatusDescription).toList());
+        assertEquals(List.of(TrackingEventSeriesDocument.idOf(shipmentId, 0), TrackingEventSeriesDocument.idOf(shipmentId, 1)),
+                events.stream().map(TrackingEventSeriesDocument::getId).toList());
+        verify(mongoTemplate, never()).insertAll(any());
+        assertEquals(2, mockShipment.getTrackingEventCount());
+        ArgumentCaptor<org.bson.Document> saved = ArgumentCaptor.forClass(org.bson.Document.class);
+        verify(collection, times(2)).replaceOne(any(Bson.class), saved.capture());
+        assertEquals(2L, saved.getValue().get("trackingEventCount"));
+        assertEquals("Scan 2", saved.getValue().get("latestTrackingEvent", org.bson.Document.class).get("statusDescription"));
+    }
+
+    @Test
+    void testFindTrackingEvents_PagesSeriesOldestFirst() {
+        // Arrange
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(query.capture(), eq(TrackingEventSeriesDocument.class)))
+                .thenReturn(List.of(seriesEvent("Scan 3", 3), seriesEvent("Scan 4", 4)));
+        // A full page, so the total has to be counted rather than inferred from the page.
+        when(mongoTemplate.count(any(Query.class), eq(TrackingEventSeriesDocument.class))).thenReturn(5L);
+
+        // Act
+        Page<TrackingEvent> page = shipmentMongoRepository.findTrackingEvents(shipmentId, PageRequest.of(1, 2));
+
+        // Assert
+        assertEquals(5, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        assertEquals("Scan 3", page.getContent().get(0).getStatusDescription());
+        assertEquals(OffsetDateTime.parse("2024-01-01T03:00:00+02:00"), page.getContent().get(0).getTimestamp());
+        assertEquals(shipmentId.getValue().toString(), query.getValue().getQueryObject().get("shipmentId"));
+        assertEquals(1, query.getValue().getSortObject().get("timestamp"));
+        assertEquals(2, query.getValue().getSkip());
+        assertEquals(2, query.getValue().getLimit());
+    }
+
+    @Test
+    void testDelete_RemovesTrackingHistory() {
+        // Act
+        shipmentMongoRepository.delete(shipmentId);
+
+        // Assert
+        verify(mongoTemplate).remove(any(Query.class), eq(ShipmentDocument.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(TrackingEventSeriesDocument.class));
+    }
+
+    @Test
+    void testFindById_FallsBackToArchive() {
+        // Arrange
+        stubShipmentQuery();
+        ArgumentCaptor<Query> archiveQueryCaptor = stubArchiveQuery();
+        when(shipmentResult.oneValue()).thenReturn(null);
+        when(archiveResult.oneValue()).thenReturn(mockShipment);
+
+        // Act
+        Optional<Shipment> foundShipment = shipmentMongoRepository.findById(shipmentId);
+
+        // Assert
+        assertTrue(foundShipment.isPresent());
+        assertEquals(mockShipment.getTrackingNumber(), foundShipment.get().getTrackingNumber());
+        assertEquals(shipmentId.getValue().toString(), archiveQueryCaptor.getValue().getQueryObject().get("id"));
+    }
+
+    @Test
+    void testArchiveTerminal_CopiesThenRemovesTheCopiedVersions() {
+        // Arrange
+        mockShipmentDocument.setStatus(ShipmentStatus.DELIVERED.name());
+        mockShipmentDocument.setVersion(6L);
+        OffsetDateTime cutoff = OffsetDateTime.parse("2024-03-01T00:00:00Z");
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        BulkOperations copy = mock(BulkOperations.class);
+        BulkOperations remove = mock(BulkOperations.class);
+        when(mongoTemplate.find(query.capture(), eq(ShipmentDocument.class))).thenReturn(List.of(mockShipmentDocument));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ShipmentDocument.class,
+                ShipmentMongoRepository.ARCHIVE_COLLECTION)).thenReturn(copy);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ShipmentDocument.class)).thenReturn(remove);
+        when(remove.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(), List.of()));
+
+        // Act
+        int archived = shipmentMongoRepository.archiveTerminal(cutoff, 50);
+
+        // Assert
+        assertEquals(1, archived);
+        org.bson.Document filter = query.getValue().getQueryObject();
+        assertEquals(new org.bson.Document("$in", List.of("DELIVERED", "FAILED_DELIVERY")), filter.get("status"));
+        assertEquals(50, query.getValue().getLimit());
+        assertEquals(1, query.getValue().getSortObject().get("lastUpdatedAt"));
+        verify(copy).replaceOne(any(Query.class), same(mockShipmentDocument), any(FindAndReplaceOptions.class));
+        ArgumentCaptor<Query> removal = ArgumentCaptor.forClass(Query.class);
+        verify(remove).remove(removal.capture());
+        assertEquals(6L, removal.getValue().getQueryObject().get("version"));
+        var order = inOrder(copy, remove);
+        order.verify(copy).execute();
+        order.verify(remove).execute();
+    }
+
+    @Test
+    void testArchiveTerminal_NothingDueWritesNothing() {
+        when(mongoTemplate.find(any(Query.class), eq(ShipmentDocument.class))).thenReturn(List.of());
+
+        assertEquals(0, shipmentMongoRepository.archiveTerminal(OffsetDateTime.parse("2024-03-01T00:00:00Z"), 50));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+    }
+
+    private ArgumentCaptor<Query> stubShipmentQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.query(ShipmentDocument.class)).thenReturn(shipmentFind);
+        when(shipmentFind.as(Shipment.class)).thenReturn(shipmentQuery);
+        when(shipmentQuery.matching(query.capture())).thenReturn(shipmentResult);
+        return query;
+    }
+
+    private ArgumentCaptor<Query> stubArchiveQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.query(ShipmentDocument.class)).thenReturn(shipmentFind);
+        when(shipmentFind.inCollection(ShipmentMongoRepository.ARCHIVE_COLLECTION)).thenReturn(archiveFind);
+        when(archiveFind.as(Shipment.class)).thenReturn(archiveQuery);
+        when(archiveQuery.matching(query.capture())).thenReturn(archiveResult);
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCollection() {
+        when(mongoTemplate.execute(eq(ShipmentDocument.class), any(CollectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<CollectionCallback<?>>getArgument(1).doInCollection(collection));
+    }
+
+    private TrackingEventSeriesDocument seriesEvent(String description, int hour) {
+        return TrackingEventSeriesDocument.fromDomain(shipmentId, hour, new TrackingEvent("IN_TRANSIT", description, "Hub",
+                OffsetDateTime.parse("2024-01-01T0" + hour + ":00:00+02:00"), "SC", null));
     }
 }
@@ -3,6 +3,8 @@ package com.paklog.shipment.infrastructure.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.paklog.shipment.TestFixtures;
 import com.paklog.shipment.application.LoadApplicationService;
+import com.paklog.shipment.application.ResourceVersionService;
+import com.paklog.shipment.application.exception.PreconditionFailedException;
 import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.Load;
 import com.paklog.shipment.domain.LoadStatus;
@@ -19,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -40,10 +43,12 @@ class LoadCarrierControllerTest {
     @MockBean
     private LoadApplicationService loadApplicationService;
 
+    @MockBean
+    private ResourceVersionService resourceVersions;
+
     @Test
-    void assignCarrierReturnsPreconditionFailedOnMismatch() throws Exception {
+    void assignCarrierReturnsPreconditionFailedOnUnparseableTag() throws Exception {
         Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, CarrierName.FEDEX);
-        when(loadApplicationService.getLoad(load.getId())).thenReturn(load);
 
         AssignCarrierRequest request = new AssignCarrierRequest()
                 .carrierName(com.paklog.shipment.infrastructure.api.gen.dto.CarrierName.FEDEX);
@@ -54,23 +59,40 @@ class LoadCarrierControllerTest {
                         .content(objectMapper.writeValueAsBytes(request)))
                 .andExpect(status().isPreconditionFailed());
 
-        verify(loadApplicationService, never()).assignCarrier(any(), any(), any(), any(), any());
+        verify(loadApplicationService, never()).assignCarrier(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void assignCarrierReturnsPreconditionFailedWhenServiceRejectsVersion() throws Exception {
+        Load load = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
+        when(loadApplicationService.assignCarrier(any(), any(), any(), any(), any(), eq(2L)))
+                .thenThrow(new PreconditionFailedException("stale"));
+
+        AssignCarrierRequest request = new AssignCarrierRequest()
+                .carrierName(com.paklog.shipment.infrastructure.api.gen.dto.CarrierName.FEDEX);
+
+        mockMvc.perform(put("/loads/{id}/carrier", load.getId().getValue())
+                        .header("If-Match", quote(2L))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(resourceVersions, never()).freshLoadVersion(any());
     }
 
     @Test
     void assignCarrierReturnsUpdatedLoad() throws Exception {
         Load current = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
-        when(loadApplicationService.getLoad(current.getId())).thenReturn(current);
 
         Load updated = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
         updated.assignCarrier(CarrierName.FEDEX);
-        when(loadApplicationService.assignCarrier(any(), any(), any(), any(), any())).thenReturn(updated);
+        when(loadApplicationService.assignCarrier(any(), any(), any(), any(), any(), any())).thenReturn(updated);
 
         AssignCarrierRequest request = new AssignCarrierRequest()
                 .carrierName(com.paklog.shipment.infrastructure.api.gen.dto.CarrierName.FEDEX);
 
         mockMvc.perform(put("/loads/{id}/carrier", current.getId().getValue())
-                        .header("If-Match", quote(current.getUpdatedAt()))
+                        .header("If-Match", quote(3L))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(request)))
                 .andExpect(status().isOk())
@@ -80,16 +102,17 @@ class LoadCarrierControllerTest {
     @Test
     void unassignCarrierReturnsNoContent() throws Exception {
         Load load = TestFixtures.sampleLoad(LoadStatus.TENDERED, CarrierName.FEDEX);
-        when(loadApplicationService.getLoad(load.getId())).thenReturn(load);
+        load.markPersisted(3L);
+        when(resourceVersions.freshLoadVersion(load.getId())).thenReturn(3L);
 
         mockMvc.perform(delete("/loads/{id}/carrier", load.getId().getValue())
-                        .header("If-Match", quote(load.getUpdatedAt())))
+                        .header("If-Match", quote(3L)))
                 .andExpect(status().isNoContent());
 
-        verify(loadApplicationService).unassignCarrier(load.getId());
+        verify(loadApplicationService).unassignCarrier(load.getId(), 3L);
     }
 
-    private String quote(java.time.OffsetDateTime timestamp) {
-        return "\"" + timestamp.toInstant().toEpochMilli() + "\"";
+    private String quote(long version) {
+        return "\"" + version + "\"";
     }
 }
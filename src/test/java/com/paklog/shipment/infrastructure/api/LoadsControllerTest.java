@@ -3,6 +3,7 @@ package com.paklog.shipment.infrastructure.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.paklog.shipment.TestFixtures;
 import com.paklog.shipment.application.LoadApplicationService;
+import com.paklog.shipment.application.ResourceVersionService;
 import com.paklog.shipment.application.command.CreateLoadCommand;
 import com.paklog.shipment.application.command.UpdateLoadCommand;
 import com.paklog.shipment.domain.Load;
@@ -21,13 +22,12 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.never;
@@ -53,15 +53,20 @@ class LoadsControllerTest {
     @MockBean
     private LoadApplicationService loadApplicationService;
 
+    @MockBean
+    private ResourceVersionService resourceVersions;
+
     @Test
     void getLoadReturnsNotModifiedWhenEtagMatches() throws Exception {
         Load domainLoad = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
-        when(loadApplicationService.getLoad(domainLoad.getId())).thenReturn(domainLoad);
-        String etag = quote(domainLoad.getUpdatedAt());
+        when(resourceVersions.loadVersion(domainLoad.getId())).thenReturn(3L);
+        String etag = quote(3L);
 
         mockMvc.perform(get("/loads/{id}", domainLoad.getId().getValue())
                         .header("If-None-Match", etag))
                 .andExpect(status().isNotModified());
+
+        verify(loadApplicationService, never()).getLoad(any());
     }
 
     @Test
@@ -120,8 +125,9 @@ class LoadsControllerTest {
     @Test
     void updateLoadHonoursPrecondition() throws Exception {
         Load domainLoad = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
-        when(loadApplicationService.getLoad(domainLoad.getId())).thenReturn(domainLoad);
-        when(loadApplicationService.updateLoad(any(), any(UpdateLoadCommand.class))).thenReturn(domainLoad);
+        domainLoad.markPersisted(3L);
+        when(resourceVersions.freshLoadVersion(domainLoad.getId())).thenReturn(3L);
+        when(loadApplicationService.updateLoad(any(), any(UpdateLoadCommand.class), any())).thenReturn(domainLoad);
 
         UpdateLoadRequest request = new UpdateLoadRequest()
                 .status(com.paklog.shipment.infrastructure.api.gen.dto.LoadStatus.BOOKED);
@@ -129,39 +135,45 @@ class LoadsControllerTest {
         mockMvc.perform(patch("/loads/{id}", domainLoad.getId().getValue())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(request))
-                        .header("If-Match", quote(domainLoad.getUpdatedAt())))
+                        .header("If-Match", quote(3L)))
                 .andExpect(status().isOk())
-                .andExpect(header().exists("ETag"));
+                .andExpect(header().string("ETag", quote(3L)));
+
+        verify(loadApplicationService).updateLoad(any(), any(UpdateLoadCommand.class), eq(3L));
     }
 
     @Test
     void deleteLoadReturnsPreconditionFailedOnEtagMismatch() throws Exception {
         Load domainLoad = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
-        when(loadApplicationService.getLoad(domainLoad.getId())).thenReturn(domainLoad);
+        domainLoad.markPersisted(3L);
+        when(resourceVersions.freshLoadVersion(domainLoad.getId())).thenReturn(3L);
 
         mockMvc.perform(delete("/loads/{id}", domainLoad.getId().getValue())
                         .header("If-Match", "\"mismatch\""))
                 .andExpect(status().isPreconditionFailed());
 
-        verify(loadApplicationService, never()).deleteLoad(any());
+        verify(loadApplicationService, never()).deleteLoad(any(), any());
     }
 
     @Test
     void deleteLoadRemovesWhenEtagsMatch() throws Exception {
         Load domainLoad = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
-        when(loadApplicationService.getLoad(domainLoad.getId())).thenReturn(domainLoad);
+        domainLoad.markPersisted(3L);
+        when(resourceVersions.freshLoadVersion(domainLoad.getId())).thenReturn(3L);
 
         mockMvc.perform(delete("/loads/{id}", domainLoad.getId().getValue())
-                        .header("If-Match", quote(domainLoad.getUpdatedAt())))
+                        .header("If-Match", quote(3L)))
                 .andExpect(status().isNoContent());
 
-        verify(loadApplicationService).deleteLoad(domainLoad.getId());
+        verify(loadApplicationService).deleteLoad(domainLoad.getId(), 3L);
+        verify(resourceVersions).evict(domainLoad.getId());
     }
 
     @Test
     void updateLoadReturnsPreconditionFailedOnMismatch() throws Exception {
         Load domainLoad = TestFixtures.sampleLoad(LoadStatus.PLANNED, null);
-        when(loadApplicationService.getLoad(domainLoad.getId())).thenReturn(domainLoad);
+        domainLoad.markPersisted(3L);
+        when(resourceVersions.freshLoadVersion(domainLoad.getId())).thenReturn(3L);
 
         UpdateLoadRequest request = new UpdateLoadRequest()
                 .status(com.paklog.shipment.infrastructure.api.gen.dto.LoadStatus.BOOKED);
@@ -172,11 +184,11 @@ class LoadsControllerTest {
                         .header("If-Match", "\"mismatch\""))
                 .andExpect(status().isPreconditionFailed());
 
-        verify(loadApplicationService, never()).updateLoad(any(), any());
+        verify(loadApplicationService, never()).updateLoad(any(), any(), any());
     }
 
-    private String quote(OffsetDateTime timestamp) {
-        return "\"" + timestamp.toInstant().toEpochMilli() + "\"";
+    private String quote(long version) {
+        return "\"" + version + "\"";
     }
 
     private Location apiLocation() {
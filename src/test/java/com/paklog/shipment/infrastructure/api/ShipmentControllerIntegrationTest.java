@@ -1,6 +1,7 @@
 package com.paklog.shipment.infrastructure.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.shipment.application.ResourceVersionService;
 import com.paklog.shipment.application.ShipmentApplicationService;
 import com.paklog.shipment.domain.CarrierName;
 import com.paklog.shipment.domain.LoadId;
@@ -23,6 +24,9 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
@@ -42,6 +46,9 @@ class ShipmentControllerIntegrationTest {
     @MockBean
     private ShipmentApplicationService shipmentService;
 
+    @MockBean
+    private ResourceVersionService resourceVersions;
+
     @Test
     void getShipmentReturnsEtagAndPayload() throws Exception {
         Shipment shipment = sampleShipment();
@@ -58,13 +65,13 @@ class ShipmentControllerIntegrationTest {
     @Test
     void getShipmentHonoursIfNoneMatch() throws Exception {
         Shipment shipment = sampleShipment();
-        when(shipmentService.getShipment(any(ShipmentId.class))).thenReturn(shipment);
-
-        String etag = quote(shipment.getLastUpdatedAt().toInstant().toEpochMilli());
+        when(resourceVersions.shipmentVersion(shipment.getId())).thenReturn(4L);
 
         mockMvc.perform(get("/shipments/{shipmentId}", shipment.getId().getValue())
-                        .header("If-None-Match", etag))
+                        .header("If-None-Match", quote(4L)))
                 .andExpect(status().isNotModified());
+
+        verify(shipmentService, never()).getShipment(any(ShipmentId.class));
     }
 
     @Test
@@ -82,6 +89,24 @@ class ShipmentControllerIntegrationTest {
                 .andExpect(jsonPath("$.items[0].id.value").value(shipment.getId().getValue().toString()));
     }
 
+    @Test
+    void listShipmentTrackingEventsReturnsPageOfHistory() throws Exception {
+        ShipmentId shipmentId = ShipmentId.generate();
+        TrackingEvent event = new TrackingEvent("IN_TRANSIT", "Package departed origin", "Portland, OR",
+                OffsetDateTime.parse("2024-05-02T15:10:12Z"), "DEPARTED", "");
+        when(shipmentService.getTrackingEvents(any(ShipmentId.class), eq(1), eq(1)))
+                .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(event),
+                        org.springframework.data.domain.PageRequest.of(1, 1), 3));
+
+        mockMvc.perform(get("/shipments/{shipmentId}/tracking-events", shipmentId.getValue())
+                        .param("page", "1")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].eventCode").value("DEPARTED"))
+                .andExpect(jsonPath("$.totalItems").value(3))
+                .andExpect(jsonPath("$.totalPages").value(3));
+    }
+
     private Shipment sampleShipment() {
         ShipmentId shipmentId = ShipmentId.generate();
         OrderId orderId = OrderId.of("ORD-123");
@@ -0,0 +1,70 @@
+package com.paklog.shipment.infrastructure.api;
+
+import com.paklog.shipment.application.TrackingViewService;
+import com.paklog.shipment.application.exception.ShipmentNotFoundException;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.ShipmentStatus;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingView;
+import com.paklog.shipment.infrastructure.api.mapper.ShipmentMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = TrackingController.class)
+@Import(ShipmentMapper.class)
+class TrackingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TrackingViewService trackingViews;
+
+    @Test
+    void returnsTrackingViewWithEtag() throws Exception {
+        TrackingEvent event = new TrackingEvent("IN_TRANSIT", "Arrived at hub", "Salt Lake City, UT",
+                OffsetDateTime.parse("2024-05-03T04:21:00Z"), "AR", null);
+        when(trackingViews.getTrackingView(TrackingNumber.of("TRK123"))).thenReturn(new TrackingView(
+                TrackingNumber.of("TRK123"), CarrierName.FEDEX, ShipmentStatus.IN_TRANSIT, List.of(event),
+                OffsetDateTime.parse("2024-05-01T09:30:00Z"), null, OffsetDateTime.parse("2024-05-03T04:21:00Z"), 3L));
+
+        mockMvc.perform(get("/tracking/{trackingNumber}", "TRK123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.status").value("IN_TRANSIT"))
+                .andExpect(jsonPath("$.recentEvents[0].eventCode").value("AR"));
+    }
+
+    @Test
+    void returnsNotModifiedWhenViewUnchanged() throws Exception {
+        when(trackingViews.getTrackingView(TrackingNumber.of("TRK123"))).thenReturn(new TrackingView(
+                TrackingNumber.of("TRK123"), CarrierName.FEDEX, ShipmentStatus.IN_TRANSIT, List.of(),
+                null, null, null, 3L));
+
+        mockMvc.perform(get("/tracking/{trackingNumber}", "TRK123").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void unknownTrackingNumberIsNotFound() throws Exception {
+        when(trackingViews.getTrackingView(TrackingNumber.of("TRK404")))
+                .thenThrow(new ShipmentNotFoundException("No shipment with tracking number TRK404"));
+
+        mockMvc.perform(get("/tracking/{trackingNumber}", "TRK404"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,87 @@
+package com.paklog.shipment.infrastructure.job;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.config.ShipmentArchivalProperties;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShipmentArchivalJobTest {
+
+    private static final OffsetDateTime CUTOFF = OffsetDateTime.parse("2024-02-01T03:30:00Z");
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ShipmentArchivalProperties properties;
+    private ShipmentArchivalJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ShipmentArchivalProperties();
+        properties.setRetention(Duration.ofDays(30));
+        properties.setBatchSize(2);
+        job = new ShipmentArchivalJob(shipmentRepository, properties, ObservationRegistry.create(),
+                new MetricsService(meterRegistry), Clock.fixed(Instant.parse("2024-03-02T03:30:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void archivesInBatchesUntilOneMovesNothing() {
+        // The short batch lost a shipment to a concurrent write; more may still be waiting behind it.
+        when(shipmentRepository.archiveTerminal(any(OffsetDateTime.class), eq(2))).thenReturn(2, 1, 2, 0);
+        when(shipmentRepository.estimateActiveCount()).thenReturn(40L);
+
+        job.archiveTerminalShipments();
+
+        verify(shipmentRepository, times(4)).archiveTerminal(argThat(CUTOFF::isEqual), eq(2));
+        assertEquals(5.0, meterRegistry.get("shipments.archived").counter().count());
+        assertEquals(40.0, meterRegistry.get("shipments.active.documents").gauge().value());
+    }
+
+    @Test
+    void stopsAtTheBatchLimitPerRun() {
+        properties.setMaxBatchesPerRun(3);
+        when(shipmentRepository.archiveTerminal(any(OffsetDateTime.class), eq(2))).thenReturn(2);
+
+        job.archiveTerminalShipments();
+
+        verify(shipmentRepository, times(3)).archiveTerminal(any(OffsetDateTime.class), eq(2));
+    }
+
+    @Test
+    void refreshesTheActiveCountBetweenRuns() {
+        when(shipmentRepository.estimateActiveCount()).thenReturn(40L, 41L);
+
+        job.refreshActiveShipmentCount();
+        job.refreshActiveShipmentCount();
+
+        assertEquals(41.0, meterRegistry.get("shipments.active.documents").gauge().value());
+        verify(shipmentRepository, never()).archiveTerminal(any(OffsetDateTime.class), anyInt());
+    }
+
+    @Test
+    void disabledJobDoesNothing() {
+        properties.setEnabled(false);
+
+        job.archiveTerminalShipments();
+
+        verifyNoInteractions(shipmentRepository);
+    }
+}
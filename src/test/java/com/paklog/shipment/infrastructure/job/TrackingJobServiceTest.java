@@ -1,5 +1,6 @@
 package com.paklog.shipment.infrastructure.job;
 
+import com.paklog.shipment.adapter.AsyncCarrierAdapterRegistry;
 import com.paklog.shipment.adapter.ICarrierAdapter;
 import com.paklog.shipment.application.MetricsService;
 import com.paklog.shipment.application.ShipmentApplicationService;
@@ -58,7 +59,7 @@ class TrackingJobServiceTest {
         trackingJobService = new TrackingJobService(
                 shipmentRepository,
                 shipmentApplicationService,
-                List.of(carrierAdapter),
+                new AsyncCarrierAdapterRegistry(List.of(carrierAdapter), Runnable::run),
                 properties,
                 observationRegistry,
                 metricsService
@@ -71,8 +72,8 @@ class TrackingJobServiceTest {
                 OffsetDateTime.parse("2024-01-02T00:00:00Z"), "CODE", "Details");
         TrackingUpdate update = new TrackingUpdate(newEvent, false, List.of(newEvent));
 
-        when(shipmentRepository.findPageInTransit(null, 1)).thenReturn(List.of(inTransitShipment));
-        when(shipmentRepository.findPageInTransit(inTransitShipment.getId().toString(), 1)).thenReturn(List.of());
+        when(shipmentRepository.findPageInTransit(isNull(), eq(1), any())).thenReturn(List.of(inTransitShipment));
+        when(shipmentRepository.findPageInTransit(eq(inTransitShipment.getId().toString()), eq(1), any())).thenReturn(List.of());
         when(carrierAdapter.getTrackingStatus(TrackingNumber.of("trk-1"))).thenReturn(Optional.of(update));
 
         trackingJobService.updateTrackingStatus();
@@ -82,8 +83,8 @@ class TrackingJobServiceTest {
 
     @Test
     void skipsWhenNoNewEventsFromCarrier() {
-        when(shipmentRepository.findPageInTransit(null, 1)).thenReturn(List.of(inTransitShipment));
-        when(shipmentRepository.findPageInTransit(inTransitShipment.getId().toString(), 1)).thenReturn(List.of());
+        when(shipmentRepository.findPageInTransit(isNull(), eq(1), any())).thenReturn(List.of(inTransitShipment));
+        when(shipmentRepository.findPageInTransit(eq(inTransitShipment.getId().toString()), eq(1), any())).thenReturn(List.of());
         when(carrierAdapter.getTrackingStatus(TrackingNumber.of("trk-1"))).thenReturn(Optional.of(new TrackingUpdate(
                 new TrackingEvent("IN_TRANSIT", "No change", "NY",
                         OffsetDateTime.parse("2024-01-02T00:00:00Z"), "CODE", "Details"),
@@ -98,8 +99,8 @@ class TrackingJobServiceTest {
 
     @Test
     void handlesCarrierExceptionGracefully() {
-        when(shipmentRepository.findPageInTransit(null, 1)).thenReturn(List.of(inTransitShipment));
-        when(shipmentRepository.findPageInTransit(inTransitShipment.getId().toString(), 1)).thenReturn(List.of());
+        when(shipmentRepository.findPageInTransit(isNull(), eq(1), any())).thenReturn(List.of(inTransitShipment));
+        when(shipmentRepository.findPageInTransit(eq(inTransitShipment.getId().toString()), eq(1), any())).thenReturn(List.of());
         when(carrierAdapter.getTrackingStatus(TrackingNumber.of("trk-1")))
                 .thenThrow(new CarrierException("fail", "FedEx"));
 
@@ -114,8 +115,8 @@ class TrackingJobServiceTest {
                 OffsetDateTime.parse("2024-01-01T00:00:00Z"));
         unknownCarrierShipment.dispatch(TrackingNumber.of("trk-2"), "label".getBytes(), OffsetDateTime.parse("2024-01-01T01:00:00Z"));
 
-        when(shipmentRepository.findPageInTransit(null, 1)).thenReturn(List.of(unknownCarrierShipment));
-        when(shipmentRepository.findPageInTransit(unknownCarrierShipment.getId().toString(), 1)).thenReturn(List.of());
+        when(shipmentRepository.findPageInTransit(isNull(), eq(1), any())).thenReturn(List.of(unknownCarrierShipment));
+        when(shipmentRepository.findPageInTransit(eq(unknownCarrierShipment.getId().toString()), eq(1), any())).thenReturn(List.of());
 
         trackingJobService.updateTrackingStatus();
 
@@ -0,0 +1,46 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoIndexVerifierTest {
+
+    @Test
+    void indexScanUnderFetchIsAccepted() {
+        Document plan = new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "status_id_idx"));
+
+        assertFalse(MongoIndexVerifier.usesCollectionScan(plan));
+    }
+
+    @Test
+    void detectsCollectionScanNestedBelowSort() {
+        Document plan = new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "COLLSCAN"));
+
+        assertTrue(MongoIndexVerifier.usesCollectionScan(plan));
+    }
+
+    @Test
+    void detectsCollectionScanInAnyBranchOfAnOr() {
+        Document plan = new Document("stage", "SUBPLAN")
+                .append("inputStage", new Document("stage", "OR")
+                        .append("inputStages", List.of(
+                                new Document("stage", "IXSCAN"),
+                                new Document("stage", "COLLSCAN"))));
+
+        assertTrue(MongoIndexVerifier.usesCollectionScan(plan));
+    }
+
+    @Test
+    void readsSlotBasedEngineQueryPlans() {
+        Document plan = new Document("queryPlan", new Document("stage", "COLLSCAN"))
+                .append("slotBasedPlan", new Document("stages", "scan s1"));
+
+        assertTrue(MongoIndexVerifier.usesCollectionScan(plan));
+    }
+}
@@ -0,0 +1,116 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.paklog.shipment.TestFixtures;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.LoadId;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.ShipmentStatus;
+import com.paklog.shipment.domain.TrackingEvent;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShipmentConvertersTest {
+
+    private static final ShipmentConverters.ShipmentWriteConverter WRITE = ShipmentConverters.ShipmentWriteConverter.INSTANCE;
+    private static final ShipmentConverters.ShipmentReadConverter READ = ShipmentConverters.ShipmentReadConverter.INSTANCE;
+
+    @Test
+    void roundTripsEveryField() {
+        Shipment shipment = TestFixtures.sampleShipment(ShipmentStatus.DELIVERED, CarrierName.UPS);
+        shipment.assignToLoad(LoadId.generate());
+        shipment.markPersisted(5L);
+
+        Shipment read = READ.convert(WRITE.convert(shipment));
+
+        assertEquals(shipment.getId().getValue(), read.getId().getValue());
+        assertEquals(shipment.getOrderId().getValue(), read.getOrderId().getValue());
+        assertEquals(CarrierName.UPS, read.getCarrierName());
+        assertEquals(shipment.getTrackingNumber(), read.getTrackingNumber());
+        assertEquals(ShipmentStatus.DELIVERED, read.getStatus());
+        assertEquals(shipment.getCreatedAt().toInstant(), read.getCreatedAt().toInstant());
+        assertEquals(shipment.getDispatchedAt().toInstant(), read.getDispatchedAt().toInstant());
+        assertEquals(shipment.getDeliveredAt().toInstant(), read.getDeliveredAt().toInstant());
+        // BSON dates hold milliseconds.
+        assertEquals(shipment.getLastUpdatedAt().toInstant().truncatedTo(ChronoUnit.MILLIS), read.getLastUpdatedAt().toInstant());
+        assertArrayEquals(shipment.getLabelData(), read.getLabelData());
+        assertEquals(shipment.getAssignedLoadId().getValue(), read.getAssignedLoadId().getValue());
+        assertEquals(5L, read.getVersion());
+        assertEquals(1, read.getTrackingEventCount());
+        TrackingEvent latest = read.getLatestTrackingEvent();
+        assertEquals("Departed origin", latest.getStatusDescription());
+        assertEquals(shipment.getLatestTrackingEvent().getTimestamp(), latest.getTimestamp());
+    }
+
+    @Test
+    void keepsTheCarrierOffsetOfTheLatestEvent() {
+        Shipment shipment = TestFixtures.sampleShipment(ShipmentStatus.DISPATCHED, CarrierName.FEDEX);
+        OffsetDateTime scanned = OffsetDateTime.parse("2024-05-02T09:15:00-07:00");
+        shipment.addTrackingEvent(new TrackingEvent("IN_TRANSIT", "Arrived at hub", "Reno, NV", scanned, "ARRIVED", null));
+
+        Document doc = WRITE.convert(shipment);
+        Shipment read = READ.convert(doc);
+
+        Document latest = doc.get("latestTrackingEvent", Document.class);
+        assertEquals(Date.from(scanned.toInstant()), latest.get("timestamp"));
+        assertEquals(-7 * 3600, latest.get("offsetSeconds"));
+        assertEquals(scanned, read.getLatestTrackingEvent().getTimestamp());
+        assertEquals(2L, doc.get("trackingEventCount"));
+        assertEquals(2, read.getTrackingEventCount());
+    }
+
+    @Test
+    void writesTheLayoutOfShipmentDocument() {
+        Shipment shipment = TestFixtures.sampleShipment(ShipmentStatus.DELIVERED, CarrierName.UPS);
+        shipment.assignToLoad(LoadId.generate());
+        shipment.markPersisted(1L);
+
+        Document doc = WRITE.convert(shipment);
+
+        Set<String> mapped = Arrays.stream(ShipmentDocument.class.getDeclaredFields())
+                .map(Field::getName)
+                .map(name -> name.equals("id") ? "_id" : name)
+                .collect(Collectors.toSet());
+        assertTrue(mapped.containsAll(doc.keySet()), () -> "Unmapped keys in " + doc.keySet());
+        assertEquals(shipment.getId().getValue().toString(), doc.get("_id"));
+        assertEquals("DELIVERED", doc.get("status"));
+        assertEquals("UPS", doc.get("carrierName"));
+        assertInstanceOf(Date.class, doc.get("createdAt"));
+        assertInstanceOf(Binary.class, doc.get("labelData"));
+    }
+
+    @Test
+    void leavesUnsetFieldsOut() {
+        Shipment shipment = TestFixtures.sampleShipment(ShipmentStatus.CREATED, CarrierName.FEDEX);
+
+        Document doc = WRITE.convert(shipment);
+        Shipment read = READ.convert(doc);
+
+        assertFalse(doc.containsKey("dispatchedAt"));
+        assertFalse(doc.containsKey("assignedLoadId"));
+        assertFalse(doc.containsKey("latestTrackingEvent"));
+        assertFalse(doc.containsKey("version"));
+        assertNull(read.getAssignedLoadId());
+        assertNull(read.getLatestTrackingEvent());
+        assertNull(read.getVersion());
+    }
+
+    @Test
+    void readsListingsProjectedWithoutLabels() {
+        Shipment shipment = TestFixtures.sampleShipment(ShipmentStatus.DISPATCHED, CarrierName.FEDEX);
+        Document doc = WRITE.convert(shipment);
+        doc.remove("labelData");
+
+        assertNull(READ.convert(doc).getLabelData());
+    }
+}
@@ -0,0 +1,66 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.TrackingEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrackingEventRelayTest {
+
+    private static final ShipmentId SHIPMENT_ID = ShipmentId.generate();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoLock lock;
+
+    @Test
+    void movesStagedEventsNotYetInTheSeriesAndClearsTheStage() {
+        TrackingEventSeriesDocument moved = staged(0);
+        TrackingEventSeriesDocument pending = staged(1);
+        when(lock.tryAcquire(eq(TrackingEventRelay.LOCK), any(Duration.class))).thenReturn(true);
+        when(mongoTemplate.find(any(Query.class), eq(TrackingEventSeriesDocument.class),
+                eq(TrackingEventSeriesDocument.PENDING_COLLECTION))).thenReturn(List.of(moved, pending));
+        when(mongoTemplate.find(any(Query.class), eq(TrackingEventSeriesDocument.class))).thenReturn(List.of(moved));
+
+        new TrackingEventRelay(mongoTemplate, lock).relay();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<TrackingEventSeriesDocument>> inserted = ArgumentCaptor.forClass(Collection.class);
+        verify(mongoTemplate).insert(inserted.capture(), eq(TrackingEventSeriesDocument.class));
+        assertEquals(List.of(pending.getId()), inserted.getValue().stream().map(TrackingEventSeriesDocument::getId).toList());
+        verify(mongoTemplate).remove(any(Query.class), eq(TrackingEventSeriesDocument.PENDING_COLLECTION));
+        verify(lock).release(TrackingEventRelay.LOCK);
+    }
+
+    @Test
+    void leavesTheStageAloneWhileAnotherInstanceHoldsTheLease() {
+        when(lock.tryAcquire(eq(TrackingEventRelay.LOCK), any(Duration.class))).thenReturn(false);
+
+        new TrackingEventRelay(mongoTemplate, lock).relay();
+
+        verifyNoInteractions(mongoTemplate);
+        verify(lock, never()).release(any());
+    }
+
+    private static TrackingEventSeriesDocument staged(int sequence) {
+        return TrackingEventSeriesDocument.fromDomain(SHIPMENT_ID, sequence, new TrackingEvent("IN_TRANSIT", "Scan " + sequence,
+                "Hub", OffsetDateTime.parse("2024-01-01T00:00:00Z").plusHours(sequence), "SC", null));
+    }
+}
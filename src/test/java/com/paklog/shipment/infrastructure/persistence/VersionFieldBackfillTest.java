@@ -0,0 +1,37 @@
+package com.paklog.shipment.infrastructure.persistence;
+
+import com.mongodb.client.result.UpdateResult;
+import com.paklog.shipment.infrastructure.persistence.document.LoadDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VersionFieldBackfillTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void stampsVersionZeroOnlyWhereItIsMissing() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        when(mongoTemplate.updateMulti(query.capture(), update.capture(), any(Class.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        new VersionFieldBackfill(mongoTemplate).afterSingletonsInstantiated();
+
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(ShipmentDocument.class));
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(LoadDocument.class));
+        assertEquals(false, query.getValue().getQueryObject().get("version", org.bson.Document.class).get("$exists"));
+        assertEquals(0L, update.getValue().getUpdateObject().get("$set", org.bson.Document.class).get("version"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.paklog.shipment.infrastructure.persistence.document;
+
+import com.paklog.shipment.TestFixtures;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.Load;
+import com.paklog.shipment.domain.LoadStatus;
+import com.paklog.shipment.domain.Pickup;
+import com.paklog.shipment.domain.ShipmentId;
+import com.paklog.shipment.domain.TenderStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadConvertersTest {
+
+    private static final LoadConverters.LoadWriteConverter WRITE = LoadConverters.LoadWriteConverter.INSTANCE;
+    private static final LoadConverters.LoadReadConverter READ = LoadConverters.LoadReadConverter.INSTANCE;
+
+    @Test
+    void roundTripsEveryField() {
+        Load sample = TestFixtures.sampleLoad(LoadStatus.TENDER_ACCEPTED, CarrierName.FEDEX);
+        Pickup pickup = new Pickup("PU-1", TestFixtures.odt("2024-05-10T14:00:00Z"), TestFixtures.sampleLocation(),
+                "Dock lead", "555-0100", "Door 4");
+        Load load = Load.restore(sample.getId(), sample.getReference(), LoadStatus.BOOKED, sample.getCarrierName(),
+                sample.getShipmentIds(), sample.getOrigin(), sample.getDestination(), sample.getRequestedPickupDate(),
+                sample.getRequestedDeliveryDate(), pickup, sample.getTender(), sample.getNotes(), sample.getCreatedAt(),
+                sample.getUpdatedAt(), 9L);
+
+        Load read = READ.convert(WRITE.convert(load));
+
+        assertEquals(load.getId().getValue(), read.getId().getValue());
+        assertEquals("REF-123", read.getReference());
+        assertEquals(load.getStatus(), read.getStatus());
+        assertEquals(CarrierName.FEDEX, read.getCarrierName());
+        assertEquals(ids(load), ids(read));
+        assertEquals(load.getOrigin(), read.getOrigin());
+        assertEquals(load.getDestination(), read.getDestination());
+        assertEquals(load.getRequestedPickupDate(), read.getRequestedPickupDate());
+        assertEquals(load.getRequestedDeliveryDate(), read.getRequestedDeliveryDate());
+        assertEquals(load.getPickup(), read.getPickup());
+        assertEquals(load.getTender(), read.getTender());
+        assertEquals("Handle with care", read.getNotes());
+        assertEquals(load.getCreatedAt().toInstant(), read.getCreatedAt().toInstant());
+        assertEquals(9L, read.getVersion());
+    }
+
+    @Test
+    void writesTheLayoutOfLoadDocument() {
+        Load load = TestFixtures.sampleLoad(LoadStatus.TENDERED, CarrierName.UPS);
+
+        Document doc = WRITE.convert(load);
+
+        assertEquals(load.getId().getValue().toString(), doc.get("_id"));
+        assertEquals("TENDERED", doc.get("status"));
+        assertEquals("UPS", doc.get("carrierName"));
+        assertEquals(List.copyOf(ids(load)), doc.getList("shipmentIds", String.class));
+        assertInstanceOf(Date.class, doc.get("requestedPickupDate"));
+        Document tender = doc.get("tender", Document.class);
+        assertEquals(TenderStatus.PENDING.name(), tender.get("status"));
+        assertInstanceOf(Date.class, tender.get("expiresAt"));
+        assertFalse(tender.containsKey("decision"));
+        assertFalse(doc.containsKey("pickup"));
+        assertFalse(doc.get("destination", Document.class).containsKey("addressLine2"));
+    }
+
+    @Test
+    void readsLoadsWrittenBeforeTendersExisted() {
+        Document doc = WRITE.convert(TestFixtures.sampleLoad(LoadStatus.PLANNED, null));
+        doc.remove("tender");
+        doc.remove("shipmentIds");
+
+        Load read = READ.convert(doc);
+
+        assertNull(read.getCarrierName());
+        assertTrue(read.getShipmentIds().isEmpty());
+        assertNull(read.getTender());
+    }
+
+    private static java.util.Set<String> ids(Load load) {
+        return load.getShipmentIds().stream().map(ShipmentId::getValue).map(Object::toString).collect(Collectors.toSet());
+    }
+}
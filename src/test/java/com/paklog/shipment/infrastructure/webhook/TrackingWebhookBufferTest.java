@@ -0,0 +1,125 @@
+package com.paklog.shipment.infrastructure.webhook;
+
+import com.paklog.shipment.application.MetricsService;
+import com.paklog.shipment.application.ShipmentApplicationService;
+import com.paklog.shipment.config.TrackingWebhookProperties;
+import com.paklog.shipment.domain.CarrierName;
+import com.paklog.shipment.domain.OrderId;
+import com.paklog.shipment.domain.Shipment;
+import com.paklog.shipment.domain.TrackingEvent;
+import com.paklog.shipment.domain.TrackingNumber;
+import com.paklog.shipment.domain.TrackingUpdate;
+import com.paklog.shipment.domain.repository.ShipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrackingWebhookBufferTest {
+
+    private static final TrackingNumber TRACKING_NUMBER = TrackingNumber.of("trk-1");
+    private static final OffsetDateTime RECEIVED_AT = OffsetDateTime.parse("2024-01-03T00:00:00Z");
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @Mock
+    private ShipmentApplicationService shipmentApplicationService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private TrackingWebhookProperties properties;
+    private Shipment shipment;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TrackingWebhookProperties();
+        shipment = Shipment.create(OrderId.of("order-1"), CarrierName.FEDEX, OffsetDateTime.parse("2024-01-01T00:00:00Z"));
+        shipment.dispatch(TRACKING_NUMBER, "label".getBytes(), OffsetDateTime.parse("2024-01-01T01:00:00Z"));
+    }
+
+    @Test
+    void mergesNotificationsForSameParcelIntoOneUpdate() {
+        TrackingWebhookBuffer buffer = buffer();
+        when(shipmentRepository.findByTrackingNumbers(Set.of(TRACKING_NUMBER))).thenReturn(List.of(shipment));
+        TrackingEvent departed = event("IN_TRANSIT", "2024-01-02T00:00:00Z");
+        TrackingEvent delivered = event("DELIVERED", "2024-01-02T10:00:00Z");
+
+        buffer.offer(notification(List.of(delivered), true));
+        buffer.offer(notification(List.of(departed), false));
+        buffer.flush();
+
+        ArgumentCaptor<TrackingUpdate> update = ArgumentCaptor.forClass(TrackingUpdate.class);
+        verify(shipmentRepository, times(1)).findByTrackingNumbers(any());
+        verify(shipmentApplicationService).applyPushedTracking(eq(shipment), update.capture(), eq(RECEIVED_AT));
+        assertEquals(List.of(departed, delivered), update.getValue().getNewEvents());
+        assertSame(delivered, update.getValue().getLatestEvent());
+        assertTrue(update.getValue().isDelivered());
+        assertEquals(0, buffer.pending());
+    }
+
+    @Test
+    void skipsUnknownTrackingNumbers() {
+        TrackingWebhookBuffer buffer = buffer();
+        when(shipmentRepository.findByTrackingNumbers(Set.of(TRACKING_NUMBER))).thenReturn(List.of());
+
+        buffer.offer(notification(List.of(event("IN_TRANSIT", "2024-01-02T00:00:00Z")), false));
+        buffer.flush();
+
+        verify(shipmentApplicationService, never()).applyPushedTracking(any(), any(), any());
+        verify(metricsService).recordTrackingWebhook("FEDEX", "unknown_shipment");
+    }
+
+    @Test
+    void loadsEveryParcelInABatchWithOneQuery() {
+        TrackingWebhookBuffer buffer = buffer();
+        TrackingNumber other = TrackingNumber.of("trk-2");
+        Shipment second = Shipment.create(OrderId.of("order-2"), CarrierName.FEDEX, OffsetDateTime.parse("2024-01-01T00:00:00Z"));
+        second.dispatch(other, "label".getBytes(), OffsetDateTime.parse("2024-01-01T01:00:00Z"));
+        when(shipmentRepository.findByTrackingNumbers(Set.of(TRACKING_NUMBER, other))).thenReturn(List.of(shipment, second));
+
+        buffer.offer(notification(List.of(event("IN_TRANSIT", "2024-01-02T00:00:00Z")), false));
+        buffer.offer(new TrackingNotification(CarrierName.FEDEX, other,
+                List.of(event("IN_TRANSIT", "2024-01-02T00:00:00Z")), false, RECEIVED_AT));
+        buffer.flush();
+
+        verify(shipmentRepository, times(1)).findByTrackingNumbers(any());
+        verify(shipmentApplicationService).applyPushedTracking(eq(shipment), any(), eq(RECEIVED_AT));
+        verify(shipmentApplicationService).applyPushedTracking(eq(second), any(), eq(RECEIVED_AT));
+        verify(metricsService, times(2)).recordTrackingWebhook("FEDEX", "applied");
+    }
+
+    @Test
+    void refusesNotificationsOnceFull() {
+        properties.setQueueCapacity(1);
+        TrackingWebhookBuffer buffer = buffer();
+
+        assertTrue(buffer.offer(notification(List.of(event("IN_TRANSIT", "2024-01-02T00:00:00Z")), false)));
+        assertFalse(buffer.offer(notification(List.of(event("IN_TRANSIT", "2024-01-02T01:00:00Z")), false)));
+        verify(metricsService).recordTrackingWebhook("FEDEX", "buffer_full");
+    }
+
+    private TrackingWebhookBuffer buffer() {
+        return new TrackingWebhookBuffer(properties, shipmentRepository, shipmentApplicationService, metricsService);
+    }
+
+    private static TrackingNotification notification(List<TrackingEvent> events, boolean delivered) {
+        return new TrackingNotification(CarrierName.FEDEX, TRACKING_NUMBER, events, delivered, RECEIVED_AT);
+    }
+
+    private static TrackingEvent event(String status, String timestamp) {
+        return new TrackingEvent(status, status, "NY", OffsetDateTime.parse(timestamp), "CODE", null);
+    }
+}
@@ -0,0 +1,58 @@
+package com.paklog.shipment.infrastructure.webhook;
+
+import com.paklog.shipment.domain.CarrierName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookSignatureVerifierTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T08:00:00Z");
+    private static final String SECRET = "fedex-secret";
+    private static final byte[] BODY = "{\"trackingNumber\":\"TRK1\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final WebhookSignatureVerifier verifier = new WebhookSignatureVerifier(
+            Map.of(CarrierName.FEDEX, SECRET), Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void acceptsSignatureOverTimestampAndBody() {
+        String timestamp = Long.toString(NOW.getEpochSecond());
+
+        assertTrue(verifier.verify(CarrierName.FEDEX, timestamp, sign(SECRET, timestamp, BODY), BODY));
+        assertTrue(verifier.verify(CarrierName.FEDEX, timestamp, "sha256=" + sign(SECRET, timestamp, BODY), BODY));
+    }
+
+    @Test
+    void rejectsTamperedBodyOrWrongSecret() {
+        String timestamp = Long.toString(NOW.getEpochSecond());
+        byte[] tampered = "{\"trackingNumber\":\"TRK2\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(verifier.verify(CarrierName.FEDEX, timestamp, sign(SECRET, timestamp, BODY), tampered));
+        assertFalse(verifier.verify(CarrierName.FEDEX, timestamp, sign("other", timestamp, BODY), BODY));
+        assertFalse(verifier.verify(CarrierName.FEDEX, timestamp, "not-hex", BODY));
+    }
+
+    @Test
+    void rejectsStaleTimestampsAndCarriersWithoutSecret() {
+        String stale = Long.toString(NOW.minus(Duration.ofMinutes(6)).getEpochSecond());
+        String timestamp = Long.toString(NOW.getEpochSecond());
+
+        assertFalse(verifier.verify(CarrierName.FEDEX, stale, sign(SECRET, stale, BODY), BODY));
+        assertFalse(verifier.verify(CarrierName.UPS, timestamp, sign(SECRET, timestamp, BODY), BODY));
+        assertFalse(verifier.verify(CarrierName.FEDEX, null, sign(SECRET, timestamp, BODY), BODY));
+    }
+
+    private static String sign(String secret, String timestamp, byte[] body) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        return HexFormat.of().formatHex(WebhookSignatureVerifier.sign(key, timestamp, body));
+    }
+}